@@ -40,6 +40,8 @@
 #include <ctime>
 #include <sstream>
 #include <string>
+#include <unordered_map>
+#include <unordered_set>
 
 #include "agent/agent_server.h"
 #include "agent/finish_task.h"
@@ -69,9 +71,11 @@
 #include "storage/task/engine_clone_task.h"
 #include "storage/update_manager.h"
 #include "storage/utils.h"
+#include "util/hash_util.hpp"
 #include "util/misc.h"
 #include "util/starrocks_metrics.h"
 #include "util/thread.h"
+#include "util/time.h"
 
 namespace starrocks {
 
@@ -85,8 +89,64 @@ static void wait_for_notify_small_steps(int32_t timeout_sec, bool from_report_ta
         notified = StorageEngine::instance()->wait_for_report_notify(1, from_report_tablet_thread);
     } while (!notified && std::chrono::steady_clock::now() < deadline && !stop_waiting());
 }
+
+template <typename T>
+void hash_combine_optional(size_t& seed, bool is_set, const T& value) {
+    HashUtil::hash_combine(seed, is_set);
+    if (is_set) {
+        HashUtil::hash_combine(seed, value);
+    }
+}
+
+// Fingerprint of everything FE reads from a tablet report, a tablet whose fingerprint is unchanged since
+// the last acknowledged report is left out of an incremental report.
+size_t tablet_report_fingerprint(const TTablet& tablet) {
+    size_t seed = 0;
+    for (const auto& info : tablet.tablet_infos) {
+        HashUtil::hash_combine(seed, info.tablet_id);
+        HashUtil::hash_combine(seed, info.schema_hash);
+        HashUtil::hash_combine(seed, info.version);
+        HashUtil::hash_combine(seed, info.row_count);
+        HashUtil::hash_combine(seed, info.data_size);
+        hash_combine_optional(seed, info.__isset.storage_medium, static_cast<int>(info.storage_medium));
+        HashUtil::hash_combine(seed, info.__isset.transaction_ids);
+        for (auto txn_id : info.transaction_ids) {
+            HashUtil::hash_combine(seed, txn_id);
+        }
+        hash_combine_optional(seed, info.__isset.version_count, info.version_count);
+        hash_combine_optional(seed, info.__isset.path_hash, info.path_hash);
+        hash_combine_optional(seed, info.__isset.version_miss, info.version_miss);
+        hash_combine_optional(seed, info.__isset.used, info.used);
+        hash_combine_optional(seed, info.__isset.partition_id, info.partition_id);
+        hash_combine_optional(seed, info.__isset.is_in_memory, info.is_in_memory);
+        hash_combine_optional(seed, info.__isset.enable_persistent_index, info.enable_persistent_index);
+        hash_combine_optional(seed, info.__isset.min_readable_version, info.min_readable_version);
+        hash_combine_optional(seed, info.__isset.binlog_config_version, info.binlog_config_version);
+        hash_combine_optional(seed, info.__isset.is_error_state, info.is_error_state);
+        hash_combine_optional(seed, info.__isset.max_readable_version, info.max_readable_version);
+        hash_combine_optional(seed, info.__isset.max_rowset_creation_time, info.max_rowset_creation_time);
+        hash_combine_optional(seed, info.__isset.primary_index_cache_expire_sec, info.primary_index_cache_expire_sec);
+        hash_combine_optional(seed, info.__isset.tablet_schema_version, info.tablet_schema_version);
+    }
+    return seed;
+}
 } // namespace
 
+bool need_incremental_tablet_report(TTabletId tablet_id, const TTablet& tablet, size_t fingerprint,
+                                    const std::unordered_map<TTabletId, size_t>& acked_fingerprints,
+                                    const std::unordered_set<TTabletId>& tablets_to_report) {
+    if (tablets_to_report.count(tablet_id) > 0) {
+        return true;
+    }
+    for (const auto& info : tablet.tablet_infos) {
+        if (!info.transaction_ids.empty()) {
+            return true;
+        }
+    }
+    auto iter = acked_fingerprints.find(tablet_id);
+    return iter == acked_fingerprints.end() || iter->second != fingerprint;
+}
+
 const size_t PUBLISH_VERSION_BATCH_SIZE = 10;
 
 std::atomic<int64_t> g_report_version(time(nullptr) * 10000);
@@ -679,6 +739,17 @@ void* ReportOlapTableTaskWorkerPool::_worker_thread_callback(void* arg_this) {
     request.__isset.tablets = true;
     AgentStatus status = STARROCKS_SUCCESS;
 
+    std::map<TTabletId, TTablet> all_tablets;
+    // tablet id -> fingerprint of the tablet in the last tablet report accepted by FE, an incremental report
+    // is based on it, and FE only accepts the incremental report after it has handled the accepted report
+    std::unordered_map<TTabletId, size_t> acked_fingerprints;
+    std::unordered_map<TTabletId, size_t> fingerprints;
+    // -1 means FE has not acknowledged a tablet report, the next report must be a full one
+    int64_t acked_report_version = -1;
+    int64_t last_full_report_time = 0;
+    // tablets FE asked to be reported again even if they are unchanged, e.g. the replicas it is about to drop
+    std::unordered_set<TTabletId> tablets_to_report;
+
     while ((!worker_pool_this->_stopped)) {
         auto master_address = get_master_address();
         if (master_address.port == 0) {
@@ -688,10 +759,12 @@ void* ReportOlapTableTaskWorkerPool::_worker_thread_callback(void* arg_this) {
             continue;
         }
         request.tablets.clear();
+        request.deleted_tablet_ids.clear();
+        all_tablets.clear();
 
         int64_t report_version = g_report_version.load(std::memory_order_relaxed);
         request.__set_report_version(report_version);
-        Status st_report = StorageEngine::instance()->tablet_manager()->report_all_tablets_info(&request.tablets);
+        Status st_report = StorageEngine::instance()->tablet_manager()->report_all_tablets_info(&all_tablets);
         if (!st_report.ok()) {
             LOG(WARNING) << "Fail to report all tablets info, err=" << st_report.to_string();
             // wait for notifying until timeout
@@ -699,6 +772,36 @@ void* ReportOlapTableTaskWorkerPool::_worker_thread_callback(void* arg_this) {
                                         [&] { return worker_pool_this->_stopped.load(); });
             continue;
         }
+        int64_t now = UnixSeconds();
+        bool incremental = config::enable_incremental_tablet_report && acked_report_version >= 0 &&
+                           now - last_full_report_time < config::full_tablet_report_interval_seconds;
+        fingerprints.clear();
+        fingerprints.reserve(all_tablets.size());
+        for (auto& [tablet_id, tablet] : all_tablets) {
+            size_t fingerprint = tablet_report_fingerprint(tablet);
+            fingerprints.emplace(tablet_id, fingerprint);
+            if (!incremental) {
+                continue;
+            }
+            if (need_incremental_tablet_report(tablet_id, tablet, fingerprint, acked_fingerprints, tablets_to_report)) {
+                request.tablets.emplace(tablet_id, std::move(tablet));
+            }
+        }
+        if (incremental) {
+            // the tablets dropped since the acknowledged report, FE drops their replicas on this backend
+            for (const auto& [tablet_id, fingerprint] : acked_fingerprints) {
+                if (fingerprints.find(tablet_id) == fingerprints.end()) {
+                    request.deleted_tablet_ids.push_back(tablet_id);
+                }
+            }
+            request.__set_tablet_report_base_version(acked_report_version);
+            request.__isset.deleted_tablet_ids = true;
+        } else {
+            request.tablets.swap(all_tablets);
+            request.__isset.tablet_report_base_version = false;
+            request.__isset.deleted_tablet_ids = false;
+        }
+
         int64_t max_compaction_score =
                 std::max(StarRocksMetrics::instance()->tablet_cumulative_max_compaction_score.value(),
                          StarRocksMetrics::instance()->tablet_base_max_compaction_score.value());
@@ -708,12 +811,40 @@ void* ReportOlapTableTaskWorkerPool::_worker_thread_callback(void* arg_this) {
         TMasterResult result;
         status = report_task(request, &result);
 
+        bool acked = false;
         if (status != STARROCKS_SUCCESS) {
             StarRocksMetrics::instance()->report_all_tablets_requests_failed.increment(1);
             LOG(WARNING) << "Fail to report olap table state to " << master_address.hostname << ":"
                          << master_address.port << ", err=" << status;
         } else {
-            LOG(INFO) << "Report tablets successfully, report version: " << report_version;
+            if (incremental) {
+                LOG(INFO) << "Report " << request.tablets.size() << " changed and " << request.deleted_tablet_ids.size()
+                          << " deleted tablets successfully, report version: " << report_version;
+            } else {
+                LOG(INFO) << "Report " << request.tablets.size()
+                          << " tablets successfully, report version: " << report_version;
+            }
+            acked = result.__isset.tablet_report_acked_version &&
+                    result.tablet_report_acked_version == report_version;
+        }
+        if (acked) {
+            // unchanged tablets were acknowledged before, so FE now knows every tablet in fingerprints
+            acked_fingerprints.swap(fingerprints);
+            acked_report_version = report_version;
+            tablets_to_report.clear();
+            tablets_to_report.insert(result.tablet_ids_to_report.begin(), result.tablet_ids_to_report.end());
+            if (!incremental) {
+                last_full_report_time = now;
+            }
+        } else {
+            acked_fingerprints.clear();
+            acked_report_version = -1;
+            tablets_to_report.clear();
+            if (incremental && status == STARROCKS_SUCCESS) {
+                // FE rejected the incremental report, send a full one right now
+                LOG(INFO) << "Incremental tablet report is not accepted, fall back to a full tablet report";
+                continue;
+            }
         }
 
         // wait for notifying until timeout
@@ -39,6 +39,8 @@
 #include <memory>
 #include <mutex>
 #include <thread>
+#include <unordered_map>
+#include <unordered_set>
 #include <vector>
 
 #include "agent/agent_common.h"
@@ -46,6 +48,7 @@
 #include "agent/utils.h"
 #include "gen_cpp/AgentService_types.h"
 #include "gen_cpp/HeartbeatService_types.h"
+#include "gen_cpp/MasterService_types.h"
 #include "storage/storage_engine.h"
 #include "util/cpu_usage_info.h"
 
@@ -56,6 +59,13 @@ class ExecEnv;
 int64_t curr_report_version();
 int64_t next_report_version();
 
+// Whether a tablet goes into an incremental tablet report. Besides the tablets changed since the acknowledged
+// report, the tablets with pending transactions and the tablets FE asked for are always reported, because FE
+// only publishes or clears transactions and drops replicas when it handles a report of the tablet.
+bool need_incremental_tablet_report(TTabletId tablet_id, const TTablet& tablet, size_t fingerprint,
+                                    const std::unordered_map<TTabletId, size_t>& acked_fingerprints,
+                                    const std::unordered_set<TTabletId>& tablets_to_report);
+
 class TaskWorkerPoolBase {
 public:
     static AgentStatus get_tablet_info(TTabletId tablet_id, TSchemaHash schema_hash, int64_t signature,
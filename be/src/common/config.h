@@ -137,6 +137,11 @@ CONF_mInt32(report_task_interval_seconds, "10");
 CONF_mInt32(report_disk_state_interval_seconds, "60");
 // The interval time(seconds) for agent report olap table to FE.
 CONF_mInt32(report_tablet_interval_seconds, "60");
+// Whether to report only the tablets changed since the last tablet report acknowledged by FE.
+// Off by default, FE must enable enable_incremental_tablet_report as well.
+CONF_mBool(enable_incremental_tablet_report, "false");
+// The interval time(seconds) for a full tablet report when incremental tablet report is enabled.
+CONF_mInt32(full_tablet_report_interval_seconds, "600");
 // The interval time(seconds) for agent report workgroup to FE.
 CONF_mInt32(report_workgroup_interval_seconds, "5");
 // The interval time (millisecond) for agent report resource usage to FE.
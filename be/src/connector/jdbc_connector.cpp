@@ -152,6 +152,20 @@ Status JDBCDataSource::_create_scanner(RuntimeState* state) {
     scan_ctx.passwd = jdbc_table->jdbc_passwd();
     scan_ctx.sql = get_jdbc_sql(scan_ctx.jdbc_url, jdbc_scan_node.table_name, jdbc_scan_node.columns,
                                 jdbc_scan_node.filters, _read_limit);
+    if (jdbc_scan_node.__isset.split_column && jdbc_scan_node.num_splits > 1 && _read_limit == -1) {
+        // the jdbc bridge probes the range of split column and reads each part of it concurrently
+        const std::string& split_column = jdbc_scan_node.split_column;
+        scan_ctx.split_column = split_column;
+        scan_ctx.split_probe_sql = get_jdbc_sql(
+                scan_ctx.jdbc_url, jdbc_scan_node.table_name,
+                {fmt::format("MIN({})", split_column), fmt::format("MAX({})", split_column)}, jdbc_scan_node.filters,
+                -1);
+        std::vector<std::string> split_filters = jdbc_scan_node.filters;
+        split_filters.emplace_back(JDBC_SPLIT_PREDICATE_PLACEHOLDER);
+        scan_ctx.split_sql_template = get_jdbc_sql(scan_ctx.jdbc_url, jdbc_scan_node.table_name,
+                                                   jdbc_scan_node.columns, split_filters, -1);
+        scan_ctx.num_splits = jdbc_scan_node.num_splits;
+    }
     _scanner = _pool->add(new JDBCScanner(scan_ctx, _tuple_desc, _runtime_profile));
 
     RETURN_IF_ERROR(_scanner->open(state));
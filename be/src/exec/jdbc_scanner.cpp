@@ -147,6 +147,21 @@ Status JDBCScanner::_init_jdbc_scan_context(RuntimeState* state) {
     LOCAL_REF_GUARD_ENV(env, scan_ctx);
     CHECK_JAVA_EXCEPTION(env, "construct JDBCScanContext failed")
 
+    if (_scan_ctx.num_splits > 1) {
+        jmethodID set_split = env->GetMethodID(scan_context_cls, "setSplit",
+                                               "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;I)V");
+        DCHECK(set_split != nullptr);
+        jstring split_column = env->NewStringUTF(_scan_ctx.split_column.c_str());
+        LOCAL_REF_GUARD_ENV(env, split_column);
+        jstring split_probe_sql = env->NewStringUTF(_scan_ctx.split_probe_sql.c_str());
+        LOCAL_REF_GUARD_ENV(env, split_probe_sql);
+        jstring split_sql_template = env->NewStringUTF(_scan_ctx.split_sql_template.c_str());
+        LOCAL_REF_GUARD_ENV(env, split_sql_template);
+        env->CallVoidMethod(_jdbc_scan_context.handle(), set_split, split_column, split_probe_sql, split_sql_template,
+                            _scan_ctx.num_splits);
+        CHECK_JAVA_EXCEPTION(env, "set JDBCScanContext split failed")
+    }
+
     return Status::OK();
 }
 
@@ -196,6 +211,9 @@ void JDBCScanner::_init_profile() {
     _profile.io_counter = ADD_COUNTER(_runtime_profile, "IOCounter", TUnit::UNIT);
     _profile.fill_chunk_timer = ADD_TIMER(_runtime_profile, "FillChunkTime");
     _runtime_profile->add_info_string("Query", _scan_ctx.sql);
+    if (_scan_ctx.num_splits > 1) {
+        _runtime_profile->add_info_string("SplitColumn", _scan_ctx.split_column);
+    }
 }
 
 StatusOr<LogicalType> JDBCScanner::_precheck_data_type(const std::string& java_class, SlotDescriptor* slot_desc) {
@@ -32,6 +32,10 @@
 
 namespace starrocks {
 
+// replaced with the range predicate of each split in JDBCScanContext::split_sql_template,
+// must be the same as JDBCScanContext.SPLIT_PREDICATE_PLACEHOLDER in jdbc-bridge
+constexpr const char* JDBC_SPLIT_PREDICATE_PLACEHOLDER = "__starrocks_split_predicate__";
+
 struct JDBCScanContext {
     std::string driver_path;
     std::string driver_class_name;
@@ -40,6 +44,11 @@ struct JDBCScanContext {
     std::string passwd;
     std::string sql;
     std::map<std::string, std::string> properties;
+    // set if the scan is split into ranges of split_column which are read concurrently by the jdbc bridge
+    std::string split_column;
+    std::string split_probe_sql;
+    std::string split_sql_template;
+    int32_t num_splits = 1;
 };
 
 struct JDBCScannerProfile {
@@ -109,7 +109,11 @@ Status FragmentExecutor::_prepare_query_ctx(ExecEnv* exec_env, const UnifiedExec
         return Status::Cancelled("Query has been cancelled");
     }
     _query_ctx->set_exec_env(exec_env);
-    if (params.__isset.instances_number) {
+    // The instances deployed by a batch carry their own instances_number, which differs among the backends.
+    const auto& unique_params = request.unique().params;
+    if (unique_params.__isset.instances_number) {
+        _query_ctx->set_total_fragments(unique_params.instances_number);
+    } else if (params.__isset.instances_number) {
         _query_ctx->set_total_fragments(params.instances_number);
     }
 
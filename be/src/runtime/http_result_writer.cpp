@@ -14,6 +14,8 @@
 
 #include "runtime/http_result_writer.h"
 
+#include <arrow/record_batch.h>
+#include <arrow/type.h>
 #include <column/column_helper.h>
 
 #include "column/chunk.h"
@@ -25,15 +27,19 @@
 #include "runtime/buffer_control_block.h"
 #include "runtime/current_thread.h"
 #include "types/logical_type.h"
+#include "util/arrow/row_batch.h"
+#include "util/arrow/starrocks_column_to_arrow.h"
 
 namespace starrocks {
 
 HttpResultWriter::HttpResultWriter(BufferControlBlock* sinker, const std::vector<ExprContext*>& output_expr_ctxs,
-                                   RuntimeProfile* parent_profile, TResultSinkFormatType::type format_type)
+                                   RuntimeProfile* parent_profile, TResultSinkFormatType::type format_type,
+                                   const std::vector<std::string>& column_names)
         : _sinker(sinker),
           _output_expr_ctxs(output_expr_ctxs),
           _parent_profile(parent_profile),
-          _format_type(format_type) {}
+          _format_type(format_type),
+          _column_names(column_names) {}
 
 Status HttpResultWriter::init(RuntimeState* state) {
     _init_profile();
@@ -41,6 +47,30 @@ Status HttpResultWriter::init(RuntimeState* state) {
         return Status::InternalError("sinker is NULL pointer.");
     }
 
+    if (_format_type == TResultSinkFormatType::ARROW) {
+        RETURN_IF_ERROR(_init_arrow_schema());
+        // send the schema before any record batch, so that the stream of an empty result is valid too.
+        // every sinker sends one, FE only forwards the first schema to the client.
+        auto result = std::make_unique<TFetchDataResult>();
+        result->result_batch.rows.resize(1);
+        RETURN_IF_ERROR(serialize_arrow_schema(_arrow_schema, &result->result_batch.rows[0]));
+        RETURN_IF_ERROR(_sinker->add_batch(result));
+    }
+
+    return Status::OK();
+}
+
+Status HttpResultWriter::_init_arrow_schema() {
+    std::vector<std::shared_ptr<arrow::Field>> fields;
+    for (size_t i = 0; i < _output_expr_ctxs.size(); ++i) {
+        Expr* expr = _output_expr_ctxs[i]->root();
+        std::string col_name = i < _column_names.size() ? _column_names[i] : "col_" + std::to_string(i);
+        std::shared_ptr<arrow::Field> field;
+        RETURN_IF_ERROR(convert_to_arrow_field(expr->type(), col_name, expr->is_nullable(), &field));
+        fields.emplace_back(std::move(field));
+        _output_types.emplace_back(expr->type());
+    }
+    _arrow_schema = arrow::schema(std::move(fields));
     return Status::OK();
 }
 
@@ -89,12 +119,22 @@ StatusOr<TFetchDataResultPtrs> HttpResultWriter::process_chunk(Chunk* chunk) {
 
     for (int i = 0; i < num_columns; ++i) {
         ASSIGN_OR_RETURN(ColumnPtr column, _output_expr_ctxs[i]->evaluate(chunk));
-        column = _output_expr_ctxs[i]->root()->type().type == TYPE_TIME
-                         ? ColumnHelper::convert_time_column_from_double_to_str(column)
-                         : column;
+        const TypeDescriptor& type = _output_expr_ctxs[i]->root()->type();
+        if (_format_type == TResultSinkFormatType::ARROW) {
+            // arrow keeps time as double, but needs every column to have all the rows
+            if (column->is_constant()) {
+                column = ColumnHelper::copy_and_unfold_const_column(type, column->is_nullable(), column, num_rows);
+            }
+        } else if (type.type == TYPE_TIME) {
+            column = ColumnHelper::convert_time_column_from_double_to_str(column);
+        }
         result_columns.emplace_back(std::move(column));
     }
 
+    if (_format_type == TResultSinkFormatType::ARROW) {
+        return _transform_chunk_to_arrow(num_rows, result_columns);
+    }
+
     // Step 2: convert chunk to http json row format row by row
     {
         TRY_CATCH_ALLOC_SCOPE_START()
@@ -112,6 +152,7 @@ StatusOr<TFetchDataResultPtrs> HttpResultWriter::process_chunk(Chunk* chunk) {
                 RETURN_IF_ERROR(_transform_row_to_json(result_columns, i));
                 break;
             case TResultSinkFormatType::type::OTHERS:
+            case TResultSinkFormatType::type::ARROW:
                 return Status::NotSupported("HttpResultWriter only support json format right now");
             }
             size_t len = _row_str.size();
@@ -146,11 +187,31 @@ StatusOr<TFetchDataResultPtrs> HttpResultWriter::process_chunk(Chunk* chunk) {
     return results;
 }
 
+StatusOr<TFetchDataResultPtrs> HttpResultWriter::_transform_chunk_to_arrow(size_t num_rows, const Columns& columns) {
+    SCOPED_TIMER(_convert_tuple_timer);
+    std::shared_ptr<arrow::RecordBatch> record_batch;
+    RETURN_IF_ERROR(convert_columns_to_arrow_batch(num_rows, columns, arrow::default_memory_pool(),
+                                                   _output_types.data(), _arrow_schema, &record_batch));
+    // one arrow ipc stream per chunk, FE strips the schema and the end of stream marker of each one and
+    // forwards the record batches as a single stream
+    auto result = std::make_unique<TFetchDataResult>();
+    result->result_batch.rows.resize(1);
+    RETURN_IF_ERROR(serialize_record_batch(*record_batch, &result->result_batch.rows[0]));
+    TFetchDataResultPtrs results;
+    results.emplace_back(std::move(result));
+    _num_arrow_rows = num_rows;
+    return results;
+}
+
 StatusOr<bool> HttpResultWriter::try_add_batch(TFetchDataResultPtrs& results) {
     SCOPED_TIMER(_result_send_timer);
     size_t num_rows = 0;
-    for (auto& result : results) {
-        num_rows += result->result_batch.rows.size();
+    if (_format_type == TResultSinkFormatType::ARROW) {
+        num_rows = _num_arrow_rows;
+    } else {
+        for (auto& result : results) {
+            num_rows += result->result_batch.rows.size();
+        }
     }
 
     auto status = _sinker->try_add_batch(results);
@@ -39,6 +39,10 @@
 #include "runtime/runtime_state.h"
 #include "util/raw_container.h"
 
+namespace arrow {
+class Schema;
+} // namespace arrow
+
 namespace starrocks {
 
 class ExprContext;
@@ -50,7 +54,8 @@ using TFetchDataResultPtrs = std::vector<TFetchDataResultPtr>;
 class HttpResultWriter final : public ResultWriter {
 public:
     HttpResultWriter(BufferControlBlock* sinker, const std::vector<ExprContext*>& output_expr_ctxs,
-                     RuntimeProfile* parent_profile, TResultSinkFormatType::type format_type);
+                     RuntimeProfile* parent_profile, TResultSinkFormatType::type format_type,
+                     const std::vector<std::string>& column_names);
 
     Status init(RuntimeState* state) override;
 
@@ -67,6 +72,10 @@ private:
 
     Status _transform_row_to_json(const Columns& column, int idx);
 
+    Status _init_arrow_schema();
+
+    StatusOr<TFetchDataResultPtrs> _transform_chunk_to_arrow(size_t num_rows, const Columns& columns);
+
     BufferControlBlock* _sinker;
     const std::vector<ExprContext*>& _output_expr_ctxs;
 
@@ -83,8 +92,15 @@ private:
 
     const size_t _max_row_buffer_size = 1024 * 1024 * 1024;
 
-    // result's format, right now just support json format
+    // result's format, json or arrow
     TResultSinkFormatType::type _format_type;
+
+    const std::vector<std::string>& _column_names;
+    // schema and output types of the arrow format
+    std::shared_ptr<arrow::Schema> _arrow_schema;
+    std::vector<TypeDescriptor> _output_types;
+    // a row of the arrow format is a record batch, the number of result rows in it
+    size_t _num_arrow_rows = 0;
 };
 
 } // namespace starrocks
\ No newline at end of file
@@ -63,6 +63,7 @@ ResultSink::ResultSink(const RowDescriptor& row_desc, const std::vector<TExpr>&
 
     if (_sink_type == TResultSinkType::HTTP_PROTOCAL) {
         _format_type = sink.format;
+        _column_names = sink.column_names;
     }
 
     if (_sink_type == TResultSinkType::FILE) {
@@ -75,6 +75,8 @@ public:
 
     TResultSinkFormatType::type get_format_type() const { return _format_type; }
 
+    const std::vector<std::string>& get_column_names() const { return _column_names; }
+
     const std::vector<TExpr>& get_output_exprs() const { return _t_output_expr; }
 
     std::shared_ptr<ResultFileOptions> get_file_opts() const { return _file_opts; }
@@ -87,6 +89,8 @@ private:
     bool _is_binary_format;
     // set format_type when sink type is HTTP
     TResultSinkFormatType::type _format_type;
+    // names of the output columns, set when sink type is HTTP
+    std::vector<std::string> _column_names;
     // set file options when sink type is FILE
     std::shared_ptr<ResultFileOptions> _file_opts;
 
@@ -349,7 +349,17 @@ void PInternalServiceImplBase<T>::_exec_batch_plan_fragments(google::protobuf::R
         return;
     }
 
-    Status status = _exec_plan_fragment_by_pipeline(common_request, unique_requests[0]);
+    // The instances are prepared one by one, the remaining ones are skipped after a failure,
+    // and FE cancels the whole query, including the instances already prepared.
+    Status status;
+    for (const auto& unique_request : unique_requests) {
+        status = _exec_plan_fragment_by_pipeline(common_request, unique_request);
+        if (!status.ok()) {
+            LOG(WARNING) << "exec batch plan fragments failed, fragment_instance_id="
+                         << print_id(unique_request.params.fragment_instance_id) << ", errmsg=" << status.message();
+            break;
+        }
+    }
     status.to_protobuf(response->mutable_status());
 }
 
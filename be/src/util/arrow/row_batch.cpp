@@ -221,4 +221,27 @@ Status serialize_record_batch(const arrow::RecordBatch& record_batch, std::strin
     return Status::OK();
 }
 
+Status serialize_arrow_schema(const std::shared_ptr<arrow::Schema>& schema, std::string* result) {
+    auto sink_res = arrow::io::BufferOutputStream::Create(1024, arrow::default_memory_pool());
+    if (!sink_res.ok()) {
+        return Status::InternalError("create BufferOutputStream failure, reason: " + sink_res.status().ToString());
+    }
+    std::shared_ptr<arrow::io::BufferOutputStream> sink = sink_res.ValueOrDie();
+    auto writer_res = arrow::ipc::MakeStreamWriter(sink.get(), schema);
+    if (!writer_res.ok()) {
+        return Status::InternalError("open RecordBatchStreamWriter failure, reason: " + writer_res.status().ToString());
+    }
+    // closing a writer without any record batch writes the schema and the end of stream marker
+    arrow::Status a_st = writer_res.ValueOrDie()->Close();
+    if (!a_st.ok()) {
+        return Status::InternalError("write schema failure, reason: " + a_st.ToString());
+    }
+    auto finish_res = sink->Finish();
+    if (!finish_res.ok()) {
+        return Status::InternalError("allocate result buffer failure, reason: " + finish_res.status().ToString());
+    }
+    *result = finish_res.ValueOrDie()->ToString();
+    return Status::OK();
+}
+
 } // namespace starrocks
@@ -67,4 +67,7 @@ Status convert_to_arrow_schema(const RowDescriptor& row_desc,
 
 Status serialize_record_batch(const arrow::RecordBatch& record_batch, std::string* result);
 
+// Serialize an arrow ipc stream which has the schema only.
+Status serialize_arrow_schema(const std::shared_ptr<arrow::Schema>& schema, std::string* result);
+
 } // namespace starrocks
@@ -254,4 +254,29 @@ TEST_F(AgentTaskTest, clone_task_under_dropping) {
     tablet->set_is_dropping(false);
 }
 
+
+TEST(IncrementalTabletReportTest, test_need_incremental_tablet_report) {
+    TTabletInfo info;
+    info.__set_tablet_id(10001);
+    TTablet tablet;
+    tablet.tablet_infos.push_back(info);
+    std::unordered_map<TTabletId, size_t> acked_fingerprints{{10001, 42}};
+    std::unordered_set<TTabletId> tablets_to_report;
+
+    // unchanged
+    ASSERT_FALSE(need_incremental_tablet_report(10001, tablet, 42, acked_fingerprints, tablets_to_report));
+    // changed or not acknowledged
+    ASSERT_TRUE(need_incremental_tablet_report(10001, tablet, 43, acked_fingerprints, tablets_to_report));
+    ASSERT_TRUE(need_incremental_tablet_report(10002, tablet, 42, acked_fingerprints, tablets_to_report));
+
+    // unchanged but asked for by FE
+    tablets_to_report.insert(10001);
+    ASSERT_TRUE(need_incremental_tablet_report(10001, tablet, 42, acked_fingerprints, tablets_to_report));
+
+    // unchanged with a pending transaction, FE publishes it only when the tablet is reported
+    tablets_to_report.clear();
+    tablet.tablet_infos[0].__set_transaction_ids({1000});
+    ASSERT_TRUE(need_incremental_tablet_report(10001, tablet, 42, acked_fingerprints, tablets_to_report));
+}
+
 } // namespace starrocks
@@ -45,6 +45,8 @@ public class JDBCTable extends Table {
     public static final String PARTITION_NULL_VALUE = "null";
 
     public static final String JDBC_TABLENAME = "jdbc_tablename";
+    // integer column used to split scans of the table into ranges, see JDBCScanNode
+    public static final String JDBC_SPLIT_COLUMN = "jdbc_split_column";
 
     @SerializedName(value = "tn")
     private String jdbcTable;
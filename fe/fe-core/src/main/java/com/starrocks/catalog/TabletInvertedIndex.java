@@ -38,6 +38,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -46,6 +47,8 @@ import com.google.common.collect.Table;
 import com.starrocks.catalog.Replica.ReplicaState;
 import com.starrocks.common.Config;
 import com.starrocks.common.Pair;
+import com.starrocks.common.util.LongLongHashMap;
+import com.starrocks.common.util.LongObjectHashMap;
 import com.starrocks.common.util.concurrent.lock.LockType;
 import com.starrocks.common.util.concurrent.lock.Locker;
 import com.starrocks.lake.LakeTablet;
@@ -66,6 +69,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -88,22 +92,30 @@ public class TabletInvertedIndex implements MemoryTrackable {
     public static final TabletMeta NOT_EXIST_TABLET_META = new TabletMeta(NOT_EXIST_VALUE, NOT_EXIST_VALUE,
             NOT_EXIST_VALUE, NOT_EXIST_VALUE, NOT_EXIST_VALUE, TStorageMedium.HDD);
 
+    private static final LongObjectHashMap<Replica> EMPTY_BACKEND_REPLICAS = new LongObjectHashMap<>();
+
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
     // tablet id -> tablet meta
     private final Map<Long, TabletMeta> tabletMetaMap = Maps.newConcurrentMap();
 
     // replica id -> tablet id
-    private final Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+    private final LongLongHashMap replicaToTabletMap = new LongLongHashMap();
 
     // tablet id -> backend set
     private final Map<Long, Set<Long>> forceDeleteTablets = Maps.newHashMap();
 
-    // tablet id -> (backend id -> replica)
-    private final Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
-    // backing replica table, for visiting backend replicas faster.
+    // The replica index is keyed by primitive ids, it holds one entry per replica on clusters with
+    // millions of tablets, so boxed keys and per-tablet maps would cost several times more heap than
+    // the replicas themselves.
+    //
+    // tablet id -> replicas of the tablet, a tablet only has a few replicas so a linear scan over
+    // the array is cheaper than a map for each tablet.
+    private final LongObjectHashMap<Replica[]> tabletReplicaMap = new LongObjectHashMap<>();
+    // backing replica map, for visiting backend replicas faster.
     // backend id -> (tablet id -> replica)
-    private final Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+    private final Map<Long, LongObjectHashMap<Replica>> backendReplicaMap = Maps.newHashMap();
+    private long replicaCount = 0;
 
     public TabletInvertedIndex() {
     }
@@ -124,7 +136,13 @@ public class TabletInvertedIndex implements MemoryTrackable {
         this.lock.writeLock().unlock();
     }
 
-    public void tabletReport(long backendId, Map<Long, TTablet> backendTablets,
+    /**
+     * Diff the tablets reported by the backend with the replicas in meta. For an incremental report only the
+     * reported tablets and the deleted tablets are diffed, the other replicas are unchanged instead of missing
+     * on backend.
+     */
+    public void tabletReport(long backendId, Map<Long, TTablet> backendTablets, boolean incremental,
+                             Set<Long> deletedTablets,
                              final HashMap<Long, TStorageMedium> storageMediumMap,
                              ListMultimap<Long, Long> tabletSyncMap,
                              ListMultimap<Long, Long> tabletDeleteFromMeta,
@@ -155,10 +173,13 @@ public class TabletInvertedIndex implements MemoryTrackable {
         long start = System.currentTimeMillis();
         try {
             LOG.debug("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
-            // backingReplicaMetaTable.row(backendId) won't return null
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
+            // getReplicasOnBackend(backendId) won't return null
+            LongObjectHashMap<Replica> replicaMetaWithBackend = getReplicasOnBackend(backendId);
+            if (incremental) {
+                replicaMetaWithBackend = getReportedReplicas(replicaMetaWithBackend, backendTablets, deletedTablets);
+            }
             // traverse replicas in meta with this backend
-            for (Map.Entry<Long, Replica> entry : replicaMetaWithBackend.entrySet()) {
+            for (LongObjectHashMap.Entry<Replica> entry : replicaMetaWithBackend) {
                 long tabletId = entry.getKey();
                 Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
                 TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
@@ -198,7 +219,7 @@ public class TabletInvertedIndex implements MemoryTrackable {
                                 replica.setSchemaHash(backendTabletInfo.getSchema_hash());
                             }
 
-                            if (!isRestoreReplica(replica, this.replicaToTabletMap, this.tabletMetaMap) &&
+                            if (!isRestoreReplica(replica) &&
                                     needRecover(replica, tabletMeta.getOldSchemaHash(), backendTabletInfo)) {
                                 LOG.warn("replica {} of tablet {} on backend {} need recovery. "
                                                 + "replica in FE: {}, report version {}, report schema hash: {},"
@@ -482,7 +503,8 @@ public class TabletInvertedIndex implements MemoryTrackable {
     public Long getTabletIdByReplica(long replicaId) {
         readLock();
         try {
-            return replicaToTabletMap.get(replicaId);
+            long tabletId = replicaToTabletMap.get(replicaId, NOT_EXIST_VALUE);
+            return tabletId == NOT_EXIST_VALUE ? null : tabletId;
         } finally {
             readUnlock();
         }
@@ -534,10 +556,10 @@ public class TabletInvertedIndex implements MemoryTrackable {
         }
     }
 
-    private boolean isRestoreReplica(Replica replica, Map<Long, Long> replicaToTabletMap, Map<Long, TabletMeta> tabletMetaMap) {
-        Long tabletId = replicaToTabletMap.get(replica.getId());
+    private boolean isRestoreReplica(Replica replica) {
+        long tabletId = replicaToTabletMap.get(replica.getId(), NOT_EXIST_VALUE);
         TabletMeta tabletMeta = null;
-        if (tabletId != null) {
+        if (tabletId != NOT_EXIST_VALUE) {
             tabletMeta = tabletMetaMap.get(tabletId);
         }
 
@@ -678,15 +700,13 @@ public class TabletInvertedIndex implements MemoryTrackable {
         }
         writeLock();
         try {
-            Map<Long, Replica> replicas = replicaMetaTable.rowMap().remove(tabletId);
+            Replica[] replicas = tabletReplicaMap.remove(tabletId);
             if (replicas != null) {
-                for (Replica replica : replicas.values()) {
+                for (Replica replica : replicas) {
                     replicaToTabletMap.remove(replica.getId());
+                    removeFromBackend(replica.getBackendId(), tabletId);
                 }
-
-                for (long backendId : replicas.keySet()) {
-                    backingReplicaMetaTable.remove(backendId, tabletId);
-                }
+                replicaCount -= replicas.length;
             }
             tabletMetaMap.remove(tabletId);
 
@@ -696,7 +716,23 @@ public class TabletInvertedIndex implements MemoryTrackable {
         }
     }
 
+    /**
+     * Copy the replicas into a tablet id -> (backend id -> replica) table, only for tests, the index
+     * itself does not keep a table.
+     */
+    @VisibleForTesting
     public Table<Long, Long, Replica> getReplicaMetaTable() {
+        Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
+        readLock();
+        try {
+            for (LongObjectHashMap.Entry<Replica[]> entry : tabletReplicaMap) {
+                for (Replica replica : entry.getValue()) {
+                    replicaMetaTable.put(entry.getKey(), replica.getBackendId(), replica);
+                }
+            }
+        } finally {
+            readUnlock();
+        }
         return replicaMetaTable;
     }
 
@@ -707,9 +743,10 @@ public class TabletInvertedIndex implements MemoryTrackable {
         writeLock();
         try {
             Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            replicaMetaTable.put(tabletId, replica.getBackendId(), replica);
+            putReplica(tabletId, replica);
             replicaToTabletMap.put(replica.getId(), tabletId);
-            backingReplicaMetaTable.put(replica.getBackendId(), tabletId, replica);
+            backendReplicaMap.computeIfAbsent(replica.getBackendId(), k -> new LongObjectHashMap<>())
+                    .put(tabletId, replica);
             LOG.debug("add replica {} of tablet {} in backend {}",
                     replica.getId(), tabletId, replica.getBackendId());
         } finally {
@@ -726,12 +763,11 @@ public class TabletInvertedIndex implements MemoryTrackable {
             if (!tabletMetaMap.containsKey(tabletId)) {
                 return;
             }
-            if (replicaMetaTable.containsRow(tabletId)) {
-                Replica replica = replicaMetaTable.remove(tabletId, backendId);
+            if (tabletReplicaMap.containsKey(tabletId)) {
+                Replica replica = removeReplica(tabletId, backendId);
                 assert replica != null;
                 replicaToTabletMap.remove(replica.getId());
-                replicaMetaTable.remove(tabletId, backendId);
-                backingReplicaMetaTable.remove(backendId, tabletId);
+                removeFromBackend(backendId, tabletId);
                 LOG.debug("delete replica {} of tablet {} in backend {}",
                         replica.getId(), tabletId, backendId);
             } else {
@@ -747,7 +783,15 @@ public class TabletInvertedIndex implements MemoryTrackable {
     public Replica getReplica(long tabletId, long backendId) {
         readLock();
         try {
-            return replicaMetaTable.get(tabletId, backendId);
+            Replica[] replicas = tabletReplicaMap.get(tabletId);
+            if (replicas != null) {
+                for (Replica replica : replicas) {
+                    if (replica.getBackendId() == backendId) {
+                        return replica;
+                    }
+                }
+            }
+            return null;
         } finally {
             readUnlock();
         }
@@ -756,8 +800,9 @@ public class TabletInvertedIndex implements MemoryTrackable {
     public List<Replica> getReplicasByTabletId(long tabletId) {
         readLock();
         try {
-            if (replicaMetaTable.containsRow(tabletId)) {
-                return Lists.newArrayList(replicaMetaTable.row(tabletId).values());
+            Replica[] replicas = tabletReplicaMap.get(tabletId);
+            if (replicas != null) {
+                return Lists.newArrayList(replicas);
             }
             return Lists.newArrayList();
         } finally {
@@ -775,7 +820,7 @@ public class TabletInvertedIndex implements MemoryTrackable {
     public List<Replica> getReplicasOnBackendByTabletIds(List<Long> tabletIds, long backendId) {
         readLock();
         try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
+            LongObjectHashMap<Replica> replicaMetaWithBackend = getReplicasOnBackend(backendId);
             if (!replicaMetaWithBackend.isEmpty()) {
                 List<Replica> replicas = Lists.newArrayList();
                 for (long tabletId : tabletIds) {
@@ -793,8 +838,10 @@ public class TabletInvertedIndex implements MemoryTrackable {
         List<Long> tabletIds = Lists.newArrayList();
         readLock();
         try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            tabletIds.addAll(replicaMetaWithBackend.keySet());
+            LongObjectHashMap<Replica> replicaMetaWithBackend = getReplicasOnBackend(backendId);
+            for (long tabletId : replicaMetaWithBackend.keys()) {
+                tabletIds.add(tabletId);
+            }
         } finally {
             readUnlock();
         }
@@ -805,9 +852,10 @@ public class TabletInvertedIndex implements MemoryTrackable {
         List<Long> tabletIds;
         readLock();
         try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            tabletIds = replicaMetaWithBackend.keySet().stream().filter(
-                    id -> tabletMetaMap.get(id).getStorageMedium() == storageMedium).collect(Collectors.toList());
+            LongObjectHashMap<Replica> replicaMetaWithBackend = getReplicasOnBackend(backendId);
+            tabletIds = Arrays.stream(replicaMetaWithBackend.keys()).filter(
+                    id -> tabletMetaMap.get(id).getStorageMedium() == storageMedium).boxed()
+                    .collect(Collectors.toList());
         } finally {
             readUnlock();
         }
@@ -817,7 +865,7 @@ public class TabletInvertedIndex implements MemoryTrackable {
     public long getTabletNumByBackendId(long backendId) {
         readLock();
         try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
+            LongObjectHashMap<Replica> replicaMetaWithBackend = getReplicasOnBackend(backendId);
             return replicaMetaWithBackend.size();
         } finally {
             readUnlock();
@@ -827,8 +875,14 @@ public class TabletInvertedIndex implements MemoryTrackable {
     public long getTabletNumByBackendIdAndPathHash(long backendId, long pathHash) {
         readLock();
         try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            return replicaMetaWithBackend.values().stream().filter(r -> r.getPathHash() == pathHash).count();
+            LongObjectHashMap<Replica> replicaMetaWithBackend = getReplicasOnBackend(backendId);
+            long count = 0;
+            for (LongObjectHashMap.Entry<Replica> entry : replicaMetaWithBackend) {
+                if (entry.getValue().getPathHash() == pathHash) {
+                    count++;
+                }
+            }
+            return count;
         } finally {
             readUnlock();
         }
@@ -840,8 +894,8 @@ public class TabletInvertedIndex implements MemoryTrackable {
         long ssdNum = 0;
         readLock();
         try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            for (long tabletId : replicaMetaWithBackend.keySet()) {
+            LongObjectHashMap<Replica> replicaMetaWithBackend = getReplicasOnBackend(backendId);
+            for (long tabletId : replicaMetaWithBackend.keys()) {
                 if (tabletMetaMap.get(tabletId).getStorageMedium() == TStorageMedium.HDD) {
                     hddNum++;
                 } else {
@@ -863,7 +917,7 @@ public class TabletInvertedIndex implements MemoryTrackable {
     public long getReplicaCount() {
         readLock();
         try {
-            return this.replicaMetaTable.size();
+            return this.replicaCount;
         } finally {
             readUnlock();
         }
@@ -875,18 +929,119 @@ public class TabletInvertedIndex implements MemoryTrackable {
         try {
             tabletMetaMap.clear();
             replicaToTabletMap.clear();
-            replicaMetaTable.clear();
-            backingReplicaMetaTable.clear();
+            tabletReplicaMap.clear();
+            backendReplicaMap.clear();
+            replicaCount = 0;
         } finally {
             writeUnlock();
         }
     }
 
+    // replica of the tablet in backend, the caller should hold the lock
+    private LongObjectHashMap<Replica> getReplicasOnBackend(long backendId) {
+        LongObjectHashMap<Replica> replicas = backendReplicaMap.get(backendId);
+        return replicas == null ? EMPTY_BACKEND_REPLICAS : replicas;
+    }
+
+    // replicas in meta of the reported and the deleted tablets, the caller should hold the lock
+    private static LongObjectHashMap<Replica> getReportedReplicas(LongObjectHashMap<Replica> replicasOnBackend,
+                                                                  Map<Long, TTablet> backendTablets,
+                                                                  Set<Long> deletedTablets) {
+        LongObjectHashMap<Replica> reportedReplicas =
+                new LongObjectHashMap<>(backendTablets.size() + deletedTablets.size());
+        for (long tabletId : Iterables.concat(backendTablets.keySet(), deletedTablets)) {
+            Replica replica = replicasOnBackend.get(tabletId);
+            if (replica != null) {
+                reportedReplicas.put(tabletId, replica);
+            }
+        }
+        return reportedReplicas;
+    }
+
+    // the caller should hold the write lock
+    private void putReplica(long tabletId, Replica replica) {
+        Replica[] replicas = tabletReplicaMap.get(tabletId);
+        if (replicas == null) {
+            tabletReplicaMap.put(tabletId, new Replica[] {replica});
+            replicaCount++;
+            return;
+        }
+        for (int i = 0; i < replicas.length; i++) {
+            if (replicas[i].getBackendId() == replica.getBackendId()) {
+                if (replicas[i].getId() != replica.getId()) {
+                    replicaToTabletMap.remove(replicas[i].getId());
+                }
+                replicas[i] = replica;
+                return;
+            }
+        }
+        Replica[] newReplicas = Arrays.copyOf(replicas, replicas.length + 1);
+        newReplicas[replicas.length] = replica;
+        tabletReplicaMap.put(tabletId, newReplicas);
+        replicaCount++;
+    }
+
+    // the caller should hold the write lock
+    private Replica removeReplica(long tabletId, long backendId) {
+        Replica[] replicas = tabletReplicaMap.get(tabletId);
+        if (replicas == null) {
+            return null;
+        }
+        for (int i = 0; i < replicas.length; i++) {
+            if (replicas[i].getBackendId() == backendId) {
+                Replica removed = replicas[i];
+                if (replicas.length == 1) {
+                    tabletReplicaMap.remove(tabletId);
+                } else {
+                    Replica[] newReplicas = new Replica[replicas.length - 1];
+                    System.arraycopy(replicas, 0, newReplicas, 0, i);
+                    System.arraycopy(replicas, i + 1, newReplicas, i, replicas.length - i - 1);
+                    tabletReplicaMap.put(tabletId, newReplicas);
+                }
+                replicaCount--;
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    // the caller should hold the write lock
+    private void removeFromBackend(long backendId, long tabletId) {
+        LongObjectHashMap<Replica> replicas = backendReplicaMap.get(backendId);
+        if (replicas != null) {
+            replicas.remove(tabletId);
+            if (replicas.isEmpty()) {
+                backendReplicaMap.remove(backendId);
+            }
+        }
+    }
+
+    /**
+     * Estimated heap of the replica index itself, not including the replica and tablet meta objects.
+     * An array slot is 8 bytes for a long and 4 bytes for a compressed reference, an array header is 16 bytes.
+     */
+    public long estimateIndexSize() {
+        readLock();
+        try {
+            long size = replicaToTabletMap.capacity() * 16L;
+            size += tabletReplicaMap.capacity() * 12L + tabletReplicaMap.size() * 16L + replicaCount * 4L;
+            for (LongObjectHashMap<Replica> replicas : backendReplicaMap.values()) {
+                size += replicas.capacity() * 12L;
+            }
+            return size;
+        } finally {
+            readUnlock();
+        }
+    }
+
     @Override
     public Map<String, Long> estimateCount() {
+        long numReplicas = getReplicaCount();
+        long indexSize = estimateIndexSize();
         return ImmutableMap.of("TabletMeta", (long) tabletMetaMap.size(),
                                "TabletCount", getTabletCount(),
-                               "ReplicateCount", getReplicaCount());
+                               "ReplicateCount", numReplicas,
+                               "ReplicaIndexBytesPerReplica", numReplicas == 0 ? 0 : indexSize / numReplicas);
     }
 }
 
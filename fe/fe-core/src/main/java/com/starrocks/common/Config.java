@@ -442,6 +442,33 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int edit_log_write_slow_log_threshold_ms = 2000;
 
+    /**
+     * Number of threads used to deserialize the tables of each database when loading the image.
+     * Values less than or equal to 1 load the image on a single thread.
+     */
+    @ConfField
+    public static int metadata_image_load_parallelism = 1;
+
+    /**
+     * Number of threads used by followers and observers to deserialize journals ahead of replaying them.
+     * Journals are still applied one by one in order. Values less than or equal to 1 disable it.
+     */
+    @ConfField
+    public static int metadata_journal_replay_decode_threads = 1;
+
+    /**
+     * Max number of journals read ahead of replay when metadata_journal_replay_decode_threads is larger than 1.
+     */
+    @ConfField(mutable = true)
+    public static int metadata_journal_replay_prefetch_num = 1024;
+
+    /**
+     * Number of threads used to serialize the tables of each database when saving the image.
+     * Values less than or equal to 1 save the image on a single thread.
+     */
+    @ConfField(mutable = true)
+    public static int metadata_image_save_parallelism = 1;
+
     /**
      * whether ignore unknown log id
      * when fe rolls back to low version, there may be log id that low version fe can not recognise
@@ -451,6 +478,14 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static boolean ignore_unknown_log_id = false;
 
+    /**
+     * Write replica add/update/delete journals in a compact binary format instead of json,
+     * which is smaller and faster to replay. FEs older than this version can not replay these
+     * journals, so only enable it when no FE in the cluster will be rolled back.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_compact_replica_journal = false;
+
     /**
      * hdfs_read_buffer_size_kb for reading hdfs
      */
@@ -821,6 +856,16 @@ public class Config extends ConfigBase {
     @ConfField
     public static int brpc_idle_wait_max_time = 10000;
 
+    /**
+     * Deploy the instances of a fragment to each backend with one batch RPC, whose fragment, descriptor table
+     * and query options are serialized once per fragment and shared by all the instances, instead of one
+     * RPC per instance carrying the whole plan. Only takes effect for the pipeline engine with the binary
+     * plan protocol. Enable it only after all the backends are upgraded, older backends only execute
+     * the first instance of a batch.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_deploy_shared_fragment_params = false;
+
     /**
      * FE mysql server port
      */
@@ -868,6 +913,13 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static String mysql_server_version = "5.1.0";
 
+    /**
+     * Whether the mysql server supports the zlib compressed protocol. A client only uses it if it asks for it,
+     * e.g. mysql --compress, or useCompression=true of the JDBC driver.
+     */
+    @ConfField(mutable = true)
+    public static boolean mysql_server_enable_compression = true;
+
     /**
      * If a backend is down for *max_backend_down_time_second*, a BACKEND_DOWN event will be triggered.
      * Do not set this if you know what you are doing.
@@ -898,6 +950,14 @@ public class Config extends ConfigBase {
     @ConfField
     public static int publish_version_interval_ms = 10;
 
+    /**
+     * Wake up the publish version daemon when a transaction is committed or a publish version task is finished,
+     * instead of only polling every publish_version_interval_ms. With it enabled publish_version_interval_ms
+     * is just a fallback and can be raised to reduce the scans of idle databases.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_event_driven_publish_version = true;
+
     @ConfField(mutable = true)
     public static boolean lake_enable_batch_publish_version = true;
 
@@ -1665,6 +1725,16 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, comment = "How much time we should wait before dropping the tablet from BE on tablet report")
     public static long tablet_report_drop_tablet_delay_sec = 120;
 
+    /**
+     * Whether to accept incremental tablet reports, which only carry the tablets changed since the last
+     * tablet report acknowledged by FE. Backends fall back to full tablet reports when it is disabled.
+     * Backends must enable enable_incremental_tablet_report as well. They always report the tablets with
+     * pending transactions and the tablets FE is going to drop, and send a full tablet report every
+     * full_tablet_report_interval_seconds.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_incremental_tablet_report = false;
+
     /**
      * After checked tablet_checker_partition_batch_num partitions, db lock will be released,
      * so that other threads can get the lock.
@@ -1727,6 +1797,31 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long routine_load_task_timeout_second = 60;
 
+    /**
+     * Whether kafka routine load jobs assign the partitions to the tasks by their lag and consumption rate, and adjust
+     * the number of tasks, the batch rows of a task and the interval between the tasks to hold
+     * routine_load_adaptive_target_latency_second with as few transactions as possible.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_routine_load_adaptive_scheduling = false;
+
+    /**
+     * The target latency from a message being produced to kafka to it being loaded,
+     * only effective when enable_routine_load_adaptive_scheduling is true.
+     */
+    @ConfField(mutable = true)
+    public static long routine_load_adaptive_target_latency_second = 60;
+
+    /**
+     * The min interval to reschedule a kafka routine load job to rebalance its partitions or change its number
+     * of tasks, only effective when enable_routine_load_adaptive_scheduling is true.
+     * The latest offsets of the partitions of a job are also refreshed from kafka at most once in this interval,
+     * so the routine_load_lag_of_partition metric of a partition which keeps having new messages can be stale
+     * for up to this interval.
+     */
+    @ConfField(mutable = true)
+    public static long routine_load_adaptive_reschedule_interval_second = 300;
+
     /**
      * kafka util request timeout
      */
@@ -2011,6 +2106,17 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long statistic_update_interval_sec = 24L * 60L * 60L;
 
+    /**
+     * If true, the statistic cache entries are not refreshed periodically, they are invalidated and reloaded
+     * when new statistics are collected on the leader or replayed on the followers.
+     * `statistic_cache_push_invalidation_expire_sec` is kept as a safety net for missed invalidations.
+     */
+    @ConfField
+    public static boolean enable_statistic_cache_push_invalidation = false;
+
+    @ConfField
+    public static long statistic_cache_push_invalidation_expire_sec = 7L * 24L * 60L * 60L;
+
     @ConfField(mutable = true)
     public static long statistic_collect_too_many_version_sleep = 600000; // 10min
     /**
@@ -2191,6 +2297,35 @@ public class Config extends ConfigBase {
     @ConfField
     public static long remote_file_cache_refresh_interval_s = 60;
 
+    /**
+     * Memory budget of the remote file caches of all hive and hudi catalogs, as a ratio of the FE max heap.
+     * The cached file listings are weighted by their estimated size and the budget is shared by all catalogs,
+     * when it is exceeded each catalog evicts its coldest listings.
+     * A catalog created when it is 0 is bounded by the number of listings (remote_file_cache_max_num) instead.
+     */
+    @ConfField(mutable = true)
+    public static double remote_file_cache_memory_usage_ratio = 0.1;
+
+    /**
+     * Whether hive catalogs keep remote file listings in a local disk cache as well, so that the first
+     * query of each partition after an FE restart does not need to list it again.
+     * It can be overridden by the catalog property enable_remote_file_disk_cache.
+     */
+    @ConfField
+    public static boolean enable_remote_file_disk_cache = false;
+
+    /**
+     * Directory of the remote file listing disk cache, each catalog has a sub directory
+     */
+    @ConfField
+    public static String remote_file_disk_cache_path = StarRocksFE.STARROCKS_HOME_DIR + "/caches/remote_files";
+
+    /**
+     * Capacity in bytes of the remote file listing disk cache of each catalog, default 1GB
+     */
+    @ConfField
+    public static long remote_file_disk_cache_capacity = 1073741824L;
+
     /**
      * Number of threads to load remote file's metadata concurrency.
      */
@@ -2620,6 +2755,27 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int metadata_journal_max_batch_cnt = 100;
 
+    /**
+     * The maximum time in milliseconds the journal writer waits for more journals after the journal queue
+     * is drained, counted from the start of a batch. Lingering only happens when the previous batch contained
+     * more than one journal, trading a few milliseconds of latency for larger batches under bursty writes.
+     * 0 means commit as soon as the queue is drained.
+     * Without metadata_journal_commit_target_latency_ms the writer always lingers this long.
+     **/
+    @ConfField(mutable = true)
+    public static int metadata_journal_commit_linger_ms = 0;
+
+    /**
+     * The target latency in milliseconds of a journal batch, from the start of the batch to the end of its commit.
+     * If it is greater than 0, the linger time adapts to the commit latency of the recent batches: the writer waits
+     * for more journals for at most the target minus the average commit latency, capped by
+     * metadata_journal_commit_linger_ms. So it lingers less when the commits get slower and does not linger at all
+     * when a commit alone takes longer than the target.
+     * 0 means the linger time is fixed to metadata_journal_commit_linger_ms.
+     **/
+    @ConfField(mutable = true)
+    public static int metadata_journal_commit_target_latency_ms = 0;
+
     /**
      * jaeger tracing endpoint, empty thing disables tracing
      */
@@ -3029,6 +3185,36 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long mv_plan_cache_max_size = 1000;
 
+    /**
+     * Number of threads shared by all queries to build related mvs' plans concurrently when
+     * `cbo_materialized_view_plan_build_parallelism` is greater than 1.
+     */
+    @ConfField
+    public static int mv_plan_context_build_threads = 8;
+
+    /**
+     * Max number of point query plans of prepared statements shared by all connections.
+     * Connections preparing the same statement on the same database reuse the plan instead of planning it again.
+     * 0 means each connection only caches the plans of its own prepared statements.
+     */
+    @ConfField
+    public static int prepared_plan_cache_max_size = 0;
+
+    /**
+     * Max number of parse trees of statements shared by all connections.
+     * A statement with the same text and sql mode as a cached one skips the lexer and the parser,
+     * only its AST is built again. 0 means disable the cache.
+     */
+    @ConfField
+    public static int parse_tree_cache_max_size = 0;
+
+    /**
+     * Statements longer than this are not put into the parse tree cache, like the insert statements
+     * with a lot of values, which are unlikely to be sent again and take much memory.
+     */
+    @ConfField(mutable = true)
+    public static int parse_tree_cache_max_sql_length = 16384;
+
     @ConfField(mutable = true, comment = "Max materialized view rewrite cache size during one query's lifecycle " +
             "so can avoid repeating compute to reduce optimizer time in materialized view rewrite, " +
             "but may occupy some extra FE's memory. It's well-done when there are many relative " +
@@ -31,6 +31,9 @@ public class Daemon extends Thread {
     private Runnable runnable;
     private final AtomicBoolean isStopped = new AtomicBoolean(false);
     private final AtomicBoolean isRunning = new AtomicBoolean(false);
+    // guards wakeupRequested, the daemon waits on it between two cycles
+    private final Object wakeupLock = new Object();
+    private boolean wakeupRequested = false;
 
     private MetaContext metaContext = null;
 
@@ -89,6 +92,17 @@ public class Daemon extends Thread {
         this.intervalMs = intervalMs;
     }
 
+    /**
+     * Start the next cycle now instead of after the interval. Wakeups requested during a cycle are merged into one
+     * extra cycle, so callers may invoke this on every event without causing a busy loop.
+     */
+    public void wakeup() {
+        synchronized (wakeupLock) {
+            wakeupRequested = true;
+            wakeupLock.notifyAll();
+        }
+    }
+
     /**
      * implement in child
      */
@@ -110,7 +124,7 @@ public class Daemon extends Thread {
             }
 
             try {
-                Thread.sleep(intervalMs);
+                waitForNextCycle();
             } catch (InterruptedException e) {
                 LOG.error("InterruptedException: ", e);
             }
@@ -124,4 +138,18 @@ public class Daemon extends Thread {
             LOG.warn("set daemon thread {} to stop failed", getName());
         }
     }
+
+    private void waitForNextCycle() throws InterruptedException {
+        if (intervalMs <= 0) {
+            // Object.wait(0) never times out, keep the plain sleep for daemons without interval
+            Thread.sleep(intervalMs);
+            return;
+        }
+        synchronized (wakeupLock) {
+            if (!wakeupRequested) {
+                wakeupLock.wait(intervalMs);
+            }
+            wakeupRequested = false;
+        }
+    }
 }
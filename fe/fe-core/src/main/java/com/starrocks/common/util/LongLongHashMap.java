@@ -0,0 +1,210 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.util;
+
+/**
+ * A hash map from primitive long keys to primitive long values, the primitive counterpart of
+ * {@code HashMap<Long, Long>}. It takes 16 bytes per slot instead of about 70 bytes per entry for the boxed map.
+ * Absent keys are reported with the default value given to {@link #get(long, long)}.
+ * <p>
+ * The map is not thread safe. Concurrent readers are fine as long as writers are excluded by an outer lock.
+ *
+ * @see LongObjectHashMap
+ */
+public class LongLongHashMap {
+    private static final int MIN_CAPACITY = 4;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    // 0 marks an empty slot, the entry of key 0 is kept aside
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int threshold;
+    // number of entries in keys, not including the entry of key 0
+    private int size;
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize, LOAD_FACTOR, MIN_CAPACITY));
+    }
+
+    public int size() {
+        return hasZeroKey ? size + 1 : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Number of slots currently allocated, used to estimate the heap consumed by the map.
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    public long get(long key, long defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int pos = indexOf(key);
+        return pos >= 0 ? values[pos] : defaultValue;
+    }
+
+    public void put(long key, long value) {
+        if (key == 0) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int pos = slot(key, mask);
+        while (keys[pos] != 0) {
+            if (keys[pos] == key) {
+                values[pos] = value;
+                return;
+            }
+            pos = (pos + 1) & mask;
+        }
+        keys[pos] = key;
+        values[pos] = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * @return true if the key was present
+     */
+    public boolean remove(long key) {
+        if (key == 0) {
+            boolean present = hasZeroKey;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return present;
+        }
+        int pos = indexOf(key);
+        if (pos < 0) {
+            return false;
+        }
+        shiftKeys(pos);
+        size--;
+        if (keys.length > MIN_CAPACITY && size < threshold >>> 2) {
+            rehash(keys.length >>> 1);
+        }
+        return true;
+    }
+
+    public void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    private int indexOf(long key) {
+        int pos = slot(key, mask);
+        while (true) {
+            long k = keys[pos];
+            if (k == 0) {
+                return -1;
+            }
+            if (k == key) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+    }
+
+    // Backward shift deletion, keeps every remaining key reachable from its home slot without tombstones.
+    private void shiftKeys(int pos) {
+        while (true) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            long k;
+            while (true) {
+                k = keys[pos];
+                if (k == 0) {
+                    keys[last] = 0;
+                    values[last] = 0;
+                    return;
+                }
+                int home = slot(k, mask);
+                if (last <= pos ? last >= home || home > pos : last >= home && home > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int pos = slot(key, mask);
+                while (keys[pos] != 0) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = key;
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    // Ids are mostly allocated sequentially, scramble them so that they do not form long probe runs.
+    static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    // The smallest power of two table which holds expectedSize entries under the load factor.
+    static int tableSizeFor(int expectedSize, float loadFactor, int minCapacity) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / (double) loadFactor) + 1;
+        int capacity = minCapacity;
+        while (capacity < needed && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    @Override
+    public String toString() {
+        return "LongLongHashMap{size=" + size() + ", capacity=" + capacity() + "}";
+    }
+}
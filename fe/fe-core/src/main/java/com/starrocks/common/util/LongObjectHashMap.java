@@ -0,0 +1,278 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash map from primitive long keys to objects, using open addressing with linear probing over two parallel
+ * arrays. Compared with {@code HashMap<Long, V>} it needs no boxed key and no entry object, which is about
+ * 12 bytes per slot instead of about 60 bytes per entry.
+ * <p>
+ * The map is not thread safe. Concurrent readers are fine as long as writers are excluded by an outer lock.
+ */
+public class LongObjectHashMap<V> implements Iterable<LongObjectHashMap.Entry<V>> {
+    private static final int MIN_CAPACITY = 4;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    // 0 marks an empty slot, the entry of key 0 is kept aside
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int threshold;
+    // number of entries in keys, not including the entry of key 0
+    private int size;
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    public LongObjectHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(LongLongHashMap.tableSizeFor(expectedSize, LOAD_FACTOR, MIN_CAPACITY));
+    }
+
+    public int size() {
+        return hasZeroKey ? size + 1 : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Number of slots currently allocated, used to estimate the heap consumed by the map.
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0) {
+            return zeroValue;
+        }
+        int pos = indexOf(key);
+        return pos >= 0 ? (V) values[pos] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == 0) {
+            V prev = zeroValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return prev;
+        }
+        int pos = LongLongHashMap.slot(key, mask);
+        while (keys[pos] != 0) {
+            if (keys[pos] == key) {
+                V prev = (V) values[pos];
+                values[pos] = value;
+                return prev;
+            }
+            pos = (pos + 1) & mask;
+        }
+        keys[pos] = key;
+        values[pos] = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == 0) {
+            V prev = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            return prev;
+        }
+        int pos = indexOf(key);
+        if (pos < 0) {
+            return null;
+        }
+        V prev = (V) values[pos];
+        shiftKeys(pos);
+        size--;
+        if (keys.length > MIN_CAPACITY && size < threshold >>> 2) {
+            rehash(keys.length >>> 1);
+        }
+        return prev;
+    }
+
+    public void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = null;
+    }
+
+    public long[] keys() {
+        long[] result = new long[size()];
+        int i = 0;
+        if (hasZeroKey) {
+            result[i++] = 0;
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size());
+        if (hasZeroKey) {
+            result.add(zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                result.add((V) values[i]);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<Entry<V>> iterator() {
+        return new Iterator<Entry<V>>() {
+            // -1 stands for the entry of key 0
+            private int pos = hasZeroKey ? -1 : advance(0);
+
+            private int advance(int from) {
+                while (from < keys.length && keys[from] == 0) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return pos < keys.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Entry<V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Entry<V> entry = pos < 0 ? new Entry<>(0, zeroValue) : new Entry<>(keys[pos], (V) values[pos]);
+                pos = advance(pos + 1);
+                return entry;
+            }
+        };
+    }
+
+    private int indexOf(long key) {
+        int pos = LongLongHashMap.slot(key, mask);
+        while (true) {
+            long k = keys[pos];
+            if (k == 0) {
+                return -1;
+            }
+            if (k == key) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+    }
+
+    // Backward shift deletion, keeps every remaining key reachable from its home slot without tombstones.
+    private void shiftKeys(int pos) {
+        while (true) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            long k;
+            while (true) {
+                k = keys[pos];
+                if (k == 0) {
+                    keys[last] = 0;
+                    values[last] = null;
+                    return;
+                }
+                int home = LongLongHashMap.slot(k, mask);
+                if (last <= pos ? last >= home || home > pos : last >= home && home > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int pos = LongLongHashMap.slot(key, mask);
+                while (keys[pos] != 0) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = key;
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LongObjectHashMap{size=" + size() + ", capacity=" + capacity() + "}";
+    }
+
+    public static class Entry<V> {
+        private final long key;
+        private final V value;
+
+        Entry(long key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        public long getKey() {
+            return key;
+        }
+
+        public V getValue() {
+            return value;
+        }
+    }
+}
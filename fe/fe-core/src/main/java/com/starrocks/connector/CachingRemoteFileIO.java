@@ -14,12 +14,14 @@
 
 package com.starrocks.connector;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Weigher;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.starrocks.connector.exception.StarRocksConnectorException;
+import com.starrocks.connector.hive.DiskCachingRemoteFileIO;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.Path;
 import org.apache.logging.log4j.LogManager;
@@ -28,11 +30,12 @@ import org.apache.logging.log4j.Logger;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Throwables.throwIfInstanceOf;
-import static com.google.common.cache.CacheLoader.asyncReloading;
 import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -43,22 +46,47 @@ public class CachingRemoteFileIO implements RemoteFileIO {
     public static final long NEVER_REFRESH = -1;
     private final RemoteFileIO fileIO;
     private final LoadingCache<RemotePathKey, List<RemoteFileDesc>> cache;
+    // bounded by the estimated memory of the listings instead of the number of them
+    private final boolean weighted;
+
+    // rough shallow sizes on a 64-bit JVM with compressed oops, only used to weigh the cached listings
+    private static final long PATH_KEY_SIZE = 64;
+    private static final long FILE_DESC_SIZE = 112;
+    private static final long BLOCK_DESC_SIZE = 80;
+    private static final long STRING_SIZE = 40;
 
     protected CachingRemoteFileIO(RemoteFileIO fileIO,
                                   Executor executor,
                                   long expireAfterWriteSec,
                                   long refreshIntervalSec,
                                   long maxSize) {
+        this(fileIO, executor, expireAfterWriteSec, refreshIntervalSec, maxSize, false);
+    }
+
+    /**
+     * @param weighted bound the cache by the estimated memory of the listings, maxSize is a number of bytes then
+     */
+    protected CachingRemoteFileIO(RemoteFileIO fileIO,
+                                  Executor executor,
+                                  long expireAfterWriteSec,
+                                  long refreshIntervalSec,
+                                  long maxSize,
+                                  boolean weighted) {
         this.fileIO = fileIO;
-        this.cache = newCacheBuilder(expireAfterWriteSec, refreshIntervalSec, maxSize)
-                .build(asyncReloading(new CacheLoader<RemotePathKey, List<RemoteFileDesc>>() {
+        this.weighted = weighted;
+        this.cache = newCacheBuilder(expireAfterWriteSec, refreshIntervalSec, maxSize, weighted)
+                .executor(executor)
+                .build(new CacheLoader<RemotePathKey, List<RemoteFileDesc>>() {
                     @Override
                     public List<RemoteFileDesc> load(RemotePathKey key) throws Exception {
                         List<RemoteFileDesc> res = loadRemoteFiles(key);
                         key.drop();
+                        if (weighted) {
+                            RemoteFileCacheMemoryManager.getInstance().onLoad();
+                        }
                         return res;
                     }
-                }, executor));
+                });
     }
 
     public static CachingRemoteFileIO createCatalogLevelInstance(RemoteFileIO fileIO, Executor executor,
@@ -66,6 +94,25 @@ public class CachingRemoteFileIO implements RemoteFileIO {
         return new CachingRemoteFileIO(fileIO, executor, expireAfterWrite, refreshInterval, maxSize);
     }
 
+    /**
+     * Create the catalog level cache of a catalog. When the remote file cache memory budget is enabled, the cache is
+     * bounded by the estimated memory of the listings and shares the budget with the caches of other catalogs,
+     * otherwise it is bounded by maxSize listings.
+     */
+    public static CachingRemoteFileIO createCatalogLevelInstance(String catalogName, RemoteFileIO fileIO,
+                                                                 Executor executor, long expireAfterWrite,
+                                                                 long refreshInterval, long maxSize) {
+        RemoteFileCacheMemoryManager memoryManager = RemoteFileCacheMemoryManager.getInstance();
+        long budgetBytes = memoryManager.getBudgetBytes();
+        if (budgetBytes <= 0) {
+            return createCatalogLevelInstance(fileIO, executor, expireAfterWrite, refreshInterval, maxSize);
+        }
+        CachingRemoteFileIO cachingFileIO = new CachingRemoteFileIO(fileIO, executor, expireAfterWrite,
+                refreshInterval, budgetBytes, true);
+        memoryManager.register(catalogName, cachingFileIO);
+        return cachingFileIO;
+    }
+
     public static CachingRemoteFileIO createQueryLevelInstance(RemoteFileIO fileIO, long maxSize) {
         return new CachingRemoteFileIO(
                 fileIO,
@@ -84,8 +131,13 @@ public class CachingRemoteFileIO implements RemoteFileIO {
             if (!useCache) {
                 invalidatePartition(pathKey);
             }
-            return ImmutableMap.of(pathKey, cache.getUnchecked(pathKey));
-        } catch (UncheckedExecutionException e) {
+            List<RemoteFileDesc> fileDescs = cache.get(pathKey);
+            if (weighted) {
+                // not in the loader, evicting from the cache which is loading the entry is not allowed
+                RemoteFileCacheMemoryManager.getInstance().checkBudget();
+            }
+            return ImmutableMap.of(pathKey, fileDescs);
+        } catch (CompletionException e) {
             LOG.error("Error occurred when getting remote files from cache", e);
             throwIfInstanceOf(e.getCause(), StarRocksConnectorException.class);
             throw e;
@@ -114,13 +166,24 @@ public class CachingRemoteFileIO implements RemoteFileIO {
         if (fileIO instanceof CachingRemoteFileIO) {
             ((CachingRemoteFileIO) fileIO).updateRemoteFiles(pathKey);
         } else {
+            // an explicit update must list the remote storage, not reuse the disk cache
+            if (fileIO instanceof DiskCachingRemoteFileIO) {
+                ((DiskCachingRemoteFileIO) fileIO).invalidate(pathKey);
+            }
             cache.put(pathKey, loadRemoteFiles(pathKey));
+            if (weighted) {
+                RemoteFileCacheMemoryManager.getInstance().onLoad();
+                RemoteFileCacheMemoryManager.getInstance().checkBudget();
+            }
         }
         pathKey.drop();
     }
 
     public synchronized void invalidateAll() {
         cache.invalidateAll();
+        if (fileIO instanceof DiskCachingRemoteFileIO) {
+            ((DiskCachingRemoteFileIO) fileIO).invalidateAll();
+        }
     }
 
     public void invalidatePartition(RemotePathKey pathKey) {
@@ -130,13 +193,17 @@ public class CachingRemoteFileIO implements RemoteFileIO {
             ((CachingRemoteFileIO) fileIO).invalidatePartition(pathKey);
             cache.invalidate(pathKey);
         } else {
+            if (fileIO instanceof DiskCachingRemoteFileIO) {
+                ((DiskCachingRemoteFileIO) fileIO).invalidate(pathKey);
+            }
             cache.invalidate(pathKey);
         }
         pathKey.drop();
     }
 
-    private static CacheBuilder<Object, Object> newCacheBuilder(long expiresAfterWriteSec, long refreshSec, long maximumSize) {
-        CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
+    private static Caffeine<Object, Object> newCacheBuilder(long expiresAfterWriteSec, long refreshSec, long maximumSize,
+                                                            boolean weighted) {
+        Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder();
         if (expiresAfterWriteSec >= 0) {
             cacheBuilder.expireAfterWrite(expiresAfterWriteSec, SECONDS);
         }
@@ -145,10 +212,61 @@ public class CachingRemoteFileIO implements RemoteFileIO {
             cacheBuilder.refreshAfterWrite(refreshSec, SECONDS);
         }
 
-        cacheBuilder.maximumSize(maximumSize);
+        if (weighted) {
+            cacheBuilder.maximumWeight(maximumSize)
+                    .weigher((Weigher<RemotePathKey, List<RemoteFileDesc>>) (key, fileDescs) ->
+                            (int) Math.min(estimateSize(key, fileDescs), Integer.MAX_VALUE));
+        } else {
+            cacheBuilder.maximumSize(maximumSize);
+        }
         return cacheBuilder;
     }
 
+    public static long estimateSize(RemotePathKey key, List<RemoteFileDesc> fileDescs) {
+        long size = PATH_KEY_SIZE + estimateSize(key.getPath());
+        for (RemoteFileDesc fileDesc : fileDescs) {
+            size += FILE_DESC_SIZE + estimateSize(fileDesc.getFileName()) + estimateSize(fileDesc.getFullPath());
+            for (RemoteFileBlockDesc blockDesc : fileDesc.getBlockDescs()) {
+                // replica host ids and disk ids
+                size += BLOCK_DESC_SIZE + 16L * blockDesc.getReplicaHostIds().length;
+            }
+        }
+        return size;
+    }
+
+    private static long estimateSize(String str) {
+        return str == null ? 0 : STRING_SIZE + str.length();
+    }
+
+    private Optional<Policy.Eviction<RemotePathKey, List<RemoteFileDesc>>> eviction() {
+        return cache.policy().eviction();
+    }
+
+    public boolean isWeighted() {
+        return weighted;
+    }
+
+    /**
+     * @return the estimated memory of the cached listings, 0 if the cache is not bounded by memory
+     */
+    public long getWeightedSize() {
+        return eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    public long getEntryCount() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Evict the coldest listings until the cache uses no more than targetBytes, then bound it by maximumBytes again.
+     */
+    public void trim(long targetBytes, long maximumBytes) {
+        eviction().ifPresent(eviction -> {
+            eviction.setMaximum(targetBytes);
+            eviction.setMaximum(maximumBytes);
+        });
+    }
+
     @Override
     public FileStatus[] getFileStatus(Path... files) throws IOException {
         return fileIO.getFileStatus(files);
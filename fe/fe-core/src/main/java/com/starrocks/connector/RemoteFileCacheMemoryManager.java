@@ -0,0 +1,100 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector;
+
+import com.google.common.collect.ImmutableMap;
+import com.starrocks.common.Config;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The memory budget shared by the catalog level remote file caches of all external catalogs.
+ * <p>
+ * Each cache is weighted by the estimated memory of its listings and may use the whole budget on its own, so a
+ * catalog with a few wide tables can use most of the memory while the other catalogs are idle. When the caches
+ * together use more than the budget, every cache is trimmed by the same ratio, evicting the listings its eviction
+ * policy considers the coldest, so that small hot listings are kept instead of being pushed out by a count limit.
+ */
+public class RemoteFileCacheMemoryManager {
+    private static final Logger LOG = LogManager.getLogger(RemoteFileCacheMemoryManager.class);
+
+    private static final RemoteFileCacheMemoryManager INSTANCE = new RemoteFileCacheMemoryManager();
+
+    // catalog name -> catalog level cache
+    private final Map<String, CachingRemoteFileIO> caches = new ConcurrentHashMap<>();
+    // set by every load, the budget is only checked after something has been loaded
+    private final AtomicBoolean loaded = new AtomicBoolean(false);
+
+    public static RemoteFileCacheMemoryManager getInstance() {
+        return INSTANCE;
+    }
+
+    public long getBudgetBytes() {
+        return (long) (Runtime.getRuntime().maxMemory() * Config.remote_file_cache_memory_usage_ratio);
+    }
+
+    public void register(String catalogName, CachingRemoteFileIO cache) {
+        caches.put(catalogName, cache);
+    }
+
+    public void unregister(String catalogName) {
+        caches.remove(catalogName);
+    }
+
+    public Map<String, CachingRemoteFileIO> getCaches() {
+        return ImmutableMap.copyOf(caches);
+    }
+
+    public void onLoad() {
+        loaded.set(true);
+    }
+
+    public void checkBudget() {
+        if (!loaded.get() || !loaded.compareAndSet(true, false)) {
+            return;
+        }
+        long budgetBytes = getBudgetBytes();
+        if (budgetBytes <= 0) {
+            return;
+        }
+        synchronized (this) {
+            long usedBytes = getUsedBytes();
+            if (usedBytes <= budgetBytes) {
+                return;
+            }
+            double ratio = (double) budgetBytes / usedBytes;
+            for (Map.Entry<String, CachingRemoteFileIO> entry : caches.entrySet()) {
+                CachingRemoteFileIO cache = entry.getValue();
+                long targetBytes = (long) (cache.getWeightedSize() * ratio);
+                cache.trim(targetBytes, budgetBytes);
+                LOG.debug("trimmed remote file cache of catalog {} to {} bytes", entry.getKey(), targetBytes);
+            }
+            LOG.info("remote file caches use {} bytes, more than the budget {} bytes, trimmed to {} bytes",
+                    usedBytes, budgetBytes, getUsedBytes());
+        }
+    }
+
+    public long getUsedBytes() {
+        long usedBytes = 0;
+        for (CachingRemoteFileIO cache : caches.values()) {
+            usedBytes += cache.getWeightedSize();
+        }
+        return usedBytes;
+    }
+}
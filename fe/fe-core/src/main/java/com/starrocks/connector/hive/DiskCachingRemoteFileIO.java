@@ -0,0 +1,359 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector.hive;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.starrocks.connector.RemoteFileBlockDesc;
+import com.starrocks.connector.RemoteFileDesc;
+import com.starrocks.connector.RemoteFileIO;
+import com.starrocks.connector.RemotePathKey;
+import com.starrocks.metric.MetricRepo;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A local disk tier under the catalog level {@link com.starrocks.connector.CachingRemoteFileIO} of a hive catalog.
+ * Every file listing loaded from the remote storage is also written to a file under the cache directory, and the
+ * listings written by the previous FE process serve the first load of each path after a restart or a failover,
+ * so that warming up the in-memory cache does not send a listing storm to the name node or object store.
+ * <p>
+ * An entry from the disk is used at most once. Later loads of the same path are refreshes of the in-memory cache,
+ * they always go to the remote storage, but only rewrite the entry when the listing has changed, or when the entry
+ * is older than half of the ttl so that it stays servable. An entry is stale and ignored when it is older than
+ * the remote file cache ttl, or when the modification time of the listed directory has changed. Object stores
+ * report no directory modification time, for them only the ttl applies, which is the same staleness the in-memory
+ * cache accepts. The size of the directory is bounded, the least recently used entries are deleted first.
+ */
+public class DiskCachingRemoteFileIO implements RemoteFileIO {
+    private static final Logger LOG = LogManager.getLogger(DiskCachingRemoteFileIO.class);
+
+    private static final int MAGIC = 0x53524649; // "SRFI"
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_SUFFIX = ".listing";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private final HiveRemoteFileIO fileIO;
+    private final File cacheDir;
+    private final long ttlMs;
+    // file name -> entry, weighted by the file size
+    private final Cache<String, DiskEntry> entries;
+
+    private static class DiskEntry {
+        private final long length;
+        // only an entry written by a previous FE process may be served, and only once
+        private final AtomicBoolean servable;
+        // when and what this process wrote, unknown for an entry written by a previous FE process
+        private final long writeTime;
+        private final HashCode fingerprint;
+
+        private DiskEntry(long length, boolean servable, long writeTime, HashCode fingerprint) {
+            this.length = length;
+            this.servable = new AtomicBoolean(servable);
+            this.writeTime = writeTime;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    public DiskCachingRemoteFileIO(HiveRemoteFileIO fileIO, String cacheDir, long capacityBytes, long ttlSec) {
+        this.fileIO = fileIO;
+        this.cacheDir = new File(cacheDir);
+        this.ttlMs = ttlSec * 1000L;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(capacityBytes)
+                .weigher((String name, DiskEntry entry) -> (int) Math.min(entry.length, Integer.MAX_VALUE))
+                // use sync evictionListener to avoid deleting the file newly written by another thread, the file is
+                // only renamed and deleted under the lock of its entry, see writeEntry() and invalidate()
+                .evictionListener((String name, DiskEntry entry, RemovalCause cause) -> {
+                    if (name != null) {
+                        deleteQuietly(new File(this.cacheDir, name));
+                    }
+                })
+                .build();
+        loadEntries();
+    }
+
+    private void loadEntries() {
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            LOG.warn("failed to create remote file disk cache directory {}", cacheDir);
+            return;
+        }
+        File[] files = cacheDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        int numEntries = 0;
+        for (File file : files) {
+            if (file.getName().endsWith(FILE_SUFFIX)) {
+                entries.put(file.getName(), new DiskEntry(file.length(), true, 0, null));
+                numEntries++;
+            } else {
+                // leftover of an interrupted write
+                deleteQuietly(file);
+            }
+        }
+        LOG.info("loaded {} remote file listings from disk cache {}", numEntries, cacheDir);
+    }
+
+    @Override
+    public Map<RemotePathKey, List<RemoteFileDesc>> getRemoteFiles(RemotePathKey pathKey) {
+        String name = fileName(pathKey);
+        DiskEntry entry = entries.getIfPresent(name);
+        if (entry != null && entry.servable.compareAndSet(true, false)) {
+            List<RemoteFileDesc> fileDescs = readEntry(name, pathKey);
+            if (fileDescs != null) {
+                if (MetricRepo.hasInit) {
+                    MetricRepo.COUNTER_REMOTE_FILE_DISK_CACHE_HIT.increase(1L);
+                }
+                return ImmutableMap.of(pathKey, fileDescs);
+            }
+            if (MetricRepo.hasInit) {
+                MetricRepo.COUNTER_REMOTE_FILE_DISK_CACHE_STALE.increase(1L);
+            }
+            entry = null;
+        } else if (MetricRepo.hasInit) {
+            MetricRepo.COUNTER_REMOTE_FILE_DISK_CACHE_MISS.increase(1L);
+        }
+
+        if (entry == null) {
+            // take the directory modification time before listing, a change during the listing makes the entry stale
+            long dirModificationTime = getDirModificationTime(pathKey);
+            Map<RemotePathKey, List<RemoteFileDesc>> remoteFiles = fileIO.getRemoteFiles(pathKey);
+            List<RemoteFileDesc> fileDescs = remoteFiles.get(pathKey);
+            if (fileDescs != null) {
+                writeEntry(name, pathKey, dirModificationTime, fileDescs, fingerprint(fileDescs));
+            }
+            return remoteFiles;
+        }
+
+        // a refresh of the in-memory cache, which doesn't cost another call to the remote storage unless the
+        // listing has changed
+        Map<RemotePathKey, List<RemoteFileDesc>> remoteFiles = fileIO.getRemoteFiles(pathKey);
+        List<RemoteFileDesc> fileDescs = remoteFiles.get(pathKey);
+        if (fileDescs != null) {
+            HashCode fingerprint = fingerprint(fileDescs);
+            if (!fingerprint.equals(entry.fingerprint) || System.currentTimeMillis() - entry.writeTime > ttlMs / 2) {
+                // the modification time is taken after the listing here, if the directory changes in between, the
+                // entry is served once after a restart until the next refresh, like the in-memory cache serves it
+                writeEntry(name, pathKey, getDirModificationTime(pathKey), fileDescs, fingerprint);
+            }
+        }
+        return remoteFiles;
+    }
+
+    @Override
+    public FileStatus[] getFileStatus(Path... files) throws IOException {
+        return fileIO.getFileStatus(files);
+    }
+
+    /**
+     * Delete the entry of the path before returning, so that a reload right after the invalidation, as an explicit
+     * update of the path does, writes an entry which is not deleted afterwards.
+     */
+    public void invalidate(RemotePathKey pathKey) {
+        deleteEntry(fileName(pathKey));
+    }
+
+    public void invalidateAll() {
+        for (String name : entries.asMap().keySet()) {
+            deleteEntry(name);
+        }
+    }
+
+    private void deleteEntry(String name) {
+        entries.asMap().computeIfPresent(name, (key, entry) -> {
+            deleteQuietly(new File(cacheDir, key));
+            return null;
+        });
+    }
+
+    @VisibleForTesting
+    long getEntryCount() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    private long getDirModificationTime(RemotePathKey pathKey) {
+        try {
+            FileStatus[] statuses = fileIO.getFileStatus(new Path(pathKey.getPath()));
+            if (statuses != null && statuses.length == 1 && statuses[0] != null) {
+                return statuses[0].getModificationTime();
+            }
+        } catch (Exception e) {
+            LOG.debug("failed to get modification time of {}", pathKey, e);
+        }
+        return 0;
+    }
+
+    /**
+     * @return null if the entry is missing, unreadable or stale
+     */
+    private List<RemoteFileDesc> readEntry(String name, RemotePathKey pathKey) {
+        File file = new File(cacheDir, name);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            // the name is a hash, make sure it is really the listing of this path
+            if (!in.readUTF().equals(pathKey.getPath()) || in.readBoolean() != pathKey.isRecursive()) {
+                return null;
+            }
+            long writeTime = in.readLong();
+            if (System.currentTimeMillis() - writeTime > ttlMs) {
+                return null;
+            }
+            long dirModificationTime = in.readLong();
+            if (dirModificationTime > 0 && dirModificationTime != getDirModificationTime(pathKey)) {
+                return null;
+            }
+
+            int numFiles = in.readInt();
+            List<RemoteFileDesc> fileDescs = new ArrayList<>(numFiles);
+            for (int i = 0; i < numFiles; i++) {
+                String fileName = in.readUTF();
+                String fullPath = in.readBoolean() ? in.readUTF() : null;
+                String compression = in.readUTF();
+                long length = in.readLong();
+                long modificationTime = in.readLong();
+                int numBlocks = in.readInt();
+                ImmutableList.Builder<RemoteFileBlockDesc> blockDescs = ImmutableList.builder();
+                for (int j = 0; j < numBlocks; j++) {
+                    long offset = in.readLong();
+                    long blockLength = in.readLong();
+                    String[] hosts = new String[in.readInt()];
+                    for (int k = 0; k < hosts.length; k++) {
+                        hosts[k] = in.readUTF();
+                    }
+                    // host ids are only valid in the process which assigned them, map the hosts again
+                    blockDescs.add(fileIO.buildRemoteFileBlockDesc(offset, blockLength, fileIO.getReplicaHostIds(hosts)));
+                }
+                RemoteFileDesc fileDesc = new RemoteFileDesc(fileName, compression, length, modificationTime,
+                        blockDescs.build());
+                if (fullPath != null) {
+                    fileDesc.setFullPath(fullPath);
+                }
+                fileDescs.add(fileDesc);
+            }
+            return fileDescs;
+        } catch (Exception e) {
+            LOG.warn("failed to read remote file listing of {} from disk cache", pathKey, e);
+            return null;
+        }
+    }
+
+    private void writeEntry(String name, RemotePathKey pathKey, long dirModificationTime,
+                            List<RemoteFileDesc> fileDescs, HashCode fingerprint) {
+        // concurrent loads of the same path write different temporary files, the last rename wins
+        File tmpFile = new File(cacheDir, name + "." + Thread.currentThread().getId() + TMP_SUFFIX);
+        File file = new File(cacheDir, name);
+        long writeTime = System.currentTimeMillis();
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmpFile.toPath())))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(pathKey.getPath());
+                out.writeBoolean(pathKey.isRecursive());
+                out.writeLong(writeTime);
+                out.writeLong(dirModificationTime);
+                out.writeInt(fileDescs.size());
+                for (RemoteFileDesc fileDesc : fileDescs) {
+                    out.writeUTF(fileDesc.getFileName());
+                    out.writeBoolean(fileDesc.getFullPath() != null);
+                    if (fileDesc.getFullPath() != null) {
+                        out.writeUTF(fileDesc.getFullPath());
+                    }
+                    out.writeUTF(fileDesc.getCompression());
+                    out.writeLong(fileDesc.getLength());
+                    out.writeLong(fileDesc.getModificationTime());
+                    out.writeInt(fileDesc.getBlockDescs().size());
+                    for (RemoteFileBlockDesc blockDesc : fileDesc.getBlockDescs()) {
+                        out.writeLong(blockDesc.getOffset());
+                        out.writeLong(blockDesc.getLength());
+                        long[] hostIds = blockDesc.getReplicaHostIds();
+                        out.writeInt(hostIds.length);
+                        for (long hostId : hostIds) {
+                            out.writeUTF(fileIO.getBlockHost(hostId));
+                        }
+                    }
+                }
+            }
+            // rename under the lock of the entry, so that an invalidation or eviction of the path either happens
+            // before and doesn't see this file, or after and also removes the entry
+            entries.asMap().compute(name, (key, oldEntry) -> {
+                try {
+                    Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return new DiskEntry(file.length(), false, writeTime, fingerprint);
+            });
+        } catch (Exception e) {
+            // the disk tier is best effort, the listing itself has succeeded
+            LOG.warn("failed to write remote file listing of {} to disk cache", pathKey, e);
+            deleteQuietly(tmpFile);
+        }
+    }
+
+    // the part of a listing which tells whether it has changed
+    private static HashCode fingerprint(List<RemoteFileDesc> fileDescs) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (RemoteFileDesc fileDesc : fileDescs) {
+            hasher.putString(fileDesc.getFileName(), StandardCharsets.UTF_8)
+                    .putLong(fileDesc.getLength())
+                    .putLong(fileDesc.getModificationTime())
+                    .putInt(fileDesc.getBlockDescs().size());
+        }
+        return hasher.hash();
+    }
+
+    private static String fileName(RemotePathKey pathKey) {
+        return Hashing.sha256().newHasher()
+                .putString(pathKey.getPath(), StandardCharsets.UTF_8)
+                .putBoolean(pathKey.isRecursive())
+                .hash() + FILE_SUFFIX;
+    }
+
+    private static void deleteQuietly(File file) {
+        if (file.exists() && !file.delete()) {
+            LOG.warn("failed to delete remote file disk cache file {}", file);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import com.starrocks.connector.CachingRemoteFileIO;
 import com.starrocks.connector.HdfsEnvironment;
 import com.starrocks.connector.MetastoreType;
 import com.starrocks.connector.ReentrantExecutor;
+import com.starrocks.connector.RemoteFileCacheMemoryManager;
 import com.starrocks.connector.RemoteFileIO;
 import com.starrocks.sql.analyzer.SemanticException;
 
@@ -46,6 +47,7 @@ public class HiveConnectorInternalMgr {
     private final CachingHiveMetastoreConf hmsConf;
 
     private final boolean enableRemoteFileCache;
+    private final boolean enableRemoteFileDiskCache;
     private final CachingRemoteFileConf remoteFileConf;
 
     private ExecutorService refreshHiveMetastoreExecutor;
@@ -70,6 +72,8 @@ public class HiveConnectorInternalMgr {
         this.hmsConf = new CachingHiveMetastoreConf(properties, "hive");
 
         this.enableRemoteFileCache = Boolean.parseBoolean(properties.getOrDefault("enable_remote_file_cache", "true"));
+        this.enableRemoteFileDiskCache = Boolean.parseBoolean(properties.getOrDefault("enable_remote_file_disk_cache",
+                String.valueOf(Config.enable_remote_file_disk_cache)));
         this.remoteFileConf = new CachingRemoteFileConf(properties);
 
         this.isRecursive = Boolean.parseBoolean(properties.getOrDefault("enable_recursive_listing", "true"));
@@ -102,6 +106,7 @@ public class HiveConnectorInternalMgr {
         }
         if (enableRemoteFileCache && refreshRemoteFileExecutor != null) {
             refreshRemoteFileExecutor.shutdown();
+            RemoteFileCacheMemoryManager.getInstance().unregister(catalogName);
         }
         if (pullRemoteFileExecutor != null) {
             pullRemoteFileExecutor.shutdown();
@@ -139,9 +144,16 @@ public class HiveConnectorInternalMgr {
         if (!enableRemoteFileCache) {
             baseRemoteFileIO = remoteFileIO;
         } else {
+            if (enableRemoteFileDiskCache) {
+                remoteFileIO = new DiskCachingRemoteFileIO((HiveRemoteFileIO) remoteFileIO,
+                        Config.remote_file_disk_cache_path + "/" + catalogName,
+                        Config.remote_file_disk_cache_capacity,
+                        remoteFileConf.getCacheTtlSec());
+            }
             refreshRemoteFileExecutor = Executors.newCachedThreadPool(
                     new ThreadFactoryBuilder().setNameFormat("hive-remote-files-refresh-%d").build());
             baseRemoteFileIO = CachingRemoteFileIO.createCatalogLevelInstance(
+                    catalogName,
                     remoteFileIO,
                     new ReentrantExecutor(refreshRemoteFileExecutor, remoteFileConf.getRefreshMaxThreadNum()),
                     remoteFileConf.getCacheTtlSec(),
@@ -231,6 +231,11 @@ public class HiveRemoteFileIO implements RemoteFileIO {
         return hostPort.split(":")[0];
     }
 
+    // ip:port of a block host id
+    public String getBlockHost(long hostId) {
+        return idToBlockHost.get(hostId);
+    }
+
     @VisibleForTesting
     public void setFileSystem(FileSystem fs) {
         this.fileSystem = fs;
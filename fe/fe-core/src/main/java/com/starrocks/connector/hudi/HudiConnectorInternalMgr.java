@@ -23,6 +23,7 @@ import com.starrocks.connector.CachingRemoteFileIO;
 import com.starrocks.connector.HdfsEnvironment;
 import com.starrocks.connector.MetastoreType;
 import com.starrocks.connector.ReentrantExecutor;
+import com.starrocks.connector.RemoteFileCacheMemoryManager;
 import com.starrocks.connector.RemoteFileIO;
 import com.starrocks.connector.hive.CachingHiveMetastore;
 import com.starrocks.connector.hive.CachingHiveMetastoreConf;
@@ -96,6 +97,7 @@ public class HudiConnectorInternalMgr {
         }
         if (enableRemoteFileCache && refreshRemoteFileExecutor != null) {
             refreshRemoteFileExecutor.shutdown();
+            RemoteFileCacheMemoryManager.getInstance().unregister(catalogName);
         }
         if (pullRemoteFileExecutor != null) {
             pullRemoteFileExecutor.shutdown();
@@ -135,6 +137,7 @@ public class HudiConnectorInternalMgr {
             refreshRemoteFileExecutor = Executors.newCachedThreadPool(
                     new ThreadFactoryBuilder().setNameFormat("hudi-remote-files-refresh-%d").build());
             baseRemoteFileIO = CachingRemoteFileIO.createCatalogLevelInstance(
+                    catalogName,
                     remoteFileIO,
                     new ReentrantExecutor(refreshRemoteFileExecutor, remoteFileConf.getRefreshMaxThreadNum()),
                     remoteFileConf.getCacheTtlSec(),
@@ -67,7 +67,7 @@ public class HttpConnectContext extends ConnectContext {
 
     private boolean isKeepAlive;
 
-    // right now only support json type
+    // json or arrow
     private TResultSinkFormatType resultSinkFormatType;
 
     public HttpConnectContext() {
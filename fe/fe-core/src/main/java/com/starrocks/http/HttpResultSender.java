@@ -31,12 +31,14 @@
 
 package com.starrocks.http;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.gson.JsonObject;
+import com.starrocks.proto.PQueryStatistics;
 import com.starrocks.qe.RowBatch;
 import com.starrocks.qe.ShowResultSet;
 import com.starrocks.qe.scheduler.Coordinator;
 import com.starrocks.sql.plan.ExecPlan;
-import com.starrocks.thrift.TResultBatch;
+import com.starrocks.thrift.TResultSinkFormatType;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFutureListener;
@@ -53,13 +55,25 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.starrocks.http.BaseResponse.HEADER_QUERY_ID;
 
 public class HttpResultSender {
     private static final Logger LOG = LogManager.getLogger(HttpResultSender.class);
 
+    private static final String JSON_CONTENT_TYPE = "application/x-ndjson; charset=utf-8";
+    private static final String ARROW_CONTENT_TYPE = "application/vnd.apache.arrow.stream";
+
+    // an arrow ipc message starts with the continuation marker and the length of its metadata,
+    // the end of stream marker is the continuation marker followed by a zero length
+    private static final int ARROW_CONTINUATION_MARKER = 0xFFFFFFFF;
+    private static final int ARROW_MESSAGE_PREFIX_LENGTH = 8;
+    private static final byte[] ARROW_END_OF_STREAM = {-1, -1, -1, -1, 0, 0, 0, 0};
+
     private final HttpConnectContext context;
 
     public HttpResultSender(HttpConnectContext context) {
@@ -68,11 +82,14 @@ public class HttpResultSender {
 
     // for select
     public RowBatch sendQueryResult(Coordinator coord, ExecPlan execPlan) throws Exception {
+        if (context.getResultSinkFormatType() == TResultSinkFormatType.ARROW) {
+            return sendArrowQueryResult(coord);
+        }
         RowBatch batch;
         ChannelHandlerContext nettyChannel = context.getNettyChannel();
         // if some data already sent to client, when exception occurs,we just close the channel
         context.setSendDate(true);
-        sendHeader(nettyChannel);
+        sendHeader(nettyChannel, JSON_CONTENT_TYPE);
         // write connectId
         if (!context.isOnlyOutputResultRaw()) {
             nettyChannel.write(JsonSerializer.getConnectId(context.getConnectionId()));
@@ -84,7 +101,7 @@ public class HttpResultSender {
         while (true) {
             batch = coord.getNext();
             if (batch.getBatch() != null) {
-                writeResultBatch(batch.getBatch(), nettyChannel, coord);
+                writeResultBatch(batch.getBatch().getRows(), nettyChannel, coord);
                 context.updateReturnRows(batch.getBatch().getRows().size());
             }
             if (batch.isEos()) {
@@ -99,27 +116,87 @@ public class HttpResultSender {
         return batch;
     }
 
+    // every row from BE is an arrow ipc stream of its own, made of the schema, at most one record batch and the end
+    // of stream marker. They are forwarded as one stream: the schema of the first row, the record batches of all
+    // the rows, then the end of stream marker. There is no connection id, meta data or statistics in this format.
+    private RowBatch sendArrowQueryResult(Coordinator coord) throws Exception {
+        RowBatch batch;
+        ChannelHandlerContext nettyChannel = context.getNettyChannel();
+        context.setSendDate(true);
+        sendHeader(nettyChannel, ARROW_CONTENT_TYPE);
+
+        boolean schemaSent = false;
+        while (true) {
+            batch = coord.getNext();
+            if (batch.getBatch() != null && batch.getBatch().getRowsSize() > 0) {
+                List<ByteBuffer> messages = new ArrayList<>(batch.getBatch().getRowsSize());
+                for (ByteBuffer row : batch.getBatch().getRows()) {
+                    ByteBuffer message = getArrowMessages(row, !schemaSent);
+                    schemaSent = true;
+                    if (message.hasRemaining()) {
+                        messages.add(message);
+                    }
+                }
+                writeResultBatch(messages, nettyChannel, coord);
+            }
+            if (batch.isEos()) {
+                // a row holds a whole record batch, the number of returned rows is only known from the statistics
+                PQueryStatistics statistics = batch.getQueryStatistics();
+                if (statistics != null && statistics.returnedRows != null) {
+                    context.updateReturnRows(statistics.returnedRows);
+                }
+                nettyChannel.writeAndFlush(Unpooled.wrappedBuffer(ARROW_END_OF_STREAM));
+                sendEmptyLastContent();
+                break;
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Strips the end of stream marker of an arrow ipc stream, and its schema unless withSchema is set.
+     *
+     * @return the remaining messages, sharing the content of the stream
+     */
+    @VisibleForTesting
+    static ByteBuffer getArrowMessages(ByteBuffer stream, boolean withSchema) {
+        ByteBuffer buffer = stream.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int start = buffer.position();
+        int end = buffer.limit() - ARROW_END_OF_STREAM.length;
+        if (end - start < ARROW_MESSAGE_PREFIX_LENGTH || buffer.getInt(start) != ARROW_CONTINUATION_MARKER) {
+            throw new IllegalStateException("invalid arrow ipc stream of " + (end - start) + " bytes");
+        }
+        // the schema message has no body
+        int schemaEnd = start + ARROW_MESSAGE_PREFIX_LENGTH + buffer.getInt(start + 4);
+        if (schemaEnd > end) {
+            throw new IllegalStateException("invalid arrow ipc stream of " + (end - start) + " bytes");
+        }
+        buffer.position(withSchema ? start : schemaEnd);
+        buffer.limit(end);
+        return buffer.slice();
+    }
+
     public void sendExplainResult(String explainString) {
         JsonObject jsonObject = new JsonObject();
         jsonObject.addProperty("explain", explainString);
         String res = jsonObject.toString();
 
-        sendHeader(context.getNettyChannel());
+        sendHeader(context.getNettyChannel(), JSON_CONTENT_TYPE);
 
         sendFinalChunk(context.getNettyChannel(), Unpooled.wrappedBuffer(res.getBytes(StandardCharsets.UTF_8)));
         context.getState().setEof();
     }
 
     public void sendShowResult(ShowResultSet resultSet) throws IOException {
-        sendHeader(context.getNettyChannel());
+        sendHeader(context.getNettyChannel(), JSON_CONTENT_TYPE);
         sendFinalChunk(context.getNettyChannel(), JsonSerializer.getShowResult(resultSet));
         context.getState().setEof();
     }
 
-    // BE already transferred results into json format, FE just need to Forward json objects to the client
-    private void writeResultBatch(TResultBatch resultBatch, ChannelHandlerContext channel, Coordinator coord) {
-        int rowsSize = resultBatch.getRowsSize();
-        for (ByteBuffer row : resultBatch.getRows()) {
+    // BE already transferred results into json or arrow format, FE just need to Forward them to the client
+    private void writeResultBatch(List<ByteBuffer> rows, ChannelHandlerContext channel, Coordinator coord) {
+        int rowsSize = rows.size();
+        for (ByteBuffer row : rows) {
             // when channel is not writeable, sleep a while to balance read/write speed to avoid oom
             while (!channel.channel().isWritable()) {
                 // if channel is closed, cancel query
@@ -129,7 +206,7 @@ public class HttpResultSender {
                 }
                 Thread.yield();
             }
-            if (row != resultBatch.getRows().get(rowsSize - 1)) {
+            if (row != rows.get(rowsSize - 1)) {
                 channel.write(Unpooled.wrappedBuffer(row));
                 if (!channel.channel().isWritable()) {
                     channel.flush();
@@ -140,9 +217,9 @@ public class HttpResultSender {
         }
     }
 
-    private void sendHeader(ChannelHandlerContext nettyChannel) {
+    private void sendHeader(ChannelHandlerContext nettyChannel, String contentType) {
         HttpResponse responseObj = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
-        responseObj.headers().set(HttpHeaderNames.CONTENT_TYPE.toString(), "application/x-ndjson; charset=utf-8");
+        responseObj.headers().set(HttpHeaderNames.CONTENT_TYPE.toString(), contentType);
         responseObj.headers().set(HEADER_QUERY_ID, context.getQueryId());
         HttpUtil.setTransferEncodingChunked(responseObj, true);
 
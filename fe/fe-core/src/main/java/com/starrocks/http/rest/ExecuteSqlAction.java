@@ -30,6 +30,13 @@ package com.starrocks.http.rest;
     {"data":["2020-01-27","2022-12-26 09:06:11","chengdu"]}
     {"statistics":{"scanRows":0,"scanBytes":0,"returnRows":4}}
 
+   with "format": "arrow" in the request body, the result of a query is an arrow ipc stream instead, which can be
+   read by any arrow client without parsing json:
+
+     curl -X POST '${url}/api/v1/catalogs/default_catalog/databases/${db[0]}/sql' -u 'root:'
+     -d '{"query": "select * from duplicate_table_with_null order by k6;", "format": "arrow"}'
+     --header "Content-Type: application/json" -o result.arrow
+
  */
 
 import com.google.common.base.Strings;
@@ -85,6 +92,8 @@ public class ExecuteSqlAction extends RestBaseAction {
     private static final AttributeKey<HttpConnectContext> HTTP_CONNECT_CONTEXT_ATTRIBUTE_KEY =
             AttributeKey.valueOf("httpContextKey");
     private static final Logger LOG = LogManager.getLogger(ExecuteSqlAction.class);
+    private static final String FORMAT_JSON = "json";
+    private static final String FORMAT_ARROW = "arrow";
     private static final ExecutorService TASKSERVICE = ThreadPoolManager
             .newDaemonCacheThreadPool(Config.max_http_sql_service_task_threads_num, "starrocks-http-nio-pool", true);
 
@@ -127,11 +136,10 @@ public class ExecuteSqlAction extends RestBaseAction {
             changeCatalogAndDB(catalogName, databaseName, context);
             try {
                 SqlRequest requestBody = validatePostBody(requestContent, context);
-                // set result format as json,
-                context.setResultSinkFormatType(TResultSinkFormatType.JSON);
                 checkSessionVariable(requestBody.sessionVariables, context);
                 // parse the sql here, for the convenience of verification of http request
                 parsedStmt = parse(requestBody.query, context.getSessionVariable());
+                context.setResultSinkFormatType(getResultSinkFormatType(requestBody, parsedStmt));
                 context.setStatement(parsedStmt);
 
                 // only register connectContext once for one channel
@@ -202,6 +210,21 @@ public class ExecuteSqlAction extends RestBaseAction {
         return requestBody;
     }
 
+    private TResultSinkFormatType getResultSinkFormatType(SqlRequest requestBody, StatementBase parsedStmt)
+            throws StarRocksHttpException {
+        if (Strings.isNullOrEmpty(requestBody.format) || requestBody.format.equalsIgnoreCase(FORMAT_JSON)) {
+            return TResultSinkFormatType.JSON;
+        }
+        if (!requestBody.format.equalsIgnoreCase(FORMAT_ARROW)) {
+            throw new StarRocksHttpException(BAD_REQUEST,
+                    "http query only support json and arrow format, got " + requestBody.format);
+        }
+        if (!(parsedStmt instanceof QueryStatement) || ((QueryStatement) parsedStmt).isExplain()) {
+            throw new StarRocksHttpException(BAD_REQUEST, "http query only support arrow format for SELECT statement");
+        }
+        return TResultSinkFormatType.ARROW;
+    }
+
     private StatementBase parse(String sql, SessionVariable sessionVariables) throws StarRocksHttpException {
         StatementBase parsedStmt;
         List<StatementBase> stmts;
@@ -312,5 +335,7 @@ public class ExecuteSqlAction extends RestBaseAction {
         public String query;
         public Map<String, String> sessionVariables;
         public boolean onlyOutputResultRaw;
+        // json or arrow, json by default
+        public String format;
     }
 }
@@ -480,6 +480,18 @@ public class JournalEntity implements Writable {
                 isRead = true;
                 break;
             }
+            case OperationType.OP_ADD_REPLICA_V3:
+            case OperationType.OP_UPDATE_REPLICA_V3:
+            case OperationType.OP_DELETE_REPLICA_V3: {
+                data = ReplicaPersistInfo.readCompact(in);
+                isRead = true;
+                break;
+            }
+            case OperationType.OP_BATCH_DELETE_REPLICA_V2: {
+                data = BatchDeleteReplicaInfo.readCompact(in);
+                isRead = true;
+                break;
+            }
             case OperationType.OP_ADD_BACKEND:
             case OperationType.OP_DROP_BACKEND:
             case OperationType.OP_BACKEND_STATE_CHANGE: {
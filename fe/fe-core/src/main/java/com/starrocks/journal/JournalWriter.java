@@ -15,6 +15,7 @@
 
 package com.starrocks.journal;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.starrocks.common.Config;
 import com.starrocks.common.util.Daemon;
 import com.starrocks.common.util.Util;
@@ -25,6 +26,7 @@ import org.apache.logging.log4j.Logger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An independent thread to write journals by batch asynchronously.
@@ -66,6 +68,13 @@ public class JournalWriter {
 
     private long lastSlowEditLogTimeNs = -1L;
 
+    // number of journals in the last committed batch, used to decide whether to wait for more journals
+    private int lastBatchSize = 0;
+    // time spent in committing current batch
+    private long commitDurationNano;
+    // moving average of the commit time of the recent batches, used to adapt the linger time
+    private long avgCommitDurationNano;
+
     public JournalWriter(Journal journal, BlockingQueue<JournalTask> journalQueue) {
         this.journal = journal;
         this.journalQueue = journalQueue;
@@ -117,7 +126,10 @@ public class JournalWriter {
                     break;
                 }
 
-                currentJournal = journalQueue.take();
+                currentJournal = nextJournalOfBatch();
+                if (currentJournal == null) {
+                    break;
+                }
             }
         } catch (JournalException e) {
             // abort current task
@@ -126,7 +138,10 @@ public class JournalWriter {
         } finally {
             try {
                 // commit
+                long commitStartNano = System.nanoTime();
                 journal.batchWriteCommit();
+                commitDurationNano = System.nanoTime() - commitStartNano;
+                updateAvgCommitDuration();
                 LOG.debug("batch write commit success, from {} - {}", nextVisibleJournalId, nextJournalId);
                 nextVisibleJournalId = nextJournalId;
                 markCurrentBatchSucceed();
@@ -151,6 +166,8 @@ public class JournalWriter {
     private void initBatch() {
         startTimeNano = System.nanoTime();
         uncommittedEstimatedBytes = 0;
+        commitDurationNano = 0;
+        lastBatchSize = currentBatchTasks.size();
         currentBatchTasks.clear();
     }
 
@@ -209,8 +226,58 @@ public class JournalWriter {
             return true;
         }
 
-        // 4. no more journal in queue
-        return journalQueue.peek() == null;
+        return false;
+    }
+
+    /**
+     * Get the next journal to add to current batch, return null if current batch should be committed now.
+     * <p>
+     * When the queue is drained, the batch is committed immediately unless group commit lingering is enabled by
+     * metadata_journal_commit_linger_ms. In that case, if the last batch contained more than one journal, which means
+     * journals are arriving in bursts, wait for more journals until the linger time since the batch started has passed
+     * or any journal of the batch is expected to be committed, so that fewer and larger batches are committed.
+     */
+    private JournalTask nextJournalOfBatch() throws InterruptedException {
+        JournalTask task = journalQueue.poll();
+        long lingerNano = getLingerNano();
+        if (task != null || lingerNano <= 0 || lastBatchSize <= 1) {
+            return task;
+        }
+
+        long deadlineNano = startTimeNano + lingerNano;
+        for (JournalTask t : currentBatchTasks) {
+            if (t.getBetterCommitBeforeTimeInNano() > 0) {
+                deadlineNano = Math.min(deadlineNano, t.getBetterCommitBeforeTimeInNano());
+            }
+        }
+        long waitNano = deadlineNano - System.nanoTime();
+        if (waitNano <= 0) {
+            return null;
+        }
+        return journalQueue.poll(waitNano, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The time to wait for more journals since the start of a batch. It is metadata_journal_commit_linger_ms, or
+     * with metadata_journal_commit_target_latency_ms, what is left of the target after the average commit time.
+     */
+    @VisibleForTesting
+    long getLingerNano() {
+        long lingerNano = Config.metadata_journal_commit_linger_ms * 1000000L;
+        if (Config.metadata_journal_commit_target_latency_ms > 0) {
+            lingerNano = Math.min(lingerNano,
+                    Config.metadata_journal_commit_target_latency_ms * 1000000L - avgCommitDurationNano);
+        }
+        return Math.max(0, lingerNano);
+    }
+
+    private void updateAvgCommitDuration() {
+        if (avgCommitDurationNano == 0) {
+            avgCommitDurationNano = commitDurationNano;
+        } else {
+            // weight 1/8 for the latest batch, like the smoothed rtt of tcp
+            avgCommitDurationNano += (commitDurationNano - avgCommitDurationNano) / 8;
+        }
     }
 
     /**
@@ -233,10 +300,14 @@ public class JournalWriter {
             MetricRepo.HISTO_JOURNAL_WRITE_LATENCY.update(durationMs);
             MetricRepo.HISTO_JOURNAL_WRITE_BATCH.update(currentBatchTasks.size());
             MetricRepo.HISTO_JOURNAL_WRITE_BYTES.update(uncommittedEstimatedBytes);
+            MetricRepo.HISTO_JOURNAL_COMMIT_LATENCY.update(commitDurationNano / 1000000);
             MetricRepo.GAUGE_STACKED_JOURNAL_NUM.setValue((long) journalQueue.size());
 
             for (JournalTask e : currentBatchTasks) {
                 MetricRepo.COUNTER_EDIT_LOG_SIZE_BYTES.increase(e.estimatedSizeByte());
+                // time between the journal being submitted and its batch starting to be written
+                MetricRepo.HISTO_JOURNAL_QUEUE_WAIT_LATENCY.update(
+                        Math.max(0, startTimeNano - e.getStartTimeNano()) / 1000000);
             }
         }
         if (journalQueue.size() > Config.metadata_journal_max_batch_cnt) {
@@ -34,6 +34,7 @@
 
 package com.starrocks.journal.bdbje;
 
+import com.google.common.collect.ImmutableSet;
 import com.sleepycat.bind.tuple.TupleBinding;
 import com.sleepycat.je.DatabaseEntry;
 import com.sleepycat.je.DatabaseException;
@@ -42,16 +43,27 @@ import com.sleepycat.je.LockMode;
 import com.sleepycat.je.OperationStatus;
 import com.sleepycat.je.rep.InsufficientLogException;
 import com.sleepycat.je.rep.RestartRequiredException;
+import com.starrocks.common.Config;
+import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.journal.JournalCursor;
 import com.starrocks.journal.JournalEntity;
 import com.starrocks.journal.JournalException;
 import com.starrocks.journal.JournalInconsistentException;
+import com.starrocks.meta.MetaContext;
+import com.starrocks.metric.MetricRepo;
+import com.starrocks.persist.OperationType;
+import com.starrocks.server.GlobalStateMgr;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 public class BDBJournalCursor implements JournalCursor {
     private static final Logger LOG = LogManager.getLogger(BDBJournalCursor.class);
@@ -68,6 +80,42 @@ public class BDBJournalCursor implements JournalCursor {
     // the database of current log
     protected CloseSafeDatabase database = null;
     private final String prefix;
+    // The deserialization of some journals reads the catalog, for example ExportJob looks up its table, so it
+    // must run after the journals before it are replayed. Only the journals of these frequent operation types,
+    // whose deserialization does not depend on any state, are deserialized ahead of replay.
+    private static final ImmutableSet<Short> DECODE_AHEAD_OPERATIONS = ImmutableSet.of(
+            OperationType.OP_SAVE_NEXTID,
+            OperationType.OP_SAVE_TRANSACTION_ID_V2,
+            OperationType.OP_UPSERT_TRANSACTION_STATE_V2,
+            OperationType.OP_UPSERT_TRANSACTION_STATE_BATCH,
+            OperationType.OP_ADD_REPLICA_V2,
+            OperationType.OP_UPDATE_REPLICA_V2,
+            OperationType.OP_DELETE_REPLICA_V2,
+            OperationType.OP_ADD_REPLICA_V3,
+            OperationType.OP_UPDATE_REPLICA_V3,
+            OperationType.OP_DELETE_REPLICA_V3,
+            OperationType.OP_BATCH_DELETE_REPLICA,
+            OperationType.OP_BATCH_DELETE_REPLICA_V2,
+            OperationType.OP_TIMESTAMP_V2);
+
+    // If not null, journals are read from bdb ahead of replay and deserialized concurrently by this executor.
+    // In this case nextKey is the key of the next journal to read from bdb, and the journal to return
+    // from next() is the head of prefetchedJournals.
+    private ExecutorService decodeExecutor = null;
+    private final Deque<PrefetchedJournal> prefetchedJournals = new ArrayDeque<>();
+
+    private static class PrefetchedJournal {
+        private final long key;
+        private final DatabaseEntry data;
+        // null if the journal is deserialized by the replay thread when it reaches the head
+        private final Future<JournalEntity> future;
+
+        private PrefetchedJournal(long key, DatabaseEntry data, Future<JournalEntity> future) {
+            this.key = key;
+            this.data = data;
+            this.future = future;
+        }
+    }
 
     /**
      * handle DatabaseException carefully
@@ -122,6 +170,13 @@ public class BDBJournalCursor implements JournalCursor {
         }
         BDBJournalCursor cursor = new BDBJournalCursor(env, prefix, fromKey, toKey);
         cursor.refresh();
+        // deserialization may refer to the GlobalStateMgr of current thread, which is a different instance in
+        // the checkpoint thread, so only deserialize concurrently when replaying journals of the serving instance
+        int decodeThreads = Config.metadata_journal_replay_decode_threads;
+        if (decodeThreads > 1 && !GlobalStateMgr.isCheckpointThread()) {
+            cursor.decodeExecutor = ThreadPoolManager.newDaemonFixedThreadPool(decodeThreads,
+                    Integer.MAX_VALUE, "journal-replay-decoder", false);
+        }
         return cursor;
     }
 
@@ -242,6 +297,10 @@ public class BDBJournalCursor implements JournalCursor {
     }
 
     protected JournalEntity deserializeData(DatabaseEntry data) throws JournalException {
+        return deserializeData(nextKey, data);
+    }
+
+    private JournalEntity deserializeData(long key, DatabaseEntry data) throws JournalException {
         DataInputStream in = new DataInputStream(new ByteArrayInputStream(data.getData()));
         JournalEntity ret = new JournalEntity();
         try {
@@ -249,7 +308,7 @@ public class BDBJournalCursor implements JournalCursor {
         } catch (Throwable t) {
             // bad data, will not retry
             String errMsg = String.format("fail to read journal entity key=%s, data=%s",
-                    nextKey, data);
+                    key, data);
             LOG.error(errMsg, t);
             JournalException exception = new JournalException(ret.getOpCode(), errMsg);
             exception.initCause(t);
@@ -260,6 +319,107 @@ public class BDBJournalCursor implements JournalCursor {
 
     @Override
     public JournalEntity next() throws InterruptedException, JournalException, JournalInconsistentException {
+        if (decodeExecutor != null) {
+            return nextPrefetched();
+        }
+
+        DatabaseEntry data = readData();
+        if (data == null) {
+            return null;
+        }
+        // 3. serialized
+        JournalEntity entity = deserializeData(data);
+        nextKey++;
+        return entity;
+    }
+
+    private JournalEntity nextPrefetched() throws InterruptedException, JournalException,
+            JournalInconsistentException {
+        prefetch();
+        PrefetchedJournal head = prefetchedJournals.peek();
+        if (head == null) {
+            return null;
+        }
+        if (head.future == null) {
+            // the journals before it have all been replayed
+            JournalEntity entity = deserializeAndRecord(head.key, head.data);
+            prefetchedJournals.poll();
+            return entity;
+        }
+        try {
+            JournalEntity entity = head.future.get();
+            prefetchedJournals.poll();
+            return entity;
+        } catch (ExecutionException e) {
+            // keep the bad journal at the head, it is removed by skipNext() if the caller decides to skip it
+            if (e.getCause() instanceof JournalException) {
+                throw (JournalException) e.getCause();
+            }
+            JournalException exception = new JournalException("fail to deserialize journal entity");
+            exception.initCause(e.getCause());
+            throw exception;
+        }
+    }
+
+    /**
+     * Read journals from bdb until metadata_journal_replay_prefetch_num journals are waiting to be returned,
+     * or there is no more journal, and submit the ones of DECODE_AHEAD_OPERATIONS to be deserialized in the
+     * background.
+     */
+    private void prefetch() throws InterruptedException, JournalException, JournalInconsistentException {
+        MetaContext metaContext = MetaContext.get();
+        int prefetchNum = Math.max(1, Config.metadata_journal_replay_prefetch_num);
+        while (prefetchedJournals.size() < prefetchNum) {
+            DatabaseEntry data;
+            try {
+                data = readData();
+            } catch (JournalException e) {
+                // return the journals already read first, the read will be retried by the following next()
+                if (prefetchedJournals.isEmpty()) {
+                    throw e;
+                }
+                break;
+            }
+            if (data == null) {
+                break;
+            }
+            long key = nextKey;
+            Future<JournalEntity> future = null;
+            if (DECODE_AHEAD_OPERATIONS.contains(readOpCode(data))) {
+                future = decodeExecutor.submit(() -> {
+                    if (metaContext != null) {
+                        metaContext.setThreadLocalInfo();
+                    }
+                    return deserializeAndRecord(key, data);
+                });
+            }
+            prefetchedJournals.add(new PrefetchedJournal(key, data, future));
+            nextKey++;
+        }
+    }
+
+    private JournalEntity deserializeAndRecord(long key, DatabaseEntry data) throws JournalException {
+        long startNs = System.nanoTime();
+        JournalEntity entity = deserializeData(key, data);
+        if (MetricRepo.hasInit) {
+            MetricRepo.HISTO_JOURNAL_REPLAY_DECODE_LATENCY.update((System.nanoTime() - startNs) / 1000);
+        }
+        return entity;
+    }
+
+    // the operation type is the first short of a journal, see JournalEntity.write()
+    private static short readOpCode(DatabaseEntry data) {
+        byte[] bytes = data.getData();
+        if (bytes == null || bytes.length < 2) {
+            return -1;
+        }
+        return (short) (((bytes[0] & 0xFF) << 8) | (bytes[1] & 0xFF));
+    }
+
+    /**
+     * Read the data of nextKey from bdb, return null if it does not exist.
+     */
+    private DatabaseEntry readData() throws InterruptedException, JournalException, JournalInconsistentException {
         // EOF
         if (toKey > 0 && nextKey > toKey) {
             LOG.info("cursor reaches the end: next key {} > to key {}", nextKey, toKey);
@@ -288,10 +448,7 @@ public class BDBJournalCursor implements JournalCursor {
                 OperationStatus operationStatus = database.get(null, theKey, theData, LockMode.READ_COMMITTED);
 
                 if (operationStatus == OperationStatus.SUCCESS) {
-                    // 3. serialized
-                    JournalEntity entity = deserializeData(theData);
-                    nextKey++;
-                    return entity;
+                    return theData;
                 } else if (operationStatus == OperationStatus.NOTFOUND) {
                     // read until there is no more log exists, return
                     if (toKey == JournalCursor.CURSOR_END_KEY) {
@@ -329,6 +486,10 @@ public class BDBJournalCursor implements JournalCursor {
 
     @Override
     public void close() {
+        if (decodeExecutor != null) {
+            decodeExecutor.shutdownNow();
+            prefetchedJournals.clear();
+        }
         if (database != null) {
             database.close();
         }
@@ -336,6 +497,11 @@ public class BDBJournalCursor implements JournalCursor {
 
     @Override
     public void skipNext() {
+        if (!prefetchedJournals.isEmpty()) {
+            // the journal to skip has already been read from bdb
+            LOG.error("!!! DANGER: CURSOR SKIP {} !!!", prefetchedJournals.poll().key);
+            return;
+        }
         LOG.error("!!! DANGER: CURSOR SKIP {} !!!", nextKey);
         nextKey++;
     }
@@ -723,6 +723,7 @@ public class LeaderImpl {
         if (txnState != null) {
             txnState.updatePublishTaskFinishTime();
         }
+        GlobalStateMgr.getCurrentState().getPublishVersionDaemon().onPublishEvent();
 
         if (request.getTask_status().getStatus_code() != TStatusCode.OK) {
             // not remove the task from queue and be will retry
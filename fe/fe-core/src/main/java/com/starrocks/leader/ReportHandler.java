@@ -131,6 +131,7 @@ import org.apache.spark.util.SizeEstimator;
 import org.apache.thrift.TException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -189,6 +190,20 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
      */
     private static final Table<Long, Long, Long> TABLET_TO_DROP_TIME = HashBasedTable.create();
 
+    /**
+     * backend id -> version of the last tablet report of the backend handled by FE. An incremental tablet report
+     * is only accepted if the report it is based on has been handled, the backend sends a full report again if
+     * FE rejects an incremental one, e.g. after FE restarts or the leader changes since the map is not persisted.
+     */
+    private final Map<Long, Long> handledTabletReportVersions = Maps.newConcurrentMap();
+
+    /**
+     * backend id -> tablets the next incremental tablet report of the backend must contain even if they are
+     * unchanged, the replicas waiting for tablet_report_drop_tablet_delay_sec to be dropped from the backend.
+     * Updated after a tablet report is handled and sent back along with the acknowledged version.
+     */
+    private final Map<Long, Set<Long>> tabletsToReportAgain = Maps.newConcurrentMap();
+
     public ReportHandler() {
         super("ReportHandler");
         GaugeMetric<Long> gaugeQueueSize = new GaugeMetric<Long>(
@@ -247,6 +262,8 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
         TResourceUsage resourceUsage = null;
         TDataCacheMetrics dataCacheMetrics = null;
         long reportVersion = -1;
+        boolean incrementalTabletReport = false;
+        Set<Long> deletedTablets = Collections.emptySet();
 
         ReportType reportType = ReportType.UNKNOWN_REPORT;
         if (request.isSetTasks()) {
@@ -272,6 +289,10 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
             }
             tablets = request.getTablets();
             reportVersion = request.getReport_version();
+            incrementalTabletReport = request.isSetTablet_report_base_version();
+            if (request.isSetDeleted_tablet_ids()) {
+                deletedTablets = Sets.newHashSet(request.getDeleted_tablet_ids());
+            }
             reportType = ReportType.TABLET_REPORT;
         } else if (request.isSetTablet_list()) {
             if (reportType != ReportType.UNKNOWN_REPORT) {
@@ -282,6 +303,10 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
             // the 'tablets' member will be deprecated in the future.
             tablets = buildTabletMap(request.getTablet_list());
             reportVersion = request.getReport_version();
+            incrementalTabletReport = request.isSetTablet_report_base_version();
+            if (request.isSetDeleted_tablet_ids()) {
+                deletedTablets = Sets.newHashSet(request.getDeleted_tablet_ids());
+            }
             reportType = ReportType.TABLET_REPORT;
         }
 
@@ -326,9 +351,21 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
                 GlobalStateMgr.getCurrentState().getResourceGroupMgr().getResourceGroupsNeedToDeliver(beId);
         result.setWorkgroup_ops(workGroupOps);
 
+        long tabletReportBaseVersion = request.getTablet_report_base_version();
+        if (incrementalTabletReport) {
+            Long handledVersion = handledTabletReportVersions.get(beId);
+            if (!Config.enable_incremental_tablet_report || handledVersion == null ||
+                    handledVersion != tabletReportBaseVersion) {
+                // no acked version in the result, the backend will send a full tablet report instead
+                LOG.info("reject incremental tablet report from backend {}, base version: {}, handled version: {}",
+                        beId, tabletReportBaseVersion, handledVersion);
+                return result;
+            }
+        }
+
         ReportTask reportTask =
-                new ReportTask(beId, reportType, tasks, disks, tablets, reportVersion, activeWorkGroups, resourceUsage,
-                        dataCacheMetrics);
+                new ReportTask(beId, reportType, tasks, disks, tablets, reportVersion, incrementalTabletReport,
+                        tabletReportBaseVersion, deletedTablets, activeWorkGroups, resourceUsage, dataCacheMetrics);
         try {
             putToQueue(reportTask);
         } catch (Exception e) {
@@ -342,6 +379,15 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
             return result;
         }
 
+        if (reportType == ReportType.TABLET_REPORT && Config.enable_incremental_tablet_report) {
+            // the next incremental report is accepted once this report has been handled, see handleTabletReport()
+            result.setTablet_report_acked_version(reportVersion);
+            Set<Long> tabletIds = tabletsToReportAgain.get(beId);
+            if (tabletIds != null && !tabletIds.isEmpty()) {
+                result.setTablet_ids_to_report(Lists.newArrayList(tabletIds));
+            }
+        }
+
         LOG.debug("report received from be/computeNode {}. type: {}, current queue size: {}",
                 beId, reportType, reportQueue.size());
         return result;
@@ -365,6 +411,10 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
                 reportQueue.put(Pair.create(reportTask.beId, reportTask.type));
             } else {
                 LOG.info("update be {} report task, type: {}", oldTask.beId, oldTask.type);
+                if (reportTask.incrementalTabletReport) {
+                    // the pending report has not been handled, the incremental one only replaces the tablets it carries
+                    reportTask.mergePendingTabletReport(oldTask);
+                }
             }
             pendingTaskMap.get(reportTask.type).put(reportTask.beId, reportTask);
         }
@@ -390,13 +440,17 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
         private Map<String, TDisk> disks;
         private Map<Long, TTablet> tablets;
         private long reportVersion;
+        private boolean incrementalTabletReport;
+        private long tabletReportBaseVersion;
+        private Set<Long> deletedTablets;
         private List<TWorkGroup> activeWorkGroups;
         private TResourceUsage resourceUsage;
         private TDataCacheMetrics dataCacheMetrics;
 
         public ReportTask(long beId, ReportType type, Map<TTaskType, Set<Long>> tasks,
                           Map<String, TDisk> disks,
-                          Map<Long, TTablet> tablets, long reportVersion,
+                          Map<Long, TTablet> tablets, long reportVersion, boolean incrementalTabletReport,
+                          long tabletReportBaseVersion, Set<Long> deletedTablets,
                           List<TWorkGroup> activeWorkGroups,
                           TResourceUsage resourceUsage, TDataCacheMetrics dataCacheMetrics) {
             this.beId = beId;
@@ -405,6 +459,9 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
             this.disks = disks;
             this.tablets = tablets;
             this.reportVersion = reportVersion;
+            this.incrementalTabletReport = incrementalTabletReport;
+            this.tabletReportBaseVersion = tabletReportBaseVersion;
+            this.deletedTablets = deletedTablets;
             this.activeWorkGroups = activeWorkGroups;
             this.resourceUsage = resourceUsage;
             this.dataCacheMetrics = dataCacheMetrics;
@@ -419,7 +476,7 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
                 ReportHandler.diskReport(beId, disks);
             }
             if (tablets != null) {
-                ReportHandler.tabletReport(beId, tablets, reportVersion);
+                handleTabletReport();
             }
             if (activeWorkGroups != null) {
                 ReportHandler.workgroupReport(beId, activeWorkGroups);
@@ -431,15 +488,55 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
                 ReportHandler.datacacheMetricsReport(beId, dataCacheMetrics);
             }
         }
+
+        private void handleTabletReport() {
+            // removed until this report is handled, so no incremental report is accepted based on a report
+            // which failed to be handled
+            Long handledVersion = handledTabletReportVersions.remove(beId);
+            if (incrementalTabletReport && (handledVersion == null || handledVersion != tabletReportBaseVersion)) {
+                LOG.warn("skip incremental tablet report from backend {}, base version: {}, handled version: {}",
+                        beId, tabletReportBaseVersion, handledVersion);
+                return;
+            }
+            ReportHandler.tabletReport(beId, tablets, reportVersion, incrementalTabletReport, deletedTablets);
+            if (Config.enable_incremental_tablet_report) {
+                tabletsToReportAgain.put(beId, getTabletsToDrop(beId));
+                handledTabletReportVersions.put(beId, reportVersion);
+            }
+        }
+
+        private void mergePendingTabletReport(ReportTask pendingTask) {
+            Map<Long, TTablet> mergedTablets = Maps.newHashMap(pendingTask.tablets);
+            mergedTablets.keySet().removeAll(deletedTablets);
+            mergedTablets.putAll(tablets);
+            tablets = mergedTablets;
+            if (pendingTask.incrementalTabletReport) {
+                Set<Long> mergedDeletedTablets = Sets.newHashSet(pendingTask.deletedTablets);
+                mergedDeletedTablets.addAll(deletedTablets);
+                mergedDeletedTablets.removeAll(tablets.keySet());
+                deletedTablets = mergedDeletedTablets;
+            } else {
+                // a tablet not in a full report is deleted
+                deletedTablets = Collections.emptySet();
+            }
+            // stay a full report if the pending one is full
+            incrementalTabletReport = pendingTask.incrementalTabletReport;
+            tabletReportBaseVersion = pendingTask.tabletReportBaseVersion;
+        }
     }
 
-    private static void tabletReport(long backendId, Map<Long, TTablet> backendTablets, long backendReportVersion) {
+    /**
+     * Handle a tablet report of the backend. An incremental report only carries the tablets changed since the
+     * report it is based on, and the tablets deleted since then, other tablets missing from it are unchanged.
+     */
+    private static void tabletReport(long backendId, Map<Long, TTablet> backendTablets, long backendReportVersion,
+                                     boolean incremental, Set<Long> deletedTablets) {
         if (RunMode.isSharedDataMode()) {
             return;
         }
         long start = System.currentTimeMillis();
-        LOG.info("backend[{}] reports {} tablet(s). report version: {}",
-                backendId, backendTablets.size(), backendReportVersion);
+        LOG.info("backend[{}] reports {} tablet(s). report version: {}, incremental: {}, deleted tablet(s): {}",
+                backendId, backendTablets.size(), backendReportVersion, incremental, deletedTablets.size());
 
         // storage medium map
         HashMap<Long, TStorageMedium> storageMediumMap =
@@ -468,7 +565,9 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
         Set<Long> tabletWithoutPartitionId = Sets.newHashSet();
 
         // 1. do the diff. find out (intersection) / (be - meta) / (meta - be)
-        GlobalStateMgr.getCurrentState().getTabletInvertedIndex().tabletReport(backendId, backendTablets, storageMediumMap,
+        GlobalStateMgr.getCurrentState().getTabletInvertedIndex().tabletReport(backendId, backendTablets, incremental,
+                deletedTablets,
+                storageMediumMap,
                 tabletSyncMap,
                 tabletDeleteFromMeta,
                 foundTabletsWithValidSchema,
@@ -1046,6 +1145,12 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
         return false;
     }
 
+    // the tablets of the backend waiting to be dropped, only accessed by the report handling thread like
+    // TABLET_TO_DROP_TIME itself
+    private static Set<Long> getTabletsToDrop(long backendId) {
+        return Sets.newHashSet(TABLET_TO_DROP_TIME.column(backendId).keySet());
+    }
+
     private static void deleteFromBackend(Map<Long, TTablet> backendTablets,
                                           Set<Long> foundTabletsWithValidSchema,
                                           Map<Long, TTabletInfo> foundTabletsWithInvalidSchema,
@@ -1903,20 +2008,31 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
     protected void runOneCycle() {
         while (true) {
             try {
-                Pair<Long, ReportType> pair = reportQueue.take();
-                ReportTask task = null;
-                synchronized (pendingTaskMap) {
-                    // using the lastest task
-                    task = pendingTaskMap.get(pair.second).get(pair.first);
-                    if (task == null) {
-                        throw new Exception("pendingTaskMap not exists " + pair.first);
-                    }
-                    pendingTaskMap.get(task.type).remove(task.beId, task);
-                }
-                task.exec();
+                execReportTask(reportQueue.take());
             } catch (Exception e) {
                 LOG.warn("got interupted exception when executing report", e);
             }
         }
     }
+
+    private void execReportTask(Pair<Long, ReportType> pair) throws Exception {
+        ReportTask task = null;
+        synchronized (pendingTaskMap) {
+            // using the lastest task
+            task = pendingTaskMap.get(pair.second).get(pair.first);
+            if (task == null) {
+                throw new Exception("pendingTaskMap not exists " + pair.first);
+            }
+            pendingTaskMap.get(task.type).remove(task.beId, task);
+        }
+        task.exec();
+    }
+
+    @VisibleForTesting
+    public void testHandlePendingReports() throws Exception {
+        Pair<Long, ReportType> pair;
+        while ((pair = reportQueue.poll()) != null) {
+            execReportTask(pair);
+        }
+    }
 }
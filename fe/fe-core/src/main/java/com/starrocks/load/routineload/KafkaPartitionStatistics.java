@@ -0,0 +1,197 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.load.routineload;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The latest offsets and the consumption rates of the partitions of a kafka routine load job, which are used by
+ * the adaptive scheduling to balance the partitions between the tasks and size the tasks.
+ * <p>
+ * The consumption rate of a partition is measured between two committed transactions including it, so it includes
+ * the time the partition waits to be scheduled. It is the produce rate of the partition when the job keeps up,
+ * and the rate the job is able to consume the partition when it lags.
+ * The statistics are only kept in memory and are rebuilt after the FE restarts.
+ */
+public class KafkaPartitionStatistics {
+    // weight of a new sample in the smoothed consumption rate
+    private static final double RATE_SMOOTHING_FACTOR = 0.5;
+
+    // latest offset is (the latest existing message offset + 1)
+    private final Map<Integer, Long> partitionToLatestOffset = Maps.newHashMap();
+    private final Map<Integer, ConsumeRate> partitionToConsumeRate = Maps.newHashMap();
+
+    private static class ConsumeRate {
+        private long offset;
+        private long timeMs;
+        private double messagesPerSecond;
+
+        private ConsumeRate(long offset, long timeMs) {
+            this.offset = offset;
+            this.timeMs = timeMs;
+        }
+    }
+
+    public synchronized void updateLatestOffset(int partition, long offset) {
+        partitionToLatestOffset.put(partition, offset);
+    }
+
+    /**
+     * @param offset the next offset to be consumed of the partition after a transaction is committed
+     */
+    public synchronized void updateConsumedOffset(int partition, long offset, long nowMs) {
+        ConsumeRate rate = partitionToConsumeRate.get(partition);
+        if (rate == null) {
+            partitionToConsumeRate.put(partition, new ConsumeRate(offset, nowMs));
+            return;
+        }
+        if (nowMs > rate.timeMs && offset >= rate.offset) {
+            double sample = (offset - rate.offset) * 1000.0 / (nowMs - rate.timeMs);
+            rate.messagesPerSecond = rate.messagesPerSecond == 0 ? sample :
+                    RATE_SMOOTHING_FACTOR * sample + (1 - RATE_SMOOTHING_FACTOR) * rate.messagesPerSecond;
+        }
+        rate.offset = offset;
+        rate.timeMs = nowMs;
+    }
+
+    /**
+     * @param consumedOffset the next offset to be consumed of the partition, from the progress of the job
+     * @return the number of messages of the partition not consumed yet, or 0 if it is unknown.
+     */
+    public synchronized long getLag(int partition, Long consumedOffset) {
+        Long latestOffset = partitionToLatestOffset.get(partition);
+        // the consumed offset is OFFSET_BEGINNING or OFFSET_END before the first message is consumed
+        if (latestOffset == null || consumedOffset == null || consumedOffset < 0) {
+            return 0;
+        }
+        return Math.max(latestOffset - consumedOffset, 0);
+    }
+
+    public synchronized double getConsumeRate(int partition) {
+        ConsumeRate rate = partitionToConsumeRate.get(partition);
+        return rate == null ? 0 : rate.messagesPerSecond;
+    }
+
+    /**
+     * @return the seconds to consume the lag of the partition at its consumption rate,
+     * or {@code Double.MAX_VALUE} if the partition lags but has not been consumed yet.
+     */
+    public synchronized double getLagSeconds(int partition, Long consumedOffset) {
+        long lag = getLag(partition, consumedOffset);
+        if (lag == 0) {
+            return 0;
+        }
+        double rate = getConsumeRate(partition);
+        return rate > 0 ? lag / rate : Double.MAX_VALUE;
+    }
+
+    /**
+     * The load of a partition is the messages per second to consume to keep up with the partition,
+     * and to consume its lag in the target latency.
+     */
+    public synchronized double getLoad(int partition, Long consumedOffset, long targetLatencyMs) {
+        double lagRate = getLag(partition, consumedOffset) * 1000.0 / Math.max(targetLatencyMs, 1);
+        return getConsumeRate(partition) + lagRate;
+    }
+
+    public synchronized void retainPartitions(Collection<Integer> partitions) {
+        partitionToLatestOffset.keySet().retainAll(partitions);
+        partitionToConsumeRate.keySet().retainAll(partitions);
+    }
+
+    /**
+     * The loads of the partitions used to assign them to the tasks. A partition without any load, such as one
+     * not consumed yet, is assigned the average load of the others, or 1 when there are no statistics at all.
+     */
+    public static Map<Integer, Double> getAssignedLoads(List<Integer> partitions,
+                                                        Map<Integer, Double> partitionToLoad) {
+        double totalLoad = 0;
+        int numLoadedPartitions = 0;
+        for (Integer partition : partitions) {
+            double load = partitionToLoad.getOrDefault(partition, 0.0);
+            if (load > 0) {
+                totalLoad += load;
+                numLoadedPartitions++;
+            }
+        }
+        double defaultLoad = numLoadedPartitions == 0 ? 1 : totalLoad / numLoadedPartitions;
+
+        Map<Integer, Double> loads = Maps.newHashMap();
+        for (Integer partition : partitions) {
+            double load = partitionToLoad.getOrDefault(partition, 0.0);
+            loads.put(partition, load > 0 ? load : defaultLoad);
+        }
+        return loads;
+    }
+
+    /**
+     * The ratio of the highest load of the tasks to the lowest one by the assigned loads of the partitions,
+     * which is 1 when the tasks are perfectly balanced.
+     */
+    public static double getLoadImbalance(List<List<Integer>> tasks, Map<Integer, Double> assignedLoads) {
+        double minTaskLoad = Double.MAX_VALUE;
+        double maxTaskLoad = 0;
+        for (List<Integer> task : tasks) {
+            double taskLoad = 0;
+            for (Integer partition : task) {
+                taskLoad += assignedLoads.getOrDefault(partition, 0.0);
+            }
+            minTaskLoad = Math.min(minTaskLoad, taskLoad);
+            maxTaskLoad = Math.max(maxTaskLoad, taskLoad);
+        }
+        if (tasks.isEmpty() || maxTaskLoad == 0) {
+            return 1;
+        }
+        return minTaskLoad == 0 ? Double.MAX_VALUE : maxTaskLoad / minTaskLoad;
+    }
+
+    /**
+     * Assign the partitions to the tasks so that the tasks have loads as close as possible, by assigning the
+     * partition with the highest load to the task with the lowest load at a time.
+     * The partitions are weighed by {@link #getAssignedLoads}, so they are assigned evenly by their number when
+     * there are no statistics at all.
+     */
+    public static List<List<Integer>> assignPartitions(List<Integer> partitions, Map<Integer, Double> partitionToLoad,
+                                                       int numTasks) {
+        Map<Integer, Double> loads = getAssignedLoads(partitions, partitionToLoad);
+        List<Integer> sortedPartitions = new ArrayList<>(partitions);
+        sortedPartitions.sort(Comparator.comparingDouble((Integer partition) -> loads.get(partition)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<List<Integer>> tasks = Lists.newArrayList();
+        double[] taskLoads = new double[numTasks];
+        for (int i = 0; i < numTasks; i++) {
+            tasks.add(Lists.newArrayList());
+        }
+        for (Integer partition : sortedPartitions) {
+            int minTask = 0;
+            for (int i = 1; i < numTasks; i++) {
+                if (taskLoads[i] < taskLoads[minTask]) {
+                    minTask = i;
+                }
+            }
+            tasks.get(minTask).add(partition);
+            taskLoads[minTask] += loads.get(partition);
+        }
+        return tasks;
+    }
+}
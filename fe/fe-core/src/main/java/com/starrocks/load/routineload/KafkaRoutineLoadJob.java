@@ -125,7 +125,16 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
     private List<Pair<Integer, Long>> customeKafkaPartitionOffsets = null;
     boolean useDefaultGroupId = true;
 
-    private Map<Integer, Long> latestPartitionOffsets = Maps.newHashMap();
+    // updated by the RoutineLoadScheduler thread in update() and by the RoutineLoadTaskScheduler thread
+    // when it checks whether a task is ready to execute, without the lock of the job
+    private final Map<Integer, Long> latestPartitionOffsets = Maps.newConcurrentMap();
+
+    // the statistics of the partitions and the state of the adaptive scheduling, only kept in memory
+    private final KafkaPartitionStatistics partitionStatistics = new KafkaPartitionStatistics();
+    // the number of tasks decided by the adaptive scheduling, 0 means it is not decided yet
+    private int adaptiveTaskNum = 0;
+    private long lastAdaptiveRescheduleMs = 0;
+    private long lastLatestOffsetsRefreshMs = 0;
 
     public KafkaRoutineLoadJob() {
         // for serialization, id is dummy
@@ -177,6 +186,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
 
     public void setPartitionOffset(int partition, long offset) {
         latestPartitionOffsets.put(Integer.valueOf(partition), Long.valueOf(offset));
+        partitionStatistics.updateLatestOffset(partition, offset);
     }
 
     public Long getPartitionOffset(int partition) {
@@ -235,11 +245,19 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         try {
             if (state == JobState.NEED_SCHEDULE) {
                 // divide kafkaPartitions into tasks
+                List<List<Integer>> taskPartitions = null;
+                if (Config.enable_routine_load_adaptive_scheduling) {
+                    partitionStatistics.retainPartitions(currentKafkaPartitions);
+                    lastAdaptiveRescheduleMs = System.currentTimeMillis();
+                    taskPartitions = KafkaPartitionStatistics.assignPartitions(currentKafkaPartitions,
+                            getPartitionLoads(), currentConcurrentTaskNum);
+                }
                 for (int i = 0; i < currentConcurrentTaskNum; i++) {
                     Map<Integer, Long> taskKafkaProgress = Maps.newHashMap();
                     for (int j = 0; j < currentKafkaPartitions.size(); j++) {
-                        if (j % currentConcurrentTaskNum == i) {
-                            int kafkaPartition = currentKafkaPartitions.get(j);
+                        int kafkaPartition = currentKafkaPartitions.get(j);
+                        if (taskPartitions == null ? j % currentConcurrentTaskNum == i :
+                                taskPartitions.get(i).contains(kafkaPartition)) {
                             taskKafkaProgress.put(kafkaPartition,
                                     ((KafkaProgress) progress).getOffsetByPartition(kafkaPartition));
                         }
@@ -304,9 +322,198 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
                 partitionNum, desireTaskConcurrentNum, aliveNodeNum, Config.max_routine_load_task_concurrent_num);
         currentTaskConcurrentNum = Math.min(Math.min(partitionNum, Math.min(desireTaskConcurrentNum, aliveNodeNum)),
                 Config.max_routine_load_task_concurrent_num);
+        if (Config.enable_routine_load_adaptive_scheduling && adaptiveTaskNum > 0) {
+            currentTaskConcurrentNum = Math.min(currentTaskConcurrentNum, adaptiveTaskNum);
+        }
         return currentTaskConcurrentNum;
     }
 
+    private Map<Integer, Double> getPartitionLoads() {
+        long targetLatencyMs = Config.routine_load_adaptive_target_latency_second * 1000;
+        Map<Integer, Double> partitionToLoad = Maps.newHashMap();
+        for (Integer partition : currentKafkaPartitions) {
+            partitionToLoad.put(partition, partitionStatistics.getLoad(partition,
+                    ((KafkaProgress) progress).getOffsetByPartition(partition), targetLatencyMs));
+        }
+        return partitionToLoad;
+    }
+
+    /**
+     * The number of messages of the partitions not consumed yet, for the partitions whose latest offsets are known.
+     */
+    public Map<Integer, Long> getPartitionLags() {
+        Map<Integer, Long> partitionToLag = Maps.newHashMap();
+        readLock();
+        try {
+            for (Integer partition : currentKafkaPartitions) {
+                partitionToLag.put(partition, partitionStatistics.getLag(partition,
+                        ((KafkaProgress) progress).getOffsetByPartition(partition)));
+            }
+        } finally {
+            readUnlock();
+        }
+        return partitionToLag;
+    }
+
+    /**
+     * With the adaptive scheduling, a task whose partitions lag more than its consume time consumes longer, up to half
+     * of the task timeout, so that the lag is loaded by fewer and bigger transactions.
+     * The task is still bounded by max_routine_load_batch_size.
+     */
+    public long getTaskConsumeSecond(List<Integer> partitions) {
+        if (!Config.enable_routine_load_adaptive_scheduling) {
+            return taskConsumeSecond;
+        }
+        double maxLagSecond = 0;
+        for (Integer partition : partitions) {
+            maxLagSecond = Math.max(maxLagSecond, partitionStatistics.getLagSeconds(partition,
+                    ((KafkaProgress) progress).getOffsetByPartition(partition)));
+        }
+        long maxConsumeSecond = Math.max(taskTimeoutSecond / 2, taskConsumeSecond);
+        return Math.max(taskConsumeSecond, (long) Math.min(Math.ceil(maxLagSecond), maxConsumeSecond));
+    }
+
+    /**
+     * With the adaptive scheduling, the task of a job keeping up waits until its messages are about to exceed
+     * the target latency, so that the job loads more messages with fewer transactions.
+     */
+    @Override
+    protected long getTaskScheduleDelayMs() {
+        long delayMs = super.getTaskScheduleDelayMs();
+        if (Config.enable_routine_load_adaptive_scheduling) {
+            delayMs = Math.max(delayMs, (Config.routine_load_adaptive_target_latency_second - taskConsumeSecond) * 1000);
+        }
+        return delayMs;
+    }
+
+    @Override
+    public void update() throws UserException {
+        refreshLatestOffsets();
+        super.update();
+    }
+
+    /**
+     * Refresh the latest offsets of the partitions for the adaptive scheduling and the lags in the metrics.
+     * The offsets of the partitions of a task are also refreshed when the task is checked to be ready to execute,
+     * but not when it is known to have new messages, so they are refreshed here at most once in a reschedule
+     * interval, without holding the lock of the job since it asks kafka for them. The lags of the partitions
+     * which keep having new messages can be stale for that long, see routine_load_adaptive_reschedule_interval_second.
+     */
+    private void refreshLatestOffsets() {
+        List<Integer> partitions;
+        readLock();
+        try {
+            long nowMs = System.currentTimeMillis();
+            if (!Config.enable_routine_load_adaptive_scheduling || state != JobState.RUNNING ||
+                    nowMs - lastLatestOffsetsRefreshMs < Config.routine_load_adaptive_reschedule_interval_second * 1000) {
+                return;
+            }
+            // update() is only called by the RoutineLoadScheduler thread, which is the only one to touch it
+            lastLatestOffsetsRefreshMs = nowMs;
+            partitions = Lists.newArrayList(currentKafkaPartitions);
+        } finally {
+            readUnlock();
+        }
+
+        try {
+            convertCustomProperties(false);
+            Map<Integer, Long> latestOffsets = KafkaUtil.getLatestOffsets(brokerList, topic,
+                    ImmutableMap.copyOf(convertedCustomProperties), partitions, warehouseId);
+            for (Map.Entry<Integer, Long> entry : latestOffsets.entrySet()) {
+                setPartitionOffset(entry.getKey(), entry.getValue());
+            }
+        } catch (UserException e) {
+            LOG.warn(new LogBuilder(LogKey.ROUTINE_LOAD_JOB, id)
+                    .add("msg", "failed to get the latest offsets for the adaptive scheduling").build(), e);
+        }
+    }
+
+    /**
+     * Decide whether the running job should be rescheduled to change its number of tasks or rebalance its partitions.
+     * It adds a task when a partition lags more than the target latency, removes a task when all the partitions lag
+     * less than a quarter of the target latency, and rebalances the partitions when the load of a task is more than
+     * twice the load of another one and assigning the partitions again balances the tasks better.
+     */
+    private boolean unprotectNeedAdaptiveReschedule() {
+        if (!Config.enable_routine_load_adaptive_scheduling || state != JobState.RUNNING) {
+            return false;
+        }
+
+        long nowMs = System.currentTimeMillis();
+        if (nowMs - lastAdaptiveRescheduleMs < Config.routine_load_adaptive_reschedule_interval_second * 1000) {
+            return false;
+        }
+
+        double targetLatencySecond = Math.max(Config.routine_load_adaptive_target_latency_second, 1);
+        double maxLagSecond = 0;
+        for (Integer partition : currentKafkaPartitions) {
+            maxLagSecond = Math.max(maxLagSecond, partitionStatistics.getLagSeconds(partition,
+                    ((KafkaProgress) progress).getOffsetByPartition(partition)));
+        }
+        int newTaskNum = currentTaskConcurrentNum;
+        if (maxLagSecond > targetLatencySecond) {
+            newTaskNum = currentTaskConcurrentNum + 1;
+        } else if (maxLagSecond < targetLatencySecond / 4 && currentTaskConcurrentNum > 1) {
+            newTaskNum = currentTaskConcurrentNum - 1;
+        }
+
+        boolean isImbalanced = unprotectIsImbalanced();
+
+        // an added task may be limited by the other limits of the number of tasks, so it only reschedules when
+        // the number of tasks really changes
+        int oldTaskNum = currentTaskConcurrentNum;
+        int oldAdaptiveTaskNum = adaptiveTaskNum;
+        adaptiveTaskNum = newTaskNum;
+        try {
+            newTaskNum = calculateCurrentConcurrentTaskNum();
+        } catch (MetaNotFoundException e) {
+            newTaskNum = oldTaskNum;
+        } finally {
+            currentTaskConcurrentNum = oldTaskNum;
+        }
+        if (newTaskNum == oldTaskNum && !isImbalanced) {
+            adaptiveTaskNum = oldAdaptiveTaskNum;
+            return false;
+        }
+
+        lastAdaptiveRescheduleMs = nowMs;
+        LOG.info(new LogBuilder(LogKey.ROUTINE_LOAD_JOB, id)
+                .add("current_task_num", oldTaskNum)
+                .add("new_task_num", newTaskNum)
+                .add("max_lag_second", maxLagSecond)
+                .add("is_imbalanced", isImbalanced)
+                .add("msg", "job need to be rescheduled by the adaptive scheduling")
+                .build());
+        return true;
+    }
+
+    /**
+     * The tasks are imbalanced if the load of a task is more than twice the load of another one, and the partitions
+     * assigned again by {@link KafkaPartitionStatistics#assignPartitions} lower the ratio. Both assignments are
+     * judged by the same loads of the partitions as the assignment, otherwise a partition without load, which is
+     * assigned the average load, would make the tasks look imbalanced after every rebalance.
+     */
+    @VisibleForTesting
+    boolean unprotectIsImbalanced() {
+        if (routineLoadTaskInfoList.size() <= 1) {
+            return false;
+        }
+        Map<Integer, Double> partitionToLoad = getPartitionLoads();
+        Map<Integer, Double> assignedLoads =
+                KafkaPartitionStatistics.getAssignedLoads(currentKafkaPartitions, partitionToLoad);
+        List<List<Integer>> currentTasks = Lists.newArrayList();
+        for (RoutineLoadTaskInfo taskInfo : routineLoadTaskInfoList) {
+            currentTasks.add(((KafkaTaskInfo) taskInfo).getPartitions());
+        }
+        double currentImbalance = KafkaPartitionStatistics.getLoadImbalance(currentTasks, assignedLoads);
+        if (currentImbalance <= 2) {
+            return false;
+        }
+        double newImbalance = KafkaPartitionStatistics.getLoadImbalance(KafkaPartitionStatistics.assignPartitions(
+                currentKafkaPartitions, partitionToLoad, currentTasks.size()), assignedLoads);
+        return newImbalance < currentImbalance;
+    }
+
     // Through the transaction status and attachment information, to determine whether the progress needs to be updated.
     @Override
     protected boolean checkCommitInfo(RLTaskTxnCommitAttachment rlTaskTxnCommitAttachment,
@@ -346,6 +553,12 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         super.updateProgress(attachment);
         this.progress.update(attachment.getProgress());
         this.timestampProgress.update(attachment.getTimestampProgress());
+
+        long nowMs = System.currentTimeMillis();
+        for (Integer partition : ((KafkaProgress) attachment.getProgress()).getPartitionIdToOffset().keySet()) {
+            partitionStatistics.updateConsumedOffset(partition,
+                    ((KafkaProgress) progress).getOffsetByPartition(partition), nowMs);
+        }
     }
 
     @Override
@@ -385,7 +598,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         if (this.state == JobState.RUNNING || this.state == JobState.NEED_SCHEDULE) {
             if (customKafkaPartitions != null && customKafkaPartitions.size() != 0) {
                 currentKafkaPartitions = customKafkaPartitions;
-                return false;
+                return unprotectNeedAdaptiveReschedule();
             } else {
                 List<Integer> newCurrentKafkaPartition;
                 try {
@@ -413,7 +626,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
                         }
                         return true;
                     } else {
-                        return false;
+                        return unprotectNeedAdaptiveReschedule();
                     }
                 } else {
                     currentKafkaPartitions = newCurrentKafkaPartition;
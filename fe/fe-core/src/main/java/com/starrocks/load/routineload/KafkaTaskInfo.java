@@ -195,10 +195,11 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
         tRoutineLoadTask.setType(TLoadSourceType.KAFKA);
         tRoutineLoadTask.setParams(plan(routineLoadJob));
         // When the transaction times out, we reduce the consumption time to lower the BE load.
+        long taskConsumeSecond = routineLoadJob.getTaskConsumeSecond(getPartitions());
         if (msg != null && msg.contains(DatabaseTransactionMgr.TXN_TIMEOUT_BY_MANAGER)) {
-            tRoutineLoadTask.setMax_interval_s(routineLoadJob.getTaskConsumeSecond() / 2);
+            tRoutineLoadTask.setMax_interval_s(taskConsumeSecond / 2);
         } else {
-            tRoutineLoadTask.setMax_interval_s(routineLoadJob.getTaskConsumeSecond());
+            tRoutineLoadTask.setMax_interval_s(taskConsumeSecond);
         }
         tRoutineLoadTask.setMax_batch_rows(routineLoadJob.getMaxBatchRows());
         tRoutineLoadTask.setMax_batch_size(Config.max_routine_load_batch_size);
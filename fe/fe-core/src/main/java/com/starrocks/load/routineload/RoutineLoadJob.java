@@ -846,6 +846,11 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback
 
     abstract RoutineLoadTaskInfo unprotectRenewTask(long timeToExecuteMs, RoutineLoadTaskInfo routineLoadTaskInfo);
 
+    // the delay to schedule the next task after a task keeping up with the data source is visible
+    protected long getTaskScheduleDelayMs() {
+        return taskSchedIntervalS * 1000;
+    }
+
     // call before first scheduling
     // derived class can override this.
     public void prepare() throws UserException {
@@ -1111,7 +1116,7 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback
             if (!routineLoadTaskInfo.isProgressKeepUp(rlTaskTxnCommitAttachment.getProgress())) {
                 timeToExecuteMs = System.currentTimeMillis();
             } else {
-                timeToExecuteMs = System.currentTimeMillis() + taskSchedIntervalS * 1000;
+                timeToExecuteMs = System.currentTimeMillis() + getTaskScheduleDelayMs();
             }
             RoutineLoadTaskInfo newRoutineLoadTaskInfo = unprotectRenewTask(timeToExecuteMs, routineLoadTaskInfo);
             GlobalStateMgr.getCurrentState().getRoutineLoadMgr().
@@ -17,6 +17,7 @@ package com.starrocks.load.streamload;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Striped;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.MaterializedView;
 import com.starrocks.catalog.OlapTable;
@@ -52,15 +53,24 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
+/**
+ * All the maps of the tasks are concurrent maps, so looking up a task, which is done by every request of the
+ * transaction stream load API, does not take any lock. Only creating the task of a label takes the lock of
+ * the label, and the tasks of different labels are created concurrently.
+ */
 public class StreamLoadMgr implements MemoryTrackable {
     private static final Logger LOG = LogManager.getLogger(StreamLoadMgr.class);
 
+    private static final int NUM_LABEL_LOCKS = 256;
+
     // label -> streamLoadTask
     private Map<String, StreamLoadTask> idToStreamLoadTask;
 
@@ -69,23 +79,14 @@ public class StreamLoadMgr implements MemoryTrackable {
     private Map<Long, StreamLoadTask> txnIdToSyncStreamLoadTasks;
 
     private Map<Long, Map<String, StreamLoadTask>> dbToLabelToStreamLoadTask;
-    private ReentrantReadWriteLock lock;
-
-    private void writeLock() {
-        lock.writeLock().lock();
-    }
 
-    private void writeUnlock() {
-        lock.writeLock().unlock();
-    }
+    // All the tasks ordered by their create time. A task ends after it is created, so cleaning the expired tasks
+    // stops at the first task created within Config.stream_load_task_keep_max_second instead of scanning all the tasks.
+    private NavigableSet<StreamLoadTask> createTimeOrderedTasks;
 
-    private void readLock() {
-        lock.readLock().lock();
-    }
-
-    private void readUnlock() {
-        lock.readLock().unlock();
-    }
+    private Striped<Lock> labelLocks;
+    // only one thread cleans the tasks at a time
+    private ReentrantLock cleanLock;
 
     public StreamLoadMgr() {
         init();
@@ -96,7 +97,10 @@ public class StreamLoadMgr implements MemoryTrackable {
         idToStreamLoadTask = Maps.newConcurrentMap();
         txnIdToSyncStreamLoadTasks = Maps.newConcurrentMap();
         dbToLabelToStreamLoadTask = Maps.newConcurrentMap();
-        lock = new ReentrantReadWriteLock(true);
+        createTimeOrderedTasks = new ConcurrentSkipListSet<>(
+                Comparator.comparingLong(StreamLoadTask::createTimeMs).thenComparing(StreamLoadTask::getLabel));
+        labelLocks = Striped.lock(NUM_LABEL_LOCKS);
+        cleanLock = new ReentrantLock();
     }
 
     public void beginLoadTask(String dbName, String tableName, String label, String user, String clientIp, long timeoutMillis,
@@ -111,20 +115,16 @@ public class StreamLoadMgr implements MemoryTrackable {
         Database db = checkDbName(dbName);
         long dbId = db.getId();
         // if task is already created, return directly
-        readLock();
-        try {
-            task = idToStreamLoadTask.get(label);
-            if (task != null) {
-                task.beginTxn(channelId, channelNum, resp);
-                return;
-            }
-        } finally {
-            readUnlock();
+        task = idToStreamLoadTask.get(label);
+        if (task != null) {
+            task.beginTxn(channelId, channelNum, resp);
+            return;
         }
 
         boolean createTask = true;
 
-        writeLock();
+        Lock labelLock = labelLocks.get(label);
+        labelLock.lock();
         try {
             // double check here
             task = idToStreamLoadTask.get(label);
@@ -139,7 +139,7 @@ public class StreamLoadMgr implements MemoryTrackable {
             task.beginTxn(channelId, channelNum, resp);
             createTask = true;
         } finally {
-            writeUnlock();
+            labelLock.unlock();
         }
         if (createTask) {
             GlobalStateMgr.getCurrentState().getEditLog().logCreateStreamLoadJob(task);
@@ -153,7 +153,8 @@ public class StreamLoadMgr implements MemoryTrackable {
         Database db = checkDbName(dbName);
         long dbId = db.getId();
 
-        writeLock();
+        Lock labelLock = labelLocks.get(label);
+        labelLock.lock();
         try {
             task = createLoadTask(db, tableName, label, user, clientIp, timeoutMillis, isRoutineLoad, warehouseId);
             LOG.info(new LogBuilder(LogKey.STREAM_LOAD_TASK, task.getId())
@@ -162,7 +163,7 @@ public class StreamLoadMgr implements MemoryTrackable {
             task.beginTxn(0, 1, resp);
             addLoadTask(task);
         } finally {
-            writeUnlock();
+            labelLock.unlock();
         }
     }
 
@@ -263,32 +264,39 @@ public class StreamLoadMgr implements MemoryTrackable {
             txnIdToSyncStreamLoadTasks.put(task.getTxnId(), task);
         }
 
-        // Clear the stream load tasks manually
-        if (idToStreamLoadTask.size() > Config.stream_load_task_keep_max_num) {
-            // If enable_load_profile = true,
-            // most stream load tasks are generated through flink-cdc and routine load generally,
-            // so clearing the syncStreamLoadTask is preferred.
-            LOG.info("trigger cleanSyncStreamLoadTasks when add load task label:{}", task.getLabel());
-            cleanSyncStreamLoadTasks();
-            // The size of idToStreamLoadTask is still huge, indicates that the type of most tasks is PARALLEL,
-            // so clean all the streamLoadTasks manaully not waitting for Config.stream_load_task_keep_max_second.
-            if (idToStreamLoadTask.size() > Config.stream_load_task_keep_max_num / 2) {
-                LOG.info("trigger cleanOldStreamLoadTasks when add load task label{}", task.getLabel());
-                cleanOldStreamLoadTasks(true);
+        // Clear the stream load tasks manually, the tasks being added at the same time do not wait for the cleaning
+        if (idToStreamLoadTask.size() > Config.stream_load_task_keep_max_num && cleanLock.tryLock()) {
+            try {
+                // If enable_load_profile = true,
+                // most stream load tasks are generated through flink-cdc and routine load generally,
+                // so clearing the syncStreamLoadTask is preferred.
+                LOG.info("trigger cleanSyncStreamLoadTasks when add load task label:{}", task.getLabel());
+                cleanSyncStreamLoadTasks();
+                // The size of idToStreamLoadTask is still huge, indicates that the type of most tasks is PARALLEL,
+                // so clean all the streamLoadTasks manaully not waitting for Config.stream_load_task_keep_max_second.
+                if (idToStreamLoadTask.size() > Config.stream_load_task_keep_max_num / 2) {
+                    LOG.info("trigger cleanOldStreamLoadTasks when add load task label{}", task.getLabel());
+                    cleanOldStreamLoadTasks(true);
+                }
+            } finally {
+                cleanLock.unlock();
             }
         }
 
-        long dbId = task.getDBId();
         String label = task.getLabel();
-        Map<String, StreamLoadTask> labelToStreamLoadTask = null;
-        if (dbToLabelToStreamLoadTask.containsKey(dbId)) {
-            labelToStreamLoadTask = dbToLabelToStreamLoadTask.get(dbId);
-        } else {
-            labelToStreamLoadTask = Maps.newConcurrentMap();
-            dbToLabelToStreamLoadTask.put(dbId, labelToStreamLoadTask);
+        // the map of a database is created and removed atomically with the labels in it
+        dbToLabelToStreamLoadTask.compute(task.getDBId(), (dbId, labelToStreamLoadTask) -> {
+            if (labelToStreamLoadTask == null) {
+                labelToStreamLoadTask = Maps.newConcurrentMap();
+            }
+            labelToStreamLoadTask.put(label, task);
+            return labelToStreamLoadTask;
+        });
+        StreamLoadTask prevTask = idToStreamLoadTask.put(label, task);
+        if (prevTask != null) {
+            createTimeOrderedTasks.remove(prevTask);
         }
-        labelToStreamLoadTask.put(label, task);
-        idToStreamLoadTask.put(label, task);
+        createTimeOrderedTasks.add(task);
 
         // add callback before txn created, because callback will be performed on replay without txn begin
         // register txn state listener
@@ -298,115 +306,65 @@ public class StreamLoadMgr implements MemoryTrackable {
     public TNetworkAddress executeLoadTask(String label, int channelId, HttpHeaders headers,
                                            TransactionResult resp, String dbName, String tableName)
             throws UserException {
-        boolean needUnLock = true;
-        readLock();
-        try {
-            if (!idToStreamLoadTask.containsKey(label)) {
-                throw new UserException("stream load task " + label + " does not exist");
-            }
-            StreamLoadTask task = idToStreamLoadTask.get(label);
+        StreamLoadTask task = idToStreamLoadTask.get(label);
+        if (task == null) {
+            throw new UserException("stream load task " + label + " does not exist");
+        }
 
-            // check whether the database and table are consistent with the transaction,
-            // for single database and single table are supported so far
-            if (!task.getDBName().equals(dbName)) {
-                throw new UserException(
-                        String.format("Request table %s not equal transaction table %s", dbName, task.getDBName()));
-            }
-            if (!task.getTableName().equals(tableName)) {
-                throw new UserException(
-                        String.format("Request table %s not equal transaction table %s", tableName, task.getTableName()));
-            }
+        // check whether the database and table are consistent with the transaction,
+        // for single database and single table are supported so far
+        if (!task.getDBName().equals(dbName)) {
+            throw new UserException(
+                    String.format("Request table %s not equal transaction table %s", dbName, task.getDBName()));
+        }
+        if (!task.getTableName().equals(tableName)) {
+            throw new UserException(
+                    String.format("Request table %s not equal transaction table %s", tableName, task.getTableName()));
+        }
 
-            readUnlock();
-            needUnLock = false;
-            TNetworkAddress redirectAddress = task.tryLoad(channelId, resp);
-            if (redirectAddress != null || !resp.stateOK() || resp.containMsg()) {
-                return redirectAddress;
-            }
-            return task.executeTask(channelId, headers, resp);
-        } finally {
-            if (needUnLock) {
-                readUnlock();
-            }
+        TNetworkAddress redirectAddress = task.tryLoad(channelId, resp);
+        if (redirectAddress != null || !resp.stateOK() || resp.containMsg()) {
+            return redirectAddress;
         }
+        return task.executeTask(channelId, headers, resp);
     }
 
     public void prepareLoadTask(String label, int channelId, HttpHeaders headers, TransactionResult resp)
             throws UserException {
-        boolean needUnLock = true;
-        readLock();
-        try {
-            if (!idToStreamLoadTask.containsKey(label)) {
-                throw new UserException("stream load task " + label + " does not exist");
-            }
-            StreamLoadTask task = idToStreamLoadTask.get(label);
-            readUnlock();
-            needUnLock = false;
-            task.prepareChannel(channelId, headers, resp);
-        } finally {
-            if (needUnLock) {
-                readUnlock();
-            }
+        StreamLoadTask task = idToStreamLoadTask.get(label);
+        if (task == null) {
+            throw new UserException("stream load task " + label + " does not exist");
         }
+        task.prepareChannel(channelId, headers, resp);
     }
 
     public void tryPrepareLoadTaskTxn(String label, TransactionResult resp)
             throws UserException {
-        boolean needUnLock = true;
-        readLock();
-        try {
-            if (!idToStreamLoadTask.containsKey(label)) {
-                throw new UserException("stream load task " + label + " does not exist");
-            }
-            StreamLoadTask task = idToStreamLoadTask.get(label);
-            readUnlock();
-            needUnLock = false;
-            if (task.checkNeedPrepareTxn()) {
-                task.waitCoordFinishAndPrepareTxn(resp);
-            }
-        } finally {
-            if (needUnLock) {
-                readUnlock();
-            }
+        StreamLoadTask task = idToStreamLoadTask.get(label);
+        if (task == null) {
+            throw new UserException("stream load task " + label + " does not exist");
+        }
+        if (task.checkNeedPrepareTxn()) {
+            task.waitCoordFinishAndPrepareTxn(resp);
         }
     }
 
     public void commitLoadTask(String label, TransactionResult resp)
             throws UserException {
-        boolean needUnLock = true;
-        readLock();
-        try {
-            if (!idToStreamLoadTask.containsKey(label)) {
-                throw new UserException("stream load task " + label + " does not exist");
-            }
-            StreamLoadTask task = idToStreamLoadTask.get(label);
-            readUnlock();
-            needUnLock = false;
-            task.commitTxn(resp);
-        } finally {
-            if (needUnLock) {
-                readUnlock();
-            }
+        StreamLoadTask task = idToStreamLoadTask.get(label);
+        if (task == null) {
+            throw new UserException("stream load task " + label + " does not exist");
         }
+        task.commitTxn(resp);
     }
 
     public void rollbackLoadTask(String label, TransactionResult resp)
             throws UserException {
-        boolean needUnLock = true;
-        readLock();
-        try {
-            if (!idToStreamLoadTask.containsKey(label)) {
-                throw new UserException("stream load task" + label + "does not exist");
-            }
-            StreamLoadTask task = idToStreamLoadTask.get(label);
-            readUnlock();
-            needUnLock = false;
-            task.manualCancelTask(resp);
-        } finally {
-            if (needUnLock) {
-                readUnlock();
-            }
+        StreamLoadTask task = idToStreamLoadTask.get(label);
+        if (task == null) {
+            throw new UserException("stream load task" + label + "does not exist");
         }
+        task.manualCancelTask(resp);
     }
 
     // Remove old stream load tasks from idToStreamLoadTask and dbToLabelToStreamLoadTask
@@ -414,18 +372,17 @@ public class StreamLoadMgr implements MemoryTrackable {
     // Cancelled and Committed task will be removed after Config.stream_load_task_keep_max_second seconds
     public void cleanOldStreamLoadTasks(boolean isForce) {
         LOG.debug("begin to clean old stream load tasks");
-        writeLock();
+        cleanLock.lock();
         try {
-            Iterator<Map.Entry<String, StreamLoadTask>> iterator = idToStreamLoadTask.entrySet().iterator();
             long currentMs = System.currentTimeMillis();
-            while (iterator.hasNext()) {
-                StreamLoadTask streamLoadTask = iterator.next().getValue();
+            long keepMs = Config.stream_load_task_keep_max_second * 1000L;
+            for (StreamLoadTask streamLoadTask : createTimeOrderedTasks) {
+                // the task ends after it is created, so neither this task nor the ones created later are expired
+                if (!isForce && currentMs - streamLoadTask.createTimeMs() <= keepMs) {
+                    break;
+                }
                 if (streamLoadTask.checkNeedRemove(currentMs, isForce)) {
-                    unprotectedRemoveTaskFromDb(streamLoadTask);
-                    iterator.remove();
-                    if (streamLoadTask.isSyncStreamLoad()) {
-                        txnIdToSyncStreamLoadTasks.remove(streamLoadTask.getTxnId());
-                    }
+                    removeTask(streamLoadTask);
                     LOG.info(new LogBuilder(LogKey.STREAM_LOAD_TASK, streamLoadTask.getId())
                             .add("label", streamLoadTask.getLabel())
                             .add("end_timestamp", streamLoadTask.endTimeMs())
@@ -435,25 +392,20 @@ public class StreamLoadMgr implements MemoryTrackable {
                     );
                 }
             }
-
         } finally {
-            writeUnlock();
+            cleanLock.unlock();
         }
     }
 
     // There maybe many streamLoadTasks in memory when enable_load_profile = true,
     // StreamLoadTask which type is SyncStreamLoad should be clean up firstly
     public void cleanSyncStreamLoadTasks() {
-        writeLock();
+        cleanLock.lock();
         try {
-            Iterator<Map.Entry<String, StreamLoadTask>> iterator = idToStreamLoadTask.entrySet().iterator();
             long currentMs = System.currentTimeMillis();
-            while (iterator.hasNext()) {
-                StreamLoadTask streamLoadTask = iterator.next().getValue();
-                if (streamLoadTask.isSyncStreamLoad() && streamLoadTask.isFinalState()) {
-                    unprotectedRemoveTaskFromDb(streamLoadTask);
-                    iterator.remove();
-                    txnIdToSyncStreamLoadTasks.remove(streamLoadTask.getTxnId());
+            for (StreamLoadTask streamLoadTask : txnIdToSyncStreamLoadTasks.values()) {
+                if (streamLoadTask.isFinalState()) {
+                    removeTask(streamLoadTask);
                     LOG.info(new LogBuilder(LogKey.STREAM_LOAD_TASK, streamLoadTask.getId())
                             .add("label", streamLoadTask.getLabel())
                             .add("end_timestamp", streamLoadTask.endTimeMs())
@@ -463,22 +415,23 @@ public class StreamLoadMgr implements MemoryTrackable {
                     );
                 }
             }
-
         } finally {
-            writeUnlock();
+            cleanLock.unlock();
         }
     }
 
-    private void unprotectedRemoveTaskFromDb(StreamLoadTask streamLoadTask) {
-        long dbId = streamLoadTask.getDBId();
+    // the task is only removed if it is still the task of its label, not a new task of the same label
+    private void removeTask(StreamLoadTask streamLoadTask) {
         String label = streamLoadTask.getLabel();
-
-        if (dbToLabelToStreamLoadTask.containsKey(dbId)) {
-            dbToLabelToStreamLoadTask.get(dbId).remove(label);
-            if (dbToLabelToStreamLoadTask.get(dbId).isEmpty()) {
-                dbToLabelToStreamLoadTask.remove(dbId);
-            }
+        idToStreamLoadTask.remove(label, streamLoadTask);
+        createTimeOrderedTasks.remove(streamLoadTask);
+        if (streamLoadTask.isSyncStreamLoad()) {
+            txnIdToSyncStreamLoadTasks.remove(streamLoadTask.getTxnId(), streamLoadTask);
         }
+        dbToLabelToStreamLoadTask.computeIfPresent(streamLoadTask.getDBId(), (dbId, labelToStreamLoadTask) -> {
+            labelToStreamLoadTask.remove(label, streamLoadTask);
+            return labelToStreamLoadTask.isEmpty() ? null : labelToStreamLoadTask;
+        });
     }
 
     /*
@@ -490,49 +443,46 @@ public class StreamLoadMgr implements MemoryTrackable {
      */
     public List<StreamLoadTask> getTask(String dbFullName, String label, boolean includeHistory)
             throws MetaNotFoundException {
-        readLock();
-        try {
-            // return all of stream load task
-            List<StreamLoadTask> result;
-            RESULT:
-            {
-                if (dbFullName == null) {
-                    result = new ArrayList<>(idToStreamLoadTask.values());
-                    sortStreamLoadTask(result);
-                    break RESULT;
-                }
-
-                long dbId = 0L;
-                Database database = GlobalStateMgr.getCurrentState().getLocalMetastore().getDb(dbFullName);
-                if (database == null) {
-                    throw new MetaNotFoundException("failed to find database by dbFullName " + dbFullName);
-                }
-                dbId = database.getId();
-                if (!dbToLabelToStreamLoadTask.containsKey(dbId)) {
-                    result = new ArrayList<>();
-                    break RESULT;
-                }
-                if (label == null) {
-                    result = Lists.newArrayList(dbToLabelToStreamLoadTask.get(dbId).values());
-                    sortStreamLoadTask(result);
-                    break RESULT;
-                }
-                if (dbToLabelToStreamLoadTask.get(dbId).containsKey(label)) {
-                    result = new ArrayList<>();
-                    result.add(dbToLabelToStreamLoadTask.get(dbId).get(label));
-                    break RESULT;
-                }
-                return null;
+        // return all of stream load task
+        List<StreamLoadTask> result;
+        RESULT:
+        {
+            if (dbFullName == null) {
+                result = new ArrayList<>(idToStreamLoadTask.values());
+                sortStreamLoadTask(result);
+                break RESULT;
             }
 
-            if (!includeHistory) {
-                result = result.stream().filter(entity -> !entity.isFinalState())
-                        .collect(Collectors.toList());
+            long dbId = 0L;
+            Database database = GlobalStateMgr.getCurrentState().getLocalMetastore().getDb(dbFullName);
+            if (database == null) {
+                throw new MetaNotFoundException("failed to find database by dbFullName " + dbFullName);
             }
-            return result;
-        } finally {
-            readUnlock();
+            dbId = database.getId();
+            Map<String, StreamLoadTask> labelToStreamLoadTask = dbToLabelToStreamLoadTask.get(dbId);
+            if (labelToStreamLoadTask == null) {
+                result = new ArrayList<>();
+                break RESULT;
+            }
+            if (label == null) {
+                result = Lists.newArrayList(labelToStreamLoadTask.values());
+                sortStreamLoadTask(result);
+                break RESULT;
+            }
+            StreamLoadTask task = labelToStreamLoadTask.get(label);
+            if (task != null) {
+                result = new ArrayList<>();
+                result.add(task);
+                break RESULT;
+            }
+            return null;
         }
+
+        if (!includeHistory) {
+            result = result.stream().filter(entity -> !entity.isFinalState())
+                    .collect(Collectors.toList());
+        }
+        return result;
     }
 
     public StreamLoadTask getSyncSteamLoadTaskByTxnId(long txnId) {
@@ -558,34 +508,24 @@ public class StreamLoadMgr implements MemoryTrackable {
     }
 
     public StreamLoadTask getTaskById(long id) {
-        readLock();
-        try {
-            List<StreamLoadTask> taskList =
-                    idToStreamLoadTask.values().stream().filter(streamLoadTask -> id == streamLoadTask.getId())
-                            .collect(Collectors.toList());
-            return taskList.isEmpty() ? null : taskList.get(0);
-        } finally {
-            readUnlock();
-        }
+        List<StreamLoadTask> taskList =
+                idToStreamLoadTask.values().stream().filter(streamLoadTask -> id == streamLoadTask.getId())
+                        .collect(Collectors.toList());
+        return taskList.isEmpty() ? null : taskList.get(0);
     }
 
     // return all of stream load task named label in all of db
     // return all tasks if label is null
     public List<StreamLoadTask> getTaskByName(String label) {
         List<StreamLoadTask> result = Lists.newArrayList();
-        readLock();
-        try {
-            if (label != null) {
-                StreamLoadTask task = idToStreamLoadTask.get(label);
-                if (task != null) {
-                    result.add(task);
-                }
-            } else {
-                // return all stream load tasks
-                result.addAll(idToStreamLoadTask.values());
+        if (label != null) {
+            StreamLoadTask task = idToStreamLoadTask.get(label);
+            if (task != null) {
+                result.add(task);
             }
-        } finally {
-            readUnlock();
+        } else {
+            // return all stream load tasks
+            result.addAll(idToStreamLoadTask.values());
         }
         return result;
     }
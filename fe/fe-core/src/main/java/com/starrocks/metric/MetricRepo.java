@@ -54,6 +54,8 @@ import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.UserException;
 import com.starrocks.common.util.KafkaUtil;
 import com.starrocks.common.util.NetUtils;
+import com.starrocks.connector.CachingRemoteFileIO;
+import com.starrocks.connector.RemoteFileCacheMemoryManager;
 import com.starrocks.http.HttpMetricRegistry;
 import com.starrocks.http.rest.MetricsAction;
 import com.starrocks.load.EtlJobType;
@@ -68,6 +70,7 @@ import com.starrocks.metric.Metric.MetricType;
 import com.starrocks.metric.Metric.MetricUnit;
 import com.starrocks.monitor.jvm.JvmStatCollector;
 import com.starrocks.monitor.jvm.JvmStats;
+import com.starrocks.persist.metablock.SRMetaBlockID;
 import com.starrocks.proto.PKafkaOffsetProxyRequest;
 import com.starrocks.proto.PKafkaOffsetProxyResult;
 import com.starrocks.server.GlobalStateMgr;
@@ -160,13 +163,32 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_PAUSED;
     public static LongCounterMetric COUNTER_SHORTCIRCUIT_QUERY;
     public static LongCounterMetric COUNTER_SHORTCIRCUIT_RPC;
+    public static LongCounterMetric COUNTER_PREPARED_PLAN_CACHE_HIT;
+    public static LongCounterMetric COUNTER_PREPARED_PLAN_CACHE_MISS;
+    public static LongCounterMetric COUNTER_PARSE_TREE_CACHE_HIT;
+    public static LongCounterMetric COUNTER_PARSE_TREE_CACHE_MISS;
+    public static LongCounterMetric COUNTER_SQL_PARSE_SLL;
+    public static LongCounterMetric COUNTER_SQL_PARSE_SLL_TIME_US;
+    public static LongCounterMetric COUNTER_SQL_PARSE_LL;
+    public static LongCounterMetric COUNTER_SQL_PARSE_LL_TIME_US;
+    public static LongCounterMetric COUNTER_REMOTE_FILE_DISK_CACHE_HIT;
+    public static LongCounterMetric COUNTER_REMOTE_FILE_DISK_CACHE_MISS;
+    public static LongCounterMetric COUNTER_REMOTE_FILE_DISK_CACHE_STALE;
+    public static LongCounterMetric COUNTER_QUERY_DEPLOY_BYTES;
 
     public static Histogram HISTO_QUERY_LATENCY;
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
     public static Histogram HISTO_JOURNAL_WRITE_LATENCY;
     public static Histogram HISTO_JOURNAL_WRITE_BATCH;
     public static Histogram HISTO_JOURNAL_WRITE_BYTES;
+    public static Histogram HISTO_JOURNAL_COMMIT_LATENCY;
+    public static Histogram HISTO_JOURNAL_QUEUE_WAIT_LATENCY;
     public static Histogram HISTO_SHORTCIRCUIT_RPC_LATENCY;
+    public static Histogram HISTO_JOURNAL_REPLAY_DECODE_LATENCY;
+    public static Histogram HISTO_JOURNAL_REPLAY_APPLY_LATENCY;
+    public static Histogram HISTO_TXN_PUBLISH_BATCH;
+    public static Histogram HISTO_TXN_VISIBLE_LATENCY;
+    public static Histogram HISTO_QUERY_DEPLOY_LATENCY;
 
     // following metrics will be updated by metric calculator
     public static GaugeMetricImpl<Double> GAUGE_QUERY_PER_SECOND;
@@ -454,11 +476,54 @@ public final class MetricRepo {
         COUNTER_IMAGE_PUSH = new LongCounterMetric("image_push", MetricUnit.OPERATIONS,
                 "counter of image succeeded in pushing to other frontends");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_IMAGE_PUSH);
+        for (Map.Entry<SRMetaBlockID, Long> entry : GlobalStateMgr.getCurrentState().getImageLoadCostMs().entrySet()) {
+            GaugeMetricImpl<Long> gauge = new GaugeMetricImpl<>("image_load_cost_ms", MetricUnit.MILLISECONDS,
+                    "time spent in loading each meta block of the image");
+            gauge.addLabel(new MetricLabel("block", entry.getKey().name()));
+            gauge.setValue(entry.getValue());
+            STARROCKS_METRIC_REGISTER.addMetric(gauge);
+        }
 
         COUNTER_SHORTCIRCUIT_QUERY = new LongCounterMetric("shortcircuit_query", MetricUnit.REQUESTS, "total shortcircuit query");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_SHORTCIRCUIT_QUERY);
         COUNTER_SHORTCIRCUIT_RPC = new LongCounterMetric("shortcircuit_rpc", MetricUnit.REQUESTS, "total shortcircuit rpc");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_SHORTCIRCUIT_RPC);
+        COUNTER_PREPARED_PLAN_CACHE_HIT = new LongCounterMetric("prepared_plan_cache_hit", MetricUnit.REQUESTS,
+                "total prepared statement executions reusing a cached plan");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_PREPARED_PLAN_CACHE_HIT);
+        COUNTER_PREPARED_PLAN_CACHE_MISS = new LongCounterMetric("prepared_plan_cache_miss", MetricUnit.REQUESTS,
+                "total prepared statement executions planned from scratch");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_PREPARED_PLAN_CACHE_MISS);
+        COUNTER_PARSE_TREE_CACHE_HIT = new LongCounterMetric("parse_tree_cache_hit", MetricUnit.REQUESTS,
+                "total statements parsed from the parse tree cache");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_PARSE_TREE_CACHE_HIT);
+        COUNTER_PARSE_TREE_CACHE_MISS = new LongCounterMetric("parse_tree_cache_miss", MetricUnit.REQUESTS,
+                "total statements not found in the parse tree cache");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_PARSE_TREE_CACHE_MISS);
+        COUNTER_SQL_PARSE_SLL = new LongCounterMetric("sql_parse_sll", MetricUnit.REQUESTS,
+                "total sql parsed in the SLL prediction mode");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_SQL_PARSE_SLL);
+        COUNTER_SQL_PARSE_SLL_TIME_US = new LongCounterMetric("sql_parse_sll_time_us", MetricUnit.MICROSECONDS,
+                "total time of parsing sql in the SLL prediction mode");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_SQL_PARSE_SLL_TIME_US);
+        COUNTER_SQL_PARSE_LL = new LongCounterMetric("sql_parse_ll", MetricUnit.REQUESTS,
+                "total sql parsed again in the LL prediction mode after the SLL prediction mode failed");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_SQL_PARSE_LL);
+        COUNTER_SQL_PARSE_LL_TIME_US = new LongCounterMetric("sql_parse_ll_time_us", MetricUnit.MICROSECONDS,
+                "total time of parsing sql in the LL prediction mode, including the failed SLL attempt");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_SQL_PARSE_LL_TIME_US);
+        COUNTER_REMOTE_FILE_DISK_CACHE_HIT = new LongCounterMetric("remote_file_disk_cache_hit", MetricUnit.REQUESTS,
+                "total remote file listings served from the local disk cache");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_REMOTE_FILE_DISK_CACHE_HIT);
+        COUNTER_REMOTE_FILE_DISK_CACHE_MISS = new LongCounterMetric("remote_file_disk_cache_miss", MetricUnit.REQUESTS,
+                "total remote file listings without a usable local disk cache entry");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_REMOTE_FILE_DISK_CACHE_MISS);
+        COUNTER_REMOTE_FILE_DISK_CACHE_STALE = new LongCounterMetric("remote_file_disk_cache_stale",
+                MetricUnit.REQUESTS, "total local disk cache entries of remote file listings found stale");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_REMOTE_FILE_DISK_CACHE_STALE);
+        COUNTER_QUERY_DEPLOY_BYTES = new LongCounterMetric("query_deploy_bytes", MetricUnit.BYTES,
+                "total bytes of the fragment instances deployed to the backends");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_QUERY_DEPLOY_BYTES);
 
         COUNTER_QUERY_ANALYSIS_ERR = new LongCounterMetric("query_analysis_err", MetricUnit.REQUESTS,
                                                            "total analysis error query");
@@ -521,7 +586,21 @@ public final class MetricRepo {
                 METRIC_REGISTER.histogram(MetricRegistry.name("journal", "write", "batch"));
         HISTO_JOURNAL_WRITE_BYTES =
                 METRIC_REGISTER.histogram(MetricRegistry.name("journal", "write", "bytes"));
+        HISTO_JOURNAL_COMMIT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("journal", "commit", "latency", "ms"));
+        HISTO_JOURNAL_QUEUE_WAIT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("journal", "queue", "wait", "latency", "ms"));
         HISTO_SHORTCIRCUIT_RPC_LATENCY = METRIC_REGISTER.histogram(MetricRegistry.name("shortcircuit", "latency", "ms"));
+        HISTO_JOURNAL_REPLAY_DECODE_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("journal", "replay", "decode", "latency", "us"));
+        HISTO_JOURNAL_REPLAY_APPLY_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("journal", "replay", "apply", "latency", "us"));
+        HISTO_TXN_PUBLISH_BATCH =
+                METRIC_REGISTER.histogram(MetricRegistry.name("txn", "publish", "batch"));
+        HISTO_TXN_VISIBLE_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("txn", "visible", "latency", "ms"));
+        HISTO_QUERY_DEPLOY_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("query", "deploy", "latency", "ms"));
 
         // init system metrics
         initSystemMetrics();
@@ -801,11 +880,16 @@ public final class MetricRepo {
         if (Config.enable_routine_load_lag_metrics) {
             collectRoutineLoadProcessMetrics(visitor);
         }
+        if (Config.enable_routine_load_adaptive_scheduling) {
+            collectRoutineLoadPartitionLagMetrics(visitor);
+        }
 
         if (Config.memory_tracker_enable) {
             collectMemoryUsageMetrics(visitor);
         }
 
+        collectRemoteFileCacheMetrics(visitor);
+
         // collect http metrics
         HttpMetricRegistry.getInstance().visit(visitor);
 
@@ -906,6 +990,46 @@ public final class MetricRepo {
         }
     }
 
+    // the lags are maintained by the adaptive scheduling of the jobs, so it does not call the kafka api
+    private static void collectRoutineLoadPartitionLagMetrics(MetricVisitor visitor) {
+        List<RoutineLoadJob> jobs = GlobalStateMgr.getCurrentState().getRoutineLoadMgr().getRoutineLoadJobByState(
+                Sets.newHashSet(RoutineLoadJob.JobState.RUNNING));
+        for (RoutineLoadJob job : jobs) {
+            if (!(job instanceof KafkaRoutineLoadJob)) {
+                continue;
+            }
+            for (Map.Entry<Integer, Long> entry : ((KafkaRoutineLoadJob) job).getPartitionLags().entrySet()) {
+                if (entry.getValue() < Config.min_routine_load_lag_for_metrics) {
+                    continue;
+                }
+                GaugeMetricImpl<Long> metric = new GaugeMetricImpl<>("routine_load_lag_of_partition",
+                        MetricUnit.NOUNIT, "routine load kafka lag of the partition");
+                metric.addLabel(new MetricLabel("job_name", job.getName()));
+                metric.addLabel(new MetricLabel("partition", String.valueOf(entry.getKey())));
+                metric.setValue(entry.getValue());
+                visitor.visit(metric);
+            }
+        }
+    }
+
+    private static void collectRemoteFileCacheMetrics(MetricVisitor visitor) {
+        for (Map.Entry<String, CachingRemoteFileIO> entry :
+                RemoteFileCacheMemoryManager.getInstance().getCaches().entrySet()) {
+            CachingRemoteFileIO cache = entry.getValue();
+            GaugeMetricImpl<Long> memoryBytes = new GaugeMetricImpl<>("remote_file_cache_memory_bytes",
+                    MetricUnit.BYTES, "estimated memory of the remote file cache of the catalog");
+            memoryBytes.setValue(cache.getWeightedSize());
+            memoryBytes.addLabel(new MetricLabel("catalog", entry.getKey()));
+            visitor.visit(memoryBytes);
+
+            GaugeMetricImpl<Long> entries = new GaugeMetricImpl<>("remote_file_cache_entries",
+                    MetricUnit.NOUNIT, "number of cached file listings of the catalog");
+            entries.setValue(cache.getEntryCount());
+            entries.addLabel(new MetricLabel("catalog", entry.getKey()));
+            visitor.visit(entries);
+        }
+    }
+
     private static void collectMemoryUsageMetrics(MetricVisitor visitor) {
         for (GaugeMetricImpl<Long> metric : GAUGE_MEMORY_USAGE_STATS) {
             visitor.visit(metric);
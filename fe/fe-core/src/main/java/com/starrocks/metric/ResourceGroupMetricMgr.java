@@ -39,6 +39,7 @@ public class ResourceGroupMetricMgr {
     private static final String RESOURCE_GROUP_QUERY_QUEUE_TOTAL = "resource_group_query_queue_total";
     private static final String RESOURCE_GROUP_QUERY_QUEUE_PENDING = "resource_group_query_queue_pending";
     private static final String RESOURCE_GROUP_QUERY_QUEUE_TIMEOUT = "resource_group_query_queue_timeout";
+    private static final String RESOURCE_GROUP_QUERY_QUEUE_WAIT_LATENCY = "resource_group_query_queue_wait_latency";
 
     private static final ConcurrentHashMap<String, LongCounterMetric> RESOURCE_GROUP_QUERY_COUNTER_MAP
             = new ConcurrentHashMap<>();
@@ -56,6 +57,9 @@ public class ResourceGroupMetricMgr {
     private static final ConcurrentHashMap<String, LongCounterMetric> RESOURCE_GROUP_QUERY_QUEUE_TIMEOUT_MAP
             = new ConcurrentHashMap<>();
 
+    private static final ConcurrentHashMap<String, QueryResourceGroupLatencyMetrics> RESOURCE_GROUP_QUERY_QUEUE_WAIT_LATENCY_MAP
+            = new ConcurrentHashMap<>();
+
     /**
      * For the metric {@code starrocks_fe_query_resource_group}.
      */
@@ -100,6 +104,9 @@ public class ResourceGroupMetricMgr {
             QueryResourceGroupLatencyMetrics metrics = RESOURCE_GROUP_QUERY_LATENCY_MAP.get(resourceGroupName);
             metrics.update();
         }
+        for (QueryResourceGroupLatencyMetrics metrics : RESOURCE_GROUP_QUERY_QUEUE_WAIT_LATENCY_MAP.values()) {
+            metrics.update();
+        }
     }
 
     /**
@@ -110,6 +117,17 @@ public class ResourceGroupMetricMgr {
         metrics.histogram.update(elapseMs);
     }
 
+    /**
+     * For the metric {@code starrocks_fe_resource_group_query_queue_wait_latency}, the time a query waits in the query queue.
+     */
+    public static void updateQueryQueueWaitLatency(ConnectContext ctx, long waitMs) {
+        String groupName = getGroupName(ctx);
+        QueryResourceGroupLatencyMetrics metrics = RESOURCE_GROUP_QUERY_QUEUE_WAIT_LATENCY_MAP.computeIfAbsent(groupName,
+                currGroupName -> new QueryResourceGroupLatencyMetrics(RESOURCE_GROUP_QUERY_QUEUE_WAIT_LATENCY,
+                        "resource group query queue wait latency", currGroupName));
+        metrics.histogram.update(waitMs);
+    }
+
     private static LongCounterMetric createQueryResourceGroupMetrics(Map<String, LongCounterMetric> cacheMap, String metricsName,
                                                                      String metricsMsg, ConnectContext ctx) {
         String groupName = getGroupName(ctx);
@@ -141,7 +159,8 @@ public class ResourceGroupMetricMgr {
     private static QueryResourceGroupLatencyMetrics createQueryResourceGroupLatencyMetrics(ConnectContext ctx) {
         String groupName = getGroupName(ctx);
         return RESOURCE_GROUP_QUERY_LATENCY_MAP.computeIfAbsent(groupName,
-                currGroupName -> new QueryResourceGroupLatencyMetrics(QUERY_RESOURCE_GROUP_LATENCY, currGroupName));
+                currGroupName -> new QueryResourceGroupLatencyMetrics(QUERY_RESOURCE_GROUP_LATENCY,
+                        "resource group query latency", currGroupName));
     }
 
     private static final class QueryResourceGroupLatencyMetrics {
@@ -153,19 +172,19 @@ public class ResourceGroupMetricMgr {
         private final List<GaugeMetricImpl<Double>> metricsList;
         private final String metricName;
 
-        private QueryResourceGroupLatencyMetrics(String metricName, String resourceGroupName) {
+        private QueryResourceGroupLatencyMetrics(String metricName, String metricMsg, String resourceGroupName) {
             this.metricName = metricName;
             this.metricRegistry = new MetricRegistry();
             initHistogram(metricName);
             this.metricsList = new ArrayList<>();
             for (String label : QUERY_LATENCY_LABELS) {
                 GaugeMetricImpl<Double> metrics = new GaugeMetricImpl<>(
-                        metricName, Metric.MetricUnit.MILLISECONDS, label + " of resource group query latency");
+                        metricName, Metric.MetricUnit.MILLISECONDS, label + " of " + metricMsg);
                 metrics.addLabel(new MetricLabel("type", label));
                 metrics.addLabel(new MetricLabel("name", resourceGroupName));
                 metrics.setValue(0.0);
                 MetricRepo.addMetric(metrics);
-                LOG.info("Add {} metric, resource group name is {}", QUERY_RESOURCE_GROUP_LATENCY, resourceGroupName);
+                LOG.info("Add {} metric, resource group name is {}", metricName, resourceGroupName);
                 this.metricsList.add(metrics);
             }
         }
@@ -164,6 +164,10 @@ public class MysqlCapability {
         return (flags & Flag.CLIENT_SESSION_TRACK.getFlagBit()) != 0;
     }
 
+    public boolean isCompress() {
+        return (flags & Flag.CLIENT_COMPRESS.getFlagBit()) != 0;
+    }
+
     public boolean isSSL() {
         return (flags & Flag.CLIENT_SSL.getFlagBit()) != 0;
     }
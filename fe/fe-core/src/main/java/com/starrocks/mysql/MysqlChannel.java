@@ -43,11 +43,19 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * This class used to read/write MySQL logical packet.
  * MySQL protocol will split one logical packet more than 16MB to many packets.
  * http://dev.mysql.com/doc/internals/en/sending-more-than-16mbyte.html
+ * <p>
+ * With the compressed protocol, the stream of packets is carried by compressed packets, each of which has a 7 bytes
+ * header and a zlib compressed payload of at most 16MB.
+ * https://dev.mysql.com/doc/dev/mysql-server/latest/page_protocol_basic_compression.html
  */
 public class MysqlChannel {
     // max length which one MySQL physical can hold, if one logical packet is bigger than this,
@@ -56,6 +64,13 @@ public class MysqlChannel {
     // MySQL packet header length
     protected static final int PACKET_HEADER_LEN = 4;
     protected static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+    protected static final int SEND_BUFFER_SIZE = 256 * 1024;
+    // packets of one gathering write, a header and a body each, within the IOV_MAX of most platforms
+    protected static final int MAX_GATHERING_PACKETS = 512;
+    // compressed payload length, compressed sequence id and uncompressed payload length
+    protected static final int COMPRESSED_PACKET_HEADER_LEN = 7;
+    // payloads shorter than this are sent uncompressed, as the MySQL server does
+    protected static final int MIN_COMPRESS_LENGTH = 50;
     // logger for this class
     protected static final Logger LOG = LogManager.getLogger(MysqlChannel.class);
     // next sequence id to receive or send
@@ -68,6 +83,15 @@ public class MysqlChannel {
     protected ByteBuffer defaultBuffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
     protected ByteBuffer sendBuffer;
 
+    // on after the authentication if the client has asked for the compressed protocol
+    protected boolean compressed;
+    // next sequence id of compressed packets, reset along with the sequence id at the start of each command
+    protected int compressedSequenceId;
+    // the rest of the payload of the last compressed packet received
+    protected ByteBuffer compressedReadBuffer;
+    private Deflater deflater;
+    private Inflater inflater;
+
     private SSLChannel sslChannel;
 
     // for log and show
@@ -109,6 +133,17 @@ public class MysqlChannel {
 
     public void setSequenceId(int sequenceId) {
         this.sequenceId = sequenceId;
+        this.compressedSequenceId = sequenceId;
+    }
+
+    public void enableCompression() {
+        compressed = true;
+        deflater = new Deflater();
+        inflater = new Inflater();
+    }
+
+    public boolean isCompressed() {
+        return compressed;
     }
 
     public String getRemoteIp() {
@@ -132,6 +167,21 @@ public class MysqlChannel {
         }
     }
 
+    private void accCompressedSequenceId() {
+        compressedSequenceId++;
+        if (compressedSequenceId > 255) {
+            compressedSequenceId = 0;
+        }
+    }
+
+    private static int readInt3(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | ((bytes[offset + 1] & 0xFF) << 8) | ((bytes[offset + 2] & 0xFF) << 16);
+    }
+
+    private static void writeInt3(ByteBuffer buffer, int value) {
+        buffer.put((byte) value).put((byte) (value >> 8)).put((byte) (value >> 16));
+    }
+
     // Close channel
     public synchronized void close() {
         if (closed) {
@@ -143,6 +193,16 @@ public class MysqlChannel {
             LOG.warn("Close channel exception, ignore.");
         } finally {
             closed = true;
+            releaseCompression();
+        }
+    }
+
+    protected void releaseCompression() {
+        if (deflater != null) {
+            deflater.end();
+        }
+        if (inflater != null) {
+            inflater.end();
         }
     }
 
@@ -151,6 +211,13 @@ public class MysqlChannel {
     }
 
     protected int readAll(ByteBuffer dstBuf) throws IOException {
+        if (compressed) {
+            return readAllDecompressed(dstBuf);
+        }
+        return readAllRaw(dstBuf);
+    }
+
+    private int readAllRaw(ByteBuffer dstBuf) throws IOException {
         if (sslChannel != null) {
             return sslChannel.readAll(dstBuf);
         } else {
@@ -175,6 +242,71 @@ public class MysqlChannel {
         return channel.read(dstBuf);
     }
 
+    private int readAllDecompressed(ByteBuffer dstBuf) throws IOException {
+        int readLen = 0;
+        while (dstBuf.remaining() != 0) {
+            if ((compressedReadBuffer == null || !compressedReadBuffer.hasRemaining()) && !readCompressedPacket()) {
+                return readLen;
+            }
+            int len = Math.min(dstBuf.remaining(), compressedReadBuffer.remaining());
+            ByteBuffer src = compressedReadBuffer.duplicate();
+            src.limit(src.position() + len);
+            dstBuf.put(src);
+            compressedReadBuffer.position(compressedReadBuffer.position() + len);
+            readLen += len;
+        }
+        return readLen;
+    }
+
+    // false if the channel is closed
+    private boolean readCompressedPacket() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(COMPRESSED_PACKET_HEADER_LEN);
+        if (readAllRaw(header) != COMPRESSED_PACKET_HEADER_LEN) {
+            return false;
+        }
+        int compressedLen = readInt3(header.array(), 0);
+        int packetId = header.array()[3] & 0xFF;
+        int uncompressedLen = readInt3(header.array(), 4);
+        if (packetId != compressedSequenceId) {
+            LOG.warn("receive compressed packet sequence id[" + packetId + "] want to get["
+                    + compressedSequenceId + "]");
+            throw new IOException("Bad compressed packet sequence.");
+        }
+        accCompressedSequenceId();
+
+        ByteBuffer payload = ByteBuffer.allocate(compressedLen);
+        if (readAllRaw(payload) != compressedLen) {
+            return false;
+        }
+        if (uncompressedLen == 0) {
+            // sent uncompressed
+            payload.flip();
+            compressedReadBuffer = payload;
+            return true;
+        }
+        byte[] uncompressed = new byte[uncompressedLen];
+        inflater.reset();
+        inflater.setInput(payload.array(), 0, compressedLen);
+        try {
+            int len = 0;
+            while (len < uncompressedLen && !inflater.finished()) {
+                int inflated = inflater.inflate(uncompressed, len, uncompressedLen - len);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                len += inflated;
+            }
+            if (len != uncompressedLen) {
+                throw new IOException("Bad compressed packet, uncompressed length " + len + " is not equal with "
+                        + uncompressedLen + " in head.");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Bad compressed packet.", e);
+        }
+        compressedReadBuffer = ByteBuffer.wrap(uncompressed);
+        return true;
+    }
+
     // read one logical mysql protocol packet
     // null for channel is closed.
     // NOTE: all of the following code is assumed that the channel is in block mode.
@@ -204,8 +336,10 @@ public class MysqlChannel {
                     // last packet, enough to this packet is OK.
                     tmp = ByteBuffer.allocate(packetLen + result.position());
                 } else {
-                    // already have packet, to allocate two packet.
-                    tmp = ByteBuffer.allocate(2 * packetLen + result.position());
+                    // more packets follow, grow geometrically so that a payload of n physical packets is copied
+                    // O(log n) times instead of once every other packet
+                    long capacity = Math.max(2L * packetLen + result.position(), 2L * result.capacity());
+                    tmp = ByteBuffer.allocate((int) Math.min(capacity, Integer.MAX_VALUE - 8));
                 }
                 tmp.put(result.array(), 0, result.position());
                 result = tmp;
@@ -230,12 +364,68 @@ public class MysqlChannel {
     }
 
     private void send(ByteBuffer buffer) throws IOException {
+        if (compressed) {
+            sendCompressed(buffer);
+        } else {
+            sendRaw(buffer);
+        }
+        isSend = true;
+    }
+
+    private void sendRaw(ByteBuffer buffer) throws IOException {
         if (sslChannel != null) {
             sslChannel.write(buffer);
         } else {
             realNetSend(buffer);
         }
-        isSend = true;
+    }
+
+    private void sendCompressed(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            int len = Math.min(buffer.remaining(), MAX_PHYSICAL_PACKET_LENGTH);
+            byte[] input;
+            int offset;
+            if (buffer.hasArray()) {
+                input = buffer.array();
+                offset = buffer.arrayOffset() + buffer.position();
+                buffer.position(buffer.position() + len);
+            } else {
+                input = new byte[len];
+                offset = 0;
+                buffer.get(input);
+            }
+
+            // header and payload in one buffer, written at once
+            byte[] packet = new byte[COMPRESSED_PACKET_HEADER_LEN + len];
+            int payloadLen = len;
+            int uncompressedLen = 0;
+            if (len >= MIN_COMPRESS_LENGTH) {
+                deflater.reset();
+                deflater.setInput(input, offset, len);
+                deflater.finish();
+                int compressedLen = 0;
+                while (!deflater.finished() && compressedLen < len) {
+                    compressedLen += deflater.deflate(packet, COMPRESSED_PACKET_HEADER_LEN + compressedLen,
+                            len - compressedLen);
+                }
+                // keep incompressible payloads as they are
+                if (deflater.finished() && compressedLen < len) {
+                    payloadLen = compressedLen;
+                    uncompressedLen = len;
+                }
+            }
+            if (uncompressedLen == 0) {
+                System.arraycopy(input, offset, packet, COMPRESSED_PACKET_HEADER_LEN, len);
+            }
+
+            ByteBuffer compressedPacket = ByteBuffer.wrap(packet, 0, COMPRESSED_PACKET_HEADER_LEN + payloadLen);
+            writeInt3(compressedPacket, payloadLen);
+            compressedPacket.put((byte) compressedSequenceId);
+            writeInt3(compressedPacket, uncompressedLen);
+            compressedPacket.position(0);
+            accCompressedSequenceId();
+            sendRaw(compressedPacket);
+        }
     }
 
     public void realNetSend(ByteBuffer buffer) throws IOException {
@@ -264,19 +454,6 @@ public class MysqlChannel {
         isSend = true;
     }
 
-    public void initBuffer(int bufferSize) {
-        if (this.sendBuffer == null) {
-            // The buffer size shouldn't too large or shouldn't too small
-            bufferSize = Math.min(bufferSize, 2 * 1024 * 1024);
-            bufferSize = Math.max(bufferSize, 256 * 1024);
-            this.sendBuffer = ByteBuffer.allocate(bufferSize);
-        }
-    }
-
-    public boolean isSendBufferNull() {
-        return this.sendBuffer == null;
-    }
-
     private void writeHeader(int length) throws IOException {
         if ((sendBuffer.capacity() - sendBuffer.position()) < 4) {
             flush();
@@ -306,7 +483,9 @@ public class MysqlChannel {
     }
 
     public void sendOnePacket(ByteBuffer packet) throws IOException {
-        initBuffer(DEFAULT_BUFFER_SIZE);
+        if (sendBuffer == null) {
+            sendBuffer = ByteBuffer.allocate(SEND_BUFFER_SIZE);
+        }
         int bufLen;
         int oldLimit = packet.limit();
         while (oldLimit - packet.position() >= MAX_PHYSICAL_PACKET_LENGTH) {
@@ -322,6 +501,73 @@ public class MysqlChannel {
         accSequenceId();
     }
 
+    /**
+     * Send packets whose content is already encoded, such as the rows of a result batch.
+     * <p>
+     * The headers and the contents are written to the socket by gathering writes, straight from the buffers the
+     * contents were received in, instead of being copied into the send buffer first. The JDK copies them into its
+     * per-thread cached direct buffer only once. SSL and compressed channels, and packets which have to be split, are
+     * sent by {@link #sendOnePacket}.
+     */
+    public void sendPackets(List<ByteBuffer> packets) throws IOException {
+        if (sslChannel != null || compressed) {
+            for (ByteBuffer packet : packets) {
+                sendOnePacket(packet);
+            }
+            return;
+        }
+        // keep the order of the packets already in the send buffer
+        flush();
+        ByteBuffer headers = ByteBuffer.allocate(PACKET_HEADER_LEN * Math.min(packets.size(), MAX_GATHERING_PACKETS));
+        ByteBuffer[] buffers = new ByteBuffer[2 * Math.min(packets.size(), MAX_GATHERING_PACKETS)];
+        int numBuffers = 0;
+        for (ByteBuffer packet : packets) {
+            if (packet.remaining() >= MAX_PHYSICAL_PACKET_LENGTH) {
+                gatheringSend(buffers, numBuffers);
+                numBuffers = 0;
+                headers.clear();
+                sendOnePacket(packet);
+                flush();
+                continue;
+            }
+            if (numBuffers == buffers.length) {
+                gatheringSend(buffers, numBuffers);
+                numBuffers = 0;
+                headers.clear();
+            }
+            int length = packet.remaining();
+            ByteBuffer header = headers.slice();
+            header.limit(PACKET_HEADER_LEN);
+            header.put((byte) length).put((byte) (length >> 8)).put((byte) (length >> 16)).put((byte) sequenceId);
+            header.flip();
+            headers.position(headers.position() + PACKET_HEADER_LEN);
+            accSequenceId();
+            buffers[numBuffers++] = header;
+            buffers[numBuffers++] = packet;
+        }
+        gatheringSend(buffers, numBuffers);
+    }
+
+    private void gatheringSend(ByteBuffer[] buffers, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            long writeLen = realNetGatheringSend(buffers, offset, length - offset);
+            // the channel is in block mode, a write makes progress unless the channel is broken
+            if (writeLen <= 0) {
+                throw new IOException("Write mysql packet failed.[write=" + writeLen + "]");
+            }
+            while (offset < length && !buffers[offset].hasRemaining()) {
+                offset++;
+            }
+        }
+        isSend = true;
+    }
+
+    // return the number of bytes written, the channel is in block mode
+    protected long realNetGatheringSend(ByteBuffer[] buffers, int offset, int length) throws IOException {
+        return channel.write(buffers, offset, length);
+    }
+
     public void sendAndFlush(ByteBuffer packet) throws IOException {
         sendOnePacket(packet);
         flush();
@@ -113,6 +113,15 @@ public class MysqlProto {
         channel.sendAndFlush(serializer.toByteBuffer());
     }
 
+    // send the OK packet of a successful negotiation, the compressed protocol starts after it if the client
+    // has asked for it
+    public static void sendNegotiateOkPacket(ConnectContext context, MysqlAuthPacket authPacket) throws IOException {
+        sendResponsePacket(context);
+        if (Config.mysql_server_enable_compression && authPacket.getCapability().isCompress()) {
+            context.getMysqlChannel().enableCompression();
+        }
+    }
+
     /**
      * negotiate with client, use MySQL protocol
      * server ---handshake---> client
@@ -110,7 +110,7 @@ public class AcceptListener implements ChannelListener<AcceptingChannel<StreamCo
                                         .getUserProperty(userIdentity.getUser());
                                 context.updateByUserProperty(userProperty);
                             }
-                            MysqlProto.sendResponsePacket(context);
+                            MysqlProto.sendNegotiateOkPacket(context, result.getAuthPacket());
                         } else {
                             context.getState().setError(registerResult.second);
                             MysqlProto.sendResponsePacket(context);
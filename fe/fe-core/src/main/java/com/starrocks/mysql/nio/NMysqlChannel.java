@@ -72,6 +72,13 @@ public class NMysqlChannel extends MysqlChannel {
         isSend = true;
     }
 
+    @Override
+    protected long realNetGatheringSend(ByteBuffer[] buffers, int offset, int length) throws IOException {
+        long writeLen = Channels.writeBlocking(conn.getSinkChannel(), buffers, offset, length);
+        Channels.flushBlocking(conn.getSinkChannel());
+        return writeLen;
+    }
+
     @Override
     public synchronized void close() {
         if (closed) {
@@ -83,6 +90,7 @@ public class NMysqlChannel extends MysqlChannel {
             LOG.warn("Close channel exception, ignore.");
         } finally {
             closed = true;
+            releaseCompression();
         }
     }
 
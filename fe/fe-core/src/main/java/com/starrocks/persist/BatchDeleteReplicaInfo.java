@@ -15,8 +15,13 @@
 package com.starrocks.persist;
 
 import com.google.gson.annotations.SerializedName;
+import com.starrocks.common.io.IOUtils;
 import com.starrocks.common.io.JsonWriter;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 public class BatchDeleteReplicaInfo extends JsonWriter {
@@ -52,4 +57,31 @@ public class BatchDeleteReplicaInfo extends JsonWriter {
     public List<ReplicaPersistInfo> getReplicaInfoList() {
         return replicaInfoList;
     }
+
+    /**
+     * Write this info in the compact binary format of {@link ReplicaPersistInfo#writeCompact}.
+     * The deprecated tablet list is not written, FEs that can read this format do not need it.
+     */
+    public void writeCompact(DataOutput out) throws IOException {
+        out.writeByte(ReplicaPersistInfo.COMPACT_FORMAT_VERSION);
+        IOUtils.writeVarLong(out, backendId);
+        IOUtils.writeVarLong(out, replicaInfoList.size());
+        for (ReplicaPersistInfo info : replicaInfoList) {
+            info.writeCompact(out);
+        }
+    }
+
+    public static BatchDeleteReplicaInfo readCompact(DataInput in) throws IOException {
+        byte formatVersion = in.readByte();
+        if (formatVersion != ReplicaPersistInfo.COMPACT_FORMAT_VERSION) {
+            throw new IOException("unsupported compact batch delete replica info format version " + formatVersion);
+        }
+        long backendId = IOUtils.readVarLong(in);
+        int size = (int) IOUtils.readVarLong(in);
+        List<ReplicaPersistInfo> replicaInfoList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            replicaInfoList.add(ReplicaPersistInfo.readCompact(in));
+        }
+        return new BatchDeleteReplicaInfo(backendId, null, replicaInfoList);
+    }
 }
@@ -450,24 +450,28 @@ public class EditLog {
                     break;
                 }
                 case OperationType.OP_ADD_REPLICA:
-                case OperationType.OP_ADD_REPLICA_V2: {
+                case OperationType.OP_ADD_REPLICA_V2:
+                case OperationType.OP_ADD_REPLICA_V3: {
                     ReplicaPersistInfo info = (ReplicaPersistInfo) journal.getData();
                     globalStateMgr.getLocalMetastore().replayAddReplica(info);
                     break;
                 }
                 case OperationType.OP_UPDATE_REPLICA:
-                case OperationType.OP_UPDATE_REPLICA_V2: {
+                case OperationType.OP_UPDATE_REPLICA_V2:
+                case OperationType.OP_UPDATE_REPLICA_V3: {
                     ReplicaPersistInfo info = (ReplicaPersistInfo) journal.getData();
                     globalStateMgr.getLocalMetastore().replayUpdateReplica(info);
                     break;
                 }
                 case OperationType.OP_DELETE_REPLICA:
-                case OperationType.OP_DELETE_REPLICA_V2: {
+                case OperationType.OP_DELETE_REPLICA_V2:
+                case OperationType.OP_DELETE_REPLICA_V3: {
                     ReplicaPersistInfo info = (ReplicaPersistInfo) journal.getData();
                     globalStateMgr.getLocalMetastore().replayDeleteReplica(info);
                     break;
                 }
-                case OperationType.OP_BATCH_DELETE_REPLICA: {
+                case OperationType.OP_BATCH_DELETE_REPLICA:
+                case OperationType.OP_BATCH_DELETE_REPLICA_V2: {
                     BatchDeleteReplicaInfo info = (BatchDeleteReplicaInfo) journal.getData();
                     globalStateMgr.getLocalMetastore().replayBatchDeleteReplica(info);
                     break;
@@ -956,6 +960,10 @@ public class EditLog {
                 case OperationType.OP_REMOVE_BASIC_STATS_META: {
                     BasicStatsMeta basicStatsMeta = (BasicStatsMeta) journal.getData();
                     globalStateMgr.getAnalyzeMgr().replayRemoveBasicStatsMeta(basicStatsMeta);
+                    if (!GlobalStateMgr.isCheckpointThread()) {
+                        globalStateMgr.getAnalyzeMgr().expireBasicStatisticsCache(basicStatsMeta.getDbId(),
+                                basicStatsMeta.getTableId());
+                    }
                     break;
                 }
                 case OperationType.OP_ADD_HISTOGRAM_STATS_META: {
@@ -974,6 +982,10 @@ public class EditLog {
                 case OperationType.OP_REMOVE_HISTOGRAM_STATS_META: {
                     HistogramStatsMeta histogramStatsMeta = (HistogramStatsMeta) journal.getData();
                     globalStateMgr.getAnalyzeMgr().replayRemoveHistogramStatsMeta(histogramStatsMeta);
+                    if (!GlobalStateMgr.isCheckpointThread()) {
+                        globalStateMgr.getStatisticStorage().expireHistogramStatistics(
+                                histogramStatsMeta.getTableId(), Lists.newArrayList(histogramStatsMeta.getColumn()));
+                    }
                     break;
                 }
                 case OperationType.OP_ADD_EXTERNAL_BASIC_STATS_META: {
@@ -1482,19 +1494,35 @@ public class EditLog {
     }
 
     public void logAddReplica(ReplicaPersistInfo info) {
-        logJsonObject(OperationType.OP_ADD_REPLICA_V2, info);
+        if (Config.enable_compact_replica_journal) {
+            logEdit(OperationType.OP_ADD_REPLICA_V3, info::writeCompact);
+        } else {
+            logJsonObject(OperationType.OP_ADD_REPLICA_V2, info);
+        }
     }
 
     public void logUpdateReplica(ReplicaPersistInfo info) {
-        logJsonObject(OperationType.OP_UPDATE_REPLICA_V2, info);
+        if (Config.enable_compact_replica_journal) {
+            logEdit(OperationType.OP_UPDATE_REPLICA_V3, info::writeCompact);
+        } else {
+            logJsonObject(OperationType.OP_UPDATE_REPLICA_V2, info);
+        }
     }
 
     public void logDeleteReplica(ReplicaPersistInfo info) {
-        logJsonObject(OperationType.OP_DELETE_REPLICA_V2, info);
+        if (Config.enable_compact_replica_journal) {
+            logEdit(OperationType.OP_DELETE_REPLICA_V3, info::writeCompact);
+        } else {
+            logJsonObject(OperationType.OP_DELETE_REPLICA_V2, info);
+        }
     }
 
     public void logBatchDeleteReplica(BatchDeleteReplicaInfo info) {
-        logEdit(OperationType.OP_BATCH_DELETE_REPLICA, info);
+        if (Config.enable_compact_replica_journal) {
+            logEdit(OperationType.OP_BATCH_DELETE_REPLICA_V2, info::writeCompact);
+        } else {
+            logEdit(OperationType.OP_BATCH_DELETE_REPLICA, info);
+        }
     }
 
     public void logAddKey(EncryptionKeyPB key) {
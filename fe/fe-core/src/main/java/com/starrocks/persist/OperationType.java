@@ -937,6 +937,16 @@ public class OperationType {
     @IgnorableOnReplayFailed
     public static final short OP_ADD_KEY = 13512;
 
+    // replica operations in compact binary format, see ReplicaPersistInfo#writeCompact
+    public static final short OP_ADD_REPLICA_V3 = 13513;
+
+    @IgnorableOnReplayFailed
+    public static final short OP_DELETE_REPLICA_V3 = 13514;
+
+    public static final short OP_UPDATE_REPLICA_V3 = 13515;
+
+    public static final short OP_BATCH_DELETE_REPLICA_V2 = 13516;
+
     /**
      * NOTICE: OperationType cannot use a value exceeding 20000, and an error will be reported if it exceeds
      */
@@ -36,6 +36,7 @@ package com.starrocks.persist;
 
 import com.google.common.base.Objects;
 import com.google.gson.annotations.SerializedName;
+import com.starrocks.common.io.IOUtils;
 import com.starrocks.common.io.Writable;
 
 import java.io.DataInput;
@@ -44,6 +45,9 @@ import java.io.IOException;
 
 public class ReplicaPersistInfo implements Writable {
 
+    // the first byte of the compact format, bumped when the layout of the compact format changes
+    public static final byte COMPACT_FORMAT_VERSION = 1;
+
     public enum ReplicaOperationType {
         ADD(0),
         CROND_DELETE(1),
@@ -377,6 +381,56 @@ public class ReplicaPersistInfo implements Writable {
         schemaHash = in.readInt();
     }
 
+    /**
+     * Write this info in a compact binary format, used by the V3 replica journals instead of json.
+     * All numeric fields are written as zigzag var longs, many of them are -1 for some operation types.
+     */
+    public void writeCompact(DataOutput out) throws IOException {
+        out.writeByte(COMPACT_FORMAT_VERSION);
+        out.writeByte(opType.value);
+        IOUtils.writeZigZagVarLong(out, dbId);
+        IOUtils.writeZigZagVarLong(out, tableId);
+        IOUtils.writeZigZagVarLong(out, partitionId);
+        IOUtils.writeZigZagVarLong(out, indexId);
+        IOUtils.writeZigZagVarLong(out, tabletId);
+        IOUtils.writeZigZagVarLong(out, replicaId);
+        IOUtils.writeZigZagVarLong(out, backendId);
+        IOUtils.writeZigZagVarLong(out, version);
+        IOUtils.writeZigZagVarLong(out, minReadableVersion);
+        IOUtils.writeZigZagVarLong(out, schemaHash);
+        IOUtils.writeZigZagVarLong(out, dataSize);
+        IOUtils.writeZigZagVarLong(out, rowCount);
+        IOUtils.writeZigZagVarLong(out, lastFailedVersion);
+        IOUtils.writeZigZagVarLong(out, lastSuccessVersion);
+    }
+
+    public static ReplicaPersistInfo readCompact(DataInput in) throws IOException {
+        byte formatVersion = in.readByte();
+        if (formatVersion != COMPACT_FORMAT_VERSION) {
+            throw new IOException("unsupported compact replica info format version " + formatVersion);
+        }
+        ReplicaPersistInfo info = new ReplicaPersistInfo();
+        info.opType = ReplicaOperationType.findByValue(in.readByte());
+        if (info.opType == null) {
+            throw new IOException("could not parse operation type from replica info");
+        }
+        info.dbId = IOUtils.readZigZagVarLong(in);
+        info.tableId = IOUtils.readZigZagVarLong(in);
+        info.partitionId = IOUtils.readZigZagVarLong(in);
+        info.indexId = IOUtils.readZigZagVarLong(in);
+        info.tabletId = IOUtils.readZigZagVarLong(in);
+        info.replicaId = IOUtils.readZigZagVarLong(in);
+        info.backendId = IOUtils.readZigZagVarLong(in);
+        info.version = IOUtils.readZigZagVarLong(in);
+        info.minReadableVersion = IOUtils.readZigZagVarLong(in);
+        info.schemaHash = (int) IOUtils.readZigZagVarLong(in);
+        info.dataSize = IOUtils.readZigZagVarLong(in);
+        info.rowCount = IOUtils.readZigZagVarLong(in);
+        info.lastFailedVersion = IOUtils.readZigZagVarLong(in);
+        info.lastSuccessVersion = IOUtils.readZigZagVarLong(in);
+        return info;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hashCode(replicaId);
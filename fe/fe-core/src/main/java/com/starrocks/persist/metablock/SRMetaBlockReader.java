@@ -15,6 +15,8 @@
 
 package com.starrocks.persist.metablock;
 
+import com.google.gson.JsonElement;
+
 import java.io.IOException;
 import java.lang.reflect.Type;
 
@@ -30,5 +32,11 @@ public interface SRMetaBlockReader {
 
     Object readJson(Type returnType) throws IOException, SRMetaBlockEOFException;
 
+    /**
+     * Read the next json as a parsed tree without binding it to a class, so that the
+     * (much more expensive) binding can be done later, possibly on another thread.
+     */
+    JsonElement readJsonElement() throws IOException, SRMetaBlockEOFException;
+
     void close() throws IOException, SRMetaBlockException;
 }
\ No newline at end of file
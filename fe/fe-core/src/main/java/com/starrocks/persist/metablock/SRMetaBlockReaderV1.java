@@ -14,6 +14,8 @@
 
 package com.starrocks.persist.metablock;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import com.google.gson.stream.JsonReader;
 import com.starrocks.common.io.Text;
 import com.starrocks.persist.gson.GsonUtils;
@@ -106,6 +108,15 @@ public class SRMetaBlockReaderV1 implements SRMetaBlockReader {
         }
     }
 
+    @Override
+    public JsonElement readJsonElement() throws IOException, SRMetaBlockEOFException {
+        byte[] bytes = readJsonBytes();
+        try (JsonReader jsonReader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(bytes),
+                StandardCharsets.UTF_8))) {
+            return JsonParser.parseReader(jsonReader);
+        }
+    }
+
     @Override
     public int readInt() throws IOException, SRMetaBlockEOFException {
         return readJson(int.class);
@@ -14,6 +14,9 @@
 
 package com.starrocks.persist.metablock;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
@@ -101,6 +104,19 @@ public class SRMetaBlockReaderV2 implements SRMetaBlockReader {
         return null;
     }
 
+    @Override
+    public JsonElement readJsonElement() throws IOException, SRMetaBlockEOFException {
+        checkEOF();
+        try {
+            JsonElement element = JsonParser.parseReader(jsonReader);
+            numJsonRead++;
+            return element;
+        } catch (JsonParseException e) {
+            handleJsonSyntaxException(new JsonSyntaxException(e));
+        }
+        return null;
+    }
+
     private void checkEOF() throws SRMetaBlockEOFException {
         if (numJsonRead >= header.getNumJson()) {
             throw new SRMetaBlockEOFException(String.format(
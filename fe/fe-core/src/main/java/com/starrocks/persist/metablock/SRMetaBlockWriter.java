@@ -20,6 +20,12 @@ import java.io.IOException;
 public interface SRMetaBlockWriter {
     void writeJson(Object object) throws IOException, SRMetaBlockException;
 
+    /**
+     * Write an object that has already been serialized to json by {@link com.starrocks.persist.gson.GsonUtils#GSON},
+     * so that the serialization can be done ahead of time, possibly on another thread.
+     */
+    void writeSerializedJson(String json) throws IOException, SRMetaBlockException;
+
     void writeInt(int value) throws IOException, SRMetaBlockException;
 
     void writeLong(long value) throws IOException, SRMetaBlockException;
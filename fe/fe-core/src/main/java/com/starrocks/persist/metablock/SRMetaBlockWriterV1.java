@@ -70,6 +70,11 @@ public class SRMetaBlockWriterV1 implements SRMetaBlockWriter {
 
     @Override
     public void writeJson(Object object) throws IOException, SRMetaBlockException {
+        writeSerializedJson(GsonUtils.GSON.toJson(object));
+    }
+
+    @Override
+    public void writeSerializedJson(String json) throws IOException, SRMetaBlockException {
         // always check if write more than expect
         if (numJsonWritten >= header.getNumJson()) {
             throw new SRMetaBlockException(String.format(
@@ -79,7 +84,7 @@ public class SRMetaBlockWriterV1 implements SRMetaBlockWriter {
             // write header
             Text.writeStringWithChecksum(checkedOutputStream, GsonUtils.GSON.toJson(header));
         }
-        Text.writeStringWithChecksum(checkedOutputStream, GsonUtils.GSON.toJson(object));
+        Text.writeStringWithChecksum(checkedOutputStream, json);
         numJsonWritten += 1;
     }
 
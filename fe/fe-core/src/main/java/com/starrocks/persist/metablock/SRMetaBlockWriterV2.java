@@ -39,6 +39,27 @@ public class SRMetaBlockWriterV2 implements SRMetaBlockWriter {
             throw new SRMetaBlockException("can not write primitive type");
         }
 
+        writeHeaderIfNeeded();
+        GsonUtils.GSON.toJson(object, object.getClass(), jsonWriter);
+        numJsonWritten++;
+    }
+
+    @Override
+    public void writeSerializedJson(String json) throws IOException, SRMetaBlockException {
+        writeHeaderIfNeeded();
+        // the image is a stream of top-level json values, which is only accepted in lenient mode,
+        // gson does the same when writing an object to the json writer.
+        boolean oldLenient = jsonWriter.isLenient();
+        jsonWriter.setLenient(true);
+        try {
+            jsonWriter.jsonValue(json);
+        } finally {
+            jsonWriter.setLenient(oldLenient);
+        }
+        numJsonWritten++;
+    }
+
+    private void writeHeaderIfNeeded() throws IOException, SRMetaBlockException {
         // always check if write more than expect
         if (numJsonWritten >= header.getNumJson()) {
             throw new SRMetaBlockException(String.format(
@@ -48,8 +69,6 @@ public class SRMetaBlockWriterV2 implements SRMetaBlockWriter {
             // write header
             GsonUtils.GSON.toJson(header, header.getClass(), jsonWriter);
         }
-        GsonUtils.GSON.toJson(object, object.getClass(), jsonWriter);
-        numJsonWritten++;
     }
 
     @Override
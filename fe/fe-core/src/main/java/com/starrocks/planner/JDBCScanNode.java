@@ -28,6 +28,7 @@ import com.starrocks.catalog.Column;
 import com.starrocks.catalog.JDBCResource;
 import com.starrocks.catalog.JDBCTable;
 import com.starrocks.common.UserException;
+import com.starrocks.qe.ConnectContext;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.analyzer.AstToStringBuilder;
 import com.starrocks.thrift.TExplainLevel;
@@ -48,6 +49,9 @@ public class JDBCScanNode extends ScanNode {
     private final List<String> filters = new ArrayList<>();
     private String tableName;
     private JDBCTable table;
+    // set if the scan can be split into ranges of this column, which are read concurrently
+    private String splitColumn;
+    private int numSplits = 1;
 
     public JDBCScanNode(PlanNodeId id, TupleDescriptor desc, JDBCTable tbl) {
         super(id, desc, "SCAN JDBC");
@@ -66,12 +70,14 @@ public class JDBCScanNode extends ScanNode {
     public void finalizeStats(Analyzer analyzer) throws UserException {
         createJDBCTableColumns();
         createJDBCTableFilters();
+        createJDBCTableSplit();
         computeStats(analyzer);
     }
 
     public void computeColumnsAndFilters() {
         createJDBCTableColumns();
         createJDBCTableFilters();
+        createJDBCTableSplit();
     }
 
     @Override
@@ -79,6 +85,10 @@ public class JDBCScanNode extends ScanNode {
         StringBuilder output = new StringBuilder();
         output.append(prefix).append("TABLE: ").append(tableName).append("\n");
         output.append(prefix).append("QUERY: ").append(getJDBCQueryStr()).append("\n");
+        if (splitColumn != null && limit == -1) {
+            output.append(prefix).append("SPLIT: ").append(splitColumn).append(", NUM: ").append(numSplits)
+                    .append("\n");
+        }
         return output.toString();
     }
 
@@ -144,6 +154,42 @@ public class JDBCScanNode extends ScanNode {
         }
     }
 
+    private void createJDBCTableSplit() {
+        ConnectContext connectContext = ConnectContext.get();
+        if (connectContext == null || connectContext.getSessionVariable().getJdbcScanSplitNum() <= 1) {
+            return;
+        }
+        Column column = getSplitColumn();
+        if (column == null) {
+            return;
+        }
+        String objectIdentifier = getIdentifierSymbol();
+        splitColumn = objectIdentifier + column.getName() + objectIdentifier;
+        numSplits = connectContext.getSessionVariable().getJdbcScanSplitNum();
+    }
+
+    // the column set by table property, or the first integer partition column, or the first column if it is an
+    // integer column which is usually the primary key
+    private Column getSplitColumn() {
+        String columnName = table.getProperties().get(JDBCTable.JDBC_SPLIT_COLUMN);
+        if (columnName != null) {
+            Column column = table.getColumn(columnName);
+            return column != null && column.getType().isIntegerType() ? column : null;
+        }
+        if (!table.isUnPartitioned()) {
+            for (Column column : table.getPartitionColumns()) {
+                if (column.getType().isIntegerType()) {
+                    return column;
+                }
+            }
+        }
+        List<Column> schema = table.getBaseSchema();
+        if (!schema.isEmpty() && schema.get(0).getType().isIntegerType()) {
+            return schema.get(0);
+        }
+        return null;
+    }
+
     @Override
     public boolean canUseRuntimeAdaptiveDop() {
         return true;
@@ -158,6 +204,10 @@ public class JDBCScanNode extends ScanNode {
         msg.jdbc_scan_node.setColumns(columns);
         msg.jdbc_scan_node.setFilters(filters);
         msg.jdbc_scan_node.setLimit(limit);
+        if (splitColumn != null && limit == -1) {
+            msg.jdbc_scan_node.setSplit_column(splitColumn);
+            msg.jdbc_scan_node.setNum_splits(numSplits);
+        }
     }
 
     @Override
@@ -60,6 +60,8 @@ public class ResultSink extends DataSink {
     private String brokerName;
     private TResultFileSinkOptions fileSinkOptions;
     private boolean isBinaryRow;
+    // output column names, used as the field names of the arrow format of http sql
+    private List<String> columnNames;
 
     public ResultSink(PlanNodeId exchNodeId, TResultSinkType sinkType) {
         this.exchNodeId = exchNodeId;
@@ -84,6 +86,9 @@ public class ResultSink extends DataSink {
         if (ConnectContext.get() instanceof HttpConnectContext) {
             tResultSink.setFormat(((HttpConnectContext) ConnectContext.get()).getResultSinkFormatType());
         }
+        if (columnNames != null) {
+            tResultSink.setColumn_names(columnNames);
+        }
         tResultSink.setIs_binary_row(isBinaryRow);
         result.setResult_sink(tResultSink);
         return result;
@@ -129,6 +134,10 @@ public class ResultSink extends DataSink {
         brokerName = outFileClause.getBrokerDesc() == null ? null : outFileClause.getBrokerDesc().getName();
     }
 
+    public void setColumnNames(List<String> columnNames) {
+        this.columnNames = columnNames;
+    }
+
     public void setBrokerAddr(String ip, int port) {
         Preconditions.checkNotNull(fileSinkOptions);
         fileSinkOptions.setBroker_addresses(Lists.newArrayList(new TNetworkAddress(ip, port)));
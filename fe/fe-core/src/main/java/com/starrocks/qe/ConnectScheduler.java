@@ -282,7 +282,7 @@ public class ConnectScheduler {
 
                     Pair<Boolean, String> registerResult = registerConnection(context);
                     if (registerResult.first) {
-                        MysqlProto.sendResponsePacket(context);
+                        MysqlProto.sendNegotiateOkPacket(context, result.getAuthPacket());
                     } else {
                         context.getState().setError(registerResult.second);
                         MysqlProto.sendResponsePacket(context);
@@ -70,6 +70,24 @@ public class PrepareStmtContext {
         this.isCached = true;
     }
 
+    /**
+     * Reuse a plan built by another connection for the same statement, the plan is valid until
+     * the scanned table is changed after `lastSchemaUpdateTime`.
+     */
+    public void cachePlan(ExecPlan execPlan, long tableId, long lastSchemaUpdateTime) {
+        cachePlan(execPlan);
+        this.tableId = tableId;
+        this.lastSchemaUpdateTime = lastSchemaUpdateTime;
+    }
+
+    public long getTableId() {
+        return tableId;
+    }
+
+    public long getLastSchemaUpdateTime() {
+        return lastSchemaUpdateTime;
+    }
+
     public boolean needReAnalyze(QueryStatement stmt, ConnectContext session) {
         SelectRelation selectRelation = (SelectRelation) (stmt.getQueryRelation());
         TableRelation tableRelation = (TableRelation) selectRelation.getRelation();
@@ -99,9 +99,11 @@ public class QueryQueueManager {
             }
         } finally {
             if (isPending) {
-                context.auditEventBuilder.setPendingTimeMs(System.currentTimeMillis() - startMs);
+                long pendingTimeMs = System.currentTimeMillis() - startMs;
+                context.auditEventBuilder.setPendingTimeMs(pendingTimeMs);
                 MetricRepo.COUNTER_QUERY_QUEUE_PENDING.increase(-1L);
                 ResourceGroupMetricMgr.increaseQueuedQuery(context, -1L);
+                ResourceGroupMetricMgr.updateQueryQueueWaitLatency(context, pendingTimeMs);
                 context.setPending(false);
             }
         }
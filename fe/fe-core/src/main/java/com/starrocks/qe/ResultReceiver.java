@@ -52,6 +52,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TDeserializer;
 import org.apache.thrift.TException;
 
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -67,6 +68,11 @@ public class ResultReceiver {
     private final PUniqueId finstId;
     private final Long backendId;
     private Thread currentThread;
+    // the fetch of the next batch, sent as soon as the previous one is received, so that BE prepares and
+    // transfers it while the previous one is being sent to the client
+    private PFetchDataRequest prefetchRequest;
+    // volatile for cancel(), which is called by another thread
+    private volatile Future<PFetchDataResult> prefetchFuture;
 
     public ResultReceiver(TUniqueId tid, Long backendId, TNetworkAddress address, int timeoutMs) {
         this.finstId = new PUniqueId();
@@ -82,11 +88,20 @@ public class ResultReceiver {
             return null;
         }
         final RowBatch rowBatch = new RowBatch();
+        boolean fetched = false;
         try {
             while (!isDone && !isCancel) {
-                PFetchDataRequest request = new PFetchDataRequest(finstId);
-
-                Future<PFetchDataResult> future = BackendServiceClient.getInstance().fetchDataAsync(address, request);
+                PFetchDataRequest request;
+                Future<PFetchDataResult> future;
+                if (prefetchFuture != null) {
+                    request = prefetchRequest;
+                    future = prefetchFuture;
+                    prefetchRequest = null;
+                    prefetchFuture = null;
+                } else {
+                    request = new PFetchDataRequest(finstId);
+                    future = BackendServiceClient.getInstance().fetchDataAsync(address, request);
+                }
                 PFetchDataResult pResult = null;
                 while (pResult == null) {
                     long currentTs = System.currentTimeMillis();
@@ -120,6 +135,14 @@ public class ResultReceiver {
 
                 packetIdx++;
                 isDone = pResult.eos;
+                if (!isDone && !isCancel) {
+                    prefetchRequest = new PFetchDataRequest(finstId);
+                    prefetchFuture = BackendServiceClient.getInstance().fetchDataAsync(address, prefetchRequest);
+                    // cancel() may have missed the prefetch
+                    if (isCancel) {
+                        cancelPrefetch();
+                    }
+                }
 
                 byte[] serialResult = request.getSerializedResult();
                 if (serialResult != null && serialResult.length > 0) {
@@ -128,6 +151,7 @@ public class ResultReceiver {
                     deserializer.deserialize(resultBatch, serialResult);
                     rowBatch.setBatch(resultBatch);
                     rowBatch.setEos(pResult.eos);
+                    fetched = true;
                     return rowBatch;
                 }
             }
@@ -153,6 +177,14 @@ public class ResultReceiver {
             if (MetricRepo.hasInit) {
                 MetricRepo.COUNTER_QUERY_TIMEOUT.increase(1L);
             }
+        } catch (CancellationException e) {
+            // the prefetch is cancelled by cancel(), the status is set below
+            LOG.info("fetch result cancelled, finstId={}", DebugUtil.printId(finstId));
+        } finally {
+            // no more batch is fetched after an error or a cancellation, don't leave the next one to BE
+            if (!fetched) {
+                cancelPrefetch();
+            }
         }
 
         if (isCancel) {
@@ -163,5 +195,17 @@ public class ResultReceiver {
 
     public void cancel() {
         isCancel = true;
+        Future<PFetchDataResult> future = prefetchFuture;
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    private void cancelPrefetch() {
+        if (prefetchFuture != null) {
+            prefetchFuture.cancel(true);
+            prefetchFuture = null;
+            prefetchRequest = null;
+        }
     }
 }
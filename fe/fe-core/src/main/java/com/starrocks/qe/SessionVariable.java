@@ -332,6 +332,8 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
             "cbo_materialized_view_rewrite_candidate_limit";
     public static final String CBO_MATERIALIZED_VIEW_REWRITE_RELATED_MVS_LIMIT =
             "cbo_materialized_view_rewrite_related_mvs_limit";
+    public static final String CBO_MATERIALIZED_VIEW_PLAN_BUILD_PARALLELISM =
+            "cbo_materialized_view_plan_build_parallelism";
 
     public static final String CBO_MAX_REORDER_NODE_USE_EXHAUSTIVE = "cbo_max_reorder_node_use_exhaustive";
     public static final String CBO_ENABLE_DP_JOIN_REORDER = "cbo_enable_dp_join_reorder";
@@ -492,6 +494,7 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     public static final String ENABLE_FILE_METACACHE = "enable_file_metacache";
     public static final String HUDI_MOR_FORCE_JNI_READER = "hudi_mor_force_jni_reader";
     public static final String PAIMON_FORCE_JNI_READER = "paimon_force_jni_reader";
+    public static final String JDBC_SCAN_SPLIT_NUM = "jdbc_scan_split_num";
     public static final String ENABLE_DYNAMIC_PRUNE_SCAN_RANGE = "enable_dynamic_prune_scan_range";
     public static final String IO_TASKS_PER_SCAN_OPERATOR = "io_tasks_per_scan_operator";
     public static final String CONNECTOR_IO_TASKS_PER_SCAN_OPERATOR = "connector_io_tasks_per_scan_operator";
@@ -1747,6 +1750,13 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     @VariableMgr.VarAttr(name = PAIMON_FORCE_JNI_READER)
     private boolean paimonForceJNIReader = false;
 
+    /**
+     * If greater than 1, a jdbc scan on a table with an integer split column is split into at most this number of
+     * ranges, which are read concurrently on different connections.
+     */
+    @VariableMgr.VarAttr(name = JDBC_SCAN_SPLIT_NUM)
+    private int jdbcScanSplitNum = 1;
+
     @VarAttr(name = ENABLE_QUERY_CACHE)
     private boolean enableQueryCache = false;
 
@@ -1874,6 +1884,13 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     @VarAttr(name = CBO_MATERIALIZED_VIEW_REWRITE_RELATED_MVS_LIMIT, flag = VariableMgr.INVISIBLE)
     private int cboMaterializedViewRewriteRelatedMVsLimit = 64;
 
+    /**
+     * How many related MVs' defined query plans can be built concurrently when they are not in the mv plan cache.
+     * 1 means building them serially in the query thread.
+     */
+    @VarAttr(name = CBO_MATERIALIZED_VIEW_PLAN_BUILD_PARALLELISM, flag = VariableMgr.INVISIBLE)
+    private int cboMaterializedViewPlanBuildParallelism = 1;
+
     @VarAttr(name = QUERY_EXCLUDING_MV_NAMES, flag = VariableMgr.INVISIBLE)
     private String queryExcludingMVNames = "";
 
@@ -2334,6 +2351,14 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         return paimonForceJNIReader;
     }
 
+    public int getJdbcScanSplitNum() {
+        return jdbcScanSplitNum;
+    }
+
+    public void setJdbcScanSplitNum(int jdbcScanSplitNum) {
+        this.jdbcScanSplitNum = jdbcScanSplitNum;
+    }
+
     public void setCboCTEMaxLimit(int cboCTEMaxLimit) {
         this.cboCTEMaxLimit = cboCTEMaxLimit;
     }
@@ -3671,6 +3696,14 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         this.cboMaterializedViewRewriteRelatedMVsLimit = cboMaterializedViewRewriteRelatedMVsLimit;
     }
 
+    public int getCboMaterializedViewPlanBuildParallelism() {
+        return cboMaterializedViewPlanBuildParallelism;
+    }
+
+    public void setCboMaterializedViewPlanBuildParallelism(int cboMaterializedViewPlanBuildParallelism) {
+        this.cboMaterializedViewPlanBuildParallelism = cboMaterializedViewPlanBuildParallelism;
+    }
+
     public String getQueryExcludingMVNames() {
         return queryExcludingMVNames;
     }
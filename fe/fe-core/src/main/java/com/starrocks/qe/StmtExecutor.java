@@ -1203,21 +1203,11 @@ public class StmtExecutor {
                         sendFields(colNames, outputExprs);
                         isSendFields = true;
                     }
-                    if (!isProxy && channel.isSendBufferNull()) {
-                        int bufferSize = 0;
-                        for (ByteBuffer row : batch.getBatch().getRows()) {
-                            bufferSize += (row.position() - row.limit());
-                        }
-                        // +8 for header size
-                        channel.initBuffer(bufferSize + 8);
-                    }
-
-                    for (ByteBuffer row : batch.getBatch().getRows()) {
-                        if (isProxy) {
-                            proxyResultBuffer.add(row);
-                        } else {
-                            channel.sendOnePacket(row);
-                        }
+                    if (isProxy) {
+                        proxyResultBuffer.addAll(batch.getBatch().getRows());
+                    } else {
+                        // rows are already encoded as mysql packets by BE
+                        channel.sendPackets(batch.getBatch().getRows());
                     }
                     context.updateReturnRows(batch.getBatch().getRows().size());
                 }
@@ -17,14 +17,18 @@ package com.starrocks.qe.scheduler;
 import com.google.api.client.util.Sets;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
 import com.starrocks.common.Status;
 import com.starrocks.common.UserException;
 import com.starrocks.common.profile.Timer;
 import com.starrocks.common.profile.Tracers;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.scheduler.dag.ExecutionDAG;
 import com.starrocks.qe.scheduler.dag.ExecutionFragment;
 import com.starrocks.qe.scheduler.dag.FragmentInstance;
+import com.starrocks.qe.scheduler.dag.FragmentInstanceBatch;
 import com.starrocks.qe.scheduler.dag.FragmentInstanceExecState;
 import com.starrocks.qe.scheduler.dag.JobSpec;
 import com.starrocks.qe.scheduler.slot.DeployState;
@@ -105,20 +109,27 @@ public class Deployer {
         final List<List<FragmentInstanceExecState>> threeStageExecutionsToDeploy =
                 deployState.getThreeStageExecutionsToDeploy();
 
-        if (enablePlanSerializeConcurrently) {
-            try (Timer ignored = Tracers.watchScope(Tracers.Module.SCHEDULER, "DeploySerializeConcurrencyTime")) {
-                threeStageExecutionsToDeploy.stream().parallel().forEach(
-                        executions -> executions.stream().parallel()
-                                .forEach(FragmentInstanceExecState::serializeRequest));
+        long startTimeMs = System.currentTimeMillis();
+        try {
+            if (enablePlanSerializeConcurrently) {
+                try (Timer ignored = Tracers.watchScope(Tracers.Module.SCHEDULER, "DeploySerializeConcurrencyTime")) {
+                    threeStageExecutionsToDeploy.stream().parallel().forEach(
+                            executions -> executions.stream().parallel()
+                                    .forEach(FragmentInstanceExecState::serializeRequest));
+                }
             }
-        }
 
-        for (List<FragmentInstanceExecState> executions : threeStageExecutionsToDeploy) {
-            try (Timer ignored = Tracers.watchScope(Tracers.Module.SCHEDULER, "DeployStageByStageTime")) {
-                executions.forEach(FragmentInstanceExecState::deployAsync);
+            for (List<FragmentInstanceExecState> executions : threeStageExecutionsToDeploy) {
+                try (Timer ignored = Tracers.watchScope(Tracers.Module.SCHEDULER, "DeployStageByStageTime")) {
+                    executions.forEach(FragmentInstanceExecState::deployAsync);
+                }
+                try (Timer ignored = Tracers.watchScope(Tracers.Module.SCHEDULER, "DeployWaitTime")) {
+                    waitForDeploymentCompletion(executions);
+                }
             }
-            try (Timer ignored = Tracers.watchScope(Tracers.Module.SCHEDULER, "DeployWaitTime")) {
-                waitForDeploymentCompletion(executions);
+        } finally {
+            if (MetricRepo.hasInit) {
+                MetricRepo.HISTO_QUERY_DEPLOY_LATENCY.update(System.currentTimeMillis() - startTimeMs);
             }
         }
     }
@@ -139,6 +150,8 @@ public class Deployer {
         // if pipeline is enable and current fragment contain olap table sink, in fe we will
         // calculate the number of all tablet sinks in advance and assign them to each fragment instance
         boolean enablePipelineTableSinkDop = isEnablePipeline && fragment.getPlanFragment().hasTableSink();
+        // only the pipeline engine supports the batch RPC
+        boolean enableBatchDeploy = isEnablePipeline && Config.enable_deploy_shared_fragment_params;
 
         List<List<FragmentInstance>> threeStageInstancesToDeploy = ImmutableList.of(
                 new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
@@ -191,20 +204,41 @@ public class Deployer {
                 curDescTable = emptyDescTable;
             }
 
+            // the instances of this stage on the same worker are deployed by one batch RPC,
+            // and the common params of the fragment are serialized once for all the workers.
+            final FragmentInstanceBatch.CommonParams commonParams = enableBatchDeploy ?
+                    new FragmentInstanceBatch.CommonParams(
+                            tFragmentInstanceFactory.createCommonParams(fragment, curDescTable, totalTableSinkDop)) :
+                    null;
+            Map<Long, FragmentInstanceBatch> workerIdToBatch = Maps.newHashMap();
+
             for (FragmentInstance instance : stageInstances) {
-                TExecPlanFragmentParams request =
-                        tFragmentInstanceFactory.create(instance, curDescTable, accTabletSinkDop, totalTableSinkDop);
+                FragmentInstanceExecState execution;
+                if (commonParams != null) {
+                    TExecPlanFragmentParams request =
+                            tFragmentInstanceFactory.createUniqueParams(instance, accTabletSinkDop);
+                    FragmentInstanceBatch batch = workerIdToBatch.computeIfAbsent(instance.getWorkerId(),
+                            workerId -> new FragmentInstanceBatch(commonParams, instance.getWorker()));
+                    execution = FragmentInstanceExecState.createBatchExecution(
+                            jobSpec,
+                            instance.getFragmentId(),
+                            fragment.getFragmentIndex(),
+                            request,
+                            batch);
+                } else {
+                    TExecPlanFragmentParams request = tFragmentInstanceFactory.create(
+                            instance, curDescTable, accTabletSinkDop, totalTableSinkDop);
+                    execution = FragmentInstanceExecState.createExecution(
+                            jobSpec,
+                            instance.getFragmentId(),
+                            fragment.getFragmentIndex(),
+                            request,
+                            instance.getWorker());
+                }
                 if (enablePipelineTableSinkDop) {
                     accTabletSinkDop += instance.getTableSinkDop();
                 }
 
-                FragmentInstanceExecState execution = FragmentInstanceExecState.createExecution(
-                        jobSpec,
-                        instance.getFragmentId(),
-                        fragment.getFragmentIndex(),
-                        request,
-                        instance.getWorker());
-
                 threeStageExecutionsToDeploy.get(stageIndex).add(execution);
 
                 executionDAG.addExecution(execution);
@@ -90,6 +90,35 @@ public class TFragmentInstanceFactory {
         return result;
     }
 
+    /**
+     * Create the params shared by all the instances of the fragment deployed with the same descriptor table.
+     * The instance-specific required fields are filled with placeholders, the backend reads them from
+     * the params created by {@link #createUniqueParams}.
+     */
+    public TExecPlanFragmentParams createCommonParams(ExecutionFragment execFragment,
+                                                      TDescriptorTable descTable,
+                                                      int totalTableSinkDop) {
+        TExecPlanFragmentParams result = new TExecPlanFragmentParams();
+        toThriftFromCommonParams(result, execFragment, descTable, totalTableSinkDop);
+        result.params.setFragment_instance_id(jobSpec.getQueryId());
+        result.params.setPer_node_scan_ranges(Collections.emptyMap());
+        return result;
+    }
+
+    /**
+     * Create the params of an instance which differ from the params created by {@link #createCommonParams}.
+     */
+    public TExecPlanFragmentParams createUniqueParams(FragmentInstance instance, int accTabletSinkDop) {
+        TExecPlanFragmentParams result = new TExecPlanFragmentParams();
+        result.setProtocol_version(InternalServiceVersion.V1);
+        result.setFragment(instance.getExecFragment().getPlanFragment().toThriftForUniqueFields());
+        result.setParams(new TPlanFragmentExecParams());
+        result.params.setQuery_id(jobSpec.getQueryId());
+        result.params.setPer_exch_num_senders(Collections.emptyMap());
+        toThriftForUniqueParams(result, instance, accTabletSinkDop);
+        return result;
+    }
+
     public void toThriftFromCommonParams(TExecPlanFragmentParams result,
                                          ExecutionFragment execFragment,
                                          TDescriptorTable descTable,
@@ -0,0 +1,178 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.qe.scheduler.dag;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.starrocks.proto.PExecBatchPlanFragmentsResult;
+import com.starrocks.proto.PExecPlanFragmentResult;
+import com.starrocks.rpc.BackendServiceClient;
+import com.starrocks.rpc.ConfigurableSerDesFactory;
+import com.starrocks.rpc.RpcException;
+import com.starrocks.system.ComputeNode;
+import com.starrocks.thrift.TExecBatchPlanFragmentsParams;
+import com.starrocks.thrift.TExecPlanFragmentParams;
+import org.apache.thrift.TException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The instances of a fragment deployed to the same worker with one {@code exec_batch_plan_fragments} RPC.
+ * <p>
+ * The request is a {@link TExecBatchPlanFragmentsParams} carrying the params shared by the instances once,
+ * and the params unique to each instance, which are only the instance id, the scan ranges and a few numbers.
+ * The shared params are serialized once for all the workers, and the request is built by appending the
+ * serialized unique params to them. It relies on the binary protocol, where a struct is a sequence of fields
+ * ended by a stop byte, so the fields of two serialized structs of the same type can be concatenated.
+ * <p>
+ * All the methods are thread-safe.
+ */
+public class FragmentInstanceBatch {
+    private final CommonParams commonParams;
+    private final ComputeNode worker;
+    private final List<TExecPlanFragmentParams> uniqueParams = new ArrayList<>();
+
+    private byte[] serializedRequest;
+    private Future<PExecPlanFragmentResult> deployFuture;
+
+    /**
+     * The params shared by the instances of a fragment, deployed to any worker with the same descriptor table.
+     */
+    public static class CommonParams {
+        private final TExecPlanFragmentParams params;
+        // serialized batch request with only the common params, without the trailing stop byte
+        private byte[] serializedPrefix;
+
+        public CommonParams(TExecPlanFragmentParams params) {
+            this.params = params;
+        }
+
+        public TExecPlanFragmentParams getParams() {
+            return params;
+        }
+
+        private synchronized byte[] getSerializedPrefix() throws TException {
+            if (serializedPrefix == null) {
+                byte[] bytes = ConfigurableSerDesFactory.getTSerializer()
+                        .serialize(new TExecBatchPlanFragmentsParams().setCommon_param(params));
+                serializedPrefix = Arrays.copyOf(bytes, bytes.length - 1);
+            }
+            return serializedPrefix;
+        }
+    }
+
+    public FragmentInstanceBatch(CommonParams commonParams, ComputeNode worker) {
+        this.commonParams = commonParams;
+        this.worker = worker;
+    }
+
+    public CommonParams getCommonParams() {
+        return commonParams;
+    }
+
+    public ComputeNode getWorker() {
+        return worker;
+    }
+
+    public synchronized void addUniqueParams(TExecPlanFragmentParams params) {
+        uniqueParams.add(params);
+    }
+
+    public synchronized int getNumInstances() {
+        return uniqueParams.size();
+    }
+
+    public synchronized void serializeRequest() throws TException {
+        if (serializedRequest == null) {
+            serializedRequest = serialize(commonParams, uniqueParams);
+        }
+    }
+
+    @VisibleForTesting
+    static byte[] serialize(CommonParams commonParams, List<TExecPlanFragmentParams> uniqueParams)
+            throws TException {
+        byte[] prefix = commonParams.getSerializedPrefix();
+        byte[] suffix = ConfigurableSerDesFactory.getTSerializer()
+                .serialize(new TExecBatchPlanFragmentsParams().setUnique_param_per_instance(uniqueParams));
+        byte[] request = Arrays.copyOf(prefix, prefix.length + suffix.length);
+        System.arraycopy(suffix, 0, request, prefix.length, suffix.length);
+        return request;
+    }
+
+    /**
+     * Send the batch RPC at the first call, the later calls from the other instances of the batch share
+     * the same future, including a failed one.
+     */
+    public synchronized Future<PExecPlanFragmentResult> deployAsync() {
+        if (deployFuture == null) {
+            try {
+                serializeRequest();
+                Future<PExecBatchPlanFragmentsResult> future = BackendServiceClient.getInstance()
+                        .execBatchPlanFragmentsAsync(worker.getBrpcAddress(), serializedRequest);
+                deployFuture = new ExecPlanFragmentFuture(future);
+            } catch (RpcException | TException e) {
+                deployFuture = FragmentInstanceExecState.failedDeployFuture(e);
+            }
+            serializedRequest = null;
+        }
+        return deployFuture;
+    }
+
+    private static class ExecPlanFragmentFuture implements Future<PExecPlanFragmentResult> {
+        private final Future<PExecBatchPlanFragmentsResult> future;
+
+        private ExecPlanFragmentFuture(Future<PExecBatchPlanFragmentsResult> future) {
+            this.future = future;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return future.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return future.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        @Override
+        public PExecPlanFragmentResult get() throws InterruptedException, ExecutionException {
+            return toExecPlanFragmentResult(future.get());
+        }
+
+        @Override
+        public PExecPlanFragmentResult get(long timeout, @NotNull TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return toExecPlanFragmentResult(future.get(timeout, unit));
+        }
+
+        private static PExecPlanFragmentResult toExecPlanFragmentResult(PExecBatchPlanFragmentsResult batchResult) {
+            PExecPlanFragmentResult result = new PExecPlanFragmentResult();
+            result.status = batchResult.status;
+            return result;
+        }
+    }
+}
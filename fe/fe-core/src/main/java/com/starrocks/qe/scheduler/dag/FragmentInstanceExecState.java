@@ -32,6 +32,7 @@ import com.starrocks.system.ComputeNode;
 import com.starrocks.thrift.TExecPlanFragmentParams;
 import com.starrocks.thrift.TNetworkAddress;
 import com.starrocks.thrift.TPlanFragmentDestination;
+import com.starrocks.thrift.TPlanFragmentExecParams;
 import com.starrocks.thrift.TReportExecStatusParams;
 import com.starrocks.thrift.TStatusCode;
 import com.starrocks.thrift.TUniqueId;
@@ -86,6 +87,9 @@ public class FragmentInstanceExecState {
      */
     private TExecPlanFragmentParams requestToDeploy;
     private byte[] serializedRequest;
+    // set if the instance is deployed with the other instances of the same fragment on the worker,
+    // and then requestToDeploy only contains the params unique to this instance.
+    private FragmentInstanceBatch batch;
     private Future<PExecPlanFragmentResult> deployFuture = null;
 
     private final int fragmentIndex;
@@ -109,6 +113,23 @@ public class FragmentInstanceExecState {
         return new FragmentInstanceExecState(null, null, 0, fragmentInstanceId, 0, null, profile, null, null, -1);
     }
 
+    /**
+     * Create an execution deployed with the other instances of the batch.
+     *
+     * @param request The params unique to this instance, which are also added to the batch.
+     */
+    public static FragmentInstanceExecState createBatchExecution(JobSpec jobSpec,
+                                                                 PlanFragmentId fragmentId,
+                                                                 int fragmentIndex,
+                                                                 TExecPlanFragmentParams request,
+                                                                 FragmentInstanceBatch batch) {
+        FragmentInstanceExecState execution =
+                createExecution(jobSpec, fragmentId, fragmentIndex, request, batch.getWorker());
+        execution.batch = batch;
+        batch.addUniqueParams(request);
+        return execution;
+    }
+
     public static FragmentInstanceExecState createExecution(JobSpec jobSpec,
                                                             PlanFragmentId fragmentId,
                                                             int fragmentIndex,
@@ -157,6 +178,10 @@ public class FragmentInstanceExecState {
 
     public void serializeRequest() {
         try {
+            if (batch != null) {
+                batch.serializeRequest();
+                return;
+            }
             TSerializer serializer = AttachmentRequest.getSerializer(jobSpec.getPlanProtocol());
             serializedRequest = serializer.serialize(requestToDeploy);
         } catch (TException ignore) {
@@ -171,6 +196,11 @@ public class FragmentInstanceExecState {
     public void deployAsync() {
         transitionState(State.DEPLOYING);
 
+        if (batch != null) {
+            deployFuture = batch.deployAsync();
+            return;
+        }
+
         TNetworkAddress brpcAddress = worker.getBrpcAddress();
         try {
             // when `set enable_plan_serialize_concurrently = false` or encountered exception when serializing.
@@ -184,44 +214,48 @@ public class FragmentInstanceExecState {
         } catch (RpcException | TException e) {
             // DO NOT throw exception here, return a complete future with error code,
             // so that the following logic will cancel the fragment.
-            deployFuture = new Future<PExecPlanFragmentResult>() {
-                @Override
-                public boolean cancel(boolean mayInterruptIfRunning) {
-                    return false;
-                }
+            deployFuture = failedDeployFuture(e);
+        }
+    }
 
-                @Override
-                public boolean isCancelled() {
-                    return false;
-                }
+    static Future<PExecPlanFragmentResult> failedDeployFuture(Exception e) {
+        return new Future<PExecPlanFragmentResult>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                return false;
+            }
 
-                @Override
-                public boolean isDone() {
-                    return true;
-                }
+            @Override
+            public boolean isCancelled() {
+                return false;
+            }
 
-                @Override
-                public PExecPlanFragmentResult get() {
-                    PExecPlanFragmentResult result = new PExecPlanFragmentResult();
-                    StatusPB pStatus = new StatusPB();
-                    pStatus.errorMsgs = Lists.newArrayList();
-                    pStatus.errorMsgs.add(e.getMessage());
-                    if (e instanceof RpcException) {
-                        // use THRIFT_RPC_ERROR so that this BE will be added to the blacklist later.
-                        pStatus.statusCode = TStatusCode.THRIFT_RPC_ERROR.getValue();
-                    } else {
-                        pStatus.statusCode = TStatusCode.INTERNAL_ERROR.getValue();
-                    }
-                    result.status = pStatus;
-                    return result;
-                }
+            @Override
+            public boolean isDone() {
+                return true;
+            }
 
-                @Override
-                public PExecPlanFragmentResult get(long timeout, @NotNull TimeUnit unit) {
-                    return get();
+            @Override
+            public PExecPlanFragmentResult get() {
+                PExecPlanFragmentResult result = new PExecPlanFragmentResult();
+                StatusPB pStatus = new StatusPB();
+                pStatus.errorMsgs = Lists.newArrayList();
+                pStatus.errorMsgs.add(e.getMessage());
+                if (e instanceof RpcException) {
+                    // use THRIFT_RPC_ERROR so that this BE will be added to the blacklist later.
+                    pStatus.statusCode = TStatusCode.THRIFT_RPC_ERROR.getValue();
+                } else {
+                    pStatus.statusCode = TStatusCode.INTERNAL_ERROR.getValue();
                 }
-            };
-        }
+                result.status = pStatus;
+                return result;
+            }
+
+            @Override
+            public PExecPlanFragmentResult get(long timeout, @NotNull TimeUnit unit) {
+                return get();
+            }
+        };
     }
 
     public static class DeploymentResult {
@@ -299,6 +333,7 @@ public class FragmentInstanceExecState {
         }
 
         requestToDeploy = null;
+        batch = null;
         deployFuture = null;
         return new DeploymentResult(code, errMsg, failure);
     }
@@ -443,8 +478,11 @@ public class FragmentInstanceExecState {
         if (requestToDeploy == null) {
             return Collections.emptyList();
         }
-        if (!requestToDeploy.getParams().getDestinations().isEmpty()) {
-            return requestToDeploy.getParams().getDestinations();
+        // the destinations are shared by the instances of a batch, but a multi cast sink is unique to each instance
+        TPlanFragmentExecParams params = batch == null ? requestToDeploy.getParams() :
+                batch.getCommonParams().getParams().getParams();
+        if (!params.getDestinations().isEmpty()) {
+            return params.getDestinations();
         }
         if (requestToDeploy.getFragment().isSetOutput_sink() &&
                 requestToDeploy.getFragment().getOutput_sink().isSetMulti_cast_stream_sink()) {
@@ -21,6 +21,7 @@ import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.thrift.TUniqueId;
 import org.apache.commons.compress.utils.Lists;
 
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -62,43 +63,68 @@ public class DefaultSlotSelectionStrategy implements SlotSelectionStrategy {
             return slotsToAllocate;
         }
 
-        // Traverse groups round-robin from nextGroupIndex.
-        int localNextGroupIndex = nextGroupIndex;
-        Iterator<Map.Entry<Long, LinkedHashMap<TUniqueId, LogicalSlot>>> groupIterator =
-                requiringGroupIdToSubQueue.entrySet().iterator();
-        for (int i = 0; i < localNextGroupIndex && groupIterator.hasNext(); i++) {
-            groupIterator.next();
+        // The groups are traversed round-robin from nextGroupIndex, which only breaks the ties of the weighted fair selection.
+        List<GroupCandidate> candidates = Lists.newArrayList();
+        int groupIndex = 0;
+        for (Map.Entry<Long, LinkedHashMap<TUniqueId, LogicalSlot>> entry : requiringGroupIdToSubQueue.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                Long groupId = entry.getKey();
+                ResourceGroup group = GlobalStateMgr.getCurrentState().getResourceGroupMgr().getResourceGroup(groupId);
+                int numAllocatedSlotsOfGroup = allocatedGroupIdToSlotCount.getOrDefault(groupId, 0);
+                int index = Math.floorMod(groupIndex - nextGroupIndex, requiringGroupIdToSubQueue.size());
+                candidates.add(new GroupCandidate(group, entry.getValue(), numAllocatedSlotsOfGroup, index));
+            }
+            groupIndex++;
         }
+        candidates.sort(Comparator.comparingInt(candidate -> candidate.index));
 
-        for (int i = 0; i < requiringGroupIdToSubQueue.size(); i++) {
-            if (!isGlobalSlotAvailable(numAllocatedSlots)) {
-                break;
+        while (!candidates.isEmpty() && isGlobalSlotAvailable(numAllocatedSlots)) {
+            GroupCandidate candidate = pickGroupToAllocate(candidates);
+            if (!candidate.slots.hasNext() || !isGroupSlotAvailable(candidate.group, candidate.numAllocatedSlots)) {
+                candidates.remove(candidate);
+                continue;
             }
 
-            localNextGroupIndex = (localNextGroupIndex + 1) % requiringGroupIdToSubQueue.size();
-            if (!groupIterator.hasNext()) {
-                groupIterator = requiringGroupIdToSubQueue.entrySet().iterator();
-            }
-            Map.Entry<Long, LinkedHashMap<TUniqueId, LogicalSlot>> entry = groupIterator.next();
-            Long groupId = entry.getKey();
-            LinkedHashMap<TUniqueId, LogicalSlot> subQueue = entry.getValue();
-
-            ResourceGroup group = GlobalStateMgr.getCurrentState().getResourceGroupMgr().getResourceGroup(groupId);
-            int numAllocatedSlotsOfGroup = allocatedGroupIdToSlotCount.getOrDefault(groupId, 0);
-            int numSlotsToAllocate = peakSlotsToAllocateFromSubQueue(
-                    subQueue, group, numAllocatedSlots, numAllocatedSlotsOfGroup, slotsToAllocate);
-            numAllocatedSlots += numSlotsToAllocate;
-
-            // If the group of the current index peaks slots to allocate, update nextGroupIndex to make the next turn starts
-            // from the next group index.
-            if (numSlotsToAllocate > 0) {
-                nextGroupIndex = localNextGroupIndex;
-            }
+            LogicalSlot slot = candidate.slots.next();
+            slotsToAllocate.add(slot);
+            candidate.numAllocatedSlots += slot.getNumPhysicalSlots();
+            numAllocatedSlots += slot.getNumPhysicalSlots();
+        }
+
+        if (!slotsToAllocate.isEmpty()) {
+            nextGroupIndex = (nextGroupIndex + 1) % requiringGroupIdToSubQueue.size();
         }
 
         return slotsToAllocate;
     }
 
+    /**
+     * Pick the group with the fewest allocated slots relative to its weight, so that a group with many queued queries
+     * cannot starve the others, and a group with a higher cpu weight is admitted proportionally more queries.
+     * The first group in the candidates wins a tie.
+     */
+    private static GroupCandidate pickGroupToAllocate(List<GroupCandidate> candidates) {
+        GroupCandidate picked = null;
+        for (GroupCandidate candidate : candidates) {
+            if (picked == null || (long) candidate.numAllocatedSlots * picked.weight <
+                    (long) picked.numAllocatedSlots * candidate.weight) {
+                picked = candidate;
+            }
+        }
+        return picked;
+    }
+
+    @VisibleForTesting
+    static int getGroupWeight(ResourceGroup group) {
+        if (group == null) {
+            return 1;
+        }
+        if (group.getCpuWeight() != null && group.getCpuWeight() > 0) {
+            return group.getCpuWeight();
+        }
+        return Math.max(group.getNormalizedDedicatedCpuCores(), 1);
+    }
+
     private boolean isGlobalSlotAvailable(int numAllocatedSlots) {
         return !GlobalVariable.isQueryQueueConcurrencyLimitEffective() ||
                 numAllocatedSlots < GlobalVariable.getQueryQueueConcurrencyLimit();
@@ -120,28 +146,6 @@ public class DefaultSlotSelectionStrategy implements SlotSelectionStrategy {
         return !isGroupResourceOverloaded.apply(group.getId());
     }
 
-    private int peakSlotsToAllocateFromSubQueue(LinkedHashMap<TUniqueId, LogicalSlot> subQueue,
-                                                ResourceGroup group,
-                                                final int numAllocatedSlots,
-                                                final int numAllocatedSlotsOfGroup,
-                                                List<LogicalSlot> slotsToAllocate) {
-        int numSlotsToAllocate = 0;
-        for (LogicalSlot slot : subQueue.values()) {
-            if (!isGlobalSlotAvailable(numAllocatedSlots + numSlotsToAllocate)) {
-                break;
-            }
-
-            if (!isGroupSlotAvailable(group, numAllocatedSlotsOfGroup + numSlotsToAllocate)) {
-                break;
-            }
-
-            slotsToAllocate.add(slot);
-            numSlotsToAllocate += slot.getNumPhysicalSlots();
-        }
-
-        return numSlotsToAllocate;
-    }
-
     @Override
     public void onRequireSlot(LogicalSlot slot) {
         requiringGroupIdToSubQueue
@@ -190,4 +194,21 @@ public class DefaultSlotSelectionStrategy implements SlotSelectionStrategy {
         requiringGroupIdToSubQueue.entrySet().removeIf(entry -> entry.getValue().isEmpty());
         allocatedGroupIdToSlotCount.entrySet().removeIf(entry -> entry.getValue() == 0);
     }
+
+    private static class GroupCandidate {
+        private final ResourceGroup group;
+        private final Iterator<LogicalSlot> slots;
+        private final int weight;
+        private final int index;
+        private int numAllocatedSlots;
+
+        private GroupCandidate(ResourceGroup group, LinkedHashMap<TUniqueId, LogicalSlot> subQueue,
+                               int numAllocatedSlots, int index) {
+            this.group = group;
+            this.slots = subQueue.values().iterator();
+            this.weight = getGroupWeight(group);
+            this.index = index;
+            this.numAllocatedSlots = numAllocatedSlots;
+        }
+    }
 }
@@ -99,6 +99,9 @@ public class SlotManager {
     private final RequestWorker requestWorker = new RequestWorker();
 
     private final AtomicBoolean started = new AtomicBoolean();
+    // Whether a wake-up request is in requests and has not been run yet, so that the frequent notifications of the resource
+    // usage are coalesced into one request.
+    private final AtomicBoolean resourceUsageAvailableNotified = new AtomicBoolean();
     private final Executor responseExecutor = Executors.newFixedThreadPool(Config.slot_manager_response_thread_pool_size,
             new ThreadFactoryBuilder().setDaemon(true).setNameFormat("slot-mgr-res-%d").build());
 
@@ -161,8 +164,9 @@ public class SlotManager {
 
     public void notifyResourceUsageAvailable() {
         // The request does nothing but wake up the request worker to check whether resource usage becomes available.
-        requests.add(() -> {
-        });
+        if (resourceUsageAvailableNotified.compareAndSet(false, true)) {
+            requests.add(() -> resourceUsageAvailableNotified.set(false));
+        }
     }
 
     public List<LogicalSlot> getSlots() {
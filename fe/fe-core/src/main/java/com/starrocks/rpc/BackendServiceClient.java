@@ -38,11 +38,13 @@ import com.google.common.base.Preconditions;
 import com.starrocks.common.Config;
 import com.starrocks.common.profile.Timer;
 import com.starrocks.common.profile.Tracers;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.proto.ExecuteCommandRequestPB;
 import com.starrocks.proto.ExecuteCommandResultPB;
 import com.starrocks.proto.PCancelPlanFragmentRequest;
 import com.starrocks.proto.PCancelPlanFragmentResult;
 import com.starrocks.proto.PCollectQueryStatisticsResult;
+import com.starrocks.proto.PExecBatchPlanFragmentsResult;
 import com.starrocks.proto.PExecPlanFragmentResult;
 import com.starrocks.proto.PFetchDataResult;
 import com.starrocks.proto.PGetFileSchemaResult;
@@ -82,7 +84,7 @@ public class BackendServiceClient {
 
     private Future<PExecPlanFragmentResult> sendPlanFragmentAsync(TNetworkAddress address, PExecPlanFragmentRequest pRequest)
             throws RpcException {
-        Tracers.count(Tracers.Module.SCHEDULER, "DeployDataSize", pRequest.serializedRequest.length);
+        countDeployDataSize(pRequest.serializedRequest.length);
         try (Timer ignored = Tracers.watchScope(Tracers.Module.SCHEDULER, "DeployAsyncSendTime")) {
             final PBackendService service = BrpcProxy.getBackendService(address);
             return service.execPlanFragmentAsync(pRequest);
@@ -126,6 +128,48 @@ public class BackendServiceClient {
         return sendPlanFragmentAsync(address, pRequest);
     }
 
+    /**
+     * Deploy the instances of a fragment with one RPC, the request is a serialized
+     * {@link com.starrocks.thrift.TExecBatchPlanFragmentsParams}. It must be serialized with the binary protocol,
+     * which is the only protocol the backend accepts for batch deployment.
+     */
+    public Future<PExecBatchPlanFragmentsResult> execBatchPlanFragmentsAsync(TNetworkAddress address, byte[] request)
+            throws RpcException {
+        final PExecBatchPlanFragmentsRequest pRequest = new PExecBatchPlanFragmentsRequest();
+        pRequest.setRequest(request);
+        countDeployDataSize(request.length);
+        try (Timer ignored = Tracers.watchScope(Tracers.Module.SCHEDULER, "DeployAsyncSendTime")) {
+            final PBackendService service = BrpcProxy.getBackendService(address);
+            return service.execBatchPlanFragmentsAsync(pRequest);
+        } catch (NoSuchElementException e) {
+            try {
+                // retry
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException interruptedException) {
+                    // do nothing
+                }
+                final PBackendService service = BrpcProxy.getBackendService(address);
+                return service.execBatchPlanFragmentsAsync(pRequest);
+            } catch (NoSuchElementException noSuchElementException) {
+                LOG.warn("Execute batch plan fragments retry failed, address={}:{}",
+                        address.getHostname(), address.getPort(), noSuchElementException);
+                throw new RpcException(address.hostname, e.getMessage());
+            }
+        } catch (Throwable e) {
+            LOG.warn("Execute batch plan fragments catch a exception, address={}:{}",
+                    address.getHostname(), address.getPort(), e);
+            throw new RpcException(address.hostname, e.getMessage());
+        }
+    }
+
+    private static void countDeployDataSize(int numBytes) {
+        Tracers.count(Tracers.Module.SCHEDULER, "DeployDataSize", numBytes);
+        if (MetricRepo.hasInit) {
+            MetricRepo.COUNTER_QUERY_DEPLOY_BYTES.increase(numBytes);
+        }
+    }
+
     public Future<PCancelPlanFragmentResult> cancelPlanFragmentAsync(
             TNetworkAddress address, TUniqueId queryId, TUniqueId finstId, PPlanFragmentCancelReason cancelReason,
             boolean isPipeline) throws RpcException {
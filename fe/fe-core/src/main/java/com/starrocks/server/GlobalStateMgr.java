@@ -251,6 +251,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
@@ -418,6 +419,9 @@ public class GlobalStateMgr {
 
     private long imageJournalId;
 
+    // time spent in loading each meta block of the last loaded image, exported as metrics
+    private final Map<SRMetaBlockID, Long> imageLoadCostMs = new ConcurrentHashMap<>();
+
     private long feStartTime;
 
     private boolean isSafeMode = false;
@@ -577,6 +581,10 @@ public class GlobalStateMgr {
         return refreshDictionaryCacheTaskDaemon;
     }
 
+    public PublishVersionDaemon getPublishVersionDaemon() {
+        return publishVersionDaemon;
+    }
+
     private static class SingletonHolder {
         private static final GlobalStateMgr INSTANCE = new GlobalStateMgr();
     }
@@ -1530,9 +1538,13 @@ public class GlobalStateMgr {
                         continue;
                     }
 
+                    long blockLoadStartTime = System.currentTimeMillis();
                     metaBlockLoader.apply(reader);
+                    long blockLoadCostMs = System.currentTimeMillis() - blockLoadStartTime;
+                    imageLoadCostMs.put(srMetaBlockID, blockLoadCostMs);
                     metaMgrMustExists.remove(srMetaBlockID);
-                    LOG.info("Success load StarRocks meta block " + srMetaBlockID + " from image");
+                    LOG.info("Success load StarRocks meta block " + srMetaBlockID + " from image in "
+                            + blockLoadCostMs + " ms");
                 } catch (SRMetaBlockEOFException srMetaBlockEOFException) {
                     /*
                      * The number of json expected to be read is more than the number of json actually stored in the image
@@ -1576,6 +1588,10 @@ public class GlobalStateMgr {
         LOG.info("finished to load image in " + (loadImageEndTime - loadImageStartTime) + " ms");
     }
 
+    public Map<SRMetaBlockID, Long> getImageLoadCostMs() {
+        return imageLoadCostMs;
+    }
+
     private void postLoadImage() {
         processMvRelatedMeta();
     }
@@ -1928,7 +1944,11 @@ public class GlobalStateMgr {
                 readSucc = true;
 
                 // apply
+                long applyStartNs = System.nanoTime();
                 editLog.loadJournal(this, entity);
+                if (MetricRepo.hasInit) {
+                    MetricRepo.HISTO_JOURNAL_REPLAY_APPLY_LATENCY.update((System.nanoTime() - applyStartNs) / 1000);
+                }
             } catch (Throwable e) {
                 if (canSkipBadReplayedJournal(e)) {
                     LOG.error("!!! DANGER: SKIP JOURNAL, id: {}, data: {} !!!",
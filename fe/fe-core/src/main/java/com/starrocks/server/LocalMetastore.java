@@ -44,6 +44,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Range;
 import com.google.common.collect.Sets;
+import com.google.gson.JsonElement;
 import com.staros.proto.FilePathInfo;
 import com.starrocks.alter.AlterJobExecutor;
 import com.starrocks.alter.AlterMVJobExecutor;
@@ -113,6 +114,7 @@ import com.starrocks.common.MaterializedViewExceptions;
 import com.starrocks.common.MetaNotFoundException;
 import com.starrocks.common.Pair;
 import com.starrocks.common.Status;
+import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.TimeoutException;
 import com.starrocks.common.UserException;
 import com.starrocks.common.util.DynamicPartitionUtil;
@@ -171,6 +173,7 @@ import com.starrocks.persist.ReplicaPersistInfo;
 import com.starrocks.persist.SetReplicaStatusOperationLog;
 import com.starrocks.persist.TableInfo;
 import com.starrocks.persist.TruncateTableInfo;
+import com.starrocks.persist.gson.GsonUtils;
 import com.starrocks.persist.metablock.SRMetaBlockEOFException;
 import com.starrocks.persist.metablock.SRMetaBlockException;
 import com.starrocks.persist.metablock.SRMetaBlockID;
@@ -265,9 +268,11 @@ import org.apache.thrift.TException;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -278,6 +283,8 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -5247,14 +5254,28 @@ public class LocalMetastore implements ConnectorMetadata, MVRepairHandler {
         int cnt = 1 + idToDbNormal.size() + idToDbNormal.size() /* record database table size */ + totalTableNum + 1;
         SRMetaBlockWriter writer = imageWriter.getBlockWriter(SRMetaBlockID.LOCAL_META_STORE, cnt);
 
-        writer.writeInt(idToDbNormal.size());
-        for (Database database : idToDbNormal.values()) {
-            writer.writeJson(database);
-            int totalTableNumber = database.getTables().size();
-            writer.writeInt(totalTableNumber);
-            List<Table> tables = database.getTables();
-            for (Table table : tables) {
-                writer.writeJson(table);
+        int parallelism = Config.metadata_image_save_parallelism;
+        ExecutorService tableSaveExecutor = parallelism > 1 ?
+                ThreadPoolManager.newDaemonFixedThreadPool(parallelism, parallelism * 4, "image-table-saver", false) :
+                null;
+        try {
+            writer.writeInt(idToDbNormal.size());
+            for (Database database : idToDbNormal.values()) {
+                writer.writeJson(database);
+                int totalTableNumber = database.getTables().size();
+                writer.writeInt(totalTableNumber);
+                List<Table> tables = database.getTables();
+                if (tableSaveExecutor == null) {
+                    for (Table table : tables) {
+                        writer.writeJson(table);
+                    }
+                } else {
+                    writeTablesConcurrently(writer, tables, tableSaveExecutor, parallelism * 4);
+                }
+            }
+        } finally {
+            if (tableSaveExecutor != null) {
+                tableSaveExecutor.shutdownNow();
             }
         }
 
@@ -5264,30 +5285,56 @@ public class LocalMetastore implements ConnectorMetadata, MVRepairHandler {
         writer.close();
     }
 
-    public void load(SRMetaBlockReader reader) throws IOException, SRMetaBlockException, SRMetaBlockEOFException {
-        int dbSize = reader.readInt();
-        for (int i = 0; i < dbSize; ++i) {
-            Database db = reader.readJson(Database.class);
-            int tableSize = reader.readInt();
-            for (int j = 0; j < tableSize; ++j) {
-                Table table = reader.readJson(Table.class);
-                db.registerTableUnlocked(table);
+    // Serialize tables on the executor while keeping at most maxPending serialized tables in memory,
+    // they are written to the image in their original order.
+    private void writeTablesConcurrently(SRMetaBlockWriter writer, List<Table> tables, ExecutorService executor,
+                                         int maxPending) throws IOException, SRMetaBlockException {
+        Deque<Future<String>> pending = new ArrayDeque<>(maxPending);
+        for (Table table : tables) {
+            if (pending.size() >= maxPending) {
+                writer.writeSerializedJson(getSerializedTable(pending.poll()));
             }
+            pending.add(executor.submit(() -> GsonUtils.GSON.toJson(table)));
+        }
+        while (!pending.isEmpty()) {
+            writer.writeSerializedJson(getSerializedTable(pending.poll()));
+        }
+    }
 
-            idToDb.put(db.getId(), db);
-            fullNameToDb.put(db.getFullName(), db);
-            stateMgr.getGlobalTransactionMgr().addDatabaseTransactionMgr(db.getId());
-            db.getTables().forEach(tbl -> {
-                try {
-                    tbl.onReload();
-                    if (tbl.isTemporaryTable()) {
-                        TemporaryTableMgr temporaryTableMgr = GlobalStateMgr.getCurrentState().getTemporaryTableMgr();
-                        temporaryTableMgr.addTemporaryTable(UUIDUtil.genUUID(), db.getId(), tbl.getName(), tbl.getId());
-                    }
-                } catch (Throwable e) {
-                    LOG.error("reload table failed: {}", tbl, e);
+    private String getSerializedTable(Future<String> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while saving tables to image", e);
+        } catch (ExecutionException e) {
+            throw new IOException("save table to image failed", e.getCause());
+        }
+    }
+
+    public void load(SRMetaBlockReader reader) throws IOException, SRMetaBlockException, SRMetaBlockEOFException {
+        int dbSize = reader.readInt();
+        // Binding table json to objects dominates image loading, so with a parallelism larger than 1 the json
+        // trees are read sequentially from the image and bound to tables on a pool, database by database.
+        int parallelism = Config.metadata_image_load_parallelism;
+        ExecutorService tableLoadExecutor = parallelism > 1 ?
+                ThreadPoolManager.newDaemonFixedThreadPool(parallelism, parallelism * 16, "image-table-loader", false) :
+                null;
+        try {
+            for (int i = 0; i < dbSize; ++i) {
+                Database db = reader.readJson(Database.class);
+                int tableSize = reader.readInt();
+                List<Table> tables = tableLoadExecutor == null ? readTables(reader, tableSize) :
+                        readTablesConcurrently(reader, tableSize, tableLoadExecutor);
+                for (Table table : tables) {
+                    db.registerTableUnlocked(table);
                 }
-            });
+                loadDatabase(db);
+            }
+        } finally {
+            if (tableLoadExecutor != null) {
+                tableLoadExecutor.shutdownNow();
+            }
         }
 
         AutoIncrementInfo autoIncrementInfo = reader.readJson(AutoIncrementInfo.class);
@@ -5302,6 +5349,54 @@ public class LocalMetastore implements ConnectorMetadata, MVRepairHandler {
         GlobalStateMgr.getCurrentState().getEsRepository().loadTableFromCatalog();
     }
 
+    private List<Table> readTables(SRMetaBlockReader reader, int tableSize)
+            throws IOException, SRMetaBlockEOFException {
+        List<Table> tables = new ArrayList<>(tableSize);
+        for (int j = 0; j < tableSize; ++j) {
+            tables.add(reader.readJson(Table.class));
+        }
+        return tables;
+    }
+
+    private List<Table> readTablesConcurrently(SRMetaBlockReader reader, int tableSize, ExecutorService executor)
+            throws IOException, SRMetaBlockEOFException {
+        List<Future<Table>> futures = new ArrayList<>(tableSize);
+        for (int j = 0; j < tableSize; ++j) {
+            JsonElement element = reader.readJsonElement();
+            futures.add(executor.submit(() -> GsonUtils.GSON.fromJson(element, Table.class)));
+        }
+
+        List<Table> tables = new ArrayList<>(tableSize);
+        try {
+            for (Future<Table> future : futures) {
+                tables.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while loading tables from image", e);
+        } catch (ExecutionException e) {
+            throw new IOException("load table from image failed", e.getCause());
+        }
+        return tables;
+    }
+
+    private void loadDatabase(Database db) {
+        idToDb.put(db.getId(), db);
+        fullNameToDb.put(db.getFullName(), db);
+        stateMgr.getGlobalTransactionMgr().addDatabaseTransactionMgr(db.getId());
+        db.getTables().forEach(tbl -> {
+            try {
+                tbl.onReload();
+                if (tbl.isTemporaryTable()) {
+                    TemporaryTableMgr temporaryTableMgr = GlobalStateMgr.getCurrentState().getTemporaryTableMgr();
+                    temporaryTableMgr.addTemporaryTable(UUIDUtil.genUUID(), db.getId(), tbl.getName(), tbl.getId());
+                }
+            } catch (Throwable e) {
+                LOG.error("reload table failed: {}", tbl, e);
+            }
+        });
+    }
+
     @Override
     public void handleMVRepair(Database db, Table table, List<MVRepairHandler.PartitionRepairInfo> partitionRepairInfos) {
         MVMetaVersionRepairer.repairBaseTableVersionChanges(db, table, partitionRepairInfos);
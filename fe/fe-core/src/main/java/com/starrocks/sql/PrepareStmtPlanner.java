@@ -14,7 +14,9 @@
 
 package com.starrocks.sql;
 
+import com.google.common.collect.Lists;
 import com.starrocks.http.HttpConnectContext;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.PrepareStmtContext;
 import com.starrocks.sql.ast.ExecuteStmt;
@@ -31,6 +33,7 @@ import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
 import com.starrocks.sql.optimizer.rewrite.OptDistributionPruner;
 import com.starrocks.sql.optimizer.rewrite.OptOlapPartitionPruner;
 import com.starrocks.sql.optimizer.transformer.LogicalPlan;
+import com.starrocks.sql.optimizer.transformer.OptExprBuilder;
 import com.starrocks.sql.plan.ExecPlan;
 import com.starrocks.sql.plan.PlanFragmentBuilder;
 import com.starrocks.thrift.TResultSinkType;
@@ -49,34 +52,65 @@ public class PrepareStmtPlanner {
         }
 
         PrepareStmtContext prepareStmtContext = session.getPreparedStmt(executeStmt.getStmtName());
-        if (!prepareStmtContext.isCached()) {
-            return planAndCacheExecPlan(stmt, session, prepareStmtContext);
-        } else {
-            if (prepareStmtContext.needReAnalyze(queryStmt, session)) {
+        if (!prepareStmtContext.isCached() || prepareStmtContext.needReAnalyze(queryStmt, session)) {
+            if (!reuseSharedPlan(queryStmt, session, prepareStmtContext)) {
+                if (MetricRepo.hasInit) {
+                    MetricRepo.COUNTER_PREPARED_PLAN_CACHE_MISS.increase(1L);
+                }
                 return planAndCacheExecPlan(stmt, session, prepareStmtContext);
-            } else {
-                ExecPlan execPlan = prepareStmtContext.getExecPlan();
-
-                // use cache and rebuild physical plan
-                rePlan(executeStmt, execPlan.getLogicalPlan(), execPlan.getPhysicalPlan());
-
-                TResultSinkType resultSinkType = session instanceof HttpConnectContext ? TResultSinkType.HTTP_PROTOCAL :
-                        TResultSinkType.MYSQL_PROTOCAL;
-                resultSinkType = queryStmt.hasOutFileClause() ? TResultSinkType.FILE : resultSinkType;
-
-                OptExpression physicalPlan = execPlan.getPhysicalPlan();
-                LogicalPlan logicalPlan = execPlan.getLogicalPlan();
-                ColumnRefFactory columnRefFactory = execPlan.getColumnRefFactory();
-                QueryRelation query = queryStmt.getQueryRelation();
-                List<String> colNames = query.getColumnOutputNames();
-
-                return PlanFragmentBuilder.createPhysicalPlan(
-                        physicalPlan, session, logicalPlan.getOutputColumn(), columnRefFactory,
-                        colNames,
-                        resultSinkType,
-                        !session.getSessionVariable().isSingleNodeExecPlan());
             }
         }
+        if (MetricRepo.hasInit) {
+            MetricRepo.COUNTER_PREPARED_PLAN_CACHE_HIT.increase(1L);
+        }
+
+        // the plan is only used by this connection, see copyPlanForRebind()
+        ExecPlan execPlan = prepareStmtContext.getExecPlan();
+        // use cache and rebuild physical plan
+        rePlan(executeStmt, execPlan.getLogicalPlan(), execPlan.getPhysicalPlan());
+
+        TResultSinkType resultSinkType = session instanceof HttpConnectContext ? TResultSinkType.HTTP_PROTOCAL :
+                TResultSinkType.MYSQL_PROTOCAL;
+        resultSinkType = queryStmt.hasOutFileClause() ? TResultSinkType.FILE : resultSinkType;
+
+        OptExpression physicalPlan = execPlan.getPhysicalPlan();
+        LogicalPlan logicalPlan = execPlan.getLogicalPlan();
+        ColumnRefFactory columnRefFactory = execPlan.getColumnRefFactory();
+        QueryRelation query = queryStmt.getQueryRelation();
+        List<String> colNames = query.getColumnOutputNames();
+
+        return PlanFragmentBuilder.createPhysicalPlan(
+                physicalPlan, session, logicalPlan.getOutputColumn(), columnRefFactory,
+                colNames,
+                resultSinkType,
+                !session.getSessionVariable().isSingleNodeExecPlan());
+    }
+
+    /**
+     * Try to take the plan of the same statement prepared by another connection, return false if there is
+     * no such plan or it is stale.
+     */
+    private static boolean reuseSharedPlan(QueryStatement queryStmt, ConnectContext session,
+                                           PrepareStmtContext prepareStmtContext) {
+        if (!PreparedPlanCache.isEnabled()) {
+            return false;
+        }
+        PreparedPlanCache.Key key = PreparedPlanCache.buildKey(queryStmt, session);
+        if (key == null) {
+            return false;
+        }
+        PreparedPlanCache.CachedPlan cachedPlan = PreparedPlanCache.getInstance().get(key);
+        if (cachedPlan == null) {
+            return false;
+        }
+        prepareStmtContext.cachePlan(copyPlanForRebind(cachedPlan.getExecPlan(), session), cachedPlan.getTableId(),
+                cachedPlan.getLastSchemaUpdateTime());
+        if (prepareStmtContext.needReAnalyze(queryStmt, session)) {
+            PreparedPlanCache.getInstance().invalidate(key);
+            prepareStmtContext.reset();
+            return false;
+        }
+        return true;
     }
 
     private static ExecPlan planAndCacheExecPlan(StatementBase stmt, ConnectContext session,
@@ -89,9 +123,59 @@ public class PrepareStmtPlanner {
         prepareStmtContext.setExecPlan(execPlan);
         prepareStmtContext.updateLastSchemaUpdateTime((QueryStatement) stmt, session);
         prepareStmtContext.cachePlan(execPlan);
+        if (PreparedPlanCache.isEnabled()) {
+            PreparedPlanCache.Key key = PreparedPlanCache.buildKey(stmt, session);
+            if (key != null) {
+                // this connection keeps re-binding its own plan, so the shared plan is a copy of it, which is not
+                // bound to this connection either
+                ExecPlan sharedPlan = copyPlanForRebind(execPlan, null);
+                PreparedPlanCache.getInstance().put(key, new PreparedPlanCache.CachedPlan(sharedPlan,
+                        prepareStmtContext.getTableId(), prepareStmtContext.getLastSchemaUpdateTime()));
+            }
+        }
         return execPlan;
     }
 
+    /**
+     * Copy the operators of a point query plan which are modified by re-binding the parameters, see rePlan().
+     * A plan shared in {@link PreparedPlanCache} is never re-bound itself, every connection re-binds and executes
+     * its own copy, and the rest of the plan is only read.
+     * The copy is bound to the given session, which is null for the shared plan, so that the cache doesn't keep
+     * the session of the connection which planned it.
+     */
+    private static ExecPlan copyPlanForRebind(ExecPlan execPlan, ConnectContext session) {
+        LogicalPlan logicalPlan = execPlan.getLogicalPlan();
+        OptExprBuilder rootBuilder = logicalPlan.getRootBuilder();
+        List<OptExprBuilder> inputBuilders = Lists.newArrayList(rootBuilder.getInputs());
+        Operator operator = logicalPlan.getRoot().getInputs().get(0).getOp();
+        if (operator instanceof LogicalFilterOperator) {
+            LogicalFilterOperator filterOperator = new LogicalFilterOperator.Builder()
+                    .withOperator((LogicalFilterOperator) operator)
+                    .setPredicate(operator.getPredicate().clone())
+                    .build();
+            OptExprBuilder filterBuilder = inputBuilders.get(0);
+            inputBuilders.set(0, new OptExprBuilder(filterOperator, filterBuilder.getInputs(),
+                    filterBuilder.getExpressionMapping()));
+        }
+        LogicalPlan logicalPlanCopy = new LogicalPlan(
+                new OptExprBuilder(logicalPlan.getRoot().getOp(), inputBuilders, rootBuilder.getExpressionMapping()),
+                logicalPlan.getOutputColumn(), logicalPlan.getCorrelation());
+
+        OptExpression physicalPlan = execPlan.getPhysicalPlan();
+        if (physicalPlan.getOp() instanceof PhysicalOlapScanOperator) {
+            PhysicalOlapScanOperator scanOperator = new PhysicalOlapScanOperator.Builder()
+                    .withOperator((PhysicalOlapScanOperator) physicalPlan.getOp())
+                    .build();
+            physicalPlan = OptExpression.builder().with(physicalPlan).setOp(scanOperator).build();
+        }
+
+        ExecPlan copy = new ExecPlan(session, execPlan.getColNames(), physicalPlan,
+                execPlan.getOutputColumns());
+        copy.setLogicalPlan(logicalPlanCopy);
+        copy.setColumnRefFactory(execPlan.getColumnRefFactory());
+        return copy;
+    }
+
     private static void rePlan(ExecuteStmt executeStmt,
                                LogicalPlan logicalPlan,
                                OptExpression optimizedPlan) {
@@ -0,0 +1,170 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import com.starrocks.common.Config;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.sql.analyzer.AstToSQLBuilder;
+import com.starrocks.sql.ast.StatementBase;
+import com.starrocks.sql.ast.UserIdentity;
+import com.starrocks.sql.plan.ExecPlan;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * PreparedPlanCache shares the optimized point query plans of prepared statements between connections.
+ * The statement text is normalized by the prepare statement itself, every literal the client wants to bind
+ * is a `?` parameter, so two connections preparing the same statement get the same key and the later one
+ * only re-binds the parameters and re-runs the partition and tablet pruning, see {@link PrepareStmtPlanner}.
+ * <p>
+ * A cached plan is only reused when the user, the roles, the database and the session variables are the same
+ * as when the plan was built, and the table it scans has not been changed since then.
+ */
+public class PreparedPlanCache {
+    private static final Logger LOG = LogManager.getLogger(PreparedPlanCache.class);
+
+    private static final PreparedPlanCache INSTANCE = new PreparedPlanCache();
+
+    private final Cache<Key, CachedPlan> cache;
+
+    private PreparedPlanCache() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(Config.prepared_plan_cache_max_size, 0))
+                .build();
+    }
+
+    public static PreparedPlanCache getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return Config.prepared_plan_cache_max_size > 0;
+    }
+
+    /**
+     * Build the key of the prepared statement for the current connection state, null if the session variables
+     * can not be serialized and the plan must not be shared.
+     */
+    public static Key buildKey(StatementBase innerStmt, ConnectContext session) {
+        try {
+            Set<Long> roleIds = session.getCurrentRoleIds() == null ? ImmutableSet.of() :
+                    ImmutableSet.copyOf(session.getCurrentRoleIds());
+            return new Key(AstToSQLBuilder.toSQL(innerStmt), session.getCurrentCatalog(), session.getDatabase(),
+                    session.getCurrentUserIdentity(), roleIds, session.getSessionVariable().getJsonString());
+        } catch (IOException e) {
+            LOG.warn("failed to build prepared plan cache key", e);
+            return null;
+        }
+    }
+
+    public CachedPlan get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(Key key, CachedPlan plan) {
+        cache.put(key, plan);
+    }
+
+    public void invalidate(Key key) {
+        cache.invalidate(key);
+    }
+
+    @VisibleForTesting
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    @VisibleForTesting
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    // the cache is sized by prepared_plan_cache_max_size when it is created
+    @VisibleForTesting
+    public void setMaxSize(long maxSize) {
+        cache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(maxSize));
+    }
+
+    public static class CachedPlan {
+        private final ExecPlan execPlan;
+        private final long tableId;
+        private final long lastSchemaUpdateTime;
+
+        public CachedPlan(ExecPlan execPlan, long tableId, long lastSchemaUpdateTime) {
+            this.execPlan = execPlan;
+            this.tableId = tableId;
+            this.lastSchemaUpdateTime = lastSchemaUpdateTime;
+        }
+
+        public ExecPlan getExecPlan() {
+            return execPlan;
+        }
+
+        public long getTableId() {
+            return tableId;
+        }
+
+        public long getLastSchemaUpdateTime() {
+            return lastSchemaUpdateTime;
+        }
+    }
+
+    public static class Key {
+        private final String sql;
+        private final String catalog;
+        private final String database;
+        private final UserIdentity user;
+        private final Set<Long> roleIds;
+        private final String sessionVariables;
+
+        public Key(String sql, String catalog, String database, UserIdentity user, Set<Long> roleIds,
+                   String sessionVariables) {
+            this.sql = sql;
+            this.catalog = catalog;
+            this.database = database;
+            this.user = user;
+            this.roleIds = roleIds;
+            this.sessionVariables = sessionVariables;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(sql, key.sql) && Objects.equals(catalog, key.catalog) &&
+                    Objects.equals(database, key.database) && Objects.equals(user, key.user) &&
+                    Objects.equals(roleIds, key.roleIds) && Objects.equals(sessionVariables, key.sessionVariables);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, catalog, database, user, roleIds, sessionVariables);
+        }
+    }
+}
@@ -136,6 +136,7 @@ public class StatementPlanner {
                                                     planStartTime);
                 }
                 setOutfileSink(queryStmt, plan);
+                setHttpResultColumnNames(plan);
                 return plan;
             } else if (stmt instanceof InsertStmt) {
                 return planInsertStmt(plannerMetaLocker, (InsertStmt) stmt, session);
@@ -414,6 +415,18 @@ public class StatementPlanner {
         resultSink.setOutfileInfo(queryStmt.getOutFileClause(), columnOutputNames);
     }
 
+    // the arrow format of http sql names the fields of its schema by the output column names
+    private static void setHttpResultColumnNames(ExecPlan plan) {
+        PlanFragment topFragment = plan.getTopFragment();
+        if (!(topFragment.getSink() instanceof ResultSink)) {
+            return;
+        }
+        ResultSink resultSink = (ResultSink) topFragment.getSink();
+        if (resultSink.getSinkType() == TResultSinkType.HTTP_PROTOCAL) {
+            resultSink.setColumnNames(plan.getColNames());
+        }
+    }
+
     private static void beginTransaction(DmlStmt stmt, ConnectContext session)
             throws BeginTransactionException, RunningTxnExceedException, AnalysisException, LabelAlreadyUsedException,
             DuplicatedRequestException {
@@ -24,15 +24,28 @@ import com.starrocks.analysis.ParseNode;
 import com.starrocks.catalog.MaterializedView;
 import com.starrocks.catalog.MvPlanContext;
 import com.starrocks.common.Config;
+import com.starrocks.common.ThreadPoolManager;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.qe.SessionVariable;
 import com.starrocks.sql.analyzer.AstToSQLBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 public class CachingMvPlanContextBuilder {
 
@@ -113,6 +126,93 @@ public class CachingMvPlanContextBuilder {
         }
     }
 
+    /**
+     * Build plan contexts of the active mvs which are not in the plan cache concurrently, so later
+     * {@link #getPlanContext} calls of the caller hit the cache. At most `parallelism` mvs of one caller are
+     * being built at the same time, and an mv is built by the caller itself when the pool is full. The pool
+     * threads build in a copy of the caller's session, like the caller would do. Failures are ignored here and
+     * surface again when the caller loads the mv.
+     */
+    public void loadPlanContextsConcurrently(Collection<MaterializedView> mvs, int parallelism) {
+        if (parallelism <= 1) {
+            return;
+        }
+        List<MaterializedView> missingMvs = mvs.stream()
+                .filter(MaterializedView::isActive)
+                .filter(mv -> mvPlanContextCache.getIfPresent(mv) == null)
+                .collect(Collectors.toList());
+        if (missingMvs.size() <= 1) {
+            return;
+        }
+        ConnectContext caller = ConnectContext.get();
+        Deque<Future<?>> futures = new ArrayDeque<>();
+        try {
+            for (MaterializedView mv : missingMvs) {
+                if (futures.size() >= parallelism) {
+                    waitForPlanContext(futures.poll());
+                }
+                ConnectContext context = copySession(caller);
+                try {
+                    futures.add(getPlanContextBuildExecutor().submit(() -> {
+                        try (var guard = context.bindScope()) {
+                            getPlanContext(mv, true);
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    LOG.debug("mv plan context builder is full, build mv {} in the caller", mv.getName());
+                    getPlanContext(mv, true);
+                }
+            }
+            while (!futures.isEmpty()) {
+                waitForPlanContext(futures.poll());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("interrupted while building mv plan contexts concurrently", e);
+        }
+    }
+
+    private static void waitForPlanContext(Future<?> future) throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            LOG.warn("build mv plan context failed", e.getCause());
+        }
+    }
+
+    /**
+     * A session for a pool thread to build a plan context in. The session variables are copied because the
+     * planning may change them, and the mv plans are planned without any session when there is no caller.
+     */
+    private static ConnectContext copySession(ConnectContext caller) {
+        ConnectContext context = new ConnectContext();
+        if (caller == null) {
+            return context;
+        }
+        context.setGlobalStateMgr(caller.getGlobalStateMgr());
+        context.setSessionVariable((SessionVariable) caller.getSessionVariable().clone());
+        context.setQualifiedUser(caller.getQualifiedUser());
+        context.setCurrentUserIdentity(caller.getCurrentUserIdentity());
+        context.setCurrentRoleIds(caller.getCurrentRoleIds());
+        context.setCurrentCatalog(caller.getCurrentCatalog());
+        context.setDatabase(caller.getDatabase());
+        return context;
+    }
+
+    // Created on first use, so FE without mvs never starts the pool. A full pool rejects the task at once instead
+    // of blocking the query, see loadPlanContextsConcurrently().
+    private static class PlanContextBuildExecutor {
+        private static final ExecutorService EXECUTOR = ThreadPoolManager.newDaemonThreadPool(
+                Config.mv_plan_context_build_threads, Config.mv_plan_context_build_threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(1024), new ThreadPoolExecutor.AbortPolicy(), "mv-plan-context-builder",
+                true);
+    }
+
+    @VisibleForTesting
+    static ExecutorService getPlanContextBuildExecutor() {
+        return PlanContextBuildExecutor.EXECUTOR;
+    }
+
     /**
      * Get plan cache only if mv is present in the plan cache, otherwise null is returned.
      */
@@ -599,6 +599,13 @@ public class MvRewritePreprocessor {
     @VisibleForTesting
     public Set<MvWithPlanContext> getMvWithPlanContext(Set<MaterializedView> validMVs) {
         // filter mvs which are active and have valid plans
+        SessionVariable sessionVariable = connectContext.getSessionVariable();
+        if (sessionVariable.isEnableMaterializedViewPlanCache()) {
+            // mv plans are independent of each other, build the missing ones concurrently and pick them
+            // from the cache below.
+            CachingMvPlanContextBuilder.getInstance().loadPlanContextsConcurrently(validMVs,
+                    sessionVariable.getCboMaterializedViewPlanBuildParallelism());
+        }
         Set<MvWithPlanContext> mvWithPlanContexts = Sets.newHashSet();
         for (MaterializedView mv : validMVs) {
             try {
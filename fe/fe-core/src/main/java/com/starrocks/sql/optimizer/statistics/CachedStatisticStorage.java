@@ -52,41 +52,34 @@ public class CachedStatisticStorage implements StatisticStorage {
     private final Executor statsCacheRefresherExecutor = Executors.newFixedThreadPool(Config.statistic_cache_thread_pool_size,
             new ThreadFactoryBuilder().setDaemon(true).setNameFormat("stats-cache-refresher-%d").build());
 
-    AsyncLoadingCache<TableStatsCacheKey, Optional<Long>> tableStatsCache = Caffeine.newBuilder()
-            .expireAfterWrite(Config.statistic_update_interval_sec * 2, TimeUnit.SECONDS)
-            .refreshAfterWrite(Config.statistic_update_interval_sec, TimeUnit.SECONDS)
-            .maximumSize(Config.statistic_cache_columns)
-            .executor(statsCacheRefresherExecutor)
+    AsyncLoadingCache<TableStatsCacheKey, Optional<Long>> tableStatsCache = newCacheBuilder()
             .buildAsync(new TableStatsCacheLoader());
 
-    AsyncLoadingCache<ColumnStatsCacheKey, Optional<ColumnStatistic>> cachedStatistics = Caffeine.newBuilder()
-            .expireAfterWrite(Config.statistic_update_interval_sec * 2, TimeUnit.SECONDS)
-            .refreshAfterWrite(Config.statistic_update_interval_sec, TimeUnit.SECONDS)
-            .maximumSize(Config.statistic_cache_columns)
-            .executor(statsCacheRefresherExecutor)
+    AsyncLoadingCache<ColumnStatsCacheKey, Optional<ColumnStatistic>> cachedStatistics = newCacheBuilder()
             .buildAsync(new ColumnBasicStatsCacheLoader());
 
     AsyncLoadingCache<ConnectorTableColumnKey, Optional<ConnectorTableColumnStats>> connectorTableCachedStatistics =
-            Caffeine.newBuilder().expireAfterWrite(Config.statistic_update_interval_sec * 2, TimeUnit.SECONDS)
-            .refreshAfterWrite(Config.statistic_update_interval_sec, TimeUnit.SECONDS)
-            .maximumSize(Config.statistic_cache_columns)
-            .executor(statsCacheRefresherExecutor)
-            .buildAsync(new ConnectorColumnStatsCacheLoader());
-
-    AsyncLoadingCache<ColumnStatsCacheKey, Optional<Histogram>> histogramCache = Caffeine.newBuilder()
-            .expireAfterWrite(Config.statistic_update_interval_sec * 2, TimeUnit.SECONDS)
-            .refreshAfterWrite(Config.statistic_update_interval_sec, TimeUnit.SECONDS)
-            .maximumSize(Config.statistic_cache_columns)
-            .executor(statsCacheRefresherExecutor)
+            newCacheBuilder().buildAsync(new ConnectorColumnStatsCacheLoader());
+
+    AsyncLoadingCache<ColumnStatsCacheKey, Optional<Histogram>> histogramCache = newCacheBuilder()
             .buildAsync(new ColumnHistogramStatsCacheLoader());
 
-    AsyncLoadingCache<ConnectorTableColumnKey, Optional<Histogram>> connectorHistogramCache = Caffeine.newBuilder()
-            .expireAfterWrite(Config.statistic_update_interval_sec * 2, TimeUnit.SECONDS)
-            .refreshAfterWrite(Config.statistic_update_interval_sec, TimeUnit.SECONDS)
-            .maximumSize(Config.statistic_cache_columns)
-            .executor(statsCacheRefresherExecutor)
+    AsyncLoadingCache<ConnectorTableColumnKey, Optional<Histogram>> connectorHistogramCache = newCacheBuilder()
             .buildAsync(new ConnectorHistogramColumnStatsCacheLoader());
 
+    private Caffeine<Object, Object> newCacheBuilder() {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(Config.statistic_cache_columns)
+                .executor(statsCacheRefresherExecutor);
+        if (Config.enable_statistic_cache_push_invalidation) {
+            // entries are invalidated by AnalyzeMgr when the statistics are rewritten, no need to poll
+            // the statistics table for them.
+            return builder.expireAfterWrite(Config.statistic_cache_push_invalidation_expire_sec, TimeUnit.SECONDS);
+        }
+        return builder.expireAfterWrite(Config.statistic_update_interval_sec * 2, TimeUnit.SECONDS)
+                .refreshAfterWrite(Config.statistic_update_interval_sec, TimeUnit.SECONDS);
+    }
+
     @Override
     public Map<Long, Optional<Long>> getTableStatistics(Long tableId, Collection<Partition> partitions) {
         // get Statistics Table column info, just return default column statistics
@@ -0,0 +1,123 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.parser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.starrocks.common.Config;
+import org.antlr.v4.runtime.CommonTokenStream;
+
+import java.util.Objects;
+
+/**
+ * ParseTreeCache shares the ANTLR parse trees of the statements between connections, so that a statement sent
+ * again, like the queries of a dashboard, skips the lexer and the adaptive prediction of the parser, which is the
+ * most expensive part of parsing.
+ * <p>
+ * A parse tree and its tokens are never modified after parsing, and only read when building the AST, so they can
+ * be used by several threads at the same time. The AST itself is not cached, it is modified by the analyzer and
+ * a new one is built from the parse tree for every execution. The key is the exact statement text, along with the
+ * session variables the lexer and the parser depend on. Only the statements which are parsed successfully are
+ * cached.
+ */
+public class ParseTreeCache {
+    private static final ParseTreeCache INSTANCE = new ParseTreeCache();
+
+    private final Cache<Key, ParseTree> cache;
+
+    private ParseTreeCache() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(Config.parse_tree_cache_max_size, 0))
+                .build();
+    }
+
+    public static ParseTreeCache getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled(String sql) {
+        return Config.parse_tree_cache_max_size > 0 && sql.length() <= Config.parse_tree_cache_max_sql_length;
+    }
+
+    public ParseTree get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(Key key, ParseTree parseTree) {
+        cache.put(key, parseTree);
+    }
+
+    @VisibleForTesting
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    @VisibleForTesting
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public static class ParseTree {
+        private final StarRocksParser.SqlStatementsContext context;
+        private final CommonTokenStream tokenStream;
+
+        public ParseTree(StarRocksParser.SqlStatementsContext context, CommonTokenStream tokenStream) {
+            this.context = context;
+            this.tokenStream = tokenStream;
+        }
+
+        public StarRocksParser.SqlStatementsContext getContext() {
+            return context;
+        }
+
+        public CommonTokenStream getTokenStream() {
+            return tokenStream;
+        }
+    }
+
+    public static class Key {
+        private final String sql;
+        private final long sqlMode;
+        private final int tokenLimit;
+        private final int exprLimit;
+
+        public Key(String sql, long sqlMode, int tokenLimit, int exprLimit) {
+            this.sql = sql;
+            this.sqlMode = sqlMode;
+            this.tokenLimit = tokenLimit;
+            this.exprLimit = exprLimit;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return sqlMode == key.sqlMode && tokenLimit == key.tokenLimit && exprLimit == key.exprLimit &&
+                    Objects.equals(sql, key.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, sqlMode, tokenLimit, exprLimit);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.starrocks.common.Config;
 import com.starrocks.common.Pair;
 import com.starrocks.connector.parser.trino.TrinoParserUtils;
 import com.starrocks.connector.trino.TrinoParserUnsupportedException;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.OriginStatement;
 import com.starrocks.qe.SessionVariable;
@@ -134,12 +135,11 @@ public class SqlParser {
 
     private static List<StatementBase> parseWithStarRocksDialect(String sql, SessionVariable sessionVariable) {
         List<StatementBase> statements = Lists.newArrayList();
-        Pair<ParserRuleContext, StarRocksParser> pair = invokeParser(sql, sessionVariable, StarRocksParser::sqlStatements);
-        StarRocksParser.SqlStatementsContext sqlStatementsContext = (StarRocksParser.SqlStatementsContext) pair.first;
-        List<StarRocksParser.SingleStatementContext> singleStatementContexts = sqlStatementsContext.singleStatement();
+        ParseTreeCache.ParseTree parseTree = parseStatements(sql, sessionVariable);
+        List<StarRocksParser.SingleStatementContext> singleStatementContexts = parseTree.getContext().singleStatement();
         for (int idx = 0; idx < singleStatementContexts.size(); ++idx) {
             // collect hint info
-            HintCollector collector = new HintCollector((CommonTokenStream) pair.second.getTokenStream(), sessionVariable);
+            HintCollector collector = new HintCollector(parseTree.getTokenStream(), sessionVariable);
             collector.collect(singleStatementContexts.get(idx));
             AstBuilder astBuilder = GlobalStateMgr.getCurrentState().getSqlParser().astBuilderFactory
                     .create(sessionVariable.getSqlMode(), collector.getContextWithHintMap());
@@ -156,6 +156,36 @@ public class SqlParser {
         return statements;
     }
 
+    private static ParseTreeCache.ParseTree parseStatements(String sql, SessionVariable sessionVariable) {
+        ParseTreeCache.Key key = null;
+        if (ParseTreeCache.isEnabled(sql)) {
+            key = new ParseTreeCache.Key(sql, sessionVariable.getSqlMode(), getTokenLimit(sessionVariable),
+                    getExprLimit(sessionVariable));
+            ParseTreeCache.ParseTree parseTree = ParseTreeCache.getInstance().get(key);
+            if (MetricRepo.hasInit) {
+                if (parseTree != null) {
+                    MetricRepo.COUNTER_PARSE_TREE_CACHE_HIT.increase(1L);
+                } else {
+                    MetricRepo.COUNTER_PARSE_TREE_CACHE_MISS.increase(1L);
+                }
+            }
+            if (parseTree != null) {
+                return parseTree;
+            }
+        }
+
+        Pair<ParserRuleContext, StarRocksParser> pair = invokeParser(sql, sessionVariable, StarRocksParser::sqlStatements);
+        CommonTokenStream tokenStream = (CommonTokenStream) pair.second.getTokenStream();
+        ParseTreeCache.ParseTree parseTree =
+                new ParseTreeCache.ParseTree((StarRocksParser.SqlStatementsContext) pair.first, tokenStream);
+        if (key != null) {
+            // make sure the cached token stream is only read from now on
+            tokenStream.fill();
+            ParseTreeCache.getInstance().put(key, parseTree);
+        }
+        return parseTree;
+    }
+
     /**
      * We need not only sqlMode but also other parameters to define the property of parser.
      * Please consider use {@link #parse(String, SessionVariable)}
@@ -228,8 +258,8 @@ public class SqlParser {
         StarRocksLexer lexer = new StarRocksLexer(new CaseInsensitiveStream(CharStreams.fromString(sql)));
         lexer.setSqlMode(sessionVariable.getSqlMode());
         CommonTokenStream tokenStream = new CommonTokenStream(lexer);
-        int exprLimit = Math.max(Config.expr_children_limit, sessionVariable.getExprChildrenLimit());
-        int tokenLimit = Math.max(MIN_TOKEN_LIMIT, sessionVariable.getParseTokensLimit());
+        int exprLimit = getExprLimit(sessionVariable);
+        int tokenLimit = getTokenLimit(sessionVariable);
         StarRocksParser parser = new StarRocksParser(tokenStream);
         parser.removeErrorListeners();
         parser.addErrorListener(new ErrorHandler());
@@ -243,12 +273,18 @@ public class SqlParser {
             parser.setInterpreter(new ParserATNSimulator(parser, parser.getATN(), decisionDFA, new PredictionContextCache()));
         }
 
+        long startTime = System.nanoTime();
         try {
             // inspire by https://github.com/antlr/antlr4/issues/192#issuecomment-15238595
             // try SLL mode with BailErrorStrategy firstly
             parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
             parser.setErrorHandler(new StarRocksBailErrorStrategy());
-            return Pair.create(parseFunction.apply(parser), parser);
+            Pair<ParserRuleContext, StarRocksParser> result = Pair.create(parseFunction.apply(parser), parser);
+            if (MetricRepo.hasInit) {
+                MetricRepo.COUNTER_SQL_PARSE_SLL.increase(1L);
+                MetricRepo.COUNTER_SQL_PARSE_SLL_TIME_US.increase((System.nanoTime() - startTime) / 1000);
+            }
+            return result;
         } catch (ParseCancellationException e) {
             // if we fail, parse with LL mode with our own error strategy
             // rewind input stream
@@ -256,10 +292,25 @@ public class SqlParser {
             parser.reset();
             parser.getInterpreter().setPredictionMode(PredictionMode.LL);
             parser.setErrorHandler(new StarRocksDefaultErrorStrategy());
-            return Pair.create(parseFunction.apply(parser), parser);
+            try {
+                return Pair.create(parseFunction.apply(parser), parser);
+            } finally {
+                if (MetricRepo.hasInit) {
+                    MetricRepo.COUNTER_SQL_PARSE_LL.increase(1L);
+                    MetricRepo.COUNTER_SQL_PARSE_LL_TIME_US.increase((System.nanoTime() - startTime) / 1000);
+                }
+            }
         }
     }
 
+    private static int getExprLimit(SessionVariable sessionVariable) {
+        return Math.max(Config.expr_children_limit, sessionVariable.getExprChildrenLimit());
+    }
+
+    private static int getTokenLimit(SessionVariable sessionVariable) {
+        return Math.max(MIN_TOKEN_LIMIT, sessionVariable.getParseTokensLimit());
+    }
+
     public static String getTokenDisplay(Token t) {
         if (t == null) {
             return "<no token>";
@@ -92,6 +92,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -124,7 +125,11 @@ public class DatabaseTransactionMgr {
 
     /*
      * transactionLock is used to control the access to database transaction manager data
-     * Modifications to the following multiple data structures must be protected by this lock
+     * Modifications to the following multiple data structures must be protected by this lock.
+     * Point lookups by transaction id or label do not take it, see getTransactionState().
+     * Begin, commit and abort of all the tables of the database still serialize on this single lock, it is not
+     * sharded by table or bucket: the running transaction counters, the transaction graph, maxCommitTs and the
+     * label uniqueness check span the tables of the database.
      * */
     private final ReentrantReadWriteLock transactionLock = new ReentrantReadWriteLock(true);
 
@@ -138,9 +143,13 @@ public class DatabaseTransactionMgr {
      * idToRunningTransactionState: transactionId -> running TransactionState
      * idToFinalStatusTransactionState: transactionId -> final status TransactionState
      * finalStatusTransactionStateDeque: to store transactionStates with final status
+     *
+     * The two id maps are concurrent so that they can be read without transactionLock. A transaction moving to
+     * a final status is put into idToFinalStatusTransactionState before it is removed from
+     * idToRunningTransactionState, a lock-free reader probing them in that order always finds it.
      * */
-    private final Map<Long, TransactionState> idToRunningTransactionState = Maps.newHashMap();
-    private final Map<Long, TransactionState> idToFinalStatusTransactionState = Maps.newHashMap();
+    private final Map<Long, TransactionState> idToRunningTransactionState = new ConcurrentHashMap<>();
+    private final Map<Long, TransactionState> idToFinalStatusTransactionState = new ConcurrentHashMap<>();
     private final ArrayDeque<TransactionState> finalStatusTransactionStateDeque = new ArrayDeque<>();
 
     // store committed transactions' dependency relationships
@@ -149,8 +158,9 @@ public class DatabaseTransactionMgr {
     /*
      * `labelToTxnIds` is used for checking if label already used. map label to transaction id
      * One label may correspond to multiple transactions, and only one is success.
+     * Both the map and the id sets are concurrent, so label lookups can be done without transactionLock.
      */
-    private final Map<String, Set<Long>> labelToTxnIds = Maps.newHashMap();
+    private final Map<String, Set<Long>> labelToTxnIds = new ConcurrentHashMap<>();
     private long maxCommitTs = 0;
     public DatabaseTransactionMgr(long dbId, GlobalStateMgr globalStateMgr) {
         this.dbId = dbId;
@@ -466,6 +476,7 @@ public class DatabaseTransactionMgr {
                 updateCatalogAfterCommittedSpan.end();
             }
             LOG.info("transaction:[{}] successfully committed", transactionState);
+            globalStateMgr.getPublishVersionDaemon().onPublishEvent();
             return waiter;
         } finally {
             transactionState.writeUnlock();
@@ -507,13 +518,7 @@ public class DatabaseTransactionMgr {
                     transactionId);
             return;
         }
-        TransactionState transactionState = null;
-        readLock();
-        try {
-            transactionState = idToRunningTransactionState.get(transactionId);
-        } finally {
-            readUnlock();
-        }
+        TransactionState transactionState = idToRunningTransactionState.get(transactionId);
         if (transactionState == null) {
             // If the transaction state does not exist, this task might have been aborted by
             // the txntimeoutchecker thread. We need to perform some additional work.
@@ -608,13 +613,15 @@ public class DatabaseTransactionMgr {
         return dbId;
     }
 
+    /**
+     * Lock free, the id maps are concurrent and a transaction is always reachable from one of them.
+     * Loads poll this a lot, taking the fair transactionLock here would queue them behind every commit.
+     * The returned state may change concurrently. Its status and the times, reason, error message and
+     * attachment of the status are volatile, and the status is set last on every transition, so a reader
+     * which sees a status also sees what was set along with it.
+     */
     public TransactionState getTransactionState(Long transactionId) {
-        readLock();
-        try {
-            return unprotectedGetTransactionState(transactionId);
-        } finally {
-            readUnlock();
-        }
+        return unprotectedGetTransactionState(transactionId);
     }
 
     private TransactionState unprotectedGetTransactionState(Long transactionId) {
@@ -710,52 +717,34 @@ public class DatabaseTransactionMgr {
         info.add(txnState.getErrMsg());
     }
 
+    // The label lookups below are lock free like getTransactionState(). The transaction of a label may be
+    // removed as expired in between, which is reported the same way as an unknown label.
     public TransactionStatus getLabelState(String label) {
-        readLock();
-        try {
-            Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
-            if (existingTxnIds == null || existingTxnIds.isEmpty()) {
-                return TransactionStatus.UNKNOWN;
-            }
-            // find the latest txn (which id is largest)
-            long maxTxnId = existingTxnIds.stream().max(Comparator.comparingLong(Long::valueOf)).orElse(Long.MIN_VALUE);
-            return unprotectedGetTransactionState(maxTxnId).getTransactionStatus();
-        } finally {
-            readUnlock();
-        }
+        TransactionState transactionState = getLabelTransactionState(label);
+        return transactionState == null ? TransactionStatus.UNKNOWN : transactionState.getTransactionStatus();
     }
 
     public TransactionState getLabelTransactionState(String label) {
-        readLock();
-        try {
-            Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
-            if (existingTxnIds == null || existingTxnIds.isEmpty()) {
-                return null;
-            }
-            // find the latest txn (which id is largest)
-            long maxTxnId = existingTxnIds.stream().max(Comparator.comparingLong(Long::valueOf)).orElse(Long.MIN_VALUE);
-            return unprotectedGetTransactionState(maxTxnId);
-        } finally {
-            readUnlock();
+        Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
+        if (existingTxnIds == null || existingTxnIds.isEmpty()) {
+            return null;
         }
+        // find the latest txn (which id is largest)
+        long maxTxnId = existingTxnIds.stream().max(Comparator.comparingLong(Long::valueOf)).orElse(Long.MIN_VALUE);
+        return unprotectedGetTransactionState(maxTxnId);
     }
 
     public Long getLabelTxnID(String label) {
-        readLock();
-        try {
-            Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
-            if (existingTxnIds == null || existingTxnIds.isEmpty()) {
-                return (long) -1;
-            }
-            // find the latest txn (which id is largest)
-            Optional<Long> v = existingTxnIds.stream().max(Comparator.comparingLong(Long::valueOf));
-            if (v.isPresent()) {
-                return v.get();
-            } else {
-                return (long) -1;
-            }
-        } finally {
-            readUnlock();
+        Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
+        if (existingTxnIds == null || existingTxnIds.isEmpty()) {
+            return (long) -1;
+        }
+        // find the latest txn (which id is largest)
+        Optional<Long> v = existingTxnIds.stream().max(Comparator.comparingLong(Long::valueOf));
+        if (v.isPresent()) {
+            return v.get();
+        } else {
+            return (long) -1;
         }
     }
 
@@ -992,8 +981,8 @@ public class DatabaseTransactionMgr {
             try {
                 writeLock();
                 try {
-                    transactionState.setTransactionStatus(TransactionStatus.ABORTED);
                     transactionState.setReason("db is dropped");
+                    transactionState.setTransactionStatus(TransactionStatus.ABORTED);
                     LOG.warn("db is dropped during transaction, abort transaction {}", transactionState);
                     unprotectUpsertTransactionState(transactionState, false);
                 } finally {
@@ -1347,6 +1336,8 @@ public class DatabaseTransactionMgr {
                 transactionGraph.add(transactionState.getTransactionId(), transactionState.getTableIdList());
             }
         } else {
+            // publish to the final map first, see the comment of idToRunningTransactionState
+            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             if (idToRunningTransactionState.remove(transactionState.getTransactionId()) != null) {
                 if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
                     runningRoutineLoadTxnNums--;
@@ -1355,7 +1346,6 @@ public class DatabaseTransactionMgr {
                 }
             }
             transactionGraph.remove(transactionState.getTransactionId());
-            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             finalStatusTransactionStateDeque.add(transactionState);
         }
         updateTxnLabels(transactionState);
@@ -1392,6 +1382,7 @@ public class DatabaseTransactionMgr {
         }
 
         for (TransactionState transactionState : stateBatch.getTransactionStates()) {
+            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             if (idToRunningTransactionState.remove(transactionState.getTransactionId()) != null) {
                 if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
                     runningRoutineLoadTxnNums--;
@@ -1400,14 +1391,13 @@ public class DatabaseTransactionMgr {
                 }
             }
             transactionGraph.remove(transactionState.getTransactionId());
-            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             finalStatusTransactionStateDeque.add(transactionState);
             updateTxnLabels(transactionState);
         }
     }
 
     private void updateTxnLabels(TransactionState transactionState) {
-        Set<Long> txnIds = labelToTxnIds.computeIfAbsent(transactionState.getLabel(), k -> Sets.newHashSet());
+        Set<Long> txnIds = labelToTxnIds.computeIfAbsent(transactionState.getLabel(), k -> Sets.newConcurrentHashSet());
         txnIds.add(transactionState.getTransactionId());
     }
 
@@ -1840,8 +1830,8 @@ public class DatabaseTransactionMgr {
             try {
                 writeLock();
                 try {
-                    transactionState.setTransactionStatus(TransactionStatus.ABORTED);
                     transactionState.setReason("db is dropped");
+                    transactionState.setTransactionStatus(TransactionStatus.ABORTED);
                     LOG.warn("db is dropped during transaction, abort transaction {}", transactionState);
                     unprotectUpsertTransactionState(transactionState, false);
                 } finally {
@@ -2001,13 +1991,7 @@ public class DatabaseTransactionMgr {
     }
 
     public TTransactionStatus getTxnStatus(long txnId) {
-        TransactionState transactionState;
-        readLock();
-        try {
-            transactionState = unprotectedGetTransactionState(txnId);
-        } finally {
-            readUnlock();
-        }
+        TransactionState transactionState = getTransactionState(txnId);
         return Optional.ofNullable(transactionState)
                 .map(TransactionState::getTransactionStatus)
                 .map(TransactionStatus::toThrift)
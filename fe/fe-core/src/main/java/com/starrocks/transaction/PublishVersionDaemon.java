@@ -52,6 +52,7 @@ import com.starrocks.lake.PartitionPublishVersionData;
 import com.starrocks.lake.TxnInfoHelper;
 import com.starrocks.lake.Utils;
 import com.starrocks.lake.compaction.Quantiles;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.proto.DeleteTxnLogRequest;
 import com.starrocks.proto.TxnInfoPB;
 import com.starrocks.rpc.BrpcProxy;
@@ -104,6 +105,16 @@ public class PublishVersionDaemon extends FrontendDaemon {
         super("PUBLISH_VERSION", Config.publish_version_interval_ms);
     }
 
+    /**
+     * Called when a transaction is committed or a publish version task is finished, so that the transaction is
+     * published or finished in the next cycle right away instead of after publish_version_interval_ms.
+     */
+    public void onPublishEvent() {
+        if (Config.enable_event_driven_publish_version) {
+            wakeup();
+        }
+    }
+
     @Override
     protected void runAfterCatalogReady() {
         try {
@@ -283,6 +294,7 @@ public class PublishVersionDaemon extends FrontendDaemon {
 
         // every backend-transaction identified a single task
         AgentBatchTask batchTask = new AgentBatchTask();
+        int numPublishedTxns = 0;
         // traverse all ready transactions and dispatch the version publish task to all backends
         for (TransactionState transactionState : readyTransactionStates) {
             List<PublishVersionTask> tasks = transactionState.createPublishVersionTask();
@@ -292,11 +304,17 @@ public class PublishVersionDaemon extends FrontendDaemon {
             }
             if (!tasks.isEmpty()) {
                 transactionState.setHasSendTask(true);
+                numPublishedTxns++;
                 LOG.info("send publish tasks for txn_id: {}", transactionState.getTransactionId());
             }
         }
         if (!batchTask.getAllTasks().isEmpty()) {
+            // the tasks of all these transactions go to each backend in one rpc, the backend publishes them as
+            // one group and flushes the meta once
             AgentTaskExecutor.submit(batchTask);
+            if (MetricRepo.hasInit) {
+                MetricRepo.HISTO_TXN_PUBLISH_BATCH.update(numPublishedTxns);
+            }
         }
 
         // FIXME(murphy) refresh the mv in new publish mechanism
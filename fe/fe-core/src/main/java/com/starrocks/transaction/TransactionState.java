@@ -232,7 +232,7 @@ public class TransactionState implements Writable {
     @SerializedName("tc")
     private TxnCoordinator txnCoordinator;
     @SerializedName("ts")
-    private TransactionStatus transactionStatus;
+    private volatile TransactionStatus transactionStatus;
     @SerializedName("st")
     private LoadJobSourceType sourceType;
     @SerializedName("pt")
@@ -240,11 +240,11 @@ public class TransactionState implements Writable {
     @SerializedName("pet")
     private long preparedTime;
     @SerializedName("ct")
-    private long commitTime;
+    private volatile long commitTime;
     @SerializedName("ft")
-    private long finishTime;
+    private volatile long finishTime;
     @SerializedName("rs")
-    private String reason = "";
+    private volatile String reason = "";
     @SerializedName("gtid")
     private long globalTransactionId;
 
@@ -308,7 +308,7 @@ public class TransactionState implements Writable {
 
     // optional
     @SerializedName("ta")
-    private TxnCommitAttachment txnCommitAttachment;
+    private volatile TxnCommitAttachment txnCommitAttachment;
 
     @SerializedName("wid")
     private long warehouseId = WarehouseManager.DEFAULT_WAREHOUSE_ID;
@@ -321,7 +321,7 @@ public class TransactionState implements Writable {
     // record some error msgs during the transaction operation.
     // this msg will be shown in show proc "/transactions/dbId/";
     // no need to persist.
-    private String errMsg = "";
+    private volatile String errMsg = "";
 
     private long lastErrTimeMs = 0;
 
@@ -542,6 +542,9 @@ public class TransactionState implements Writable {
         if (transactionStatus == TransactionStatus.VISIBLE) {
             if (MetricRepo.hasInit) {
                 MetricRepo.COUNTER_TXN_SUCCESS.increase(1L);
+                if (commitTime > 0 && finishTime >= commitTime) {
+                    MetricRepo.HISTO_TXN_VISIBLE_LATENCY.update(finishTime - commitTime);
+                }
             }
             txnSpan.addEvent("set_visible");
             txnSpan.end();
@@ -14,16 +14,25 @@
 
 package com.starrocks.analysis;
 
+import com.google.common.collect.Lists;
 import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.PrepareStmtContext;
 import com.starrocks.qe.StmtExecutor;
+import com.starrocks.sql.PrepareStmtPlanner;
+import com.starrocks.sql.PreparedPlanCache;
+import com.starrocks.sql.ast.ExecuteStmt;
 import com.starrocks.sql.ast.PrepareStmt;
 import com.starrocks.sql.ast.QueryStatement;
 import com.starrocks.sql.ast.SelectRelation;
 import com.starrocks.sql.ast.StatementBase;
 import com.starrocks.sql.common.StarRocksPlannerException;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
 import com.starrocks.sql.parser.SqlParser;
+import com.starrocks.sql.plan.ExecPlan;
+import com.starrocks.thrift.TExplainLevel;
 import com.starrocks.utframe.StarRocksAssert;
 import com.starrocks.utframe.UtFrameUtils;
 import org.junit.Assert;
@@ -123,4 +132,93 @@ public class PreparedStmtTest{
                 ((SelectRelation) queryStmt.getQueryRelation()).getPredicate().getChild(1));
     }
 
+    @Test
+    public void testPreparedPlanCacheKey() throws Exception {
+        String sql = "PREPARE stmt FROM select * from prepare_stmt where c0 = ?";
+        PrepareStmt stmt1 = (PrepareStmt) UtFrameUtils.parseStmtWithNewParser(sql, ctx);
+        PrepareStmt stmt2 = (PrepareStmt) UtFrameUtils.parseStmtWithNewParser(sql, ctx);
+        PreparedPlanCache.Key key1 = PreparedPlanCache.buildKey(stmt1.getInnerStmt(), ctx);
+        Assert.assertEquals(key1, PreparedPlanCache.buildKey(stmt2.getInnerStmt(), ctx));
+
+        PrepareStmt stmt3 = (PrepareStmt) UtFrameUtils.parseStmtWithNewParser(
+                "PREPARE stmt FROM select * from prepare_stmt where c1 = ?", ctx);
+        Assert.assertNotEquals(key1, PreparedPlanCache.buildKey(stmt3.getInnerStmt(), ctx));
+
+        int parallelism = ctx.getSessionVariable().getParallelExecInstanceNum();
+        try {
+            ctx.getSessionVariable().setParallelExecInstanceNum(parallelism + 1);
+            Assert.assertNotEquals(key1, PreparedPlanCache.buildKey(stmt1.getInnerStmt(), ctx));
+        } finally {
+            ctx.getSessionVariable().setParallelExecInstanceNum(parallelism);
+        }
+    }
+
+    private static ConnectContext prepareSharedStmt() throws Exception {
+        ConnectContext session = UtFrameUtils.createDefaultCtx();
+        session.setDatabase("demo");
+        PrepareStmt stmt = (PrepareStmt) UtFrameUtils.parseStmtWithNewParser(
+                "PREPARE shared_stmt FROM select * from prepare_stmt where c0 = ?", session);
+        session.putPreparedStmt("shared_stmt", new PrepareStmtContext(stmt, session, null));
+        return session;
+    }
+
+    private static ExecPlan executeSharedStmt(ConnectContext session, String value) {
+        session.setThreadLocalInfo();
+        ExecuteStmt executeStmt = new ExecuteStmt("shared_stmt", Lists.newArrayList(new StringLiteral(value)));
+        StatementBase stmt = session.getPreparedStmt("shared_stmt").getStmt().assignValues(executeStmt.getParamsExpr());
+        return PrepareStmtPlanner.plan(executeStmt, stmt, session);
+    }
+
+    private static String getBoundValue(ExecPlan execPlan) {
+        ScalarOperator predicate = execPlan.getLogicalPlan().getRoot().getInputs().get(0).getOp().getPredicate();
+        return ((ConstantOperator) predicate.getChild(1)).getVarchar();
+    }
+
+    @Test
+    public void testSharedPreparedPlanWithDifferentParameters() throws Exception {
+        int prevMaxSize = Config.prepared_plan_cache_max_size;
+        Config.prepared_plan_cache_max_size = 16;
+        PreparedPlanCache.getInstance().setMaxSize(16);
+        PreparedPlanCache.getInstance().clear();
+        try {
+            ConnectContext session1 = prepareSharedStmt();
+            ConnectContext session2 = prepareSharedStmt();
+
+            // session1 plans the statement and shares it, session2 takes the shared plan
+            executeSharedStmt(session1, "a1");
+            Assert.assertEquals(1, PreparedPlanCache.getInstance().size());
+            executeSharedStmt(session2, "b1");
+            Assert.assertEquals(1, PreparedPlanCache.getInstance().size());
+
+            ExecPlan plan1 = session1.getPreparedStmt("shared_stmt").getExecPlan();
+            ExecPlan plan2 = session2.getPreparedStmt("shared_stmt").getExecPlan();
+            Assert.assertNotSame(plan1, plan2);
+            Assert.assertNotSame(plan1.getPhysicalPlan().getOp(), plan2.getPhysicalPlan().getOp());
+            Assert.assertSame(session1, plan1.getConnectContext());
+            Assert.assertSame(session2, plan2.getConnectContext());
+
+            // the sessions re-bind their own plans, each one only sees its own parameter
+            ExecPlan execPlan1 = executeSharedStmt(session1, "a2");
+            ExecPlan execPlan2 = executeSharedStmt(session2, "b2");
+            Assert.assertEquals("a2", getBoundValue(plan1));
+            Assert.assertEquals("b2", getBoundValue(plan2));
+            String explain1 = execPlan1.getExplainString(TExplainLevel.NORMAL);
+            String explain2 = execPlan2.getExplainString(TExplainLevel.NORMAL);
+            Assert.assertTrue(explain1, explain1.contains("'a2'"));
+            Assert.assertFalse(explain1, explain1.contains("'b2'"));
+            Assert.assertTrue(explain2, explain2.contains("'b2'"));
+
+            // the shared plan itself is never re-bound
+            PreparedPlanCache.CachedPlan cachedPlan = PreparedPlanCache.getInstance().get(PreparedPlanCache.buildKey(
+                    session1.getPreparedStmt("shared_stmt").getStmt().getInnerStmt(), session1));
+            Assert.assertEquals("a1", getBoundValue(cachedPlan.getExecPlan()));
+            // and doesn't keep the session of the connection which planned it
+            Assert.assertNull(cachedPlan.getExecPlan().getConnectContext());
+        } finally {
+            PreparedPlanCache.getInstance().clear();
+            Config.prepared_plan_cache_max_size = prevMaxSize;
+            PreparedPlanCache.getInstance().setMaxSize(prevMaxSize);
+            ctx.setThreadLocalInfo();
+        }
+    }
 }
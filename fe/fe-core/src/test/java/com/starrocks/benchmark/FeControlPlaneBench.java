@@ -0,0 +1,239 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.benchmark;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.UniformReservoir;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.TabletInvertedIndex;
+import com.starrocks.common.Config;
+import com.starrocks.metric.MetricRepo;
+import com.starrocks.pseudocluster.PseudoBackend;
+import com.starrocks.pseudocluster.PseudoCluster;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.thrift.TTablet;
+import com.starrocks.transaction.GlobalTransactionMgr;
+import com.starrocks.transaction.TransactionState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measure the control plane throughput of FE on a PseudoCluster: concurrent load transactions, tablet report
+ * diffs and DDLs. Besides the JMH score every iteration prints commits/s, publish latency, report processing
+ * time, journal bytes/s and heap usage, so regressions of GlobalTransactionMgr, ReportHandler and the tablet
+ * meta are visible in one run.
+ * <p>
+ * The cluster shape is set by system properties: fe.bench.backends, fe.bench.tables, fe.bench.buckets and
+ * fe.bench.threads. PseudoCluster is a singleton and relies on JMockit, so the benchmark runs in the JVM of
+ * the caller, which should be started with the JMockit java agent like the unit tests.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 0)
+@Warmup(iterations = 1, time = 10, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 3, time = 30, timeUnit = TimeUnit.SECONDS)
+public class FeControlPlaneBench {
+    private static final String DB_NAME = "fe_control_plane_bench";
+
+    private final int numBackends = Integer.getInteger("fe.bench.backends", 3);
+    private final int numTables = Integer.getInteger("fe.bench.tables", 64);
+    private final int numBuckets = Integer.getInteger("fe.bench.buckets", 32);
+
+    private final AtomicLong labelId = new AtomicLong();
+    private final AtomicLong ddlTableId = new AtomicLong();
+
+    private PseudoCluster cluster;
+    private long dbId;
+    private List<PseudoBackend> backends;
+    private Map<Long, Map<Long, TTablet>> backendTablets;
+
+    private long iterationStartNs;
+    private long iterationStartJournalBytes;
+    private AtomicLong commits;
+    private Histogram publishLatencyMs;
+    private Histogram reportLatencyUs;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(FeControlPlaneBench.class.getSimpleName())
+                .threads(Integer.getInteger("fe.bench.threads", 8))
+                .build();
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Config.enable_statistic_collect_on_first_load = false;
+        cluster = PseudoCluster.getOrCreateWithRandomPort(false, numBackends);
+        cluster.runSql(null, "create database if not exists " + DB_NAME);
+        List<String> createTableSqls = Lists.newArrayList();
+        for (int i = 0; i < numTables; i++) {
+            createTableSqls.add(PseudoCluster.newCreateTableSqlBuilder()
+                    .setTableName("load_" + i)
+                    .setBuckets(numBuckets)
+                    .setReplication(Math.min(3, numBackends))
+                    .build());
+        }
+        cluster.runSqlList(DB_NAME, createTableSqls, false);
+        Database db = GlobalStateMgr.getCurrentState().getLocalMetastore().getDb(DB_NAME);
+        dbId = db.getId();
+
+        backends = Lists.newArrayList(cluster.getBackends());
+        backendTablets = Maps.newHashMap();
+        for (PseudoBackend backend : backends) {
+            backendTablets.put(backend.getId(), backend.getTabletManager().getAllTabletInfo());
+        }
+        System.out.printf("cluster: %d backends, %d tables, %d buckets, %d replicas%n", numBackends, numTables,
+                numBuckets, GlobalStateMgr.getCurrentState().getTabletInvertedIndex().getReplicaCount());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cluster.shutdown(true);
+    }
+
+    @Setup(Level.Iteration)
+    public void beforeIteration() {
+        commits = new AtomicLong();
+        publishLatencyMs = new Histogram(new UniformReservoir());
+        reportLatencyUs = new Histogram(new UniformReservoir());
+        iterationStartJournalBytes = journalBytes();
+        iterationStartNs = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void afterIteration() {
+        double seconds = (System.nanoTime() - iterationStartNs) / 1e9;
+        long bytes = journalBytes() - iterationStartJournalBytes;
+        Snapshot publish = publishLatencyMs.getSnapshot();
+        Snapshot report = reportLatencyUs.getSnapshot();
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsedMB = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+        System.out.printf("%ncommits/s: %.1f, publish latency ms: p50 %.0f p99 %.0f, " +
+                        "report us: p50 %.0f p99 %.0f, journal bytes/s: %.0f, heap used: %d MB, inverted index: %s%n",
+                commits.get() / seconds, publish.getMedian(), publish.get99thPercentile(),
+                report.getMedian(), report.get99thPercentile(), bytes / seconds, heapUsedMB,
+                GlobalStateMgr.getCurrentState().getTabletInvertedIndex().estimateCount());
+    }
+
+    private static long journalBytes() {
+        return MetricRepo.hasInit ? MetricRepo.COUNTER_EDIT_LOG_SIZE_BYTES.getValue() : 0;
+    }
+
+    /**
+     * One load transaction, begin, commit and publish, into a random table.
+     */
+    @Benchmark
+    public void loadTransaction() throws SQLException {
+        String table = "load_" + ThreadLocalRandom.current().nextInt(numTables);
+        String label = "bench_" + labelId.incrementAndGet();
+        cluster.runSql(DB_NAME, "insert into " + table + " with label " + label +
+                " values (1,\"1\", 1), (2,\"2\", 2), (3,\"3\", 3)");
+        TransactionState txn = GlobalStateMgr.getCurrentState().getGlobalTransactionMgr()
+                .getLabelTransactionState(dbId, label);
+        if (txn != null && txn.getFinishTime() > 0 && txn.getCommitTime() > 0) {
+            publishLatencyMs.update(txn.getFinishTime() - txn.getCommitTime());
+        }
+        commits.incrementAndGet();
+    }
+
+    /**
+     * Loads of the txn_lookup group, the lookups below run against their commits.
+     */
+    @Benchmark
+    @Group("txn_lookup")
+    @GroupThreads(2)
+    public void lookupLoadTransaction() throws SQLException {
+        loadTransaction();
+    }
+
+    /**
+     * The status polling of loads while other loads of the database commit: look up the transaction of the
+     * latest label by label and then by id. This is the part of DatabaseTransactionMgr which does not take
+     * the transaction lock, compare its score before and after a change of the locking.
+     */
+    @Benchmark
+    @Group("txn_lookup")
+    @GroupThreads(6)
+    public TransactionState lookupTransaction() {
+        GlobalTransactionMgr txnMgr = GlobalStateMgr.getCurrentState().getGlobalTransactionMgr();
+        TransactionState txn = txnMgr.getLabelTransactionState(dbId, "bench_" + labelId.get());
+        if (txn != null) {
+            txn = txnMgr.getTransactionState(dbId, txn.getTransactionId());
+        }
+        return txn;
+    }
+
+    /**
+     * The tablet diff of a full tablet report, the part of report handling which holds the inverted index lock.
+     */
+    @Benchmark
+    public void tabletReport() {
+        PseudoBackend backend = backends.get(ThreadLocalRandom.current().nextInt(backends.size()));
+        TabletInvertedIndex invertedIndex = GlobalStateMgr.getCurrentState().getTabletInvertedIndex();
+        long start = System.nanoTime();
+        invertedIndex.tabletReport(backend.getId(), backendTablets.get(backend.getId()), false, Collections.emptySet(),
+                GlobalStateMgr.getCurrentState().getLocalMetastore().getPartitionIdToStorageMediumMap(),
+                ArrayListMultimap.create(), ArrayListMultimap.create(), Sets.newHashSet(), Maps.newHashMap(),
+                ArrayListMultimap.create(), Maps.newHashMap(), Maps.newHashMap(), ArrayListMultimap.create(),
+                ArrayListMultimap.create(), Sets.newHashSet());
+        reportLatencyUs.update((System.nanoTime() - start) / 1000);
+    }
+
+    /**
+     * Create and drop a table, each of them is a metadata change with a journal and tablet creations on backends.
+     */
+    @Benchmark
+    public void createAndDropTable() throws SQLException {
+        String table = "ddl_" + ddlTableId.incrementAndGet();
+        cluster.runSql(DB_NAME, PseudoCluster.newCreateTableSqlBuilder()
+                .setTableName(table)
+                .setBuckets(numBuckets)
+                .setReplication(Math.min(3, numBackends))
+                .build());
+        cluster.runSql(DB_NAME, "drop table " + table + " force");
+    }
+}
@@ -0,0 +1,100 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.benchmark;
+
+import com.starrocks.common.io.DataOutputBuffer;
+import com.starrocks.common.io.Text;
+import com.starrocks.persist.ReplicaPersistInfo;
+import com.starrocks.persist.gson.GsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the json and the compact binary journal format of ReplicaPersistInfo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+public class ReplicaJournalCodecBench {
+
+    private ReplicaPersistInfo info;
+    private byte[] jsonBytes;
+    private byte[] compactBytes;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ReplicaJournalCodecBench.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        info = ReplicaPersistInfo.createForClone(10001L, 23456L, 23457L, 23458L, 1234567L, 10004L, 1234568L,
+                182L, 368271, 3L * 1024 * 1024 * 1024, 12000000L, -1L, 182L, 180L);
+        DataOutputBuffer json = encodeJson();
+        jsonBytes = Arrays.copyOf(json.getData(), json.getLength());
+        DataOutputBuffer compact = encodeCompact();
+        compactBytes = Arrays.copyOf(compact.getData(), compact.getLength());
+        System.out.printf("bytes per entry: json %d, compact %d%n", jsonBytes.length, compactBytes.length);
+    }
+
+    @Benchmark
+    public DataOutputBuffer encodeJson() throws IOException {
+        DataOutputBuffer buffer = new DataOutputBuffer(256);
+        Text.writeString(buffer, GsonUtils.GSON.toJson(info));
+        return buffer;
+    }
+
+    @Benchmark
+    public DataOutputBuffer encodeCompact() throws IOException {
+        DataOutputBuffer buffer = new DataOutputBuffer(64);
+        info.writeCompact(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public ReplicaPersistInfo decodeJson() throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(jsonBytes));
+        return GsonUtils.GSON.fromJson(Text.readString(in), ReplicaPersistInfo.class);
+    }
+
+    @Benchmark
+    public ReplicaPersistInfo decodeCompact() throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(compactBytes));
+        return ReplicaPersistInfo.readCompact(in);
+    }
+}
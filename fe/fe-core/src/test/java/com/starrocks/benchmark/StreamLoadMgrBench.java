@@ -0,0 +1,125 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.benchmark;
+
+import com.starrocks.common.Config;
+import com.starrocks.common.UserException;
+import com.starrocks.http.rest.TransactionResult;
+import com.starrocks.load.streamload.StreamLoadMgr;
+import com.starrocks.pseudocluster.PseudoCluster;
+import com.starrocks.server.GlobalStateMgr;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent stream loads of distinct labels through the http entry points of StreamLoadMgr on a PseudoCluster,
+ * while the expired tasks are cleaned at the same time, like the periodic cleaning of the FE. Compare its score
+ * before and after a change of the task maps or the label locks.
+ * <p>
+ * PseudoCluster is a singleton and relies on JMockit, so the benchmark runs in the JVM of the caller, which should
+ * be started with the JMockit java agent like the unit tests.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 0)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3, time = 10, timeUnit = TimeUnit.SECONDS)
+public class StreamLoadMgrBench {
+    private static final String DB_PREFIX = "stream_load_bench_";
+    private static final String TABLE_NAME = "t";
+    private static final int NUM_DBS = 16;
+
+    private final AtomicLong nextId = new AtomicLong(0);
+    private PseudoCluster cluster;
+    private StreamLoadMgr streamLoadMgr;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(StreamLoadMgrBench.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Config.stream_load_task_keep_max_second = 1;
+        Config.stream_load_task_keep_max_num = 1000000;
+        cluster = PseudoCluster.getOrCreateWithRandomPort(false, 1);
+        for (int i = 0; i < NUM_DBS; i++) {
+            cluster.runSql(null, "create database if not exists " + DB_PREFIX + i);
+            cluster.runSql(DB_PREFIX + i, PseudoCluster.newCreateTableSqlBuilder()
+                    .setTableName(TABLE_NAME)
+                    .setBuckets(1)
+                    .setReplication(1)
+                    .build());
+        }
+        streamLoadMgr = GlobalStateMgr.getCurrentState().getStreamLoadMgr();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cluster.shutdown(true);
+    }
+
+    /**
+     * The bookkeeping of a stream load in the FE: the task is created under its label lock and begins its
+     * transaction, the client polls it by label, and it is committed. The task has loaded no data, so it is not
+     * prepared and the commit only looks it up and answers, the rollback then ends the task and aborts its
+     * transaction, so that the cleaning removes it.
+     */
+    @Benchmark
+    @Group("stream_load")
+    @GroupThreads(8)
+    public TransactionResult load() throws UserException {
+        long id = nextId.incrementAndGet();
+        String label = "label_" + id;
+        streamLoadMgr.beginLoadTask(DB_PREFIX + (id % NUM_DBS), TABLE_NAME, label, "root", "127.0.0.1", 60000L,
+                1, 0, new TransactionResult());
+        for (int i = 0; i < 3; i++) {
+            streamLoadMgr.getTaskByLabel(label);
+        }
+        streamLoadMgr.commitLoadTask(label, new TransactionResult());
+        TransactionResult resp = new TransactionResult();
+        streamLoadMgr.rollbackLoadTask(label, resp);
+        return resp;
+    }
+
+    @Benchmark
+    @Group("stream_load")
+    @GroupThreads(1)
+    public void clean() {
+        streamLoadMgr.cleanOldStreamLoadTasks(false);
+    }
+}
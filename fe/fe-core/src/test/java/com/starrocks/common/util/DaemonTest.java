@@ -0,0 +1,48 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class DaemonTest {
+
+    @Test
+    public void testWakeup() throws InterruptedException {
+        Semaphore cycles = new Semaphore(0);
+        Daemon daemon = new Daemon("test_wakeup", TimeUnit.HOURS.toMillis(1)) {
+            @Override
+            protected void runOneCycle() {
+                cycles.release();
+            }
+        };
+        daemon.start();
+        try {
+            Assert.assertTrue(cycles.tryAcquire(10, TimeUnit.SECONDS));
+            // without a wakeup the next cycle is one hour later
+            daemon.wakeup();
+            Assert.assertTrue(cycles.tryAcquire(10, TimeUnit.SECONDS));
+            daemon.wakeup();
+            daemon.wakeup();
+            Assert.assertTrue(cycles.tryAcquire(10, TimeUnit.SECONDS));
+        } finally {
+            daemon.setStop();
+            daemon.wakeup();
+        }
+    }
+}
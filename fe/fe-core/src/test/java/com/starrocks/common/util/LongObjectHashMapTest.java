@@ -0,0 +1,117 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class LongObjectHashMapTest {
+
+    @Test
+    public void testBasic() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.put(1L, "a"));
+        Assert.assertNull(map.put(0L, "zero"));
+        Assert.assertNull(map.put(-5L, "neg"));
+        Assert.assertEquals("a", map.put(1L, "b"));
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals("b", map.get(1L));
+        Assert.assertEquals("zero", map.get(0L));
+        Assert.assertEquals("neg", map.get(-5L));
+        Assert.assertNull(map.get(2L));
+        Assert.assertTrue(map.containsKey(0L));
+
+        Set<Long> keys = new HashSet<>();
+        for (LongObjectHashMap.Entry<String> entry : map) {
+            keys.add(entry.getKey());
+            Assert.assertEquals(map.get(entry.getKey()), entry.getValue());
+        }
+        Assert.assertEquals(new HashSet<>(Arrays.asList(0L, 1L, -5L)), keys);
+        Assert.assertEquals(3, map.keys().length);
+        Assert.assertEquals(3, map.values().size());
+
+        Assert.assertEquals("zero", map.remove(0L));
+        Assert.assertFalse(map.containsKey(0L));
+        Assert.assertNull(map.remove(0L));
+        Assert.assertEquals(2, map.size());
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertFalse(map.iterator().hasNext());
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(42);
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+        LongLongHashMap longMap = new LongLongHashMap();
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            // a small key space makes removal hit existing keys and exercises the backward shift
+            long key = random.nextInt(5000);
+            long value = random.nextLong();
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.containsKey(key), longMap.remove(key));
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assert.assertEquals(expected.put(key, value), map.put(key, value));
+                longMap.put(key, value);
+            }
+        }
+        Assert.assertEquals(expected.size(), map.size());
+        Assert.assertEquals(expected.size(), longMap.size());
+        for (long key = 0; key < 5000; key++) {
+            Assert.assertEquals(expected.get(key), map.get(key));
+            Assert.assertEquals(expected.getOrDefault(key, -1L).longValue(), longMap.get(key, -1L));
+        }
+        int count = 0;
+        for (LongObjectHashMap.Entry<Long> entry : map) {
+            Assert.assertEquals(expected.get(entry.getKey()), entry.getValue());
+            count++;
+        }
+        Assert.assertEquals(expected.size(), count);
+    }
+
+    @Test
+    public void testShrinkAfterRemove() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+        LongLongHashMap longMap = new LongLongHashMap();
+        for (long i = 1; i <= 100000; i++) {
+            map.put(i, i);
+            longMap.put(i, i);
+        }
+        int fullCapacity = map.capacity();
+        Assert.assertTrue(fullCapacity >= 100000);
+        for (long i = 1; i <= 99990; i++) {
+            map.remove(i);
+            longMap.remove(i);
+        }
+        Assert.assertEquals(10, map.size());
+        Assert.assertTrue(map.capacity() < fullCapacity / 100);
+        Assert.assertTrue(longMap.capacity() < fullCapacity / 100);
+        for (long i = 99991; i <= 100000; i++) {
+            Assert.assertEquals(Long.valueOf(i), map.get(i));
+            Assert.assertEquals(i, longMap.get(i, -1L));
+        }
+    }
+}
@@ -15,15 +15,22 @@
 
 package com.starrocks.connector;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.connector.hive.HiveRemoteFileIO;
 import com.starrocks.connector.hive.MockedRemoteFileSystem;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
@@ -73,4 +80,55 @@ public class CachingRemoteFileIOTest {
         queryLevelCache.updateRemoteFiles(pathKey);
         queryLevelCache.invalidatePartition(pathKey);
     }
+
+    @Test
+    public void testSharedMemoryBudget() {
+        RemoteFileIO remoteFileIO = new RemoteFileIO() {
+            @Override
+            public Map<RemotePathKey, List<RemoteFileDesc>> getRemoteFiles(RemotePathKey pathKey) {
+                return ImmutableMap.of(pathKey, Lists.newArrayList(
+                        new RemoteFileDesc("000000_0", "", 20, 0, ImmutableList.of())));
+            }
+
+            @Override
+            public FileStatus[] getFileStatus(Path... files) throws IOException {
+                return new FileStatus[0];
+            }
+        };
+        RemotePathKey firstKey = RemotePathKey.of("hdfs://127.0.0.1:10000/hive.db/tbl/part=0", false);
+        long entryBytes = CachingRemoteFileIO.estimateSize(firstKey, remoteFileIO.getRemoteFiles(firstKey).get(firstKey));
+
+        double oldRatio = Config.remote_file_cache_memory_usage_ratio;
+        RemoteFileCacheMemoryManager memoryManager = RemoteFileCacheMemoryManager.getInstance();
+        try {
+            Config.remote_file_cache_memory_usage_ratio = 11.5 * entryBytes / Runtime.getRuntime().maxMemory();
+            long budgetBytes = memoryManager.getBudgetBytes();
+            CachingRemoteFileIO wideCatalog = new CachingRemoteFileIO(remoteFileIO, MoreExecutors.directExecutor(),
+                    3600, 60, budgetBytes, true);
+            CachingRemoteFileIO narrowCatalog = new CachingRemoteFileIO(remoteFileIO, MoreExecutors.directExecutor(),
+                    3600, 60, budgetBytes, true);
+            Assert.assertTrue(wideCatalog.isWeighted());
+            memoryManager.register("wide_catalog", wideCatalog);
+            memoryManager.register("narrow_catalog", narrowCatalog);
+
+            // one catalog alone may use most of the budget
+            for (int i = 0; i < 8; i++) {
+                wideCatalog.getRemoteFiles(RemotePathKey.of("hdfs://127.0.0.1:10000/hive.db/tbl/part=" + i, false));
+            }
+            Assert.assertEquals(8, wideCatalog.getEntryCount());
+            Assert.assertEquals(8 * entryBytes, wideCatalog.getWeightedSize());
+
+            // together they exceed the budget, both catalogs give up the same share
+            for (int i = 0; i < 4; i++) {
+                narrowCatalog.getRemoteFiles(RemotePathKey.of("hdfs://127.0.0.1:10000/hive.db/tbl/part=" + i, false));
+            }
+            Assert.assertTrue(memoryManager.getUsedBytes() <= budgetBytes);
+            Assert.assertEquals(7, wideCatalog.getEntryCount());
+            Assert.assertEquals(3, narrowCatalog.getEntryCount());
+        } finally {
+            Config.remote_file_cache_memory_usage_ratio = oldRatio;
+            memoryManager.unregister("wide_catalog");
+            memoryManager.unregister("narrow_catalog");
+        }
+    }
 }
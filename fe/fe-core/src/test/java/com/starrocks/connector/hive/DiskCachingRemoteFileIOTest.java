@@ -0,0 +1,183 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector.hive;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.starrocks.common.FeConstants;
+import com.starrocks.connector.RemoteFileBlockDesc;
+import com.starrocks.connector.RemoteFileDesc;
+import com.starrocks.connector.RemotePathKey;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static com.starrocks.connector.hive.MockedRemoteFileSystem.HDFS_HIVE_TABLE;
+
+public class DiskCachingRemoteFileIOTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final RemotePathKey pathKey = RemotePathKey.of(HDFS_HIVE_TABLE, false);
+    private String cacheDir;
+
+    private static class CountingRemoteFileIO extends HiveRemoteFileIO {
+        private int numListings = 0;
+        private int numFileStatusCalls = 0;
+        private long dirModificationTime = 1000;
+        // returned instead of the files of the mocked file system if not null
+        private List<RemoteFileDesc> fileDescs = null;
+
+        CountingRemoteFileIO() {
+            super(new Configuration());
+            setFileSystem(new MockedRemoteFileSystem(HDFS_HIVE_TABLE));
+        }
+
+        @Override
+        public Map<RemotePathKey, List<RemoteFileDesc>> getRemoteFiles(RemotePathKey pathKey) {
+            numListings++;
+            if (fileDescs != null) {
+                return ImmutableMap.of(pathKey, fileDescs);
+            }
+            return super.getRemoteFiles(pathKey);
+        }
+
+        @Override
+        public FileStatus[] getFileStatus(Path... files) throws IOException {
+            numFileStatusCalls++;
+            return new FileStatus[] {new FileStatus(0, true, 0, 0, dirModificationTime, files[0])};
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        FeConstants.runningUnitTest = true;
+        cacheDir = folder.newFolder("remote_files").getPath();
+    }
+
+    private static void assertListing(List<RemoteFileDesc> fileDescs) {
+        Assert.assertEquals(1, fileDescs.size());
+        RemoteFileDesc fileDesc = fileDescs.get(0);
+        Assert.assertEquals("000000_0", fileDesc.getFileName());
+        Assert.assertEquals(20, fileDesc.getLength());
+        Assert.assertEquals(1234567890, fileDesc.getModificationTime());
+        Assert.assertEquals(1, fileDesc.getBlockDescs().size());
+        RemoteFileBlockDesc blockDesc = fileDesc.getBlockDescs().get(0);
+        Assert.assertEquals(20, blockDesc.getLength());
+        Assert.assertEquals(2, blockDesc.getReplicaHostIds().length);
+        Assert.assertEquals("host1", blockDesc.getDataNodeIp(blockDesc.getReplicaHostIds()[0]));
+        Assert.assertEquals("host2", blockDesc.getDataNodeIp(blockDesc.getReplicaHostIds()[1]));
+    }
+
+    @Test
+    public void testServeOnceAfterRestart() {
+        CountingRemoteFileIO remote = new CountingRemoteFileIO();
+        DiskCachingRemoteFileIO fileIO = new DiskCachingRemoteFileIO(remote, cacheDir, 1L << 20, 3600);
+        assertListing(fileIO.getRemoteFiles(pathKey).get(pathKey));
+        // entries written by this process are never served, refreshes always list the remote storage
+        assertListing(fileIO.getRemoteFiles(pathKey).get(pathKey));
+        Assert.assertEquals(2, remote.numListings);
+        Assert.assertEquals(1, fileIO.getEntryCount());
+
+        CountingRemoteFileIO remoteAfterRestart = new CountingRemoteFileIO();
+        DiskCachingRemoteFileIO fileIOAfterRestart =
+                new DiskCachingRemoteFileIO(remoteAfterRestart, cacheDir, 1L << 20, 3600);
+        Assert.assertEquals(1, fileIOAfterRestart.getEntryCount());
+        assertListing(fileIOAfterRestart.getRemoteFiles(pathKey).get(pathKey));
+        Assert.assertEquals(0, remoteAfterRestart.numListings);
+        assertListing(fileIOAfterRestart.getRemoteFiles(pathKey).get(pathKey));
+        Assert.assertEquals(1, remoteAfterRestart.numListings);
+    }
+
+    @Test
+    public void testRefreshOnlyRewritesChangedListing() {
+        CountingRemoteFileIO remote = new CountingRemoteFileIO();
+        DiskCachingRemoteFileIO fileIO = new DiskCachingRemoteFileIO(remote, cacheDir, 1L << 20, 3600);
+        fileIO.getRemoteFiles(pathKey);
+        Assert.assertEquals(1, remote.numFileStatusCalls);
+
+        // an unchanged listing is neither rewritten nor costs the modification time of the directory
+        fileIO.getRemoteFiles(pathKey);
+        fileIO.getRemoteFiles(pathKey);
+        Assert.assertEquals(3, remote.numListings);
+        Assert.assertEquals(1, remote.numFileStatusCalls);
+
+        // a changed listing is rewritten and served after a restart
+        remote.fileDescs = ImmutableList.of(new RemoteFileDesc("000001_0", "", 30, 1234567891, ImmutableList.of()));
+        fileIO.getRemoteFiles(pathKey);
+        Assert.assertEquals(2, remote.numFileStatusCalls);
+        CountingRemoteFileIO remoteAfterRestart = new CountingRemoteFileIO();
+        List<RemoteFileDesc> fileDescs = new DiskCachingRemoteFileIO(remoteAfterRestart, cacheDir, 1L << 20, 3600)
+                .getRemoteFiles(pathKey).get(pathKey);
+        Assert.assertEquals(0, remoteAfterRestart.numListings);
+        Assert.assertEquals(1, fileDescs.size());
+        Assert.assertEquals("000001_0", fileDescs.get(0).getFileName());
+        Assert.assertEquals(30, fileDescs.get(0).getLength());
+    }
+
+    @Test
+    public void testStaleEntry() {
+        new DiskCachingRemoteFileIO(new CountingRemoteFileIO(), cacheDir, 1L << 20, 3600).getRemoteFiles(pathKey);
+
+        // the directory has changed since the listing was written
+        CountingRemoteFileIO remote = new CountingRemoteFileIO();
+        remote.dirModificationTime = 2000;
+        DiskCachingRemoteFileIO fileIO = new DiskCachingRemoteFileIO(remote, cacheDir, 1L << 20, 3600);
+        assertListing(fileIO.getRemoteFiles(pathKey).get(pathKey));
+        Assert.assertEquals(1, remote.numListings);
+
+        // the listing is older than the ttl
+        remote = new CountingRemoteFileIO();
+        remote.dirModificationTime = 2000;
+        fileIO = new DiskCachingRemoteFileIO(remote, cacheDir, 1L << 20, -1);
+        assertListing(fileIO.getRemoteFiles(pathKey).get(pathKey));
+        Assert.assertEquals(1, remote.numListings);
+    }
+
+    @Test
+    public void testInvalidateAndEvict() {
+        DiskCachingRemoteFileIO fileIO = new DiskCachingRemoteFileIO(new CountingRemoteFileIO(), cacheDir, 1L << 20, 3600);
+        fileIO.getRemoteFiles(pathKey);
+        Assert.assertEquals(1, new File(cacheDir).list().length);
+        fileIO.invalidate(pathKey);
+        Assert.assertEquals(0, fileIO.getEntryCount());
+        Assert.assertEquals(0, new File(cacheDir).list().length);
+
+        // an explicit update invalidates and reloads the path, the new entry must survive the invalidation
+        fileIO.invalidate(pathKey);
+        fileIO.getRemoteFiles(pathKey);
+        Assert.assertEquals(1, fileIO.getEntryCount());
+        Assert.assertEquals(1, new File(cacheDir).list().length);
+        fileIO.invalidateAll();
+        Assert.assertEquals(0, fileIO.getEntryCount());
+        Assert.assertEquals(0, new File(cacheDir).list().length);
+
+        // a capacity smaller than one listing keeps nothing
+        fileIO = new DiskCachingRemoteFileIO(new CountingRemoteFileIO(), cacheDir, 16, 3600);
+        fileIO.getRemoteFiles(pathKey);
+        Assert.assertEquals(0, fileIO.getEntryCount());
+        Assert.assertEquals(0, new File(cacheDir).list().length);
+    }
+}
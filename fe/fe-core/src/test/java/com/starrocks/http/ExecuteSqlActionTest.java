@@ -193,5 +193,33 @@ public class ExecuteSqlActionTest extends StarRocksHttpTestCase {
         jsonObject = new JSONObject(respStr);
         Assert.assertEquals("FAILED", jsonObject.get("status").toString());
         Assert.assertTrue(jsonObject.get("msg").toString().contains("Unknown system variable"));
+
+        body = RequestBody.create(JSON, "{ \"query\" :  \" select 1;\", \"format\" : \"csv\" }");
+        request = new Request.Builder()
+                .get()
+                .addHeader("Authorization", rootAuth)
+                .url(BASE_URL + QUERY_EXECUTE_API)
+                .post(body)
+                .build();
+        response = networkClient.newCall(request).execute();
+        respStr = Objects.requireNonNull(response.body()).string();
+        jsonObject = new JSONObject(respStr);
+        Assert.assertEquals("FAILED", jsonObject.get("status").toString());
+        Assert.assertEquals("http query only support json and arrow format, got csv",
+                jsonObject.get("msg").toString());
+
+        body = RequestBody.create(JSON, "{ \"query\" :  \" show databases;\", \"format\" : \"arrow\" }");
+        request = new Request.Builder()
+                .get()
+                .addHeader("Authorization", rootAuth)
+                .url(BASE_URL + QUERY_EXECUTE_API)
+                .post(body)
+                .build();
+        response = networkClient.newCall(request).execute();
+        respStr = Objects.requireNonNull(response.body()).string();
+        jsonObject = new JSONObject(respStr);
+        Assert.assertEquals("FAILED", jsonObject.get("status").toString());
+        Assert.assertEquals("http query only support arrow format for SELECT statement",
+                jsonObject.get("msg").toString());
     }
 }
@@ -0,0 +1,73 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.http;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class HttpResultSenderTest {
+
+    // continuation marker, metadata length, metadata
+    private static void putMessage(ByteBuffer buffer, int metadataLength, byte fill) {
+        buffer.putInt(0xFFFFFFFF);
+        buffer.putInt(metadataLength);
+        for (int i = 0; i < metadataLength; i++) {
+            buffer.put(fill);
+        }
+    }
+
+    private static ByteBuffer buildStream(int schemaLength, int batchLength) {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + schemaLength + (batchLength > 0 ? 8 + batchLength : 0) + 8)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        putMessage(buffer, schemaLength, (byte) 1);
+        if (batchLength > 0) {
+            putMessage(buffer, batchLength, (byte) 2);
+        }
+        buffer.putInt(0xFFFFFFFF);
+        buffer.putInt(0);
+        buffer.flip();
+        return buffer;
+    }
+
+    @Test
+    public void testGetArrowMessages() {
+        ByteBuffer stream = buildStream(16, 24);
+        ByteBuffer withSchema = HttpResultSender.getArrowMessages(stream, true);
+        Assert.assertEquals(8 + 16 + 8 + 24, withSchema.remaining());
+        Assert.assertEquals(1, withSchema.get(8));
+
+        ByteBuffer withoutSchema = HttpResultSender.getArrowMessages(stream, false);
+        Assert.assertEquals(8 + 24, withoutSchema.remaining());
+        Assert.assertEquals(-1, withoutSchema.getInt(0));
+        Assert.assertEquals(2, withoutSchema.get(8));
+        // the stream itself is untouched
+        Assert.assertEquals(0, stream.position());
+
+        // a stream of only the schema
+        stream = buildStream(16, 0);
+        Assert.assertEquals(8 + 16, HttpResultSender.getArrowMessages(stream, true).remaining());
+        Assert.assertFalse(HttpResultSender.getArrowMessages(stream, false).hasRemaining());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testInvalidArrowStream() {
+        ByteBuffer stream = ByteBuffer.allocate(16);
+        stream.putLong(0, 1L);
+        HttpResultSender.getArrowMessages(stream, false);
+    }
+}
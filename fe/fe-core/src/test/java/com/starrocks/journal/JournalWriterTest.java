@@ -19,6 +19,7 @@ import com.starrocks.common.Config;
 import com.starrocks.common.io.DataOutputBuffer;
 import com.starrocks.common.io.Text;
 import com.starrocks.journal.bdbje.BDBJEJournal;
+import mockit.Deencapsulation;
 import mockit.Expectations;
 import mockit.Mocked;
 import org.apache.commons.lang3.StringUtils;
@@ -59,6 +60,8 @@ public class JournalWriterTest {
         Config.edit_log_roll_num = 50000;
         Config.metadata_journal_max_batch_size_mb = 100;
         Config.metadata_journal_max_batch_cnt = 100;
+        Config.metadata_journal_commit_linger_ms = 0;
+        Config.metadata_journal_commit_target_latency_ms = 0;
     }
 
     private DataOutputBuffer makeBuffer(int size) throws IOException {
@@ -229,6 +232,69 @@ public class JournalWriterTest {
     }
 
 
+    @Test
+    public void testCommitLinger() throws Exception {
+        Config.metadata_journal_max_batch_cnt = 2;
+        // a burst of 2 logs, committed in one batch without lingering
+        JournalTask task1 = new JournalTask(System.nanoTime(), makeBuffer(10), -1);
+        JournalTask task2 = new JournalTask(System.nanoTime(), makeBuffer(10), -1);
+        journalQueue.add(task1);
+        journalQueue.add(task2);
+        writer.writeOneBatch();
+        Assert.assertEquals(2, writer.currentBatchTasks.size());
+        Assert.assertEquals(0, task1.latch.getCount());
+        Assert.assertEquals(0, task2.latch.getCount());
+
+        // the last batch was a burst, so the writer waits for the log arriving after the queue is drained
+        Config.metadata_journal_commit_linger_ms = 10000;
+        JournalTask task3 = new JournalTask(System.nanoTime(), makeBuffer(10), -1);
+        JournalTask task4 = new JournalTask(System.nanoTime(), makeBuffer(10), -1);
+        journalQueue.add(task3);
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            journalQueue.add(task4);
+        });
+        producer.start();
+        writer.writeOneBatch();
+        producer.join();
+        Assert.assertEquals(2, writer.currentBatchTasks.size());
+        Assert.assertEquals(5, writer.nextVisibleJournalId);
+        Assert.assertEquals(0, task3.latch.getCount());
+        Assert.assertEquals(0, task4.latch.getCount());
+
+        // without lingering the log arriving later goes to the next batch
+        Config.metadata_journal_commit_linger_ms = 0;
+        JournalTask task5 = new JournalTask(System.nanoTime(), makeBuffer(10), -1);
+        journalQueue.add(task5);
+        writer.writeOneBatch();
+        Assert.assertEquals(1, writer.currentBatchTasks.size());
+        Assert.assertEquals(0, task5.latch.getCount());
+    }
+
+    @Test
+    public void testCommitLingerAdaptsToCommitLatency() {
+        Config.metadata_journal_commit_linger_ms = 100;
+        Assert.assertEquals(100000000L, writer.getLingerNano());
+
+        // what is left of the target after the average commit time
+        Config.metadata_journal_commit_target_latency_ms = 10;
+        Deencapsulation.setField(writer, "avgCommitDurationNano", 4000000L);
+        Assert.assertEquals(6000000L, writer.getLingerNano());
+
+        // never longer than the linger time
+        Config.metadata_journal_commit_target_latency_ms = 1000;
+        Assert.assertEquals(100000000L, writer.getLingerNano());
+
+        // no lingering when a commit alone exceeds the target
+        Config.metadata_journal_commit_target_latency_ms = 10;
+        Deencapsulation.setField(writer, "avgCommitDurationNano", 20000000L);
+        Assert.assertEquals(0L, writer.getLingerNano());
+    }
+
     @Ignore
     @Test
     public void testBatchWriteBeginException() throws Exception {
@@ -22,6 +22,7 @@ import com.sleepycat.je.LockMode;
 import com.sleepycat.je.OperationStatus;
 import com.sleepycat.je.Transaction;
 import com.sleepycat.je.rep.InsufficientLogException;
+import com.starrocks.common.Config;
 import com.starrocks.common.io.DataOutputBuffer;
 import com.starrocks.common.io.Text;
 import com.starrocks.journal.JournalCursor;
@@ -32,6 +33,9 @@ import com.starrocks.persist.OperationType;
 import com.starrocks.utframe.UtFrameUtils;
 import mockit.Delegate;
 import mockit.Expectations;
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
 import mockit.Mocked;
 import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
@@ -42,11 +46,17 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.io.DataInput;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BDBJournalCursorTest {
     private static final Logger LOG = LogManager.getLogger(BDBJournalCursorTest.class);
@@ -498,6 +508,127 @@ public class BDBJournalCursorTest {
         journal.read(10, 10);
     }
 
+    @Test
+    public void testPrefetchDecode() throws Exception {
+        int oldDecodeThreads = Config.metadata_journal_replay_decode_threads;
+        int oldPrefetchNum = Config.metadata_journal_replay_prefetch_num;
+        Config.metadata_journal_replay_decode_threads = 4;
+        Config.metadata_journal_replay_prefetch_num = 2;
+        try {
+            BDBEnvironment environment = initBDBEnv();
+            BDBJEJournal journal = new BDBJEJournal(environment);
+            journal.open();
+
+            // db1: 1-3, db4: 4-5
+            journal.batchWriteBegin();
+            for (int i = 1; i <= 3; ++i) {
+                journal.batchWriteAppend(i, makeBuffer(i));
+            }
+            journal.batchWriteCommit();
+            journal.rollJournal(4);
+            journal.batchWriteBegin();
+            journal.batchWriteAppend(4, makeBuffer(4));
+            journal.batchWriteAppend(5, makeBuffer(5));
+            journal.batchWriteCommit();
+
+            BDBJournalCursor cursor = BDBJournalCursor.getJournalCursor(environment, 1, -1);
+            for (int i = 1; i <= 5; ++i) {
+                JournalEntity entity = cursor.next();
+                Assert.assertEquals(OperationType.OP_SAVE_NEXTID, entity.getOpCode());
+                Assert.assertEquals(String.valueOf(i), entity.getData().toString());
+            }
+            Assert.assertNull(cursor.next());
+
+            // 6 is a bad journal, 7 is good
+            DataOutputBuffer badBuffer = new DataOutputBuffer(128);
+            badBuffer.writeShort(OperationType.OP_HEARTBEAT_V2);
+            Text.writeString(badBuffer, "aaa");
+            journal.batchWriteBegin();
+            journal.batchWriteAppend(6, badBuffer);
+            journal.batchWriteAppend(7, makeBuffer(7));
+            journal.batchWriteCommit();
+
+            cursor.refresh();
+            Assert.assertThrows(JournalException.class, cursor::next);
+            cursor.skipNext();
+            JournalEntity entity = cursor.next();
+            Assert.assertEquals("7", entity.getData().toString());
+            Assert.assertNull(cursor.next());
+            cursor.close();
+        } finally {
+            Config.metadata_journal_replay_decode_threads = oldDecodeThreads;
+            Config.metadata_journal_replay_prefetch_num = oldPrefetchNum;
+        }
+    }
+
+    private DataOutputBuffer makeBuffer(short opCode, String data) throws IOException {
+        DataOutputBuffer buffer = new DataOutputBuffer(128);
+        JournalEntity je = new JournalEntity();
+        je.setData(new Text(data));
+        je.setOpCode(opCode);
+        je.write(buffer);
+        return buffer;
+    }
+
+    @Test
+    public void testPrefetchDecodeAfterReplayOfPreviousJournals() throws Exception {
+        // the tables created by the journals returned by the cursor so far, as if they were replayed
+        Set<String> replayedTables = ConcurrentHashMap.newKeySet();
+        List<Boolean> tableFoundOnDecode = Collections.synchronizedList(new ArrayList<>());
+        new MockUp<JournalEntity>() {
+            @Mock
+            public void readFields(Invocation invocation, DataInput in) throws IOException {
+                JournalEntity entity = invocation.getInvokedInstance();
+                short opCode = in.readShort();
+                Text text = new Text();
+                text.readFields(in);
+                if (opCode == OperationType.OP_EXPORT_CREATE_V2) {
+                    // like ExportJob.gsonPostProcess, look up the table created by an earlier journal
+                    tableFoundOnDecode.add(replayedTables.contains(text.toString()));
+                }
+                entity.setOpCode(opCode);
+                entity.setData(text);
+            }
+        };
+
+        int oldDecodeThreads = Config.metadata_journal_replay_decode_threads;
+        int oldPrefetchNum = Config.metadata_journal_replay_prefetch_num;
+        Config.metadata_journal_replay_decode_threads = 4;
+        Config.metadata_journal_replay_prefetch_num = 16;
+        try {
+            BDBEnvironment environment = initBDBEnv();
+            BDBJEJournal journal = new BDBJEJournal(environment);
+            journal.open();
+
+            journal.batchWriteBegin();
+            journal.batchWriteAppend(1, makeBuffer(1));
+            journal.batchWriteAppend(2, makeBuffer(OperationType.OP_CREATE_TABLE_V2, "t1"));
+            journal.batchWriteAppend(3, makeBuffer(3));
+            journal.batchWriteAppend(4, makeBuffer(OperationType.OP_EXPORT_CREATE_V2, "t1"));
+            journal.batchWriteAppend(5, makeBuffer(5));
+            journal.batchWriteCommit();
+
+            BDBJournalCursor cursor = BDBJournalCursor.getJournalCursor(environment, 1, -1);
+            List<Short> opCodes = new ArrayList<>();
+            JournalEntity entity;
+            while ((entity = cursor.next()) != null) {
+                opCodes.add(entity.getOpCode());
+                if (entity.getOpCode() == OperationType.OP_CREATE_TABLE_V2) {
+                    replayedTables.add(entity.getData().toString());
+                }
+            }
+            cursor.close();
+
+            Assert.assertEquals(Arrays.asList(OperationType.OP_SAVE_NEXTID, OperationType.OP_CREATE_TABLE_V2,
+                    OperationType.OP_SAVE_NEXTID, OperationType.OP_EXPORT_CREATE_V2, OperationType.OP_SAVE_NEXTID),
+                    opCodes);
+            Assert.assertEquals(Collections.singletonList(true), tableFoundOnDecode);
+        } finally {
+            Config.metadata_journal_replay_decode_threads = oldDecodeThreads;
+            Config.metadata_journal_replay_prefetch_num = oldPrefetchNum;
+        }
+    }
+
     @Test(expected = JournalException.class)
     public void refreshFailed(@Mocked BDBEnvironment environment) throws Exception {
         new Expectations(environment) {
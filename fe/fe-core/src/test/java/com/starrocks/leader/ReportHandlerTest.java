@@ -17,6 +17,8 @@ package com.starrocks.leader;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.starrocks.alter.SchemaChangeHandler;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.LocalTablet;
@@ -47,6 +49,7 @@ import com.starrocks.task.AgentTaskExecutor;
 import com.starrocks.task.AgentTaskQueue;
 import com.starrocks.thrift.TBackend;
 import com.starrocks.thrift.TMasterResult;
+import com.starrocks.thrift.TPartitionVersionInfo;
 import com.starrocks.thrift.TReportRequest;
 import com.starrocks.thrift.TResourceUsage;
 import com.starrocks.thrift.TStatusCode;
@@ -54,8 +57,14 @@ import com.starrocks.thrift.TStorageMedium;
 import com.starrocks.thrift.TTablet;
 import com.starrocks.thrift.TTabletInfo;
 import com.starrocks.thrift.TTaskType;
+import com.starrocks.transaction.GlobalTransactionMgr;
+import com.starrocks.transaction.PartitionCommitInfo;
+import com.starrocks.transaction.TableCommitInfo;
+import com.starrocks.transaction.TransactionState;
+import com.starrocks.transaction.TransactionStatus;
 import com.starrocks.utframe.StarRocksAssert;
 import com.starrocks.utframe.UtFrameUtils;
+import mockit.Deencapsulation;
 import mockit.Expectations;
 import mockit.Mock;
 import mockit.MockUp;
@@ -357,6 +366,140 @@ public class ReportHandlerTest {
         }
     }
 
+    @Test
+    public void testIncrementalTabletReport() throws Exception {
+        // a backend without replicas, handling its reports changes nothing in meta
+        Backend be = UtFrameUtils.addMockBackend(10010);
+        TBackend tbe = new TBackend();
+        tbe.setHost(be.getHost());
+        tbe.setBe_port(be.getBePort());
+        ReportHandler handler = new ReportHandler();
+        boolean oldEnable = Config.enable_incremental_tablet_report;
+        Config.enable_incremental_tablet_report = true;
+        try {
+            // no tablet report handled yet, backend must send a full one
+            TReportRequest req = new TReportRequest();
+            req.setBackend(tbe);
+            req.setTablets(new HashMap<>());
+            req.setReport_version(5);
+            req.setTablet_report_base_version(1);
+            req.setDeleted_tablet_ids(Lists.newArrayList());
+            TMasterResult res = handler.handleReport(req);
+            Assert.assertEquals(TStatusCode.OK, res.getStatus().getStatus_code());
+            Assert.assertFalse(res.isSetTablet_report_acked_version());
+
+            req.unsetTablet_report_base_version();
+            req.unsetDeleted_tablet_ids();
+            res = handler.handleReport(req);
+            Assert.assertEquals(5, res.getTablet_report_acked_version());
+
+            // the full report is accepted but not handled yet
+            req.setReport_version(6);
+            req.setTablet_report_base_version(5);
+            req.setDeleted_tablet_ids(Lists.newArrayList());
+            res = handler.handleReport(req);
+            Assert.assertFalse(res.isSetTablet_report_acked_version());
+
+            handler.testHandlePendingReports();
+            res = handler.handleReport(req);
+            Assert.assertEquals(6, res.getTablet_report_acked_version());
+            handler.testHandlePendingReports();
+
+            // based on a stale version
+            req.setReport_version(7);
+            res = handler.handleReport(req);
+            Assert.assertFalse(res.isSetTablet_report_acked_version());
+
+            req.setTablet_report_base_version(6);
+            res = handler.handleReport(req);
+            Assert.assertEquals(7, res.getTablet_report_acked_version());
+            Assert.assertFalse(res.isSetTablet_ids_to_report());
+
+            // a replica waiting to be dropped must be in the next incremental report even if it is unchanged
+            long ghostTabletId = 20010;
+            Assert.assertFalse(ReportHandler.checkReadyToBeDropped(ghostTabletId, be.getId()));
+            handler.testHandlePendingReports();
+            req.setReport_version(8);
+            req.setTablet_report_base_version(7);
+            res = handler.handleReport(req);
+            Assert.assertEquals(8, res.getTablet_report_acked_version());
+            Assert.assertEquals(Lists.newArrayList(ghostTabletId), res.getTablet_ids_to_report());
+            handler.testHandlePendingReports();
+        } finally {
+            Config.enable_incremental_tablet_report = oldEnable;
+            UtFrameUtils.dropMockBackend(10010);
+        }
+    }
+
+    @Test
+    public void testIncrementalTabletReportWithPendingTransaction() {
+        TabletInvertedIndex invertedIndex = GlobalStateMgr.getCurrentState().getTabletInvertedIndex();
+        long tabletId = invertedIndex.getTabletIdsByBackendId(10001).get(0);
+        TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+        Replica replica = invertedIndex.getReplica(tabletId, 10001);
+        long txnId = 1000001L;
+
+        // the transaction is visible in FE, but the backend still reports it as pending
+        TransactionState txn = new TransactionState();
+        Deencapsulation.setField(txn, "dbId", tabletMeta.getDbId());
+        Deencapsulation.setField(txn, "transactionId", txnId);
+        TableCommitInfo tableCommitInfo = new TableCommitInfo(tabletMeta.getTableId());
+        tableCommitInfo.addPartitionCommitInfo(
+                new PartitionCommitInfo(tabletMeta.getPartitionId(), replica.getVersion() + 1, 0));
+        txn.putIdToTableCommitInfo(tabletMeta.getTableId(), tableCommitInfo);
+        txn.setTransactionStatus(TransactionStatus.VISIBLE);
+        new MockUp<GlobalTransactionMgr>() {
+            @Mock
+            public TransactionState getTransactionState(long dbId, long transactionId) {
+                return transactionId == txnId ? txn : null;
+            }
+        };
+
+        // the tablet is unchanged since the last report, backends report it incrementally for its transaction
+        TTabletInfo tabletInfo = new TTabletInfo();
+        tabletInfo.setTablet_id(tabletId);
+        tabletInfo.setSchema_hash(tabletMeta.getOldSchemaHash());
+        tabletInfo.setVersion(replica.getVersion());
+        tabletInfo.setRow_count(replica.getRowCount());
+        tabletInfo.setData_size(replica.getDataSize());
+        tabletInfo.setPartition_id(tabletMeta.getPartitionId());
+        tabletInfo.setTransaction_ids(Lists.newArrayList(txnId));
+        Map<Long, TTablet> backendTablets = Maps.newHashMap();
+        backendTablets.put(tabletId, new TTablet(Lists.newArrayList(tabletInfo)));
+
+        Map<Long, Map<Long, Map<Long, TPartitionVersionInfo>>> transactionsToPublish = Maps.newHashMap();
+        ListMultimap<Long, Long> tabletDeleteFromMeta = ArrayListMultimap.create();
+        invertedIndex.tabletReport(10001, backendTablets, true, Sets.newHashSet(),
+                GlobalStateMgr.getCurrentState().getLocalMetastore().getPartitionIdToStorageMediumMap(),
+                ArrayListMultimap.create(), tabletDeleteFromMeta, Sets.newHashSet(), Maps.newHashMap(),
+                ArrayListMultimap.create(), transactionsToPublish, Maps.newHashMap(), ArrayListMultimap.create(),
+                ArrayListMultimap.create(), Sets.newHashSet());
+        // published again, and the tablets left out of the incremental report are not deleted
+        Assert.assertTrue(transactionsToPublish.get(tabletMeta.getDbId()).get(txnId)
+                .containsKey(tabletMeta.getPartitionId()));
+        Assert.assertTrue(tabletDeleteFromMeta.isEmpty());
+    }
+
+    @Test
+    public void testIncrementalTabletReportWithDeletedTablets() {
+        TabletInvertedIndex invertedIndex = GlobalStateMgr.getCurrentState().getTabletInvertedIndex();
+        List<Long> tabletIds = invertedIndex.getTabletIdsByBackendId(10001);
+        Assert.assertTrue(tabletIds.size() >= 2);
+        long deletedTabletId = tabletIds.get(0);
+        long unchangedTabletId = tabletIds.get(1);
+
+        ListMultimap<Long, Long> tabletDeleteFromMeta = ArrayListMultimap.create();
+        invertedIndex.tabletReport(10001, new HashMap<>(), true, Sets.newHashSet(deletedTabletId),
+                GlobalStateMgr.getCurrentState().getLocalMetastore().getPartitionIdToStorageMediumMap(),
+                ArrayListMultimap.create(), tabletDeleteFromMeta, Sets.newHashSet(), Maps.newHashMap(),
+                ArrayListMultimap.create(), Maps.newHashMap(), Maps.newHashMap(), ArrayListMultimap.create(),
+                ArrayListMultimap.create(), Sets.newHashSet());
+        // a deleted tablet is missing on backend, the other tablets not in the report are unchanged
+        Assert.assertTrue(tabletDeleteFromMeta.containsValue(deletedTabletId));
+        Assert.assertFalse(tabletDeleteFromMeta.containsValue(unchangedTabletId));
+        Assert.assertEquals(1, tabletDeleteFromMeta.size());
+    }
+
     @Test
     public void testHandleMigration() throws TException {
         List<Long> tabletIds = GlobalStateMgr.getCurrentState().getTabletInvertedIndex().getTabletIdsByBackendId(10001);
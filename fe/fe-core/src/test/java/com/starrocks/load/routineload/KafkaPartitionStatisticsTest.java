@@ -0,0 +1,76 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.load.routineload;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class KafkaPartitionStatisticsTest {
+
+    @Test
+    public void testLagAndConsumeRate() {
+        KafkaPartitionStatistics statistics = new KafkaPartitionStatistics();
+        // unknown latest offset
+        Assert.assertEquals(0, statistics.getLag(0, 10L));
+
+        statistics.updateLatestOffset(0, 1000L);
+        Assert.assertEquals(990, statistics.getLag(0, 10L));
+        // OFFSET_BEGINNING before the first message is consumed
+        Assert.assertEquals(0, statistics.getLag(0, KafkaProgress.OFFSET_BEGINNING_VAL));
+        // not consumed yet
+        Assert.assertEquals(Double.MAX_VALUE, statistics.getLagSeconds(0, 10L), 0);
+
+        statistics.updateConsumedOffset(0, 10L, 1000L);
+        Assert.assertEquals(0, statistics.getConsumeRate(0), 0);
+        statistics.updateConsumedOffset(0, 110L, 2000L);
+        Assert.assertEquals(100, statistics.getConsumeRate(0), 0.001);
+        // smoothed with the previous rate
+        statistics.updateConsumedOffset(0, 410L, 3000L);
+        Assert.assertEquals(200, statistics.getConsumeRate(0), 0.001);
+        Assert.assertEquals(590.0 / 200, statistics.getLagSeconds(0, 410L), 0.001);
+        // keeps up with 200 messages per second and consumes the lag of 590 messages in 10 seconds
+        Assert.assertEquals(259, statistics.getLoad(0, 410L, 10000L), 0.001);
+
+        statistics.retainPartitions(Lists.newArrayList(1));
+        Assert.assertEquals(0, statistics.getLag(0, 410L));
+        Assert.assertEquals(0, statistics.getConsumeRate(0), 0);
+    }
+
+    @Test
+    public void testAssignPartitions() {
+        // without any load, the partitions are assigned evenly
+        List<List<Integer>> tasks = KafkaPartitionStatistics.assignPartitions(
+                Lists.newArrayList(0, 1, 2, 3, 4), ImmutableMap.of(), 2);
+        Assert.assertEquals(2, tasks.size());
+        Assert.assertEquals(Lists.newArrayList(0, 2, 4), tasks.get(0));
+        Assert.assertEquals(Lists.newArrayList(1, 3), tasks.get(1));
+
+        // the hot partition takes a task on its own
+        tasks = KafkaPartitionStatistics.assignPartitions(Lists.newArrayList(0, 1, 2, 3),
+                ImmutableMap.of(0, 10.0, 1, 10.0, 2, 10.0, 3, 30.0), 2);
+        Assert.assertEquals(Lists.newArrayList(3), tasks.get(0));
+        Assert.assertEquals(Lists.newArrayList(0, 1, 2), tasks.get(1));
+
+        // the partition without load is assigned the average load
+        tasks = KafkaPartitionStatistics.assignPartitions(Lists.newArrayList(0, 1, 2),
+                ImmutableMap.of(0, 20.0, 1, 10.0), 2);
+        Assert.assertEquals(Lists.newArrayList(0), tasks.get(0));
+        Assert.assertEquals(Lists.newArrayList(2, 1), tasks.get(1));
+    }
+}
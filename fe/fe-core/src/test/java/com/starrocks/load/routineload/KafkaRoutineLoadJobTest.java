@@ -42,6 +42,7 @@ import com.starrocks.analysis.LabelName;
 import com.starrocks.analysis.ParseNode;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.OlapTable;
+import com.starrocks.common.Config;
 import com.starrocks.common.LoadException;
 import com.starrocks.common.MetaNotFoundException;
 import com.starrocks.common.Pair;
@@ -500,4 +501,75 @@ public class KafkaRoutineLoadJobTest {
         Assert.assertEquals("['$.category','$.price','$.author']", newJob.getJsonPaths());
         Assert.assertEquals("", newJob.getJsonRoot());
     }
+
+    private static KafkaTaskInfo newKafkaTaskInfo(RoutineLoadJob job, Integer... partitions) {
+        Map<Integer, Long> partitionIdToOffset = Maps.newHashMap();
+        for (Integer partition : partitions) {
+            partitionIdToOffset.put(partition, 0L);
+        }
+        return new KafkaTaskInfo(UUID.randomUUID(), job, 10000, System.currentTimeMillis(), partitionIdToOffset,
+                job.getTaskTimeoutSecond() * 1000);
+    }
+
+    @Test
+    public void testAdaptiveRebalanceDecision() {
+        KafkaRoutineLoadJob job = new KafkaRoutineLoadJob(1L, "kafka_routine_load_job", 1L,
+                1L, "127.0.0.1:9020", "topic1");
+        KafkaPartitionStatistics statistics = Deencapsulation.getField(job, "partitionStatistics");
+        Deencapsulation.setField(job, "currentKafkaPartitions", Lists.newArrayList(0, 1, 2, 3));
+        // 30 messages per second of partition 0 and 10 of partition 1, partitions 2 and 3 are not consumed yet
+        statistics.updateConsumedOffset(0, 0L, 0L);
+        statistics.updateConsumedOffset(0, 30L, 1000L);
+        statistics.updateConsumedOffset(1, 0L, 0L);
+        statistics.updateConsumedOffset(1, 10L, 1000L);
+
+        // loads by the assignment: 30, 10, 20, 20
+        Deencapsulation.setField(job, "routineLoadTaskInfoList", Lists.newArrayList(
+                newKafkaTaskInfo(job, 0, 2, 3), newKafkaTaskInfo(job, 1)));
+        Assert.assertTrue(job.unprotectIsImbalanced());
+
+        // the assignment of assignPartitions, a task without consumed partitions is not imbalanced
+        Deencapsulation.setField(job, "routineLoadTaskInfoList", Lists.newArrayList(
+                newKafkaTaskInfo(job, 0, 1), newKafkaTaskInfo(job, 2, 3)));
+        Assert.assertFalse(job.unprotectIsImbalanced());
+
+        // more than twice the load, but it can not be balanced better
+        Deencapsulation.setField(job, "currentKafkaPartitions", Lists.newArrayList(0, 1, 2));
+        Deencapsulation.setField(job, "routineLoadTaskInfoList", Lists.newArrayList(
+                newKafkaTaskInfo(job, 0), newKafkaTaskInfo(job, 1), newKafkaTaskInfo(job, 2)));
+        Assert.assertFalse(job.unprotectIsImbalanced());
+    }
+
+    @Test
+    public void testAdaptiveRefreshLatestOffsets() {
+        boolean enabled = Config.enable_routine_load_adaptive_scheduling;
+        Config.enable_routine_load_adaptive_scheduling = true;
+        try {
+            KafkaRoutineLoadJob job = new KafkaRoutineLoadJob(1L, "kafka_routine_load_job", 1L,
+                    1L, "127.0.0.1:9020", "topic1");
+            Deencapsulation.setField(job, "currentKafkaPartitions", Lists.newArrayList(0, 1));
+            Deencapsulation.setField(job, "state", RoutineLoadJob.JobState.RUNNING);
+            int[] numCalls = {0};
+            new MockUp<KafkaUtil>() {
+                @Mock
+                public Map<Integer, Long> getLatestOffsets(String brokerList, String topic,
+                                                           ImmutableMap<String, String> properties,
+                                                           List<Integer> partitions, long warehouseId) {
+                    numCalls[0]++;
+                    return ImmutableMap.of(0, 100L, 1, 200L);
+                }
+            };
+
+            Deencapsulation.invoke(job, "refreshLatestOffsets");
+            Assert.assertEquals(1, numCalls[0]);
+            Assert.assertEquals(Long.valueOf(100L), job.getPartitionOffset(0));
+            Assert.assertEquals(Long.valueOf(200L), job.getPartitionOffset(1));
+
+            // at most once in a reschedule interval
+            Deencapsulation.invoke(job, "refreshLatestOffsets");
+            Assert.assertEquals(1, numCalls[0]);
+        } finally {
+            Config.enable_routine_load_adaptive_scheduling = enabled;
+        }
+    }
 }
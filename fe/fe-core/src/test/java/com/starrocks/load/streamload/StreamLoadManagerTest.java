@@ -19,6 +19,7 @@ import com.google.common.collect.Lists;
 import com.starrocks.backup.CatalogMocker;
 import com.starrocks.catalog.Database;
 import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.UserException;
 import com.starrocks.common.jmockit.Deencapsulation;
@@ -310,4 +311,47 @@ public class StreamLoadManagerTest {
         Assert.assertEquals(0, streamLoadManager.getStreamLoadTaskCount());
     }
 
+    @Test
+    public void testCleanOldStreamLoadTasks() throws Exception {
+        StreamLoadMgr streamLoadManager = new StreamLoadMgr();
+
+        String dbName = "test_db";
+        String tableName = "test_tbl";
+        long timeoutMillis = 100000;
+        long warehouseId = 0;
+
+        TransactionResult resp = new TransactionResult();
+        streamLoadManager.beginLoadTask(dbName, tableName, "label3", "", "", timeoutMillis, resp, false, warehouseId);
+        streamLoadManager.beginLoadTask(dbName, tableName, "label4", "", "", timeoutMillis, resp, false, warehouseId);
+        Map<Long, Map<String, StreamLoadTask>> dbToLabelToStreamLoadTask =
+                Deencapsulation.getField(streamLoadManager, "dbToLabelToStreamLoadTask");
+        Assert.assertEquals(1, dbToLabelToStreamLoadTask.size());
+
+        StreamLoadTask task3 = streamLoadManager.getTaskByLabel("label3");
+        task3.afterCommitted(new TransactionState(), true);
+
+        // the committed task is kept for stream_load_task_keep_max_second
+        streamLoadManager.cleanOldStreamLoadTasks(false);
+        Assert.assertEquals(2, streamLoadManager.getStreamLoadTaskCount());
+
+        int prevKeepMaxSecond = Config.stream_load_task_keep_max_second;
+        Config.stream_load_task_keep_max_second = 0;
+        try {
+            Thread.sleep(10);
+            streamLoadManager.cleanOldStreamLoadTasks(false);
+            Assert.assertEquals(1, streamLoadManager.getStreamLoadTaskCount());
+            Assert.assertNull(streamLoadManager.getTaskByLabel("label3"));
+            Assert.assertEquals(1, dbToLabelToStreamLoadTask.size());
+
+            streamLoadManager.getTaskByLabel("label4").afterCommitted(new TransactionState(), true);
+            Thread.sleep(10);
+            streamLoadManager.cleanOldStreamLoadTasks(false);
+            Assert.assertEquals(0, streamLoadManager.getStreamLoadTaskCount());
+            // the map of the database is removed with its last label
+            Assert.assertTrue(dbToLabelToStreamLoadTask.isEmpty());
+        } finally {
+            Config.stream_load_task_keep_max_second = prevKeepMaxSecond;
+        }
+    }
+
 }
@@ -28,6 +28,8 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
 
 public class MysqlChannelTest {
     int packetId = 0;
@@ -333,4 +335,120 @@ public class MysqlChannelTest {
         channel1.sendOnePacket(buf);
     }
 
+    @Test
+    public void testSendPackets() throws IOException {
+        ByteBuffer written = ByteBuffer.allocate(4096);
+        new Expectations() {
+            {
+                channel.write((ByteBuffer) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    int fakeWrite(ByteBuffer buffer) {
+                        int writeLen = buffer.remaining();
+                        written.put(buffer);
+                        return writeLen;
+                    }
+                };
+                channel.write((ByteBuffer[]) any, anyInt, anyInt);
+                minTimes = 0;
+                result = new Delegate() {
+                    long fakeWrite(ByteBuffer[] buffers, int offset, int length) {
+                        // write at most 3 bytes of each buffer, like a partial write of the socket
+                        long writeLen = 0;
+                        for (int i = offset; i < offset + length; i++) {
+                            while (buffers[i].hasRemaining() && writeLen < 3) {
+                                written.put(buffers[i].get());
+                                writeLen++;
+                            }
+                        }
+                        return writeLen;
+                    }
+                };
+            }
+        };
+
+        MysqlChannel channel1 = new MysqlChannel(channel);
+        ByteBuffer fields = ByteBuffer.wrap(new byte[] {9});
+        channel1.sendOnePacket(fields);
+        List<ByteBuffer> rows = new ArrayList<>();
+        for (int i = 0; i < MysqlChannel.MAX_GATHERING_PACKETS + 10; i++) {
+            rows.add(ByteBuffer.wrap(new byte[] {(byte) i, (byte) (i + 1)}));
+        }
+        channel1.sendPackets(rows);
+        Assert.assertTrue(channel1.isSend());
+
+        written.flip();
+        // the packet in the send buffer goes first
+        Assert.assertEquals(1, written.get());
+        Assert.assertEquals(0, written.getShort());
+        Assert.assertEquals(0, written.get());
+        Assert.assertEquals(9, written.get());
+        for (int i = 0; i < rows.size(); i++) {
+            Assert.assertEquals(2, written.get());
+            Assert.assertEquals(0, written.getShort());
+            Assert.assertEquals((byte) (i + 1), written.get());
+            Assert.assertEquals((byte) i, written.get());
+            Assert.assertEquals((byte) (i + 1), written.get());
+        }
+        Assert.assertFalse(written.hasRemaining());
+    }
+
+    @Test
+    public void testCompressedProtocol() throws IOException {
+        ByteBuffer wire = ByteBuffer.allocate(1 << 16);
+        new Expectations() {
+            {
+                channel.write((ByteBuffer) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    int fakeWrite(ByteBuffer buffer) {
+                        int writeLen = buffer.remaining();
+                        wire.put(buffer);
+                        return writeLen;
+                    }
+                };
+                channel.read((ByteBuffer) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    int fakeRead(ByteBuffer buffer) {
+                        if (!wire.hasRemaining()) {
+                            return -1;
+                        }
+                        int readLen = Math.min(buffer.remaining(), wire.remaining());
+                        for (int i = 0; i < readLen; i++) {
+                            buffer.put(wire.get());
+                        }
+                        return readLen;
+                    }
+                };
+            }
+        };
+
+        MysqlChannel sender = new MysqlChannel(channel);
+        sender.enableCompression();
+        // a short packet is sent uncompressed, a long one compressed
+        byte[] shortPacket = {1, 2, 3};
+        byte[] longPacket = new byte[10000];
+        for (int i = 0; i < longPacket.length; i++) {
+            longPacket[i] = (byte) ('a' + i % 3);
+        }
+        sender.sendAndFlush(ByteBuffer.wrap(shortPacket));
+        sender.sendAndFlush(ByteBuffer.wrap(longPacket));
+        wire.flip();
+        // 7 bytes header, 4 bytes packet header and the packet itself
+        Assert.assertEquals(4 + shortPacket.length, wire.get(0) & 0xFF);
+        Assert.assertEquals(0, wire.get(4));
+        int secondPacket = 7 + 4 + shortPacket.length;
+        Assert.assertEquals(1, wire.get(secondPacket + 3));
+        Assert.assertTrue(wire.limit() < 7 + 4 + longPacket.length);
+
+        MysqlChannel receiver = new MysqlChannel(channel);
+        receiver.enableCompression();
+        ByteBuffer packet = receiver.fetchOnePacket();
+        Assert.assertEquals(ByteBuffer.wrap(shortPacket), packet);
+        packet = receiver.fetchOnePacket();
+        Assert.assertEquals(ByteBuffer.wrap(longPacket), packet);
+        Assert.assertNull(receiver.fetchOnePacket());
+    }
+
 }
@@ -0,0 +1,110 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.mysql.nio;
+
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mocked;
+import mockit.Verifications;
+import org.junit.Assert;
+import org.junit.Test;
+import org.xnio.StreamConnection;
+import org.xnio.conduits.ConduitStreamSinkChannel;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class NMysqlChannelTest {
+    @Mocked
+    private StreamConnection connection;
+    @Mocked
+    private ConduitStreamSinkChannel sinkChannel;
+
+    @Test
+    public void testSendPackets() throws IOException {
+        ByteBuffer written = ByteBuffer.allocate(4096);
+        new Expectations() {
+            {
+                connection.getPeerAddress();
+                minTimes = 0;
+                result = new InetSocketAddress(1024);
+                connection.getSinkChannel();
+                minTimes = 0;
+                result = sinkChannel;
+                sinkChannel.flush();
+                minTimes = 0;
+                result = true;
+                sinkChannel.write((ByteBuffer) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    int fakeWrite(ByteBuffer buffer) {
+                        int writeLen = buffer.remaining();
+                        written.put(buffer);
+                        return writeLen;
+                    }
+                };
+                sinkChannel.write((ByteBuffer[]) any, anyInt, anyInt);
+                minTimes = 0;
+                result = new Delegate() {
+                    long fakeWrite(ByteBuffer[] buffers, int offset, int length) {
+                        // write at most 3 bytes of each buffer, like a partial write of the socket
+                        long writeLen = 0;
+                        for (int i = offset; i < offset + length; i++) {
+                            while (buffers[i].hasRemaining() && writeLen < 3) {
+                                written.put(buffers[i].get());
+                                writeLen++;
+                            }
+                        }
+                        return writeLen;
+                    }
+                };
+            }
+        };
+
+        NMysqlChannel channel = new NMysqlChannel(connection);
+        channel.sendOnePacket(ByteBuffer.wrap(new byte[] {9}));
+        List<ByteBuffer> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(ByteBuffer.wrap(new byte[] {(byte) i, (byte) (i + 1)}));
+        }
+        channel.sendPackets(rows);
+        Assert.assertTrue(channel.isSend());
+
+        // the rows are sent by gathering writes, not copied into the send buffer
+        new Verifications() {
+            {
+                sinkChannel.write((ByteBuffer[]) any, anyInt, anyInt);
+                minTimes = 1;
+            }
+        };
+        written.flip();
+        // the packet in the send buffer goes first
+        Assert.assertEquals(1, written.get());
+        Assert.assertEquals(0, written.getShort());
+        Assert.assertEquals(0, written.get());
+        Assert.assertEquals(9, written.get());
+        for (int i = 0; i < rows.size(); i++) {
+            Assert.assertEquals(2, written.get());
+            Assert.assertEquals(0, written.getShort());
+            Assert.assertEquals((byte) (i + 1), written.get());
+            Assert.assertEquals((byte) i, written.get());
+            Assert.assertEquals((byte) (i + 1), written.get());
+        }
+        Assert.assertFalse(written.hasRemaining());
+    }
+}
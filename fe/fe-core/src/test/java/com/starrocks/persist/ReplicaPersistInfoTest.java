@@ -17,14 +17,20 @@
 
 package com.starrocks.persist;
 
+import com.google.common.collect.Lists;
+import com.starrocks.common.io.DataOutputBuffer;
+import com.starrocks.persist.gson.GsonUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
 
 public class ReplicaPersistInfoTest {
     @Test
@@ -62,4 +68,50 @@ public class ReplicaPersistInfoTest {
         Assert.assertEquals(0, info.getDataSize());
         Assert.assertEquals(8, info.getRowCount());
     }
+
+    @Test
+    public void testCompactSerialization() throws Exception {
+        ReplicaPersistInfo info = ReplicaPersistInfo.createForAdd(10001, 10002, 10003, 10004, 10005, 10006,
+                10007, 12, 368271, 1024L * 1024 * 1024, 100000, -1, 11, 5);
+        DataOutputBuffer buffer = new DataOutputBuffer();
+        info.writeCompact(buffer);
+        ReplicaPersistInfo read = ReplicaPersistInfo.readCompact(
+                new DataInputStream(new ByteArrayInputStream(buffer.getData(), 0, buffer.getLength())));
+        Assert.assertEquals(info, read);
+        Assert.assertEquals(ReplicaPersistInfo.ReplicaOperationType.ADD, read.getOpType());
+        Assert.assertEquals(368271, read.getSchemaHash());
+        Assert.assertEquals(-1, read.getLastFailedVersion());
+        Assert.assertTrue(buffer.getLength() < GsonUtils.GSON.toJson(info).length());
+
+        ReplicaPersistInfo deleteInfo = ReplicaPersistInfo.createForDelete(1, 2, 3, 4, 5, 6);
+        BatchDeleteReplicaInfo batchInfo = new BatchDeleteReplicaInfo(6, null, Lists.newArrayList(deleteInfo, info));
+        buffer = new DataOutputBuffer();
+        batchInfo.writeCompact(buffer);
+        BatchDeleteReplicaInfo readBatch = BatchDeleteReplicaInfo.readCompact(
+                new DataInputStream(new ByteArrayInputStream(buffer.getData(), 0, buffer.getLength())));
+        Assert.assertEquals(6, readBatch.getBackendId());
+        Assert.assertEquals(batchInfo.getReplicaInfoList(), readBatch.getReplicaInfoList());
+        Assert.assertEquals(-1, readBatch.getReplicaInfoList().get(0).getVersion());
+    }
+
+    @Test
+    public void testCompactSerializationWithWrongVersion() throws Exception {
+        ReplicaPersistInfo info = ReplicaPersistInfo.createForDelete(1, 2, 3, 4, 5, 6);
+        DataOutputBuffer buffer = new DataOutputBuffer();
+        info.writeCompact(buffer);
+        byte[] bytes = Arrays.copyOf(buffer.getData(), buffer.getLength());
+        Assert.assertEquals(ReplicaPersistInfo.COMPACT_FORMAT_VERSION, bytes[0]);
+        bytes[0] = ReplicaPersistInfo.COMPACT_FORMAT_VERSION + 1;
+        Assert.assertThrows(IOException.class,
+                () -> ReplicaPersistInfo.readCompact(new DataInputStream(new ByteArrayInputStream(bytes))));
+
+        BatchDeleteReplicaInfo batchInfo = new BatchDeleteReplicaInfo(6, null, Lists.newArrayList(info));
+        buffer = new DataOutputBuffer();
+        batchInfo.writeCompact(buffer);
+        byte[] batchBytes = Arrays.copyOf(buffer.getData(), buffer.getLength());
+        Assert.assertEquals(ReplicaPersistInfo.COMPACT_FORMAT_VERSION, batchBytes[0]);
+        batchBytes[0] = 0;
+        Assert.assertThrows(IOException.class,
+                () -> BatchDeleteReplicaInfo.readCompact(new DataInputStream(new ByteArrayInputStream(batchBytes))));
+    }
 }
@@ -14,9 +14,11 @@
 
 package com.starrocks.persist.metablock;
 
+import com.google.gson.JsonElement;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
+import com.starrocks.persist.gson.GsonUtils;
 import org.apache.commons.io.FileUtils;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -110,6 +112,63 @@ public class SRMetaBlockV2Test {
         in.close();
     }
 
+    @Test
+    public void testReadJsonElement() throws Exception {
+        String fileName = "json_element";
+
+        OutputStream out = openOutput(fileName);
+        SRMetaBlockWriter writer = new SRMetaBlockWriterV2(new JsonWriter(new OutputStreamWriter(out)),
+                SRMetaBlockID.RESOURCE_MGR, 3);
+        writer.writeJson(new SimpleObject("n1", 1));
+        writer.writeJson(new SimpleObject("n2", 2));
+        writer.writeJson(new SimpleObject("n3", 3));
+        writer.close();
+        out.close();
+
+        InputStream in = openInput(fileName);
+        SRMetaBlockReader reader = new SRMetaBlockReaderV2(new JsonReader(new InputStreamReader(in)));
+        Assert.assertEquals(new SimpleObject("n1", 1), reader.readJson(SimpleObject.class));
+        JsonElement element = reader.readJsonElement();
+        Assert.assertEquals(new SimpleObject("n2", 2), GsonUtils.GSON.fromJson(element, SimpleObject.class));
+        Assert.assertEquals(new SimpleObject("n3", 3), reader.readJson(SimpleObject.class));
+        Assert.assertThrows(SRMetaBlockEOFException.class, reader::readJsonElement);
+        reader.close();
+        in.close();
+    }
+
+    @Test
+    public void testWriteSerializedJson() throws Exception {
+        String fileName = "serialized_json";
+
+        OutputStream out = openOutput(fileName);
+        JsonWriter jsonWriter = new JsonWriter(new OutputStreamWriter(out));
+        SRMetaBlockWriter writer = new SRMetaBlockWriterV2(jsonWriter, SRMetaBlockID.RESOURCE_MGR, 3);
+        writer.writeSerializedJson(GsonUtils.GSON.toJson(new SimpleObject("n1", 1)));
+        writer.writeJson(new SimpleObject("n2", 2));
+        writer.writeSerializedJson(GsonUtils.GSON.toJson(new SimpleObject("n3", 3)));
+        Assert.assertThrows(SRMetaBlockException.class,
+                () -> writer.writeSerializedJson(GsonUtils.GSON.toJson(new SimpleObject("n4", 4))));
+        writer.close();
+        SRMetaBlockWriter writer2 = new SRMetaBlockWriterV2(jsonWriter, SRMetaBlockID.TASK_MGR, 1);
+        writer2.writeSerializedJson(GsonUtils.GSON.toJson(new SimpleObject("n5", 5)));
+        writer2.close();
+        out.close();
+
+        InputStream in = openInput(fileName);
+        JsonReader jsonReader = new JsonReader(new InputStreamReader(in));
+        SRMetaBlockReader reader = new SRMetaBlockReaderV2(jsonReader);
+        Assert.assertEquals(SRMetaBlockID.RESOURCE_MGR, reader.getHeader().getSrMetaBlockID());
+        Assert.assertEquals(new SimpleObject("n1", 1), reader.readJson(SimpleObject.class));
+        Assert.assertEquals(new SimpleObject("n2", 2), reader.readJson(SimpleObject.class));
+        Assert.assertEquals(new SimpleObject("n3", 3), reader.readJson(SimpleObject.class));
+        reader.close();
+        SRMetaBlockReader reader2 = new SRMetaBlockReaderV2(jsonReader);
+        Assert.assertEquals(SRMetaBlockID.TASK_MGR, reader2.getHeader().getSrMetaBlockID());
+        Assert.assertEquals(new SimpleObject("n5", 5), reader2.readJson(SimpleObject.class));
+        reader2.close();
+        in.close();
+    }
+
     @Test
     public void testMultiBlock() throws Exception {
         String fileName = "multi_block";
@@ -16,18 +16,22 @@ package com.starrocks.qe.scheduler;
 
 import com.google.api.client.util.Lists;
 import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
 import com.starrocks.common.Reference;
 import com.starrocks.common.UserException;
 import com.starrocks.proto.PCancelPlanFragmentRequest;
 import com.starrocks.proto.PCancelPlanFragmentResult;
+import com.starrocks.proto.PExecBatchPlanFragmentsResult;
 import com.starrocks.proto.PExecPlanFragmentResult;
 import com.starrocks.proto.StatusPB;
 import com.starrocks.qe.DefaultCoordinator;
 import com.starrocks.qe.SimpleScheduler;
 import com.starrocks.qe.scheduler.dag.ExecutionDAG;
+import com.starrocks.rpc.PExecBatchPlanFragmentsRequest;
 import com.starrocks.rpc.PExecPlanFragmentRequest;
 import com.starrocks.rpc.RpcException;
 import com.starrocks.thrift.FrontendServiceVersion;
+import com.starrocks.thrift.TExecBatchPlanFragmentsParams;
 import com.starrocks.thrift.TExecPlanFragmentParams;
 import com.starrocks.thrift.TNetworkAddress;
 import com.starrocks.thrift.TReportExecStatusParams;
@@ -140,6 +144,65 @@ public class StartSchedulingTest extends SchedulerTestBase {
         });
     }
 
+    @Test
+    public void testBatchDeploySuccess() throws Exception {
+        Map<TNetworkAddress, Integer> backendToNumInstances = Maps.newHashMap();
+        Map<TNetworkAddress, List<TExecBatchPlanFragmentsParams>> backendToRequests = Maps.newHashMap();
+        Map<TUniqueId, TExecPlanFragmentParams> instanceToUniqueParams = Maps.newConcurrentMap();
+        setBackendService(address -> new MockPBackendService() {
+            @Override
+            public Future<PExecPlanFragmentResult> execPlanFragmentAsync(PExecPlanFragmentRequest request) {
+                throw new RuntimeException("instances should be deployed by the batch rpc");
+            }
+
+            @Override
+            public Future<PExecBatchPlanFragmentsResult> execBatchPlanFragmentsAsync(
+                    PExecBatchPlanFragmentsRequest request) {
+                TExecBatchPlanFragmentsParams tRequest = new TExecBatchPlanFragmentsParams();
+                try {
+                    request.getRequest(tRequest);
+                } catch (TException e) {
+                    throw new RuntimeException(e);
+                }
+                synchronized (backendToRequests) {
+                    backendToRequests.computeIfAbsent(address, (k) -> Lists.newArrayList()).add(tRequest);
+                    backendToNumInstances.merge(address, tRequest.getUnique_param_per_instance().size(), Integer::sum);
+                }
+                tRequest.getUnique_param_per_instance().forEach(unique ->
+                        instanceToUniqueParams.put(unique.getParams().getFragment_instance_id(), unique));
+                return super.execBatchPlanFragmentsAsync(request);
+            }
+        });
+
+        boolean prevEnableBatchDeploy = Config.enable_deploy_shared_fragment_params;
+        Config.enable_deploy_shared_fragment_params = true;
+        try {
+            String sql = "select count(1) from lineitem UNION ALL select count(1) from lineitem";
+            DefaultCoordinator scheduler = startScheduling(sql);
+            Assert.assertTrue(scheduler.getExecStatus().ok());
+
+            // Every instance is deployed exactly once.
+            ExecutionDAG executionDAG = scheduler.getExecutionDAG();
+            Assert.assertEquals(executionDAG.getInstances().size(), instanceToUniqueParams.size());
+
+            backendToRequests.forEach((address, requests) -> {
+                // The first request to a backend carries the descriptor table.
+                Assert.assertFalse(requests.get(0).getCommon_param().getDesc_tbl().isIs_cached());
+                requests.forEach(request -> {
+                    Assert.assertFalse(request.getUnique_param_per_instance().isEmpty());
+                    Assert.assertFalse(request.getCommon_param().getParams().isSetInstances_number());
+                    request.getUnique_param_per_instance().forEach(unique -> {
+                        Assert.assertFalse(unique.isSetDesc_tbl());
+                        Assert.assertEquals(backendToNumInstances.get(address).intValue(),
+                                unique.getParams().getInstances_number());
+                    });
+                });
+            });
+        } finally {
+            Config.enable_deploy_shared_fragment_params = prevEnableBatchDeploy;
+        }
+    }
+
     @Test
     public void testDeployThrowException() {
         setBackendService(address -> {
@@ -15,11 +15,20 @@
 package com.starrocks.qe.scheduler.slot;
 
 import com.google.common.collect.ImmutableList;
+import com.starrocks.catalog.ResourceGroup;
+import com.starrocks.catalog.ResourceGroupMgr;
 import com.starrocks.common.util.UUIDUtil;
 import com.starrocks.metric.MetricRepo;
+import com.starrocks.qe.GlobalVariable;
+import mockit.Mock;
+import mockit.MockUp;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class DefaultSlotSelectionStrategyTest {
@@ -68,6 +77,52 @@ public class DefaultSlotSelectionStrategyTest {
         assertThat(strategy.getNumAllocatedSlotsOfGroup(0)).isZero();
     }
 
+    @Test
+    public void testWeightedFairBetweenGroups() {
+        Map<Long, ResourceGroup> groups = new HashMap<>();
+        for (long groupId = 1; groupId <= 2; groupId++) {
+            ResourceGroup group = new ResourceGroup();
+            group.setId(groupId);
+            group.setName("rg" + groupId);
+            group.setCpuWeight(groupId == 1 ? 3 : 1);
+            groups.put(groupId, group);
+        }
+        new MockUp<ResourceGroupMgr>() {
+            @Mock
+            public ResourceGroup getResourceGroup(long id) {
+                return groups.get(id);
+            }
+        };
+
+        int prevConcurrencyLimit = GlobalVariable.getQueryQueueConcurrencyLimit();
+        GlobalVariable.setQueryQueueConcurrencyLimit(8);
+        try {
+            DefaultSlotSelectionStrategy strategy =
+                    new DefaultSlotSelectionStrategy(() -> false, (groupId) -> false);
+            SlotTracker slotTracker = new SlotTracker(ImmutableList.of(strategy));
+            // The group 2 queues its queries first, but it cannot starve the group 1 with the higher weight.
+            for (long groupId = 2; groupId >= 1; groupId--) {
+                for (int i = 0; i < 10; i++) {
+                    assertThat(slotTracker.requireSlot(generateSlot(1, groupId))).isTrue();
+                }
+            }
+
+            List<LogicalSlot> slotsToAllocate = strategy.peakSlotsToAllocate(slotTracker);
+            assertThat(slotsToAllocate).hasSize(8);
+            slotsToAllocate.forEach(slotTracker::allocateSlot);
+            assertThat(strategy.getNumAllocatedSlotsOfGroup(1)).isEqualTo(6);
+            assertThat(strategy.getNumAllocatedSlotsOfGroup(2)).isEqualTo(2);
+
+            // Release the slots of the group 1, which is still the group with the fewest weighted allocated slots.
+            slotsToAllocate.stream().filter(slot -> slot.getGroupId() == 1).limit(3)
+                    .forEach(slot -> slotTracker.releaseSlot(slot.getSlotId()));
+            slotsToAllocate = strategy.peakSlotsToAllocate(slotTracker);
+            assertThat(slotsToAllocate).hasSize(3).allMatch(slot -> slot.getGroupId() == 1);
+        } finally {
+            GlobalVariable.setQueryQueueConcurrencyLimit(prevConcurrencyLimit);
+        }
+    }
+
     private static LogicalSlot generateSlot(int numSlots, long groupId) {
         return new LogicalSlot(UUIDUtil.genTUniqueId(), "fe", groupId, numSlots, 0, 0, 0, 0, 0);
     }
@@ -45,6 +45,7 @@ import com.starrocks.persist.EditLog;
 import com.starrocks.persist.ModifyPartitionInfo;
 import com.starrocks.persist.PhysicalPartitionPersistInfoV2;
 import com.starrocks.persist.TruncateTableInfo;
+import com.starrocks.persist.gson.GsonUtils;
 import com.starrocks.persist.metablock.SRMetaBlockReader;
 import com.starrocks.persist.metablock.SRMetaBlockReaderV2;
 import com.starrocks.qe.ConnectContext;
@@ -173,6 +174,84 @@ public class LocalMetaStoreTest {
         Assert.assertNotNull(localMetaStore.getDb(SysDb.DATABASE_NAME));
     }
 
+    private static LocalMetastore loadImage(UtFrameUtils.PseudoImage image) throws Exception {
+        LocalMetastore localMetaStore = new LocalMetastore(GlobalStateMgr.getCurrentState(),
+                    GlobalStateMgr.getCurrentState().getRecycleBin(),
+                    GlobalStateMgr.getCurrentState().getColocateTableIndex());
+        SRMetaBlockReader reader = new SRMetaBlockReaderV2(image.getJsonReader());
+        localMetaStore.load(reader);
+        reader.close();
+        return localMetaStore;
+    }
+
+    @Test
+    public void testLoadImageConcurrently() throws Exception {
+        starRocksAssert.withDatabase("image_load");
+        for (int i = 0; i < 10; i++) {
+            starRocksAssert.withTable("CREATE TABLE image_load.t" + i + "(k1 int, k2 int, k3 int)" +
+                    " distributed by hash(k1) buckets 3 properties('replication_num' = '1');");
+        }
+        UtFrameUtils.PseudoImage image = new UtFrameUtils.PseudoImage();
+        GlobalStateMgr.getCurrentState().getLocalMetastore().save(image.getImageWriter());
+
+        LocalMetastore serialMetaStore = loadImage(image);
+        LocalMetastore concurrentMetaStore;
+        int oldParallelism = Config.metadata_image_load_parallelism;
+        try {
+            Config.metadata_image_load_parallelism = 4;
+            concurrentMetaStore = loadImage(image);
+        } finally {
+            Config.metadata_image_load_parallelism = oldParallelism;
+        }
+
+        // the tables are registered in the order of the image and bound to the same objects as loading serially
+        Database serialDb = serialMetaStore.getDb("image_load");
+        Database concurrentDb = concurrentMetaStore.getDb("image_load");
+        Assert.assertNotNull(concurrentDb);
+        Assert.assertEquals(10, concurrentDb.getTables().size());
+        Assert.assertEquals(serialDb.getTables().size(), concurrentDb.getTables().size());
+        for (int i = 0; i < serialDb.getTables().size(); i++) {
+            Table serialTable = serialDb.getTables().get(i);
+            Table concurrentTable = concurrentDb.getTables().get(i);
+            Assert.assertEquals(serialTable.getId(), concurrentTable.getId());
+            Assert.assertSame(concurrentTable, concurrentDb.getTable(serialTable.getName()));
+            Assert.assertEquals(GsonUtils.GSON.toJson(serialTable), GsonUtils.GSON.toJson(concurrentTable));
+        }
+        Assert.assertEquals(Sets.newHashSet(serialMetaStore.getDbIds()), Sets.newHashSet(concurrentMetaStore.getDbIds()));
+    }
+
+    @Test
+    public void testSaveImageConcurrently() throws Exception {
+        starRocksAssert.withDatabase("image_save");
+        // more tables than the window of pending serialized tables of 4 threads
+        for (int i = 0; i < 20; i++) {
+            starRocksAssert.withTable("CREATE TABLE image_save.t" + i + "(k1 int, k2 int, k3 int)" +
+                    " distributed by hash(k1) buckets 3 properties('replication_num' = '1');");
+        }
+        LocalMetastore localMetastore = GlobalStateMgr.getCurrentState().getLocalMetastore();
+        UtFrameUtils.PseudoImage serialImage = new UtFrameUtils.PseudoImage();
+        localMetastore.save(serialImage.getImageWriter());
+        UtFrameUtils.PseudoImage concurrentImage = new UtFrameUtils.PseudoImage();
+        int oldParallelism = Config.metadata_image_save_parallelism;
+        try {
+            Config.metadata_image_save_parallelism = 4;
+            localMetastore.save(concurrentImage.getImageWriter());
+        } finally {
+            Config.metadata_image_save_parallelism = oldParallelism;
+        }
+
+        // the same image byte for byte
+        Assert.assertArrayEquals(serialImage.getDataInputStream().readAllBytes(),
+                concurrentImage.getDataInputStream().readAllBytes());
+
+        Database db = loadImage(concurrentImage).getDb("image_save");
+        Assert.assertNotNull(db);
+        Assert.assertEquals(20, db.getTables().size());
+        for (int i = 0; i < 20; i++) {
+            Assert.assertNotNull(db.getTable("t" + i));
+        }
+    }
+
     @Test
     public void testReplayAddSubPartition() throws DdlException {
         Database db = connectContext.getGlobalStateMgr().getLocalMetastore().getDb("test");
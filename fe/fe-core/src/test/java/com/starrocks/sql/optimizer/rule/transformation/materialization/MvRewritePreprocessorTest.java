@@ -21,12 +21,14 @@ import com.starrocks.catalog.MaterializedView;
 import com.starrocks.catalog.MvPlanContext;
 import com.starrocks.catalog.Table;
 import com.starrocks.common.Pair;
+import com.starrocks.qe.ConnectContext;
 import com.starrocks.sql.ast.QueryStatement;
 import com.starrocks.sql.ast.StatementBase;
 import com.starrocks.sql.optimizer.CachingMvPlanContextBuilder;
 import com.starrocks.sql.optimizer.MaterializationContext;
 import com.starrocks.sql.optimizer.MaterializedViewOptimizer;
 import com.starrocks.sql.optimizer.Memo;
+import com.starrocks.sql.optimizer.MvPlanContextBuilder;
 import com.starrocks.sql.optimizer.MvRewritePreprocessor;
 import com.starrocks.sql.optimizer.OptExpression;
 import com.starrocks.sql.optimizer.Optimizer;
@@ -55,16 +57,22 @@ import com.starrocks.sql.optimizer.transformer.LogicalPlan;
 import com.starrocks.sql.optimizer.transformer.RelationTransformer;
 import com.starrocks.sql.plan.ExecPlan;
 import com.starrocks.utframe.UtFrameUtils;
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
 import org.assertj.core.util.Sets;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import static com.starrocks.planner.MaterializedViewTestBase.getRefBaseTablePartitionColumn;
@@ -713,4 +721,60 @@ public class MvRewritePreprocessorTest extends MvRewriteTestBase {
             Assert.assertEquals(1, mvWithPlanContexts.size());
         });
     }
+
+    @Test
+    public void testLoadPlanContextsConcurrently() {
+        List<String> mvs = ImmutableList.of(
+                "create materialized view mv_concurrent_1 distributed by random as select k1, v1 from t1;",
+                "create materialized view mv_concurrent_2 distributed by random as select k1, v2 from t1;"
+        );
+        starRocksAssert.withMaterializedViews(mvs, (obj) -> {
+            CachingMvPlanContextBuilder builder = CachingMvPlanContextBuilder.getInstance();
+            MaterializedView mv1 = getMv(DB_NAME, "mv_concurrent_1");
+            MaterializedView mv2 = getMv(DB_NAME, "mv_concurrent_2");
+            connectContext.setThreadLocalInfo();
+            ConnectContext caller = connectContext;
+            List<ConnectContext> buildContexts = Collections.synchronizedList(Lists.newArrayList());
+            new MockUp<MvPlanContextBuilder>() {
+                @Mock
+                public List<MvPlanContext> getPlanContext(Invocation invocation, MaterializedView mv) {
+                    buildContexts.add(ConnectContext.get());
+                    return invocation.proceed(mv);
+                }
+            };
+
+            // built by the pool in copies of the caller's session
+            builder.rebuildCache();
+            builder.loadPlanContextsConcurrently(Lists.newArrayList(mv1, mv2), 2);
+            Assert.assertTrue(builder.contains(mv1));
+            Assert.assertTrue(builder.contains(mv2));
+            Assert.assertEquals(2, buildContexts.size());
+            for (ConnectContext context : buildContexts) {
+                Assert.assertNotNull(context);
+                Assert.assertNotSame(caller, context);
+                Assert.assertNotSame(caller.getSessionVariable(), context.getSessionVariable());
+                Assert.assertEquals(caller.getDatabase(), context.getDatabase());
+                Assert.assertEquals(caller.getCurrentUserIdentity(), context.getCurrentUserIdentity());
+            }
+
+            // built by the caller when the pool rejects them
+            ExecutorService rejectingExecutor = Executors.newSingleThreadExecutor();
+            rejectingExecutor.shutdown();
+            new MockUp<CachingMvPlanContextBuilder>() {
+                @Mock
+                ExecutorService getPlanContextBuildExecutor() {
+                    return rejectingExecutor;
+                }
+            };
+            buildContexts.clear();
+            builder.rebuildCache();
+            builder.loadPlanContextsConcurrently(Lists.newArrayList(mv1, mv2), 2);
+            Assert.assertTrue(builder.contains(mv1));
+            Assert.assertTrue(builder.contains(mv2));
+            Assert.assertEquals(2, buildContexts.size());
+            for (ConnectContext context : buildContexts) {
+                Assert.assertSame(caller, context);
+            }
+        });
+    }
 }
@@ -447,4 +447,21 @@ public class CachedStatisticStorageTest {
         Assert.assertEquals(0, columnStatistic.getAverageRowSize(), 0.001);
         Assert.assertEquals(0, columnStatistic.getNullsFraction(), 0.001);
     }
+
+    @Test
+    public void testPushInvalidationDisablesRefresh() {
+        Assert.assertTrue(new CachedStatisticStorage().cachedStatistics.synchronous().policy()
+                .refreshAfterWrite().isPresent());
+
+        boolean origin = Config.enable_statistic_cache_push_invalidation;
+        try {
+            Config.enable_statistic_cache_push_invalidation = true;
+            CachedStatisticStorage storage = new CachedStatisticStorage();
+            Assert.assertFalse(storage.cachedStatistics.synchronous().policy().refreshAfterWrite().isPresent());
+            Assert.assertFalse(storage.tableStatsCache.synchronous().policy().refreshAfterWrite().isPresent());
+            Assert.assertTrue(storage.cachedStatistics.synchronous().policy().expireAfterWrite().isPresent());
+        } finally {
+            Config.enable_statistic_cache_push_invalidation = origin;
+        }
+    }
 }
@@ -0,0 +1,85 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.parser;
+
+import com.starrocks.common.Config;
+import com.starrocks.qe.SessionVariable;
+import com.starrocks.qe.SqlModeHelper;
+import com.starrocks.sql.analyzer.AstToSQLBuilder;
+import com.starrocks.sql.ast.StatementBase;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ParseTreeCacheTest {
+    @BeforeClass
+    public static void beforeClass() {
+        // the cache is sized when it is created
+        Config.parse_tree_cache_max_size = 16;
+    }
+
+    @Before
+    public void setUp() {
+        ParseTreeCache.getInstance().clear();
+    }
+
+    @Test
+    public void testParseFromCache() {
+        SessionVariable sessionVariable = new SessionVariable();
+        String sql = "select /*+ SET_VAR(query_timeout=10) */ v1 from t0 where v2 = 1; select 2";
+        List<StatementBase> first = SqlParser.parse(sql, sessionVariable);
+        Assert.assertEquals(1, ParseTreeCache.getInstance().size());
+
+        List<StatementBase> second = SqlParser.parse(sql, sessionVariable);
+        Assert.assertEquals(1, ParseTreeCache.getInstance().size());
+        Assert.assertEquals(2, second.size());
+        for (int i = 0; i < first.size(); i++) {
+            // a new AST is built for every execution
+            Assert.assertNotSame(first.get(i), second.get(i));
+            Assert.assertEquals(AstToSQLBuilder.toSQL(first.get(i)), AstToSQLBuilder.toSQL(second.get(i)));
+            Assert.assertEquals(i, second.get(i).getOrigStmt().idx);
+        }
+        // the hints are collected from the cached tokens
+        Assert.assertEquals(1, second.get(0).getAllQueryScopeHints().size());
+
+        // another sql mode is another entry
+        sessionVariable.setSqlMode(SqlModeHelper.MODE_PIPES_AS_CONCAT);
+        SqlParser.parse(sql, sessionVariable);
+        Assert.assertEquals(2, ParseTreeCache.getInstance().size());
+    }
+
+    @Test
+    public void testNotCached() {
+        SessionVariable sessionVariable = new SessionVariable();
+        try {
+            SqlParser.parse("select 1 form tbl", sessionVariable);
+            Assert.fail("sql should fail to parse.");
+        } catch (ParsingException e) {
+            Assert.assertEquals(0, ParseTreeCache.getInstance().size());
+        }
+
+        int prevMaxSqlLength = Config.parse_tree_cache_max_sql_length;
+        Config.parse_tree_cache_max_sql_length = 8;
+        try {
+            SqlParser.parse("select 1 from dual", sessionVariable);
+            Assert.assertEquals(0, ParseTreeCache.getInstance().size());
+        } finally {
+            Config.parse_tree_cache_max_sql_length = prevMaxSqlLength;
+        }
+    }
+}
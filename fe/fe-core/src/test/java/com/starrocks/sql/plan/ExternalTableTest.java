@@ -201,6 +201,20 @@ public class ExternalTableTest extends PlanTestBase {
 
     }
 
+    @Test
+    public void testJDBCTableSplit() throws Exception {
+        connectContext.getSessionVariable().setJdbcScanSplitNum(4);
+        try {
+            String plan = getFragmentPlan("select * from test.jdbc_test where a > 10");
+            assertContains(plan, "     QUERY: SELECT a, b, c FROM test_table WHERE (a > 10)\n" +
+                    "     SPLIT: a, NUM: 4");
+            plan = getFragmentPlan("select * from test.jdbc_test limit 10");
+            Assert.assertFalse(plan, plan.contains("SPLIT"));
+        } finally {
+            connectContext.getSessionVariable().setJdbcScanSplitNum(1);
+        }
+    }
+
     @Test
     public void testJDBCTableAggregation() throws Exception {
         String sql = "select b, sum(a) from test.jdbc_test group by b";
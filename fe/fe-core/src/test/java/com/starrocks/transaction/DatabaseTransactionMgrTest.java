@@ -65,6 +65,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
@@ -472,6 +476,34 @@ public class DatabaseTransactionMgrTest {
         assertNull(masterDbTransMgr.unprotectedGetTxnIdsByLabel(GlobalStateMgrTestUtil.testTxnLable1));
     }
 
+    @Test
+    public void testLookupWithoutTransactionLock() throws Exception {
+        DatabaseTransactionMgr masterDbTransMgr =
+                masterTransMgr.getDatabaseTransactionMgr(GlobalStateMgrTestUtil.testDbId1);
+        long txnId1 = lableToTxnId.get(GlobalStateMgrTestUtil.testTxnLable1);
+        long txnId2 = lableToTxnId.get(GlobalStateMgrTestUtil.testTxnLable2);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        // a writer holding the lock, e.g. a long commit, must not block lookups of other transactions
+        masterDbTransMgr.writeLock();
+        try {
+            Future<List<Object>> lookups = executor.submit(() -> Lists.newArrayList(
+                    masterDbTransMgr.getTransactionState(txnId1),
+                    masterDbTransMgr.getTxnStatus(txnId2),
+                    masterDbTransMgr.getLabelState(GlobalStateMgrTestUtil.testTxnLable1),
+                    masterDbTransMgr.getLabelTxnID(GlobalStateMgrTestUtil.testTxnLable2)));
+            List<Object> results = lookups.get(10, TimeUnit.SECONDS);
+            assertEquals(txnId1, ((TransactionState) results.get(0)).getTransactionId());
+            assertEquals(TTransactionStatus.PREPARE, results.get(1));
+            assertEquals(TransactionStatus.VISIBLE, results.get(2));
+            assertEquals(txnId2, results.get(3));
+        } finally {
+            masterDbTransMgr.writeUnlock();
+            executor.shutdown();
+        }
+        assertEquals(TransactionStatus.UNKNOWN, masterDbTransMgr.getLabelState("not_exist_label"));
+        assertNull(masterDbTransMgr.getTransactionState(-1L));
+    }
+
     @Test
     public void testCheckRunningTxnExceedLimit() {
         int maxRunningTxnNumPerDb = Config.max_running_txn_num_per_db;
@@ -72,7 +72,9 @@ enum TResultSinkType {
 
 enum TResultSinkFormatType {
     JSON,
-    OTHERS
+    OTHERS,
+    // every row of the result batch is an arrow ipc stream of one record batch
+    ARROW
 }
 
 struct TParquetOptions {
@@ -159,6 +161,8 @@ struct TResultSink {
     2: optional TResultFileSinkOptions file_options;
     3: optional TResultSinkFormatType format;
     4: optional bool is_binary_row;
+    // names of the output columns, used as the field names of the ARROW format
+    5: optional list<string> column_names;
 }
 
 struct TMysqlTableSink {
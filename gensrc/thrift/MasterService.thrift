@@ -129,12 +129,25 @@ struct TReportRequest {
     9: optional list<WorkGroup.TWorkGroup> active_workgroups
     10: optional ResourceUsage.TResourceUsage resource_usage
     11: optional DataCache.TDataCacheMetrics datacache_metrics
+    // If set, `tablets` only contains the tablets changed since the tablet report of this version,
+    // which must be the version acknowledged by FE in TMasterResult.tablet_report_acked_version
+    12: optional i64 tablet_report_base_version
+    // Only set in an incremental tablet report, the tablets in the report of tablet_report_base_version
+    // which are not on the backend any more
+    13: optional list<i64> deleted_tablet_ids
 }
 
 struct TMasterResult {
     // required in V1
     1: required Status.TStatus status
     2: optional list<WorkGroup.TWorkGroupOp> workgroup_ops
+    // The tablet report version FE accepted. The next tablet report can be an incremental one based on it,
+    // which FE accepts only after it has handled the report of this version.
+    // Not set if FE requires a full tablet report next time.
+    3: optional i64 tablet_report_acked_version
+    // Only set along with tablet_report_acked_version, the tablets the next incremental tablet report must
+    // contain even if they are unchanged, e.g. the replicas FE is going to drop after a delay
+    4: optional list<i64> tablet_ids_to_report
 }
 
 // Deprecated
@@ -563,6 +563,9 @@ struct TJDBCScanNode {
   3: optional list<string> columns
   4: optional list<string> filters
   5: optional i64 limit
+  // integer column used to split the scan into ranges read concurrently by the jdbc bridge
+  6: optional string split_column
+  7: optional i32 num_splits
 }
 
 // If you find yourself changing this struct, see also TOlapScanNode
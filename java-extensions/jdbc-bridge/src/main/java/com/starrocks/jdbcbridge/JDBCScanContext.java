@@ -15,6 +15,8 @@
 package com.starrocks.jdbcbridge;
 
 public class JDBCScanContext {
+    public static final String SPLIT_PREDICATE_PLACEHOLDER = "__starrocks_split_predicate__";
+
     private String driverClassName;
     private String jdbcURL;
     private String user;
@@ -27,6 +29,12 @@ public class JDBCScanContext {
     private int connectionIdleTimeoutMs;
     private int connectionTimeoutMs;
 
+    // set if the scan can be split into ranges of splitColumn, see setSplit
+    private String splitColumn;
+    private String splitProbeSql;
+    private String splitSqlTemplate;
+    private int numSplits = 1;
+
     public JDBCScanContext() {}
     public JDBCScanContext(String driverClassName, String jdbcURL, String user, String password,
                            String sql, int statementFetchSize, int connectionPoolSize,
@@ -67,6 +75,18 @@ public class JDBCScanContext {
         this.statementFetchSize = statementFetchSize;
     }
 
+    /**
+     * Allow the scan to be split into at most numSplits ranges of splitColumn.
+     * splitProbeSql returns the min and max values of splitColumn, splitSqlTemplate is the scan sql whose
+     * last occurrence of SPLIT_PREDICATE_PLACEHOLDER is replaced with the range predicate of each split.
+     */
+    public void setSplit(String splitColumn, String splitProbeSql, String splitSqlTemplate, int numSplits) {
+        this.splitColumn = splitColumn;
+        this.splitProbeSql = splitProbeSql;
+        this.splitSqlTemplate = splitSqlTemplate;
+        this.numSplits = numSplits;
+    }
+
     public String getDriverClassName() {
         return driverClassName;
     }
@@ -107,4 +127,22 @@ public class JDBCScanContext {
         return connectionTimeoutMs;
     }
 
+    public String getSplitColumn() {
+        return splitColumn;
+    }
+
+    public String getSplitProbeSql() {
+        return splitProbeSql;
+    }
+
+    public int getNumSplits() {
+        return splitSqlTemplate == null ? 1 : numSplits;
+    }
+
+    public String getSplitSql(String predicate) {
+        int pos = splitSqlTemplate.lastIndexOf(SPLIT_PREDICATE_PLACEHOLDER);
+        return splitSqlTemplate.substring(0, pos) + predicate +
+                splitSqlTemplate.substring(pos + SPLIT_PREDICATE_PLACEHOLDER.length());
+    }
+
 }
@@ -16,11 +16,13 @@ package com.starrocks.jdbcbridge;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 
 import java.io.File;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.sql.Blob;
@@ -28,6 +30,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.time.LocalDate;
@@ -40,6 +44,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 
 public class JDBCScanner {
     private String driverLocation;
@@ -51,6 +59,14 @@ public class JDBCScanner {
     private ResultSetMetaData resultSetMetaData;
     private List<String> resultColumnClassNames;
     private List<Object[]> resultChunk;
+    // the array class of each result column, used to allocate chunks
+    private List<Class<?>> resultChunkClasses;
+    // how each column is read from the result set, resolved once in open()
+    private ColumnReader[] columnReaders;
+    // false to read every column with getObject, for comparison in test and benchmark
+    private boolean typedGetters = true;
+    // not null if the scan is split into ranges which are read concurrently, see openSplits()
+    private SplitScan splitScan;
     private int resultNumRows = 0;
     ClassLoader classLoader;
 
@@ -85,34 +101,176 @@ public class JDBCScanner {
 
         connection = dataSource.getConnection();
         connection.setAutoCommit(false);
-        statement = connection.prepareStatement(scanContext.getSql(), ResultSet.TYPE_FORWARD_ONLY,
-                ResultSet.CONCUR_READ_ONLY);
-        if (scanContext.getDriverClassName().toLowerCase(Locale.ROOT).contains("mysql")) {
-            statement.setFetchSize(Integer.MIN_VALUE);
-        } else {
-            statement.setFetchSize(scanContext.getStatementFetchSize());
+        if (scanContext.getNumSplits() > 1) {
+            splitScan = openSplits();
+            if (splitScan != null) {
+                return;
+            }
         }
+        statement = prepareStatement(connection, scanContext.getSql());
         statement.executeQuery();
         resultSet = statement.getResultSet();
-        resultSetMetaData = resultSet.getMetaData();
+        initResultColumns(resultSet.getMetaData());
+        resultChunk = newResultChunk();
+    }
+
+    private PreparedStatement prepareStatement(Connection conn, String sql) throws Exception {
+        PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if (scanContext.getDriverClassName().toLowerCase(Locale.ROOT).contains("mysql")) {
+            stmt.setFetchSize(Integer.MIN_VALUE);
+        } else {
+            stmt.setFetchSize(scanContext.getStatementFetchSize());
+        }
+        return stmt;
+    }
+
+    private void initResultColumns(ResultSetMetaData metaData) throws Exception {
+        resultSetMetaData = metaData;
         resultColumnClassNames = new ArrayList<>(resultSetMetaData.getColumnCount());
-        resultChunk = new ArrayList<>(resultSetMetaData.getColumnCount());
+        resultChunkClasses = new ArrayList<>(resultSetMetaData.getColumnCount());
         for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
             String className = resultSetMetaData.getColumnClassName(i);
             resultColumnClassNames.add(className);
             if (className.equals("byte[]") || className.equals("[B")) {
-                resultChunk.add((Object[]) Array.newInstance(byte[].class, scanContext.getStatementFetchSize()));
+                resultChunkClasses.add(byte[].class);
                 continue;
             }
             Class<?> clazz = classLoader.loadClass(className);
             if (isGeneralJDBCClassType(clazz)) {
-                resultChunk.add((Object[]) Array.newInstance(clazz, scanContext.getStatementFetchSize()));
+                resultChunkClasses.add(clazz);
             } else if (null != mapEngineSpecificClassType(clazz)) {
-                Class targetClass = mapEngineSpecificClassType(clazz);
-                resultChunk.add((Object[]) Array.newInstance(targetClass, scanContext.getStatementFetchSize()));
+                resultChunkClasses.add(mapEngineSpecificClassType(clazz));
+            } else {
+                resultChunkClasses.add(String.class);
+            }
+        }
+        columnReaders = new ColumnReader[resultChunkClasses.size()];
+        for (int i = 0; i < resultChunkClasses.size(); i++) {
+            columnReaders[i] = typedGetters ? ColumnReader.of(resultChunkClasses.get(i)) : ColumnReader.OBJECT;
+        }
+    }
+
+    private List<Object[]> newResultChunk() {
+        List<Object[]> chunk = new ArrayList<>(resultChunkClasses.size());
+        for (Class<?> clazz : resultChunkClasses) {
+            chunk.add((Object[]) Array.newInstance(clazz, scanContext.getStatementFetchSize()));
+        }
+        return chunk;
+    }
+
+    /**
+     * Split the scan into ranges of the split column, based on its min and max values, and read them concurrently.
+     * Return null if the scan should not be split, e.g. the table is empty, the range is too small, or the pool has
+     * no connection available for another split.
+     */
+    private SplitScan openSplits() throws Exception {
+        BigInteger min;
+        BigInteger max;
+        try (Statement probe = connection.createStatement();
+                ResultSet range = probe.executeQuery(scanContext.getSplitProbeSql())) {
+            if (!range.next()) {
+                return null;
+            }
+            // read as decimal so that unsigned BIGINT and DECIMAL keys don't overflow or fail
+            BigDecimal minValue = range.getBigDecimal(1);
+            BigDecimal maxValue = range.getBigDecimal(2);
+            if (minValue == null || maxValue == null) {
+                return null;
+            }
+            // the first and the last split are open-ended, so the fractional part of the bounds can be dropped
+            min = minValue.setScale(0, RoundingMode.FLOOR).toBigIntegerExact();
+            max = maxValue.setScale(0, RoundingMode.FLOOR).toBigIntegerExact();
+        }
+        BigInteger span = max.subtract(min).add(BigInteger.ONE);
+        // every split holds a connection until it is drained
+        int numSplits = Math.min(scanContext.getNumSplits(), scanContext.getConnectionPoolSize());
+        numSplits = span.min(BigInteger.valueOf(numSplits)).intValue();
+        if (numSplits <= 1) {
+            return null;
+        }
+
+        // the first split reads on the connection of the scanner, fall back to fewer splits if the pool is busy
+        List<Connection> splitConnections = tryGetConnections(numSplits - 1);
+        if (splitConnections.isEmpty()) {
+            return null;
+        }
+        return new SplitScan(buildSplitSqls(min, span, splitConnections.size() + 1), splitConnections);
+    }
+
+    /**
+     * Take up to num more connections, but only while the pool has an idle one or room for a new one. The scanner
+     * holds its own connection meanwhile, so waiting for a busy pool could make the scanners sharing it each hold
+     * one connection and wait for the others until the connection timeout. A scanner losing the race for the last
+     * idle connection waits at most the connection timeout and then reads with the splits it already has.
+     */
+    private List<Connection> tryGetConnections(int num) {
+        List<Connection> connections = new ArrayList<>(num);
+        HikariPoolMXBean poolMXBean = dataSource.getHikariPoolMXBean();
+        if (poolMXBean == null) {
+            return connections;
+        }
+        for (int i = 0; i < num; i++) {
+            if (poolMXBean.getIdleConnections() <= 0 &&
+                    poolMXBean.getTotalConnections() >= dataSource.getMaximumPoolSize()) {
+                break;
+            }
+            try {
+                connections.add(dataSource.getConnection());
+            } catch (SQLException e) {
+                break;
+            }
+        }
+        return connections;
+    }
+
+    private List<String> buildSplitSqls(BigInteger min, BigInteger span, int numSplits) {
+        String column = scanContext.getSplitColumn();
+        List<String> splitSqls = new ArrayList<>(numSplits);
+        BigInteger lower = min;
+        for (int i = 1; i <= numSplits; i++) {
+            BigInteger upper = min.add(span.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(numSplits)));
+            String predicate;
+            if (i == 1) {
+                predicate = String.format("%s < %s OR %s IS NULL", column, upper, column);
+            } else if (i == numSplits) {
+                predicate = String.format("%s >= %s", column, lower);
             } else {
-                resultChunk.add((Object[]) Array.newInstance(String.class, scanContext.getStatementFetchSize()));
+                predicate = String.format("%s >= %s AND %s < %s", column, lower, column, upper);
             }
+            splitSqls.add(scanContext.getSplitSql(predicate));
+            lower = upper;
+        }
+        return splitSqls;
+    }
+
+    // must be called before open()
+    void setTypedGetters(boolean typedGetters) {
+        this.typedGetters = typedGetters;
+    }
+
+    // the number of ranges the scan is read in, for test
+    int getNumSplitsInUse() {
+        return splitScan == null ? 1 : splitScan.splits.size();
+    }
+
+    // Numeric columns are read with the typed getters of the result set, so the driver does not
+    // materialize an intermediate object per cell and no per-cell type dispatch is needed.
+    private enum ColumnReader {
+        SHORT, INT, LONG, FLOAT, DOUBLE, OBJECT;
+
+        static ColumnReader of(Class<?> columnClass) {
+            if (columnClass == Short.class) {
+                return SHORT;
+            } else if (columnClass == Integer.class) {
+                return INT;
+            } else if (columnClass == Long.class) {
+                return LONG;
+            } else if (columnClass == Float.class) {
+                return FLOAT;
+            } else if (columnClass == Double.class) {
+                return DOUBLE;
+            }
+            return OBJECT;
         }
     }
 
@@ -144,64 +302,99 @@ public class JDBCScanner {
     }
 
     public boolean hasNext() throws Exception {
+        if (splitScan != null) {
+            return splitScan.hasNext();
+        }
         return resultSet.next();
     }
 
     // return columnar chunk
     public List<Object[]> getNextChunk() throws Exception {
+        if (splitScan != null) {
+            return splitScan.getNextChunk();
+        }
         int chunkSize = scanContext.getStatementFetchSize();
-        int columnCount = resultSetMetaData.getColumnCount();
         resultNumRows = 0;
         do {
-            for (int i = 0; i < columnCount; i++) {
-                Object[] dataColumn = resultChunk.get(i);
-                Object resultObject = resultSet.getObject(i + 1);
-                // in some cases, the real java class type of result is not consistent with the type from
-                // resultSetMetadata,
-                // for example,FLOAT type in oracle gives java.lang.Double type in resultSetMetaData,
-                // but the result type is BigDecimal when we getObject from resultSet.
-                // So we choose to convert the value to the target type here.
-                if (resultObject == null) {
-                    dataColumn[resultNumRows] = null;
-                } else if (dataColumn instanceof Short[]) {
-                    dataColumn[resultNumRows] = ((Number) resultObject).shortValue();
-                } else if (dataColumn instanceof Integer[]) {
-                    dataColumn[resultNumRows] = ((Number) resultObject).intValue();
-                } else if (dataColumn instanceof Long[]) {
-                    dataColumn[resultNumRows] = ((Number) resultObject).longValue();
-                } else if (dataColumn instanceof Float[]) {
-                    dataColumn[resultNumRows] = ((Number) resultObject).floatValue();
-                } else if (dataColumn instanceof Double[]) {
-                    dataColumn[resultNumRows] = ((Number) resultObject).doubleValue();
-                } else if (resultObject instanceof byte[]) {
-                    dataColumn[resultNumRows] = resultObject;
-                } else if (resultObject instanceof Blob) {
-                    dataColumn[resultNumRows] = resultObject;
-                } else if (dataColumn instanceof String[] && resultObject instanceof String) {
-                    // if both sides are String, assign value directly to avoid additional calls to getString
-                    dataColumn[resultNumRows] = resultObject;
-                } else if (!(dataColumn instanceof String[])) {
-                    if (dataColumn instanceof BigInteger[] && resultObject instanceof Number) {
-                        dataColumn[resultNumRows] = new BigInteger(resultObject.toString());
-                    } else {
-                        // for other general class type, assign value directly
-                        dataColumn[resultNumRows] = resultObject;
-                    }
-                } else {
-                    // for non-general class type, use string representation
-                    dataColumn[resultNumRows] = resultSet.getString(i + 1);
-                }
-            }
+            readRow(resultSet, resultChunk, resultNumRows);
             resultNumRows++;
         } while (resultNumRows < chunkSize && resultSet.next());
         return resultChunk;
     }
 
+    private void readRow(ResultSet rs, List<Object[]> chunk, int row) throws Exception {
+        int columnCount = columnReaders.length;
+        for (int i = 0; i < columnCount; i++) {
+            Object[] dataColumn = chunk.get(i);
+            switch (columnReaders[i]) {
+                case SHORT: {
+                    short value = rs.getShort(i + 1);
+                    dataColumn[row] = rs.wasNull() ? null : value;
+                    break;
+                }
+                case INT: {
+                    int value = rs.getInt(i + 1);
+                    dataColumn[row] = rs.wasNull() ? null : value;
+                    break;
+                }
+                case LONG: {
+                    long value = rs.getLong(i + 1);
+                    dataColumn[row] = rs.wasNull() ? null : value;
+                    break;
+                }
+                case FLOAT: {
+                    float value = rs.getFloat(i + 1);
+                    dataColumn[row] = rs.wasNull() ? null : value;
+                    break;
+                }
+                case DOUBLE: {
+                    double value = rs.getDouble(i + 1);
+                    dataColumn[row] = rs.wasNull() ? null : value;
+                    break;
+                }
+                default:
+                    dataColumn[row] = readObject(rs, dataColumn, i + 1);
+            }
+        }
+    }
+
+    private Object readObject(ResultSet rs, Object[] dataColumn, int columnIndex) throws Exception {
+        Object resultObject = rs.getObject(columnIndex);
+        // in some cases, the real java class type of result is not consistent with the type from
+        // resultSetMetadata,
+        // for example,FLOAT type in oracle gives java.lang.Double type in resultSetMetaData,
+        // but the result type is BigDecimal when we getObject from resultSet.
+        // So we choose to convert the value to the target type here.
+        if (resultObject == null) {
+            return null;
+        } else if (resultObject instanceof byte[]) {
+            return resultObject;
+        } else if (resultObject instanceof Blob) {
+            return resultObject;
+        } else if (dataColumn instanceof String[] && resultObject instanceof String) {
+            // if both sides are String, assign value directly to avoid additional calls to getString
+            return resultObject;
+        } else if (!(dataColumn instanceof String[])) {
+            if (dataColumn instanceof BigInteger[] && resultObject instanceof Number) {
+                return new BigInteger(resultObject.toString());
+            } else {
+                // for other general class type, assign value directly
+                return resultObject;
+            }
+        } else {
+            // for non-general class type, use string representation
+            return rs.getString(columnIndex);
+        }
+    }
+
     public int getResultNumRows() {
         return resultNumRows;
     }
 
     public void close() throws Exception {
+        if (splitScan != null) {
+            splitScan.close();
+        }
         if (resultSet != null) {
             resultSet.close();
         }
@@ -212,4 +405,146 @@ public class JDBCScanner {
             connection.close();
         }
     }
+
+    /**
+     * Reads the splits of one scan concurrently, each split on its own connection and thread.
+     * A split fills one of its two chunks while the other one is consumed by the caller, the filled
+     * chunks of all splits are handed over through one queue in the order they are ready.
+     */
+    private class SplitScan {
+        private final List<Split> splits = new ArrayList<>();
+        private final BlockingQueue<SplitChunk> readyChunks = new LinkedBlockingQueue<>();
+        private final ExecutorService executor;
+        private int runningSplits;
+        private SplitChunk currentChunk;
+        private volatile boolean closed = false;
+
+        SplitScan(List<String> splitSqls, List<Connection> splitConnections) throws Exception {
+            executor = Executors.newFixedThreadPool(splitSqls.size(), runnable -> {
+                Thread thread = new Thread(runnable, "jdbc-split-reader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // the first split reuses the connection of the scanner
+            splits.add(new Split(connection, false));
+            for (Connection conn : splitConnections) {
+                splits.add(new Split(conn, true));
+            }
+            try {
+                for (int i = 0; i < splits.size(); i++) {
+                    Split split = splits.get(i);
+                    split.connection.setAutoCommit(false);
+                    split.statement = prepareStatement(split.connection, splitSqls.get(i));
+                    split.statement.executeQuery();
+                    split.resultSet = split.statement.getResultSet();
+                }
+                initResultColumns(splits.get(0).resultSet.getMetaData());
+                for (Split split : splits) {
+                    split.freeChunks.add(newResultChunk());
+                    split.freeChunks.add(newResultChunk());
+                    executor.submit(() -> read(split));
+                }
+                runningSplits = splits.size();
+            } catch (Exception e) {
+                close();
+                throw e;
+            }
+        }
+
+        private void read(Split split) {
+            int chunkSize = scanContext.getStatementFetchSize();
+            try {
+                while (!closed) {
+                    List<Object[]> chunk = split.freeChunks.take();
+                    int numRows = 0;
+                    while (numRows < chunkSize && split.resultSet.next()) {
+                        readRow(split.resultSet, chunk, numRows);
+                        numRows++;
+                    }
+                    if (numRows > 0) {
+                        readyChunks.add(new SplitChunk(split, chunk, numRows, null));
+                    }
+                    if (numRows < chunkSize) {
+                        break;
+                    }
+                }
+                readyChunks.add(new SplitChunk(split, null, 0, null));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                readyChunks.add(new SplitChunk(split, null, 0, e));
+            }
+        }
+
+        boolean hasNext() throws Exception {
+            if (currentChunk != null) {
+                // the caller has copied the previous chunk, give it back to its split
+                currentChunk.split.freeChunks.add(currentChunk.chunk);
+                currentChunk = null;
+            }
+            while (runningSplits > 0) {
+                SplitChunk chunk = readyChunks.take();
+                if (chunk.error != null) {
+                    throw new Exception("read jdbc split failed", chunk.error);
+                }
+                if (chunk.chunk == null) {
+                    runningSplits--;
+                    continue;
+                }
+                currentChunk = chunk;
+                return true;
+            }
+            return false;
+        }
+
+        List<Object[]> getNextChunk() {
+            resultNumRows = currentChunk.numRows;
+            return currentChunk.chunk;
+        }
+
+        void close() throws Exception {
+            closed = true;
+            executor.shutdownNow();
+            for (Split split : splits) {
+                if (split.resultSet != null) {
+                    split.resultSet.close();
+                }
+                if (split.statement != null) {
+                    split.statement.close();
+                }
+                if (split.ownConnection) {
+                    split.connection.close();
+                }
+            }
+        }
+    }
+
+    private static class Split {
+        private final Connection connection;
+        // false if the connection is the scanner's one and closed by the scanner
+        private final boolean ownConnection;
+        private final BlockingQueue<List<Object[]>> freeChunks = new LinkedBlockingQueue<>();
+        private PreparedStatement statement;
+        private ResultSet resultSet;
+
+        Split(Connection connection, boolean ownConnection) {
+            this.connection = connection;
+            this.ownConnection = ownConnection;
+        }
+    }
+
+    private static class SplitChunk {
+        private final Split split;
+        // null if the split is finished
+        private final List<Object[]> chunk;
+        private final int numRows;
+        private final Throwable error;
+
+        SplitChunk(Split split, List<Object[]> chunk, int numRows, Throwable error) {
+            this.split = split;
+            this.chunk = chunk;
+            this.numRows = numRows;
+            this.error = error;
+        }
+    }
 }
@@ -0,0 +1,69 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.jdbcbridge;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+/**
+ * Rows per second of JDBCScanner over an in-memory H2 table of numeric columns, read with getObject like before
+ * the typed getters and with the typed getters. Run main() with the test classpath of the module, the number of
+ * rows is set by the system property jdbc.bench.rows.
+ */
+public class JDBCScannerBench {
+    private static final int NUM_ROWS = Integer.getInteger("jdbc.bench.rows", 1000000);
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        String url = "jdbc:h2:mem:jdbc_scanner_bench;DB_CLOSE_DELAY=-1";
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+                Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE t AS SELECT CAST(MOD(X, 32000) AS SMALLINT) s, CAST(X AS INT) i, " +
+                    "CAST(X AS BIGINT) l, CAST(X AS REAL) f, CAST(X AS DOUBLE) d FROM SYSTEM_RANGE(1, " + NUM_ROWS + ")");
+        }
+        JDBCScanContext scanContext = new JDBCScanContext("org.h2.Driver", url, "sa", "",
+                "SELECT s, i, l, f, d FROM t", 4096, 1, 1, 60000, 5000);
+        for (boolean typedGetters : new boolean[] {false, true}) {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                scan(scanContext, typedGetters);
+            }
+            long startNs = System.nanoTime();
+            long rows = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                rows += scan(scanContext, typedGetters);
+            }
+            double seconds = (System.nanoTime() - startNs) / 1e9;
+            System.out.printf("%s: %.0f rows/s%n", typedGetters ? "typed getters" : "getObject", rows / seconds);
+        }
+    }
+
+    private static long scan(JDBCScanContext scanContext, boolean typedGetters) throws Exception {
+        JDBCScanner scanner = new JDBCScanner("", scanContext);
+        scanner.setTypedGetters(typedGetters);
+        scanner.open();
+        long rows = 0;
+        try {
+            while (scanner.hasNext()) {
+                scanner.getNextChunk();
+                rows += scanner.getResultNumRows();
+            }
+        } finally {
+            scanner.close();
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,226 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.jdbcbridge;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class JDBCScannerTest {
+    private static final int NUM_ROWS = 1000;
+    private static final long SUM_OF_IDS = (long) NUM_ROWS * (NUM_ROWS + 1) / 2;
+
+    private static String createTable(String dbName) throws Exception {
+        String url = "jdbc:h2:mem:" + dbName + ";DB_CLOSE_DELAY=-1";
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+                Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE t (id BIGINT, v VARCHAR(16))");
+            try (PreparedStatement insert = conn.prepareStatement("INSERT INTO t VALUES (?, ?)")) {
+                for (int i = 1; i <= NUM_ROWS; i++) {
+                    insert.setLong(1, i);
+                    insert.setString(2, "v" + i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+        return url;
+    }
+
+    private static JDBCScanContext newScanContext(String url, int poolSize, int numSplits) {
+        JDBCScanContext scanContext = new JDBCScanContext("org.h2.Driver", url, "sa", "",
+                "SELECT id, v FROM t", 100, poolSize, 1, 60000, 5000);
+        scanContext.setSplit("id", "SELECT MIN(id), MAX(id) FROM t",
+                "SELECT id, v FROM t WHERE " + JDBCScanContext.SPLIT_PREDICATE_PLACEHOLDER, numSplits);
+        return scanContext;
+    }
+
+    // the sum of the ids read by the scanner
+    private static long scan(JDBCScanner scanner) throws Exception {
+        long sum = 0;
+        while (scanner.hasNext()) {
+            List<Object[]> chunk = scanner.getNextChunk();
+            for (int i = 0; i < scanner.getResultNumRows(); i++) {
+                sum += ((Number) chunk.get(0)[i]).longValue();
+            }
+        }
+        return sum;
+    }
+
+    // a row of values, a row of zero values and a row of nulls, so that a zero is not taken for a null
+    private static String createTypesTable(String dbName) throws Exception {
+        String url = "jdbc:h2:mem:" + dbName + ";DB_CLOSE_DELAY=-1";
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+                Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE types (id INT, s SMALLINT, i INT, l BIGINT, f REAL, d DOUBLE, " +
+                    "dec DECIMAL(10, 2), dt DATE, tm TIME, ts TIMESTAMP, b BOOLEAN, v VARCHAR(16))");
+            stmt.execute("INSERT INTO types VALUES (1, -1, 2147483647, 9223372036854775807, 1.5, 2.5, 12.34, " +
+                    "'2024-01-02', '03:04:05', '2024-01-02 03:04:05', TRUE, 'a')");
+            stmt.execute("INSERT INTO types VALUES (2, 0, 0, 0, 0, 0, 0, '1970-01-01', '00:00:00', " +
+                    "'1970-01-01 00:00:00', FALSE, '')");
+            stmt.execute("INSERT INTO types VALUES (3, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, " +
+                    "NULL, NULL)");
+        }
+        return url;
+    }
+
+    private static List<Object[]> scanTypes(String url, boolean typedGetters) throws Exception {
+        JDBCScanContext scanContext = new JDBCScanContext("org.h2.Driver", url, "sa", "",
+                "SELECT s, i, l, f, d, dec, dt, tm, ts, b, v FROM types ORDER BY id", 100, 8, 1, 60000, 5000);
+        JDBCScanner scanner = new JDBCScanner("", scanContext);
+        scanner.setTypedGetters(typedGetters);
+        scanner.open();
+        try {
+            Assertions.assertEquals(Arrays.asList("java.lang.Short", "java.lang.Integer", "java.lang.Long",
+                    "java.lang.Float", "java.lang.Double", "java.math.BigDecimal", "java.sql.Date", "java.sql.Time",
+                    "java.sql.Timestamp", "java.lang.Boolean", "java.lang.String"),
+                    scanner.getResultColumnClassNames());
+            Assertions.assertTrue(scanner.hasNext());
+            List<Object[]> chunk = scanner.getNextChunk();
+            Assertions.assertEquals(3, scanner.getResultNumRows());
+            Assertions.assertFalse(scanner.hasNext());
+            return chunk;
+        } finally {
+            scanner.close();
+        }
+    }
+
+    private static void assertColumn(Object[] column, Class<?> arrayClass, Object... values) {
+        Assertions.assertEquals(arrayClass, column.getClass());
+        Assertions.assertArrayEquals(values, Arrays.copyOf(column, values.length));
+    }
+
+    @Test
+    public void testReadTypes() throws Exception {
+        String url = createTypesTable("read_types");
+        List<Object[]> chunk = scanTypes(url, true);
+        // the primitive getters return 0 for a null, which is told apart by wasNull
+        assertColumn(chunk.get(0), Short[].class, (short) -1, (short) 0, null);
+        assertColumn(chunk.get(1), Integer[].class, Integer.MAX_VALUE, 0, null);
+        assertColumn(chunk.get(2), Long[].class, Long.MAX_VALUE, 0L, null);
+        assertColumn(chunk.get(3), Float[].class, 1.5f, 0f, null);
+        assertColumn(chunk.get(4), Double[].class, 2.5d, 0d, null);
+        // the other types keep the getObject conversion
+        assertColumn(chunk.get(5), BigDecimal[].class, new BigDecimal("12.34"), new BigDecimal("0.00"), null);
+        assertColumn(chunk.get(6), Date[].class, Date.valueOf("2024-01-02"), Date.valueOf("1970-01-01"), null);
+        assertColumn(chunk.get(7), Time[].class, Time.valueOf("03:04:05"), Time.valueOf("00:00:00"), null);
+        assertColumn(chunk.get(8), Timestamp[].class, Timestamp.valueOf("2024-01-02 03:04:05"),
+                Timestamp.valueOf("1970-01-01 00:00:00"), null);
+        assertColumn(chunk.get(9), Boolean[].class, true, false, null);
+        assertColumn(chunk.get(10), String[].class, "a", "", null);
+
+        // the same values as reading every column with getObject
+        List<Object[]> objectChunk = scanTypes(url, false);
+        for (int i = 0; i < chunk.size(); i++) {
+            Assertions.assertArrayEquals(Arrays.copyOf(objectChunk.get(i), 3), Arrays.copyOf(chunk.get(i), 3));
+        }
+    }
+
+    @Test
+    public void testSplitScan() throws Exception {
+        String url = createTable("split_scan");
+        JDBCScanner scanner = new JDBCScanner("", newScanContext(url, 8, 4));
+        scanner.open();
+        try {
+            Assertions.assertEquals(4, scanner.getNumSplitsInUse());
+            Assertions.assertEquals(SUM_OF_IDS, scan(scanner));
+        } finally {
+            scanner.close();
+        }
+    }
+
+    @Test
+    public void testSplitScanOnDecimalKey() throws Exception {
+        // the keys are out of the range of a BIGINT, like the large values of an unsigned BIGINT, and not integral
+        BigDecimal base = new BigDecimal("18446744073709550000.5");
+        String url = "jdbc:h2:mem:split_scan_decimal_key;DB_CLOSE_DELAY=-1";
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+                Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE t (id DECIMAL(21,1))");
+            try (PreparedStatement insert = conn.prepareStatement("INSERT INTO t VALUES (?)")) {
+                for (int i = 1; i <= NUM_ROWS; i++) {
+                    insert.setBigDecimal(1, base.add(BigDecimal.valueOf(i)));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+        JDBCScanContext scanContext = new JDBCScanContext("org.h2.Driver", url, "sa", "",
+                "SELECT id FROM t", 100, 8, 1, 60000, 5000);
+        scanContext.setSplit("id", "SELECT MIN(id), MAX(id) FROM t",
+                "SELECT id FROM t WHERE " + JDBCScanContext.SPLIT_PREDICATE_PLACEHOLDER, 4);
+        JDBCScanner scanner = new JDBCScanner("", scanContext);
+        scanner.open();
+        try {
+            Assertions.assertEquals(4, scanner.getNumSplitsInUse());
+            long sum = 0;
+            while (scanner.hasNext()) {
+                List<Object[]> chunk = scanner.getNextChunk();
+                for (int i = 0; i < scanner.getResultNumRows(); i++) {
+                    sum += ((BigDecimal) chunk.get(0)[i]).subtract(base).longValueExact();
+                }
+            }
+            Assertions.assertEquals(SUM_OF_IDS, sum);
+        } finally {
+            scanner.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentSplitScansWithSmallPool() throws Exception {
+        // every scanner asks for more splits than the pool has connections
+        String url = createTable("concurrent_split_scans");
+        int numScanners = 4;
+        CyclicBarrier barrier = new CyclicBarrier(numScanners);
+        ExecutorService executor = Executors.newFixedThreadPool(numScanners);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < numScanners; i++) {
+                results.add(executor.submit(() -> {
+                    JDBCScanner scanner = new JDBCScanner("", newScanContext(url, 4, 4));
+                    barrier.await();
+                    // a scanner holding a connection must not wait for the connections held by the others
+                    scanner.open();
+                    try {
+                        return scan(scanner);
+                    } finally {
+                        scanner.close();
+                    }
+                }));
+            }
+            for (Future<Long> result : results) {
+                Assertions.assertEquals(SUM_OF_IDS, result.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}